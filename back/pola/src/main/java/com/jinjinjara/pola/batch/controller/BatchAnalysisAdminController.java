@@ -0,0 +1,81 @@
+package com.jinjinjara.pola.batch.controller;
+
+import com.jinjinjara.pola.batch.dto.response.BatchAnalysisJobResponse;
+import com.jinjinjara.pola.batch.service.BatchAnalysisService;
+import com.jinjinjara.pola.common.ApiResponse;
+import com.jinjinjara.pola.pipeline.service.PostProcessJobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 배치 재분석 관리자 컨트롤러
+ *
+ * 역할:
+ * - 배치 목록 / 단건(항목별 결과 포함) 조회
+ * - 전체 또는 한 사용자 파일의 재분석 등록 (BACKFILL 차선 → 배치 모드가 켜져 있으면 배치로 처리)
+ * - ADMIN 권한 필요
+ */
+@Tag(name = "Batch Analysis Admin API", description = "배치 재분석 관리자 API")
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/admin/batch-analysis")
+@PreAuthorize("hasRole('ADMIN')")
+@RequiredArgsConstructor
+public class BatchAnalysisAdminController {
+
+    private final BatchAnalysisService batchService;
+    private final PostProcessJobService jobService;
+
+    @Operation(
+            summary = "배치 목록 조회 (관리자 전용)",
+            description = "배치 재분석 작업을 최근 순으로 조회합니다.",
+            security = @SecurityRequirement(name = "JWT")
+    )
+    @GetMapping
+    public ApiResponse<Page<BatchAnalysisJobResponse>> getBatches(
+            @Parameter(description = "페이지 번호 (0부터 시작)", example = "0") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "페이지 크기", example = "20") @RequestParam(defaultValue = "20") int size
+    ) {
+        Page<BatchAnalysisJobResponse> batches = batchService.getBatches(PageRequest.of(page, size))
+                .map(BatchAnalysisJobResponse::from);
+        return ApiResponse.ok(batches, "배치 목록 조회 완료");
+    }
+
+    @Operation(
+            summary = "배치 단건 조회 (관리자 전용)",
+            description = "배치 재분석 상태와 파일별 결과를 조회합니다.",
+            security = @SecurityRequirement(name = "JWT")
+    )
+    @GetMapping("/{batchId}")
+    public ApiResponse<BatchAnalysisJobResponse> getBatch(
+            @Parameter(description = "배치 ID", example = "1") @PathVariable Long batchId
+    ) {
+        BatchAnalysisJobResponse batch = BatchAnalysisJobResponse.from(
+                batchService.getBatch(batchId), batchService.getItems(batchId));
+        return ApiResponse.ok(batch, "배치 조회 완료");
+    }
+
+    @Operation(
+            summary = "파일 재분석 등록 (관리자 전용)",
+            description = "분류 여부와 관계없이 파일을 BACKFILL 차선에 최대 limit 건 등록합니다. "
+                    + "userId 를 지정하면 해당 사용자의 파일만 등록하며, 이미 대기/실행 중인 파일은 제외됩니다.",
+            security = @SecurityRequirement(name = "JWT")
+    )
+    @PostMapping("/reanalyze")
+    public ApiResponse<Integer> reanalyze(
+            @Parameter(description = "대상 사용자 ID (없으면 전체)", example = "1") @RequestParam(required = false) Long userId,
+            @Parameter(description = "최대 등록 건수", example = "1000") @RequestParam(defaultValue = "1000") int limit
+    ) {
+        log.info("[관리자 API] 파일 재분석 요청: userId={}, limit={}", userId, limit);
+        int queued = jobService.enqueueReanalysis(userId, Math.max(1, Math.min(limit, 100000)));
+        return ApiResponse.ok(queued, "재분석 작업이 등록되었습니다.");
+    }
+}
@@ -0,0 +1,22 @@
+package com.jinjinjara.pola.batch.dto.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 배치 제공자에 넘기는 파일 1건
+ * 이미지는 uri(presigned URL) + mime, 텍스트는 text 에 본문을 담는다.
+ */
+@Getter
+@AllArgsConstructor
+public class BatchAnalysisInput {
+    private final Long fileId;
+    private final String key;
+    private final String mime;
+    private final String uri;
+    private final String text;
+
+    public boolean isImage() {
+        return uri != null;
+    }
+}
@@ -0,0 +1,29 @@
+package com.jinjinjara.pola.batch.dto.common;
+
+import com.jinjinjara.pola.vision.dto.common.VertexParsedResult;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 배치 제공자의 파일 1건 결과 (error 가 있으면 실패)
+ */
+@Getter
+@AllArgsConstructor
+public class BatchAnalysisOutput {
+    private final Long fileId;
+    private final String ocrText;
+    private final VertexParsedResult parsed;
+    private final String error;
+
+    public static BatchAnalysisOutput success(Long fileId, String ocrText, VertexParsedResult parsed) {
+        return new BatchAnalysisOutput(fileId, ocrText, parsed, null);
+    }
+
+    public static BatchAnalysisOutput failure(Long fileId, String error) {
+        return new BatchAnalysisOutput(fileId, null, null, error);
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
@@ -0,0 +1,72 @@
+package com.jinjinjara.pola.batch.dto.response;
+
+import com.jinjinjara.pola.batch.entity.BatchAnalysisItem;
+import com.jinjinjara.pola.batch.entity.BatchAnalysisJob;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 배치 재분석 응답 DTO (items 는 단건 조회에서만 채움)
+ */
+@Getter
+@Builder
+public class BatchAnalysisJobResponse {
+
+    private Long id;
+    private String provider;
+    private String providerJobId;
+    private String status;
+    private Integer itemCount;
+    private Integer submittedCount;
+    private Integer succeededCount;
+    private Integer failedCount;
+    private String lastError;
+    private LocalDateTime submittedAt;
+    private LocalDateTime completedAt;
+    private LocalDateTime createdAt;
+    private List<Item> items;
+
+    @Getter
+    @Builder
+    public static class Item {
+        private Long fileId;
+        private Long jobId;
+        private String status;
+        private String error;
+    }
+
+    /**
+     * Entity → DTO 변환
+     */
+    public static BatchAnalysisJobResponse from(BatchAnalysisJob batch) {
+        return from(batch, null);
+    }
+
+    public static BatchAnalysisJobResponse from(BatchAnalysisJob batch, List<BatchAnalysisItem> items) {
+        return BatchAnalysisJobResponse.builder()
+                .id(batch.getId())
+                .provider(batch.getProvider())
+                .providerJobId(batch.getProviderJobId())
+                .status(batch.getStatus().name())
+                .itemCount(batch.getItemCount())
+                .submittedCount(batch.getSubmittedCount())
+                .succeededCount(batch.getSucceededCount())
+                .failedCount(batch.getFailedCount())
+                .lastError(batch.getLastError())
+                .submittedAt(batch.getSubmittedAt())
+                .completedAt(batch.getCompletedAt())
+                .createdAt(batch.getCreatedAt())
+                .items(items == null ? null : items.stream()
+                        .map(i -> Item.builder()
+                                .fileId(i.getFileId())
+                                .jobId(i.getJobId())
+                                .status(i.getStatus().name())
+                                .error(i.getError())
+                                .build())
+                        .toList())
+                .build();
+    }
+}
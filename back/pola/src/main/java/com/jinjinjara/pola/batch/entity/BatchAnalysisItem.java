@@ -0,0 +1,66 @@
+package com.jinjinjara.pola.batch.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 배치 재분석에 묶인 파일 1건
+ */
+@Entity
+@Table(name = "batch_analysis_items",
+        indexes = @Index(name = "idx_batch_analysis_items_batch_status", columnList = "batch_id, status"))
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchAnalysisItem {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "batch_id", nullable = false)
+    private Long batchId;
+
+    @Column(name = "job_id", nullable = false)
+    private Long jobId;             // post_process_jobs.id (리스 소유)
+
+    @Column(name = "file_id", nullable = false)
+    private Long fileId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "content_hash", length = 80)
+    private String contentHash;     // 분석 캐시 키 (이미지는 "md5:" + ETag, 텍스트는 SHA-256)
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private BatchAnalysisItemStatus status;
+
+    @Column(columnDefinition = "TEXT")
+    private String error;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    /* --- 콜백 영역 --- */
+    @PrePersist
+    public void prePersist() {
+        LocalDateTime now = LocalDateTime.now();
+        if (createdAt == null) createdAt = now;
+        if (updatedAt == null) updatedAt = now;
+        if (status == null) status = BatchAnalysisItemStatus.PENDING;
+    }
+
+    @PreUpdate
+    public void preUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
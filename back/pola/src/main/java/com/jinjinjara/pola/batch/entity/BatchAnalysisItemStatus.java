@@ -0,0 +1,9 @@
+package com.jinjinjara.pola.batch.entity;
+
+public enum BatchAnalysisItemStatus {
+    PENDING,    // 제공자 결과 대기
+    CACHED,     // 분석 캐시 적중 → 제공자에 보내지 않음
+    SUCCEEDED,
+    FAILED,
+    REROUTED    // 배치 대상이 아님 (URI 로 읽을 수 없는 이미지 등) → 건별 파이프라인 차선으로 넘김
+}
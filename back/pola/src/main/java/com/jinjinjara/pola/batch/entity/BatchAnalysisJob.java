@@ -0,0 +1,83 @@
+package com.jinjinjara.pola.batch.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 배치 재분석 1건 (제공자 배치 작업 하나와 1:1)
+ * 어떤 후처리 작업들이 묶였는지는 batch_analysis_items 에 기록한다.
+ */
+@Entity
+@Table(name = "batch_analysis_jobs",
+        indexes = @Index(name = "idx_batch_analysis_jobs_status_updated", columnList = "status, updated_at"))
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchAnalysisJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 32)
+    private String provider;
+
+    @Column(name = "provider_job_id", length = 256)
+    private String providerJobId;   // 제공자 쪽 작업 ID (모든 항목이 캐시 적중이면 null)
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private BatchAnalysisJobStatus status;
+
+    @Column(nullable = false, length = 128)
+    private String owner;           // 배치를 만든 워커 (파드) ID
+
+    @Column(name = "item_count", nullable = false)
+    private Integer itemCount;
+
+    @Column(name = "submitted_count", nullable = false)
+    private Integer submittedCount; // 제공자에 실제로 보낸 수 (캐시 적중 / 준비 실패 제외)
+
+    @Column(name = "succeeded_count", nullable = false)
+    private Integer succeededCount;
+
+    @Column(name = "failed_count", nullable = false)
+    private Integer failedCount;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @Column(name = "submitted_at")
+    private LocalDateTime submittedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    /* --- 콜백 영역 --- */
+    @PrePersist
+    public void prePersist() {
+        LocalDateTime now = LocalDateTime.now();
+        if (createdAt == null) createdAt = now;
+        if (updatedAt == null) updatedAt = now;
+        if (status == null) status = BatchAnalysisJobStatus.PREPARING;
+        if (itemCount == null) itemCount = 0;
+        if (submittedCount == null) submittedCount = 0;
+        if (succeededCount == null) succeededCount = 0;
+        if (failedCount == null) failedCount = 0;
+    }
+
+    @PreUpdate
+    public void preUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
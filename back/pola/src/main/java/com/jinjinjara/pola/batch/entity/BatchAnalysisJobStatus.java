@@ -0,0 +1,12 @@
+package com.jinjinjara.pola.batch.entity;
+
+/**
+ * 배치 재분석 상태
+ * PREPARING → SUBMITTED → COMPLETED / FAILED
+ */
+public enum BatchAnalysisJobStatus {
+    PREPARING,  // 작업 수거 / 원본 확인 중 (제공자 제출 전)
+    SUBMITTED,  // 제공자에 제출됨, 결과 대기
+    COMPLETED,  // 결과 반영 끝 (항목별 성공/실패는 items 참고)
+    FAILED      // 제공자 실패 / 중단, 남은 항목은 작업 큐에서 재시도
+}
@@ -0,0 +1,35 @@
+package com.jinjinjara.pola.batch.provider;
+
+import com.jinjinjara.pola.batch.dto.common.BatchAnalysisInput;
+import com.jinjinjara.pola.batch.dto.common.BatchAnalysisOutput;
+
+import java.util.List;
+
+/**
+ * 배치 분석 제공자 (제출 → 상태 조회 → 결과 수거)
+ *
+ * 제출은 바로 반환하고, 결과는 워커가 주기적으로 status 를 확인해 받아 간다.
+ * 결과는 입력 순서와 관계없이 fileId 로 대응시킨다.
+ */
+public interface BatchAnalysisProvider {
+
+    enum Status { RUNNING, SUCCEEDED, FAILED, UNKNOWN }
+
+    /** 설정값 batch-analysis.provider 와 같은 이름 */
+    String name();
+
+    /** 제출하고 제공자 쪽 작업 ID 반환 */
+    String submit(List<BatchAnalysisInput> inputs);
+
+    /** UNKNOWN: 제공자가 작업을 모름 (재시작 등으로 유실) */
+    Status status(String providerJobId);
+
+    /** SUCCEEDED 인 작업의 항목별 결과 */
+    List<BatchAnalysisOutput> results(String providerJobId);
+
+    /** 실패 사유 (FAILED 일 때) */
+    String error(String providerJobId);
+
+    /** 결과 반영이 끝난 작업 정리 */
+    void cleanup(String providerJobId);
+}
@@ -0,0 +1,63 @@
+package com.jinjinjara.pola.batch.provider;
+
+import com.jinjinjara.pola.batch.dto.common.BatchAnalysisInput;
+import com.jinjinjara.pola.batch.dto.common.BatchAnalysisOutput;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 이 프로세스 안에서 배치를 실행하는 제공자의 공통 부분
+ * 작업 상태는 메모리에만 있으므로 파드가 재시작되면 UNKNOWN → 배치 실패 후 작업 큐에서 재시도된다.
+ */
+public abstract class InProcessBatchAnalysisProvider implements BatchAnalysisProvider {
+
+    private final Map<String, CompletableFuture<List<BatchAnalysisOutput>>> runs = new ConcurrentHashMap<>();
+
+    /** 입력 전체를 분석하는 비동기 실행 (항목별 실패는 BatchAnalysisOutput.failure 로) */
+    protected abstract CompletableFuture<List<BatchAnalysisOutput>> run(List<BatchAnalysisInput> inputs);
+
+    @Override
+    public String submit(List<BatchAnalysisInput> inputs) {
+        String id = name() + "-" + UUID.randomUUID();
+        runs.put(id, run(inputs));
+        return id;
+    }
+
+    @Override
+    public Status status(String providerJobId) {
+        CompletableFuture<List<BatchAnalysisOutput>> run = runs.get(providerJobId);
+        if (run == null) return Status.UNKNOWN;
+        if (!run.isDone()) return Status.RUNNING;
+        return run.isCompletedExceptionally() ? Status.FAILED : Status.SUCCEEDED;
+    }
+
+    @Override
+    public List<BatchAnalysisOutput> results(String providerJobId) {
+        CompletableFuture<List<BatchAnalysisOutput>> run = runs.get(providerJobId);
+        if (run == null || !run.isDone()) {
+            throw new IllegalStateException("batch not finished: " + providerJobId);
+        }
+        return run.join();
+    }
+
+    @Override
+    public String error(String providerJobId) {
+        CompletableFuture<List<BatchAnalysisOutput>> run = runs.get(providerJobId);
+        if (run == null) return "unknown batch";
+        return run.handle((r, e) -> {
+            Throwable t = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            return t == null ? null : t.toString();
+        }).getNow(null);
+    }
+
+    @Override
+    public void cleanup(String providerJobId) {
+        CompletableFuture<List<BatchAnalysisOutput>> run = runs.remove(providerJobId);
+        if (run != null) run.cancel(true);
+    }
+}
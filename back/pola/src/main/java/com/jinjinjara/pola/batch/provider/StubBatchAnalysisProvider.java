@@ -0,0 +1,59 @@
+package com.jinjinjara.pola.batch.provider;
+
+import com.jinjinjara.pola.batch.dto.common.BatchAnalysisInput;
+import com.jinjinjara.pola.batch.dto.common.BatchAnalysisOutput;
+import com.jinjinjara.pola.batch.util.BatchAnalysisProperties;
+import com.jinjinjara.pola.vision.dto.common.VertexParsedResult;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 로컬/부하 시험용 제공자 (batch-analysis.provider=stub 일 때만 등록)
+ *
+ * 외부 호출 없이 stub.latencyMs 뒤에 파일 이름에서 만든 고정 결과를 돌려준다.
+ * 같은 입력이면 항상 같은 결과, stub.failureRate 비율만큼 항목 실패 (fileId 기준).
+ */
+@Component
+@ConditionalOnProperty(prefix = "batch-analysis", name = "provider", havingValue = "stub")
+@RequiredArgsConstructor
+public class StubBatchAnalysisProvider extends InProcessBatchAnalysisProvider {
+
+    private final BatchAnalysisProperties properties;
+
+    @Override
+    public String name() {
+        return "stub";
+    }
+
+    @Override
+    protected CompletableFuture<List<BatchAnalysisOutput>> run(List<BatchAnalysisInput> inputs) {
+        BatchAnalysisProperties.Stub cfg = properties.getStub();
+        return CompletableFuture.supplyAsync(
+                () -> inputs.stream().map(i -> analyze(i, cfg.getFailureRate())).toList(),
+                CompletableFuture.delayedExecutor(cfg.getLatencyMs(), TimeUnit.MILLISECONDS));
+    }
+
+    private static BatchAnalysisOutput analyze(BatchAnalysisInput input, double failureRate) {
+        if (Math.floorMod(input.getFileId() * 2654435761L, 1000) < failureRate * 1000) {
+            return BatchAnalysisOutput.failure(input.getFileId(), "stub failure");
+        }
+
+        String name = input.getKey().substring(input.getKey().lastIndexOf('/') + 1);
+        List<String> tags = new ArrayList<>(Arrays.stream(name.split("[^\\p{L}\\p{N}]+"))
+                .filter(t -> t.length() >= 2)
+                .limit(3)
+                .toList());
+        tags.add(input.isImage() ? "이미지" : "문서");
+
+        String ocr = input.isImage() ? "stub ocr " + name : input.getText();
+        return BatchAnalysisOutput.success(input.getFileId(), ocr,
+                new VertexParsedResult(tags, "stub 분석 결과: " + name));
+    }
+}
@@ -0,0 +1,138 @@
+package com.jinjinjara.pola.batch.provider;
+
+import com.jinjinjara.pola.batch.dto.common.BatchAnalysisInput;
+import com.jinjinjara.pola.batch.dto.common.BatchAnalysisOutput;
+import com.jinjinjara.pola.batch.util.BatchAnalysisProperties;
+import com.jinjinjara.pola.vision.dto.common.VertexParsedResult;
+import com.jinjinjara.pola.vision.service.AnalyzeFacadeService;
+import com.jinjinjara.pola.vision.service.VisionService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Vision / Gemini 묶음 호출 제공자
+ *
+ * - OCR: images:annotate 요청 하나에 여러 이미지 (VisionService.documentOcrFromUris)
+ * - 태그: Gemini 호출 하나에 이미지 imagesPerCall 장 / 텍스트 textsPerCall 건
+ * - 묶음 호출은 providerConcurrency 개까지 동시에 (건별 파이프라인과 같은 격벽/헤지 적용)
+ * 묶음 하나가 실패하면 그 묶음의 항목만 실패로 돌려준다.
+ */
+@Slf4j
+@Component
+public class VertexBatchAnalysisProvider extends InProcessBatchAnalysisProvider {
+
+    private final VisionService visionService;
+    private final AnalyzeFacadeService analyzeFacadeService;
+    private final BatchAnalysisProperties properties;
+    private final ExecutorService executor;
+
+    public VertexBatchAnalysisProvider(VisionService visionService,
+                                       AnalyzeFacadeService analyzeFacadeService,
+                                       BatchAnalysisProperties properties) {
+        this.visionService = visionService;
+        this.analyzeFacadeService = analyzeFacadeService;
+        this.properties = properties;
+        this.executor = Executors.newFixedThreadPool(Math.max(1, properties.getProviderConcurrency()),
+                Thread.ofPlatform().name("batch-vertex-", 0).daemon(true).factory());
+    }
+
+    @Override
+    public String name() {
+        return "vertex";
+    }
+
+    @Override
+    protected CompletableFuture<List<BatchAnalysisOutput>> run(List<BatchAnalysisInput> inputs) {
+        List<BatchAnalysisInput> images = inputs.stream().filter(BatchAnalysisInput::isImage).toList();
+        List<BatchAnalysisInput> texts = inputs.stream().filter(i -> !i.isImage()).toList();
+
+        List<CompletableFuture<List<BatchAnalysisOutput>>> parts = new ArrayList<>();
+        for (List<BatchAnalysisInput> chunk : chunks(images, properties.getImagesPerCall())) {
+            parts.add(CompletableFuture.supplyAsync(() -> analyzeImages(chunk), executor));
+        }
+        for (List<BatchAnalysisInput> chunk : chunks(texts, properties.getTextsPerCall())) {
+            parts.add(CompletableFuture.supplyAsync(() -> analyzeTexts(chunk), executor));
+        }
+
+        return CompletableFuture.allOf(parts.toArray(CompletableFuture[]::new))
+                .thenApply(v -> parts.stream().flatMap(p -> p.join().stream()).toList());
+    }
+
+    private List<BatchAnalysisOutput> analyzeImages(List<BatchAnalysisInput> chunk) {
+        List<String> uris = chunk.stream().map(BatchAnalysisInput::getUri).toList();
+        List<String> mimes = chunk.stream().map(BatchAnalysisInput::getMime).toList();
+
+        List<String> ocr;
+        List<VertexParsedResult> tags;
+        try {
+            ocr = visionService.documentOcrFromUris(uris);
+            tags = analyzeFacadeService.extractTagsBatchFromUris(uris, mimes);
+        } catch (Exception e) {
+            log.warn("[BatchAnalysis] image chunk failed size={}: {}", chunk.size(), e.toString());
+            return failAll(chunk, e);
+        }
+
+        List<BatchAnalysisOutput> out = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            Long fileId = chunk.get(i).getFileId();
+            if (ocr.get(i) == null) {
+                out.add(BatchAnalysisOutput.failure(fileId, "ocr failed"));
+            } else if (tags.get(i) == null) {
+                out.add(BatchAnalysisOutput.failure(fileId, "tags missing in batch response"));
+            } else {
+                out.add(BatchAnalysisOutput.success(fileId, ocr.get(i), tags.get(i)));
+            }
+        }
+        return out;
+    }
+
+    /** 텍스트 파일은 본문이 곧 OCR 결과 (건별 파이프라인과 동일) */
+    private List<BatchAnalysisOutput> analyzeTexts(List<BatchAnalysisInput> chunk) {
+        List<String> texts = chunk.stream()
+                .map(i -> i.getText().length() <= properties.getMaxTextChars()
+                        ? i.getText() : i.getText().substring(0, properties.getMaxTextChars()))
+                .toList();
+
+        List<VertexParsedResult> tags;
+        try {
+            tags = analyzeFacadeService.extractTagsBatchFromTexts(texts);
+        } catch (Exception e) {
+            log.warn("[BatchAnalysis] text chunk failed size={}: {}", chunk.size(), e.toString());
+            return failAll(chunk, e);
+        }
+
+        List<BatchAnalysisOutput> out = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            BatchAnalysisInput input = chunk.get(i);
+            out.add(tags.get(i) == null
+                    ? BatchAnalysisOutput.failure(input.getFileId(), "tags missing in batch response")
+                    : BatchAnalysisOutput.success(input.getFileId(), input.getText(), tags.get(i)));
+        }
+        return out;
+    }
+
+    private static List<BatchAnalysisOutput> failAll(List<BatchAnalysisInput> chunk, Exception e) {
+        return chunk.stream().map(i -> BatchAnalysisOutput.failure(i.getFileId(), e.toString())).toList();
+    }
+
+    private static <T> List<List<T>> chunks(List<T> list, int size) {
+        int n = Math.max(1, size);
+        List<List<T>> out = new ArrayList<>();
+        for (int i = 0; i < list.size(); i += n) {
+            out.add(list.subList(i, Math.min(list.size(), i + n)));
+        }
+        return out;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,28 @@
+package com.jinjinjara.pola.batch.repository;
+
+import com.jinjinjara.pola.batch.entity.BatchAnalysisItem;
+import com.jinjinjara.pola.batch.entity.BatchAnalysisItemStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface BatchAnalysisItemRepository extends JpaRepository<BatchAnalysisItem, Long> {
+
+    List<BatchAnalysisItem> findByBatchIdOrderByIdAsc(Long batchId);
+
+    List<BatchAnalysisItem> findByBatchIdAndStatusIn(Long batchId, Collection<BatchAnalysisItemStatus> statuses);
+
+    /** 중단 처리된 배치의 남은 항목 정리 (BatchAnalysisJobRepository.markAbandoned 이후) */
+    @Modifying
+    @Query(value = """
+            UPDATE batch_analysis_items
+               SET status = 'FAILED', error = 'abandoned', updated_at = now()
+             WHERE status IN ('PENDING', 'CACHED')
+               AND batch_id IN (SELECT id FROM batch_analysis_jobs
+                                 WHERE status = 'FAILED' AND last_error = 'abandoned')
+            """, nativeQuery = true)
+    int markAbandonedItems();
+}
@@ -0,0 +1,37 @@
+package com.jinjinjara.pola.batch.repository;
+
+import com.jinjinjara.pola.batch.entity.BatchAnalysisJob;
+import com.jinjinjara.pola.batch.entity.BatchAnalysisJobStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface BatchAnalysisJobRepository extends JpaRepository<BatchAnalysisJob, Long> {
+
+    List<BatchAnalysisJob> findByOwnerAndStatusOrderByIdAsc(String owner, BatchAnalysisJobStatus status);
+
+    long countByOwnerAndStatusIn(String owner, Collection<BatchAnalysisJobStatus> statuses);
+
+    Page<BatchAnalysisJob> findAllByOrderByIdDesc(Pageable pageable);
+
+    /**
+     * 다른 워커가 만들고 끝내지 못한 배치 정리 (파드가 죽어 결과를 받을 주체가 없음)
+     * 묶였던 후처리 작업은 리스가 만료되면 작업 큐에서 다시 수거된다.
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE batch_analysis_jobs
+               SET status = 'FAILED', last_error = 'abandoned', completed_at = now(), updated_at = now()
+             WHERE status IN ('PREPARING', 'SUBMITTED')
+               AND owner <> :owner
+               AND updated_at < :cutoff
+            """, nativeQuery = true)
+    int markAbandoned(@Param("owner") String owner, @Param("cutoff") LocalDateTime cutoff);
+}
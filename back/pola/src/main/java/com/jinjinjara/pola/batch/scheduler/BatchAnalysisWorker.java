@@ -0,0 +1,66 @@
+package com.jinjinjara.pola.batch.scheduler;
+
+import com.jinjinjara.pola.batch.service.BatchAnalysisService;
+import com.jinjinjara.pola.batch.util.BatchAnalysisProperties;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * 배치 재분석 워커
+ *
+ * 역할:
+ * - pollIntervalMs 마다 제출한 배치의 결과를 확인해 반영하고, 자리가 있으면 새 배치를 만든다
+ * - 다른 파드가 남긴 (리스 시간이 지나도록 끝나지 않은) 배치 정리
+ * - 배치 차선(batch-analysis.lanes)의 작업은 PostProcessJobWorker 가 가져가지 않는다
+ *
+ * 종료 시 진행 중 배치는 그대로 둔다: 작업 리스가 만료되면 작업 큐에서 다시 수거된다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BatchAnalysisWorker {
+
+    private final BatchAnalysisService batchService;
+    private final BatchAnalysisProperties properties;
+
+    private String owner;
+
+    @PostConstruct
+    void init() {
+        String host = Optional.ofNullable(System.getenv("HOSTNAME")).orElse("local");
+        owner = host + "-batch-" + UUID.randomUUID().toString().substring(0, 8);
+        log.info("[BatchAnalysis] worker started owner={} enabled={} provider={} lanes={}",
+                owner, properties.isEnabled(), properties.getProvider(), properties.getLanes());
+    }
+
+    @Scheduled(fixedDelayString = "${batch-analysis.poll-interval-ms:5000}")
+    public void poll() {
+        if (!properties.isEnabled()) return;
+        try {
+            batchService.check(owner);
+        } catch (Exception e) {
+            log.error("[BatchAnalysis] check failed owner={}", owner, e);
+        }
+        try {
+            batchService.assemble(owner);
+        } catch (Exception e) {
+            log.error("[BatchAnalysis] assemble failed owner={}", owner, e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${batch-analysis.cleanup-interval-ms:600000}")
+    public void cleanup() {
+        if (!properties.isEnabled()) return;
+        try {
+            batchService.cleanupAbandoned(owner);
+        } catch (Exception e) {
+            log.warn("[BatchAnalysis] abandoned batch cleanup failed: {}", e.toString());
+        }
+    }
+}
@@ -0,0 +1,515 @@
+package com.jinjinjara.pola.batch.service;
+
+import com.jinjinjara.pola.batch.dto.common.BatchAnalysisInput;
+import com.jinjinjara.pola.batch.dto.common.BatchAnalysisOutput;
+import com.jinjinjara.pola.batch.entity.BatchAnalysisItem;
+import com.jinjinjara.pola.batch.entity.BatchAnalysisItemStatus;
+import com.jinjinjara.pola.batch.entity.BatchAnalysisJob;
+import com.jinjinjara.pola.batch.entity.BatchAnalysisJobStatus;
+import com.jinjinjara.pola.batch.provider.BatchAnalysisProvider;
+import com.jinjinjara.pola.batch.repository.BatchAnalysisItemRepository;
+import com.jinjinjara.pola.batch.repository.BatchAnalysisJobRepository;
+import com.jinjinjara.pola.batch.util.BatchAnalysisProperties;
+import com.jinjinjara.pola.common.CustomException;
+import com.jinjinjara.pola.common.ErrorCode;
+import com.jinjinjara.pola.data.entity.File;
+import com.jinjinjara.pola.data.repository.FileRepository;
+import com.jinjinjara.pola.pipeline.dto.common.PostProcessContext;
+import com.jinjinjara.pola.pipeline.entity.PostProcessJob;
+import com.jinjinjara.pola.pipeline.entity.PostProcessJobLane;
+import com.jinjinjara.pola.pipeline.service.PostProcessJobService;
+import com.jinjinjara.pola.pipeline.service.PostProcessPersistService;
+import com.jinjinjara.pola.pipeline.util.UriFetchRules;
+import com.jinjinjara.pola.s3.service.S3Service;
+import com.jinjinjara.pola.vision.dto.common.FetchedObject;
+import com.jinjinjara.pola.vision.service.AnalyzeFacadeService;
+import com.jinjinjara.pola.vision.service.ContentAnalysisCacheService;
+import com.jinjinjara.pola.vision.service.EmbeddingService;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 배치 재분석 (백필 전용)
+ *
+ * 1) assemble: 배치 차선의 작업을 긴 리스로 batchSize 개 수거 → 원본 확인(HEAD / 텍스트 본문) → 캐시 적중은 빼고 제공자에 제출
+ * 2) check:    제출한 배치의 상태를 확인, 끝났으면 apply
+ * 3) apply:    분류 → 임베딩(한 번에) → DB 반영(트랜잭션 하나, 검색 아웃박스 포함) → 작업 완료/실패 기록
+ *              OpenSearch 반영은 SearchOutboxRelay 가 _bulk 로 모아서 한다.
+ *
+ * 항목 실패는 해당 후처리 작업만 실패 처리하고(재시도/DEAD 규칙은 작업 큐와 동일), 나머지는 그대로 반영한다.
+ * 배치로 다룰 수 없는 파일(URI 로 읽을 수 없는 이미지, 큰 텍스트)은 실패시키지 않고 건별 파이프라인 차선으로 넘긴다.
+ */
+@Slf4j
+@Service
+public class BatchAnalysisService {
+
+    private static final int MAX_ERROR_LENGTH = 2000;
+    private static final long MAX_TEXT_BYTES = 2L * 1024 * 1024;
+
+    private final BatchAnalysisJobRepository batchRepository;
+    private final BatchAnalysisItemRepository itemRepository;
+    private final BatchAnalysisProperties properties;
+    private final Map<String, BatchAnalysisProvider> providers;
+    private final PostProcessJobService jobService;
+    private final FileRepository fileRepository;
+    private final S3Service s3Service;
+    private final AnalyzeFacadeService analyzeFacadeService;
+    private final EmbeddingService embeddingService;
+    private final ContentAnalysisCacheService analysisCacheService;
+    private final PostProcessPersistService persistService;
+    private final MeterRegistry meterRegistry;
+
+    public BatchAnalysisService(BatchAnalysisJobRepository batchRepository,
+                                BatchAnalysisItemRepository itemRepository,
+                                BatchAnalysisProperties properties,
+                                List<BatchAnalysisProvider> providers,
+                                PostProcessJobService jobService,
+                                FileRepository fileRepository,
+                                S3Service s3Service,
+                                AnalyzeFacadeService analyzeFacadeService,
+                                EmbeddingService embeddingService,
+                                ContentAnalysisCacheService analysisCacheService,
+                                PostProcessPersistService persistService,
+                                MeterRegistry meterRegistry) {
+        this.batchRepository = batchRepository;
+        this.itemRepository = itemRepository;
+        this.properties = properties;
+        this.providers = providers.stream()
+                .collect(Collectors.toMap(BatchAnalysisProvider::name, Function.identity()));
+        this.jobService = jobService;
+        this.fileRepository = fileRepository;
+        this.s3Service = s3Service;
+        this.analyzeFacadeService = analyzeFacadeService;
+        this.embeddingService = embeddingService;
+        this.analysisCacheService = analysisCacheService;
+        this.persistService = persistService;
+        this.meterRegistry = meterRegistry;
+    }
+
+    // ----------------------- assemble -----------------------
+
+    /** 배치 하나를 만들어 제출, 만들지 않았으면 null (진행 중 배치가 많거나 대기 작업 없음) */
+    public BatchAnalysisJob assemble(String owner) {
+        long active = batchRepository.countByOwnerAndStatusIn(owner,
+                List.of(BatchAnalysisJobStatus.PREPARING, BatchAnalysisJobStatus.SUBMITTED));
+        if (active >= properties.getMaxActiveBatches()) return null;
+
+        List<PostProcessJob> jobs = new ArrayList<>();
+        for (PostProcessJobLane lane : PostProcessJobLane.values()) {
+            if (!properties.handles(lane)) continue;
+            int want = properties.getBatchSize() - jobs.size();
+            if (want <= 0) break;
+            jobs.addAll(jobService.claim(owner, lane, want, properties.getLeaseMs()));
+        }
+        if (jobs.isEmpty()) return null;
+
+        BatchAnalysisProvider provider = provider();
+        BatchAnalysisJob batch = batchRepository.save(BatchAnalysisJob.builder()
+                .provider(provider.name())
+                .owner(owner)
+                .status(BatchAnalysisJobStatus.PREPARING)
+                .itemCount(jobs.size())
+                .build());
+
+        Map<Long, File> files = fileRepository.findAllById(jobs.stream().map(PostProcessJob::getFileId).toList())
+                .stream().collect(Collectors.toMap(File::getId, Function.identity()));
+
+        List<BatchAnalysisInput> inputs = new ArrayList<>();
+        List<BatchAnalysisItem> items = new ArrayList<>();
+        int failed = 0;
+        int rerouted = 0;
+        for (PostProcessJob job : jobs) {
+            BatchAnalysisItem item = BatchAnalysisItem.builder()
+                    .batchId(batch.getId())
+                    .jobId(job.getId())
+                    .fileId(job.getFileId())
+                    .userId(job.getUserId())
+                    .status(BatchAnalysisItemStatus.PENDING)
+                    .build();
+            items.add(item);
+            try {
+                File file = files.get(job.getFileId());
+                if (file == null) throw new CustomException(ErrorCode.FILE_NOT_FOUND);
+                BatchAnalysisInput input = prepare(file, item);
+                if (input != null) inputs.add(input);
+            } catch (NotBatchEligibleException e) {
+                reroute(item, owner, e.getMessage());
+                rerouted++;
+            } catch (Exception e) {
+                failItem(item, owner, e, isRetryable(e));
+                failed++;
+            }
+        }
+        itemRepository.saveAll(items);
+
+        batch.setFailedCount(failed);
+        batch.setSubmittedCount(inputs.size());
+        try {
+            if (!inputs.isEmpty()) batch.setProviderJobId(provider.submit(inputs));
+            batch.setStatus(BatchAnalysisJobStatus.SUBMITTED);
+            batch.setSubmittedAt(LocalDateTime.now());
+            batchRepository.save(batch);
+        } catch (Exception e) {
+            log.error("[BatchAnalysis] submit failed batchId={} provider={}", batch.getId(), provider.name(), e);
+            failBatch(batch, e.toString());
+            return batch;
+        }
+
+        meterRegistry.counter("pola.batch.submitted", "provider", provider.name()).increment();
+        meterRegistry.summary("pola.batch.size", "provider", provider.name()).record(inputs.size());
+        log.info("[BatchAnalysis] submitted batchId={} provider={} items={} toProvider={} prepareFailed={} rerouted={}",
+                batch.getId(), provider.name(), jobs.size(), inputs.size(), failed, rerouted);
+        return batch;
+    }
+
+    /**
+     * 파일 1건 준비 (건별 파이프라인의 URI 모드와 같은 규칙, UriFetchRules)
+     * - 이미지: HEAD + presigned URL, 캐시 키 "md5:" + 단일 파트 ETag
+     * - 텍스트: 본문 다운로드, 캐시 키 SHA-256
+     * 캐시에 있으면 CACHED 로 두고 null 반환 (제공자에 보내지 않음)
+     *
+     * @throws NotBatchEligibleException URI 로 읽을 수 없는 이미지, MAX_TEXT_BYTES 를 넘는 텍스트
+     */
+    private BatchAnalysisInput prepare(File file, BatchAnalysisItem item) {
+        HeadObjectResponse head = s3Service.headObject(file.getSrc());
+        String mime = head.contentType();
+        Long length = head.contentLength();
+
+        if (mime != null && mime.startsWith("image/")) {
+            String contentKey = UriFetchRules.contentKey(head);
+            if (contentKey == null) {
+                throw new NotBatchEligibleException("image not readable by URI: size=" + length + ", etag=" + head.eTag());
+            }
+            item.setContentHash(contentKey);
+            if (cached(item)) return null;
+            String uri = s3Service.generateAnalysisUrl(file.getSrc(), Duration.ofMillis(properties.getUriTtlMs())).toString();
+            return new BatchAnalysisInput(file.getId(), file.getSrc(), mime, uri, null);
+        }
+
+        if (length != null && length > MAX_TEXT_BYTES) {
+            throw new NotBatchEligibleException("text larger than batch limit: size=" + length);
+        }
+        FetchedObject object = FetchedObject.of(file.getSrc(), s3Service.downloadObject(file.getSrc(), MAX_TEXT_BYTES));
+        if (object.isImage()) {
+            throw new NotBatchEligibleException("image without image content-type: " + object.getMime());
+        }
+        String text = object.asUtf8Text().trim();
+        if (text.isBlank()) throw new CustomException(ErrorCode.INVALID_REQUEST, "Text content empty");
+
+        item.setContentHash(object.sha256Hex());
+        if (cached(item)) return null;
+        return new BatchAnalysisInput(file.getId(), file.getSrc(), object.getMime(), null, text);
+    }
+
+    private boolean cached(BatchAnalysisItem item) {
+        if (analysisCacheService.find(item.getContentHash()).isEmpty()) return false;
+        item.setStatus(BatchAnalysisItemStatus.CACHED);
+        return true;
+    }
+
+    // ----------------------- poll / apply -----------------------
+
+    /** 이 워커가 제출한 배치 중 끝난 것을 반영, 반영한 배치 수 반환 */
+    public int check(String owner) {
+        int applied = 0;
+        for (BatchAnalysisJob batch : batchRepository.findByOwnerAndStatusOrderByIdAsc(owner, BatchAnalysisJobStatus.SUBMITTED)) {
+            BatchAnalysisProvider provider = providers.get(batch.getProvider());
+            String providerJobId = batch.getProviderJobId();
+            BatchAnalysisProvider.Status status = providerJobId == null
+                    ? BatchAnalysisProvider.Status.SUCCEEDED
+                    : provider == null ? BatchAnalysisProvider.Status.UNKNOWN : provider.status(providerJobId);
+
+            switch (status) {
+                case RUNNING -> {
+                    if (batch.getSubmittedAt() != null
+                            && batch.getSubmittedAt().plusNanos(properties.getLeaseMs() * 1_000_000).isBefore(LocalDateTime.now())) {
+                        failBatch(batch, "batch exceeded lease");
+                        provider.cleanup(providerJobId);
+                    }
+                }
+                case SUCCEEDED -> {
+                    try {
+                        apply(batch, providerJobId == null ? List.of() : provider.results(providerJobId));
+                        applied++;
+                    } catch (Exception e) {
+                        log.error("[BatchAnalysis] apply failed batchId={}", batch.getId(), e);
+                        failBatch(batch, e.toString());
+                    } finally {
+                        if (providerJobId != null) provider.cleanup(providerJobId);
+                    }
+                }
+                case FAILED -> {
+                    failBatch(batch, provider.error(providerJobId));
+                    provider.cleanup(providerJobId);
+                }
+                case UNKNOWN -> failBatch(batch, "provider lost batch " + providerJobId);
+            }
+        }
+        return applied;
+    }
+
+    private void apply(BatchAnalysisJob batch, List<BatchAnalysisOutput> outputs) {
+        long t0 = System.currentTimeMillis();
+        String owner = batch.getOwner();
+        Map<Long, BatchAnalysisOutput> byFile = outputs.stream()
+                .collect(Collectors.toMap(BatchAnalysisOutput::getFileId, Function.identity(), (a, b) -> a));
+        List<BatchAnalysisItem> items = itemRepository.findByBatchIdAndStatusIn(batch.getId(),
+                List.of(BatchAnalysisItemStatus.PENDING, BatchAnalysisItemStatus.CACHED));
+        Map<Long, File> files = fileRepository.findAllById(items.stream().map(BatchAnalysisItem::getFileId).toList())
+                .stream().collect(Collectors.toMap(File::getId, Function.identity()));
+
+        // 1) 분석 결과 / 캐시 → 분류
+        List<BatchAnalysisItem> ready = new ArrayList<>();
+        List<PostProcessContext> contexts = new ArrayList<>();
+        for (BatchAnalysisItem item : items) {
+            try {
+                File file = files.get(item.getFileId());
+                if (file == null) throw new CustomException(ErrorCode.FILE_NOT_FOUND);
+                PostProcessContext ctx = toContext(item, file, byFile.get(item.getFileId()));
+                ctx.setAnalyzeResponse(analyzeFacadeService.classify(item.getUserId(), ctx.getParsed()));
+                ready.add(item);
+                contexts.add(ctx);
+            } catch (Exception e) {
+                failItem(item, owner, e, isRetryable(e));
+            }
+        }
+
+        // 2) 캐시에 없던 항목만 임베딩 (호출 한 번)
+        embed(ready, contexts, owner);
+
+        // 3) DB 반영: 트랜잭션 하나로, 실패하면 건별로 다시
+        Set<Long> persisted = persist(ready, contexts, owner);
+
+        for (BatchAnalysisItem item : ready) {
+            if (!persisted.contains(item.getFileId())) continue;
+            item.setStatus(BatchAnalysisItemStatus.SUCCEEDED);
+            try {
+                jobService.complete(item.getJobId(), owner);
+            } catch (Exception e) {
+                log.error("[BatchAnalysis] job complete failed jobId={}", item.getJobId(), e);
+            }
+        }
+        itemRepository.saveAll(items);
+
+        long succeeded = items.stream().filter(i -> i.getStatus() == BatchAnalysisItemStatus.SUCCEEDED).count();
+        batch.setSucceededCount((int) succeeded);
+        batch.setFailedCount(batch.getFailedCount() + (int) (items.size() - succeeded));
+        batch.setStatus(BatchAnalysisJobStatus.COMPLETED);
+        batch.setCompletedAt(LocalDateTime.now());
+        batchRepository.save(batch);
+
+        meterRegistry.counter("pola.batch.items", "provider", batch.getProvider(), "result", "success").increment(succeeded);
+        meterRegistry.counter("pola.batch.items", "provider", batch.getProvider(), "result", "failure")
+                .increment(items.size() - succeeded);
+        log.info("[BatchAnalysis] applied batchId={} succeeded={} failed={} apply={} ms",
+                batch.getId(), succeeded, batch.getFailedCount(), System.currentTimeMillis() - t0);
+    }
+
+    private PostProcessContext toContext(BatchAnalysisItem item, File file, BatchAnalysisOutput output) {
+        PostProcessContext ctx = new PostProcessContext(item.getUserId(), item.getFileId());
+        ctx.setSrc(file.getSrc());
+        ctx.setOldCategoryId(file.getCategoryId());
+        ctx.setContentHash(item.getContentHash());
+
+        if (item.getStatus() == BatchAnalysisItemStatus.CACHED) {
+            ContentAnalysisCacheService.Cached cached = analysisCacheService.find(item.getContentHash())
+                    .orElseThrow(() -> new IllegalStateException("analysis cache entry expired"));
+            ctx.setOcrText(cached.ocrText());
+            ctx.setParsed(cached.parsed());
+            ctx.setEmbedding(cached.embedding());
+            ctx.setCacheHit(true);
+            return ctx;
+        }
+
+        if (output == null) throw new IllegalStateException("no result from provider");
+        if (!output.isSuccess()) throw new IllegalStateException(output.getError());
+        ctx.setOcrText(output.getOcrText());
+        ctx.setParsed(output.getParsed());
+        return ctx;
+    }
+
+    private void embed(List<BatchAnalysisItem> ready, List<PostProcessContext> contexts, String owner) {
+        List<Integer> idx = new ArrayList<>();
+        for (int i = 0; i < contexts.size(); i++) {
+            if (!contexts.get(i).isCacheHit()) idx.add(i);
+        }
+        if (idx.isEmpty()) return;
+
+        List<float[]> embeddings;
+        try {
+            embeddings = embeddingService.embedOcrAndContextBatch(
+                    idx.stream().map(i -> contexts.get(i).getOcrText()).toList(),
+                    idx.stream().map(i -> contexts.get(i).getAnalyzeResponse().getDescription()).toList());
+        } catch (Exception e) {
+            log.error("[BatchAnalysis] embedding batch failed size={}", idx.size(), e);
+            embeddings = null;
+        }
+
+        // 뒤에서부터 지워야 앞쪽 인덱스가 유지된다
+        for (int k = idx.size() - 1; k >= 0; k--) {
+            int i = idx.get(k);
+            PostProcessContext ctx = contexts.get(i);
+            float[] embedding = embeddings == null ? null : embeddings.get(k);
+            if (embedding == null) {
+                failItem(ready.get(i), owner, new IllegalStateException("embedding failed"), true);
+                ready.remove(i);
+                contexts.remove(i);
+                continue;
+            }
+            ctx.setEmbedding(embedding);
+            analysisCacheService.put(ctx.getContentHash(), ctx.getOcrText(), ctx.getParsed(), embedding);
+        }
+    }
+
+    private Set<Long> persist(List<BatchAnalysisItem> ready, List<PostProcessContext> contexts, String owner) {
+        Set<Long> persisted = new HashSet<>();
+        if (contexts.isEmpty()) return persisted;
+        try {
+            persistService.persistAll(contexts);
+            contexts.forEach(c -> persisted.add(c.getFileId()));
+            return persisted;
+        } catch (Exception e) {
+            log.warn("[BatchAnalysis] bulk persist failed, falling back to per-file size={}: {}",
+                    contexts.size(), e.toString());
+        }
+        for (int i = 0; i < contexts.size(); i++) {
+            try {
+                persistService.persist(contexts.get(i));
+                persisted.add(contexts.get(i).getFileId());
+            } catch (Exception e) {
+                failItem(ready.get(i), owner, e, isRetryable(e));
+            }
+        }
+        return persisted;
+    }
+
+    // ----------------------- failure -----------------------
+
+    /** 배치 전체 실패: 아직 결과가 없는 항목의 작업은 재시도 대기로 돌린다 */
+    private void failBatch(BatchAnalysisJob batch, String error) {
+        List<BatchAnalysisItem> open = itemRepository.findByBatchIdAndStatusIn(batch.getId(),
+                List.of(BatchAnalysisItemStatus.PENDING, BatchAnalysisItemStatus.CACHED));
+        RuntimeException cause = new IllegalStateException("batch failed: " + error);
+        for (BatchAnalysisItem item : open) {
+            failItem(item, batch.getOwner(), cause, true);
+        }
+        itemRepository.saveAll(open);
+
+        batch.setStatus(BatchAnalysisJobStatus.FAILED);
+        batch.setLastError(truncate(String.valueOf(error)));
+        batch.setFailedCount(batch.getFailedCount() + open.size());
+        batch.setCompletedAt(LocalDateTime.now());
+        batchRepository.save(batch);
+
+        meterRegistry.counter("pola.batch.failed", "provider", batch.getProvider()).increment();
+        log.error("[BatchAnalysis] batch failed batchId={} provider={} open={} error={}",
+                batch.getId(), batch.getProvider(), open.size(), error);
+    }
+
+    /** 배치 대상이 아닌 파일: 실패가 아니라 건별 파이프라인이 처리하는 차선으로 넘긴다 */
+    private void reroute(BatchAnalysisItem item, String owner, String reason) {
+        PostProcessJobLane lane = perFileLane();
+        item.setStatus(BatchAnalysisItemStatus.REROUTED);
+        item.setError(truncate(reason));
+        try {
+            jobService.reroute(item.getJobId(), owner, lane, "not batch eligible: " + reason);
+        } catch (Exception e) {
+            // 리스 만료 후 다시 배치로 수거 → 다시 넘김
+            log.error("[BatchAnalysis] job reroute failed jobId={}", item.getJobId(), e);
+        }
+        meterRegistry.counter("pola.batch.rerouted").increment();
+    }
+
+    /** 건별 파이프라인이 처리하는 차선 중 우선순위가 가장 낮은 차선 (INTERACTIVE 는 배치가 맡지 않으므로 항상 있음) */
+    private PostProcessJobLane perFileLane() {
+        PostProcessJobLane[] lanes = PostProcessJobLane.values();
+        for (int i = lanes.length - 1; i >= 0; i--) {
+            if (!properties.handles(lanes[i])) return lanes[i];
+        }
+        return PostProcessJobLane.INTERACTIVE;
+    }
+
+    private void failItem(BatchAnalysisItem item, String owner, Throwable error, boolean retryable) {
+        item.setStatus(BatchAnalysisItemStatus.FAILED);
+        item.setError(truncate(String.valueOf(error)));
+        try {
+            jobService.fail(item.getJobId(), owner, error, retryable);
+        } catch (Exception e) {
+            // 상태 기록 실패 시 리스 만료 후 작업 큐에서 다시 수거
+            log.error("[BatchAnalysis] job fail update failed jobId={}", item.getJobId(), e);
+        }
+    }
+
+    /** 다른 (죽은) 워커가 남긴 배치 정리 */
+    @Transactional
+    public int cleanupAbandoned(String owner) {
+        LocalDateTime cutoff = LocalDateTime.now().minusNanos(properties.getLeaseMs() * 1_000_000);
+        int batches = batchRepository.markAbandoned(owner, cutoff);
+        if (batches > 0) {
+            int items = itemRepository.markAbandonedItems();
+            log.warn("[BatchAnalysis] abandoned batches={} items={}", batches, items);
+        }
+        return batches;
+    }
+
+    // ----------------------- 조회 -----------------------
+
+    @Transactional(readOnly = true)
+    public Page<BatchAnalysisJob> getBatches(Pageable pageable) {
+        return batchRepository.findAllByOrderByIdDesc(pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public BatchAnalysisJob getBatch(Long batchId) {
+        return batchRepository.findById(batchId)
+                .orElseThrow(() -> new CustomException(ErrorCode.BATCH_ANALYSIS_NOT_FOUND));
+    }
+
+    @Transactional(readOnly = true)
+    public List<BatchAnalysisItem> getItems(Long batchId) {
+        return itemRepository.findByBatchIdOrderByIdAsc(batchId);
+    }
+
+    // ----------------------- helpers -----------------------
+
+    private BatchAnalysisProvider provider() {
+        return Optional.ofNullable(providers.get(properties.getProvider()))
+                .orElseThrow(() -> new IllegalStateException("unknown batch provider: " + properties.getProvider()));
+    }
+
+    /** 파일이 없거나 요청 자체가 잘못된 경우는 재시도해도 소용없다 (작업 큐 워커와 같은 기준) */
+    private static boolean isRetryable(Throwable cause) {
+        if (cause instanceof CustomException ce) {
+            ErrorCode code = ce.getErrorCode();
+            return code != ErrorCode.FILE_NOT_FOUND && code != ErrorCode.INVALID_REQUEST;
+        }
+        return true;
+    }
+
+    private static String truncate(String s) {
+        return s.length() <= MAX_ERROR_LENGTH ? s : s.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    /** 배치로 분석할 수 없는 파일 (실패가 아님 → 건별 파이프라인으로) */
+    private static class NotBatchEligibleException extends RuntimeException {
+        NotBatchEligibleException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.jinjinjara.pola.batch.util;
+
+import com.jinjinjara.pola.pipeline.entity.PostProcessJobLane;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@ConfigurationProperties(prefix = "batch-analysis")
+@Getter @Setter
+public class BatchAnalysisProperties {
+
+    /** 켜면 lanes 의 작업은 건별 파이프라인 대신 배치 재분석으로 처리 */
+    private boolean enabled = false;
+
+    /** 배치 제공자 (vertex | stub), stub 은 외부 호출 없이 고정 결과를 돌려준다 (로컬/부하 시험용) */
+    private String provider = "vertex";
+
+    /**
+     * 배치 모드로 처리할 차선 (기본은 BACKFILL 만)
+     * INTERACTIVE 는 넣어도 무시한다 → 배치 대상이 아닌 파일을 넘길 건별 차선이 항상 남는다.
+     */
+    private List<PostProcessJobLane> lanes = new ArrayList<>(List.of(PostProcessJobLane.BACKFILL));
+
+    /** 배치 하나에 담을 최대 파일 수 */
+    private int batchSize = 200;
+
+    /** 이 파드가 동시에 제출해 둘 수 있는 배치 수 */
+    private int maxActiveBatches = 2;
+
+    private long pollIntervalMs = 5000;
+
+    /** 배치로 가져간 작업의 리스 (배치 결과를 기다리는 동안 다른 워커가 회수하지 않도록 길게) */
+    private long leaseMs = 7200000;
+
+    /** 제공자에 넘기는 presigned URL 유효 시간 (리스와 같게) */
+    private long uriTtlMs = 7200000;
+
+    /** Gemini 호출 하나에 묶을 이미지 / 텍스트 수 */
+    private int imagesPerCall = 8;
+    private int textsPerCall = 20;
+
+    /** 텍스트 파일 하나에서 Gemini 에 넘길 최대 글자 수 */
+    private int maxTextChars = 8000;
+
+    /** vertex 제공자의 동시 묶음 호출 수 */
+    private int providerConcurrency = 4;
+
+    private Stub stub = new Stub();
+
+    public boolean handles(PostProcessJobLane lane) {
+        return enabled && lane != PostProcessJobLane.INTERACTIVE && lanes.contains(lane);
+    }
+
+    @Getter @Setter
+    public static class Stub {
+        /** 배치 하나가 끝날 때까지 걸리는 시간 */
+        private long latencyMs = 2000;
+        /** 항목별 실패 비율 (0 ~ 1, fileId 기준으로 결정적) */
+        private double failureRate = 0.0;
+    }
+}
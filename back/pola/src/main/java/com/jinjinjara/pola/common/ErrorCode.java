@@ -41,6 +41,11 @@ public enum ErrorCode {
     FILE_DELETE_FAIL("FILE-003", "파일 삭제에 실패했습니다.", HttpStatus.BAD_REQUEST),
     FILE_CATEGORY_UPDATE_FAIL("FILE-004", "파일 카테고리 변경에 실패했습니다.", HttpStatus.BAD_REQUEST),
     FILE_ACCESS_DENIED("FILE-005", "해당 파일에 접근할 권한이 없습니다.", HttpStatus.FORBIDDEN),
+    POST_PROCESS_BUSY("FILE-006", "파일 후처리 요청이 많아 잠시 후 다시 시도해주세요.", HttpStatus.SERVICE_UNAVAILABLE),
+    POST_PROCESS_TIMEOUT("FILE-007", "파일 후처리 시간이 초과되었습니다.", HttpStatus.GATEWAY_TIMEOUT),
+    POST_PROCESS_JOB_NOT_FOUND("FILE-008", "후처리 작업을 찾을 수 없습니다.", HttpStatus.NOT_FOUND),
+    BATCH_ANALYSIS_NOT_FOUND("FILE-009", "배치 재분석을 찾을 수 없습니다.", HttpStatus.NOT_FOUND),
+    POST_PROCESS_IN_PROGRESS("FILE-010", "이미 후처리 중인 파일입니다.", HttpStatus.CONFLICT),
 
     /* ------------------------- [데이터 처리 / 일반] ------------------------- */
     DATA_NOT_FOUND("DATA-001", "데이터를 찾을 수 없습니다.", HttpStatus.NOT_FOUND),
@@ -50,6 +55,11 @@ public enum ErrorCode {
     SEARCH_FAIL("SEARCH-001", "검색 처리 중 오류가 발생했습니다.", HttpStatus.INTERNAL_SERVER_ERROR),
     SEARCH_INDEX_FAIL("SEARCH-002", "검색 인덱스 생성에 실패했습니다.", HttpStatus.INTERNAL_SERVER_ERROR),
     SEARCH_UPDATE_FAIL("SEARCH-003", "검색 문서 업데이트에 실패했습니다.", HttpStatus.INTERNAL_SERVER_ERROR),
+    SEARCH_BUSY("SEARCH-004", "검색 요청이 많아 잠시 후 다시 시도해주세요.", HttpStatus.SERVICE_UNAVAILABLE),
+    SEARCH_REINDEX_IN_PROGRESS("SEARCH-005", "이미 진행 중인 재색인 작업이 있습니다.", HttpStatus.CONFLICT),
+    SEARCH_REINDEX_NOT_FOUND("SEARCH-006", "재색인 작업을 찾을 수 없습니다.", HttpStatus.NOT_FOUND),
+    /* ------------------------- [외부 AI 서비스 관련] ------------------------- */
+    AI_PROVIDER_BUSY("AI-001", "AI 분석 요청이 많아 잠시 후 다시 시도해주세요.", HttpStatus.SERVICE_UNAVAILABLE),
     /* ------------------------- [유효성 / 요청 관련] ------------------------- */
     INVALID_REQUEST("COMMON-001", "잘못된 요청입니다.", HttpStatus.BAD_REQUEST),
     VALIDATION_ERROR("COMMON-002", "요청 데이터가 유효하지 않습니다.", HttpStatus.BAD_REQUEST),
@@ -1,6 +1,7 @@
 package com.jinjinjara.pola.common;
 
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
@@ -17,6 +18,16 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(response, errorCode.getStatus());
     }
 
+    /**
+     * 권한 부족 (@PreAuthorize) → 500 이 아닌 403
+     */
+    @ExceptionHandler(AccessDeniedException.class)
+    public ResponseEntity<ApiResponse<Void>> handleAccessDenied(AccessDeniedException e) {
+        ErrorCode errorCode = ErrorCode.USER_FORBIDDEN;
+        ApiResponse<Void> response = ApiResponse.fail(errorCode.getCode(), errorCode.getMessage());
+        return new ResponseEntity<>(response, errorCode.getStatus());
+    }
+
     /**
      * 일반 예외 처리 (예상치 못한 오류)
      */
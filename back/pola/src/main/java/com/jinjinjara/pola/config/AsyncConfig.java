@@ -1,6 +1,8 @@
 package com.jinjinjara.pola.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
@@ -10,13 +12,25 @@ import java.util.concurrent.Executor;
 /**
  * 비동기 처리 설정
  * OpenSearch 색인 등 시간이 걸리는 작업을 백그라운드에서 처리합니다.
+ * 가상 스레드 모드에서는 작업마다 가상 스레드를 쓰고, 동시 실행 수만 제한합니다.
  */
 @Configuration
 @EnableAsync
 public class AsyncConfig implements AsyncConfigurer {
 
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
     @Override
     public Executor getAsyncExecutor() {
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("async-opensearch-");
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(10); // 기존 최대 스레드 수와 같은 동시 실행 한도
+            executor.setTaskTerminationTimeout(30000);
+            return executor;
+        }
+
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(5);          // 기본 스레드 수
         executor.setMaxPoolSize(10);          // 최대 스레드 수
@@ -0,0 +1,24 @@
+package com.jinjinjara.pola.config;
+
+import com.google.auth.oauth2.GoogleCredentials;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Google 자격증명 (애플리케이션 전체에서 1개)
+ * ADC 는 기동 시 한 번만 읽고, 토큰 갱신은 GoogleTokenProvider 가 백그라운드에서 담당
+ */
+@Configuration
+public class GoogleCredentialConfig {
+
+    private static final List<String> SCOPES =
+            List.of("https://www.googleapis.com/auth/cloud-platform");
+
+    @Bean
+    public GoogleCredentials googleCredentials() throws Exception {
+        // GOOGLE_APPLICATION_CREDENTIALS 가 설정되어 있으면 해당 키, 아니면 메타데이터 서버 등 ADC 순서대로
+        return GoogleCredentials.getApplicationDefault().createScoped(SCOPES);
+    }
+}
@@ -1,9 +1,13 @@
 package com.jinjinjara.pola.config;
 
+import com.jinjinjara.pola.resilience.util.AdaptiveBulkhead;
+import com.jinjinjara.pola.resilience.util.BulkheadTransport;
+import com.jinjinjara.pola.resilience.util.Bulkheads;
 import org.apache.http.HttpHost;
 import org.opensearch.client.RestClient;
 import org.opensearch.client.json.jackson.JacksonJsonpMapper;
 import org.opensearch.client.opensearch.OpenSearchClient;
+import org.opensearch.client.transport.OpenSearchTransport;
 import org.opensearch.client.transport.rest_client.RestClientTransport;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -12,13 +16,19 @@ import org.springframework.context.annotation.Configuration;
 public class OpenSearchConfig {
 
     @Bean
-    public OpenSearchClient openSearchClient() {
+    public OpenSearchClient openSearchClient(Bulkheads bulkheads) {
         RestClient restClient = RestClient.builder(
                 new HttpHost("k13d204.p.ssafy.io", 30920, "http")
         ).build();
 
-        return new OpenSearchClient(
-                new RestClientTransport(restClient, new JacksonJsonpMapper())
-        );
+        OpenSearchTransport transport = new RestClientTransport(restClient, new JacksonJsonpMapper());
+        // 검색/색인 동시 호출 격벽 (OpenSearch 지연이 요청 스레드 전체로 번지지 않도록)
+        // _bulk / 재색인은 opensearch-bulk 로 따로 센다
+        AdaptiveBulkhead bulkhead = bulkheads.get("opensearch");
+        AdaptiveBulkhead bulkBulkhead = bulkheads.get("opensearch-bulk");
+        if (bulkhead != null || bulkBulkhead != null) {
+            transport = new BulkheadTransport(transport, bulkhead, bulkBulkhead);
+        }
+        return new OpenSearchClient(transport);
     }
 }
@@ -0,0 +1,49 @@
+package com.jinjinjara.pola.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 외부 호출(Vertex / 임베딩 / 객체 다운로드 / S3) 공용 HTTP 설정
+ * 의존성별로 read 타임아웃을 따로 두고, 연결은 하나의 풀에서 재사용
+ */
+@Configuration
+@ConfigurationProperties(prefix = "http.outbound")
+@Getter @Setter
+public class OutboundHttpProperties {
+
+    /** TCP+TLS 연결 수립 제한 */
+    private long connectTimeoutMs = 3000;
+
+    /** HTTP/2 사용 (ALPN 협상 실패 시 HTTP/1.1 로 자동 폴백) */
+    private boolean http2 = true;
+
+    private Dependency vertex = new Dependency(60000);
+    private Dependency embedding = new Dependency(20000);
+    private Dependency download = new Dependency(15000);
+
+    private S3 s3 = new S3();
+
+    @Getter @Setter
+    public static class Dependency {
+        private long readTimeoutMs;
+
+        public Dependency() {}
+
+        public Dependency(long readTimeoutMs) {
+            this.readTimeoutMs = readTimeoutMs;
+        }
+    }
+
+    @Getter @Setter
+    public static class S3 {
+        private int maxConnections = 100;        // 파이프라인 FETCH 동시성 + 업로드 여유분
+        private long connectionTimeoutMs = 3000;
+        private long socketTimeoutMs = 30000;
+        private long connectionAcquireTimeoutMs = 5000;
+        private long connectionMaxIdleMs = 60000;
+        private boolean tcpKeepAlive = true;
+    }
+}
@@ -1,17 +1,24 @@
 package com.jinjinjara.pola.config;
 
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 
+import java.time.Duration;
+
 @Configuration
+@RequiredArgsConstructor
 public class S3Config {
 
+    private final OutboundHttpProperties outboundHttpProperties;
+
     @Value("${cloud.aws.credentials.access-key}")
     private String accessKey;
 
@@ -34,10 +41,19 @@ public class S3Config {
     @Bean
     public S3Client s3Client() {
         AwsBasicCredentials credentials = AwsBasicCredentials.create(accessKey, secretKey);
+        OutboundHttpProperties.S3 pool = outboundHttpProperties.getS3();
 
+        // 기본값(최대 50 연결)은 파이프라인 FETCH 동시성에서 연결 대기/재수립이 잦음 → 풀 크기/유휴 유지 조정
         return S3Client.builder()
                 .region(Region.of(region))
                 .credentialsProvider(StaticCredentialsProvider.create(credentials))
+                .httpClientBuilder(ApacheHttpClient.builder()
+                        .maxConnections(pool.getMaxConnections())
+                        .connectionTimeout(Duration.ofMillis(pool.getConnectionTimeoutMs()))
+                        .socketTimeout(Duration.ofMillis(pool.getSocketTimeoutMs()))
+                        .connectionAcquisitionTimeout(Duration.ofMillis(pool.getConnectionAcquireTimeoutMs()))
+                        .connectionMaxIdleTime(Duration.ofMillis(pool.getConnectionMaxIdleMs()))
+                        .tcpKeepAlive(pool.isTcpKeepAlive()))
                 .build();
     }
 }
@@ -0,0 +1,21 @@
+package com.jinjinjara.pola.config;
+
+import com.google.api.gax.core.FixedCredentialsProvider;
+import com.google.auth.oauth2.GoogleCredentials;
+import com.google.cloud.translate.v3.TranslationServiceClient;
+import com.google.cloud.translate.v3.TranslationServiceSettings;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class TranslationConfig {
+
+    // gRPC 채널을 요청마다 새로 만들지 않도록 싱글톤으로 공유 (종료 시 close)
+    @Bean(destroyMethod = "close")
+    public TranslationServiceClient translationServiceClient(GoogleCredentials googleCredentials) throws Exception {
+        TranslationServiceSettings settings = TranslationServiceSettings.newBuilder()
+                .setCredentialsProvider(FixedCredentialsProvider.create(googleCredentials))
+                .build();
+        return TranslationServiceClient.create(settings);
+    }
+}
@@ -13,9 +13,8 @@ import org.threeten.bp.Duration;
 public class VisionConfig {
 
     @Bean
-    public ImageAnnotatorClient imageAnnotatorClient() throws Exception {
-        // GOOGLE_APPLICATION_CREDENTIALS 가 설정되어 있으면 fromStream 없이 Application Default Credentials로도 동작
-        GoogleCredentials credentials = GoogleCredentials.getApplicationDefault();
+    public ImageAnnotatorClient imageAnnotatorClient(GoogleCredentials credentials) throws Exception {
+        // 공용 자격증명(GoogleCredentialConfig) 사용
 
         // (선택) 타임아웃/재시도 커스터마이즈
         RetrySettings retry = RetrySettings.newBuilder()
@@ -11,6 +11,7 @@ import com.jinjinjara.pola.data.dto.request.FileUploadCompleteRequest;
 import com.jinjinjara.pola.data.dto.response.*;
 import com.jinjinjara.pola.data.entity.File;
 import com.jinjinjara.pola.data.service.DataService;
+import com.jinjinjara.pola.pipeline.dto.common.AnalyzerMode;
 import com.jinjinjara.pola.user.entity.Users;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -262,22 +263,25 @@ public class DataController {
 
     @Operation(
             summary = "파일 후처리 (OCR + 임베딩 + 카테고리 분석)",
-            description = "S3에 업로드된 파일을 분석하여 OCR, 임베딩, 카테고리 및 태그 정보를 자동으로 갱신합니다."
+            description = "S3에 업로드된 파일을 분석하여 OCR, 임베딩, 카테고리 및 태그 정보를 자동으로 갱신합니다. "
+                    + "analyzer 로 분석 방식(TWO_CALL / SINGLE_CALL)을 지정할 수 있으며, 생략하면 서버 설정을 따릅니다. "
+                    + "같은 파일을 이미 처리 중이면 409(FILE-010)를 반환합니다."
     )
     @PostMapping("/{fileId}/post-process")
     public ApiResponse<File> postProcessingFile(
             @AuthenticationPrincipal Users user,
-            @PathVariable Long fileId
+            @PathVariable Long fileId,
+            @RequestParam(required = false) AnalyzerMode analyzer
     ) throws Exception {
-        File updated = dataService.postProcessingFile(user, fileId);
+        File updated = dataService.postProcessingFile(user, fileId, analyzer);
         return ApiResponse.ok(updated, "파일 후처리가 완료되었습니다.");
     }
     @PostMapping("/processUncategorizedFiles")
     public ApiResponse<String> processUncategorizedFiles(@AuthenticationPrincipal Users user) {
-        // 파일 처리 시작을 비동기적으로 호출
-        dataService.processUncategorizedFilesForUserAsync(user);  // 비동기 처리 시작
+        // 파일별 후처리 작업을 대기열에 등록 (처리는 워커가 비동기로 수행)
+        int queued = dataService.enqueueUncategorizedFiles(user);
 
         // 즉시 응답을 유저에게 보냄
-        return ApiResponse.ok("File processing started for uncategorized files.");
+        return ApiResponse.ok("File processing started for " + queued + " uncategorized files.");
     }
 }
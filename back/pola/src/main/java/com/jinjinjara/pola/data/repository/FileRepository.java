@@ -1,6 +1,7 @@
 package com.jinjinjara.pola.data.repository;
 
 import com.jinjinjara.pola.data.entity.File;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
@@ -145,6 +146,11 @@ public interface FileRepository extends JpaRepository<File, Long> {
 
     Page<File> findAllByUserIdAndCategoryId(Long userId, Long categoryId, Pageable pageable);
 
+    /** 후처리 반영을 파일 단위로 직렬화 (같은 파일이 동시에 두 번 반영되지 않도록) */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT f FROM File f WHERE f.id = :id")
+    Optional<File> findByIdForUpdate(@Param("id") Long id);
+
     @Modifying(clearAutomatically = true, flushAutomatically = true)
     @Query("""
             UPDATE File f SET
@@ -163,4 +169,18 @@ public interface FileRepository extends JpaRepository<File, Long> {
             @Param("ocrText") String ocrText,
             @Param("vectorId") Long vectorId
     );
+
+    /** 재색인 슬라이스 페이지: (afterId, toId] 범위의 파일 ID 를 키셋으로 */
+    @Query(value = """
+            SELECT f.id FROM files f
+             WHERE f.id > :afterId AND f.id <= :toId
+             ORDER BY f.id
+             LIMIT :limit
+            """, nativeQuery = true)
+    List<Long> findIdsInRange(@Param("afterId") Long afterId,
+                              @Param("toId") Long toId,
+                              @Param("limit") int limit);
+
+    @Query(value = "SELECT COALESCE(MAX(f.id), 0) FROM files f", nativeQuery = true)
+    Long findMaxId();
 }
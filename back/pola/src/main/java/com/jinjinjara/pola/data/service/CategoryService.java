@@ -14,8 +14,11 @@ import com.jinjinjara.pola.data.repository.CategoryRepository;
 import com.jinjinjara.pola.data.repository.CategoryTagRepository;
 import com.jinjinjara.pola.data.repository.FileRepository;
 import com.jinjinjara.pola.data.repository.TagRepository;
+import com.jinjinjara.pola.search.model.SearchDocField;
+import com.jinjinjara.pola.search.service.SearchOutboxService;
 import com.jinjinjara.pola.user.entity.Users;
-import com.jinjinjara.pola.vision.dto.common.CategoryChangedEvent;
+import com.jinjinjara.pola.vision.dto.common.CentroidDeltaEvent;
+import com.jinjinjara.pola.vision.dto.common.CentroidDeltaEvent.CategoryDelta;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
@@ -37,6 +40,7 @@ public class CategoryService {
     private final CategoryTagRepository categoryTagRepository;
     private final FileRepository fileRepository;
     private final ApplicationEventPublisher publisher;
+    private final SearchOutboxService searchOutboxService;
     /**
      * CREATE - 카테고리 생성
      */
@@ -54,8 +58,8 @@ public class CategoryService {
                     .fileCount(0)
                     .build();
 
+            // 태그가 없는 새 카테고리는 센트로이드에 영향이 없으므로 이벤트 발행 안 함
             Category saved = categoryRepository.save(category);
-            publisher.publishEvent(new CategoryChangedEvent(user.getId()));
             return CategoryResponse.fromEntity(saved);
         } catch (CustomException e) {
             throw e; // 그대로 전달
@@ -117,6 +121,7 @@ public class CategoryService {
             if (exists) {
                 throw new CustomException(ErrorCode.CATEGORY_ALREADY_EXISTS);
             }
+            String oldName = category.getCategoryName();
 
             category = Category.builder()
                     .id(category.getId())
@@ -127,6 +132,12 @@ public class CategoryService {
                     .build();
 
             Category updated = categoryRepository.save(category);
+            if (oldName != null && !oldName.equals(newName)) {
+                // 센트로이드는 카테고리명으로 저장되어 있으므로 키만 옮긴다
+                publisher.publishEvent(CentroidDeltaEvent.of(user.getId(), CategoryDelta.renamed(oldName, newName)));
+                // 검색 문서의 카테고리명도 함께 갱신
+                searchOutboxService.enqueueCategory(updated.getId());
+            }
             return CategoryResponse.fromEntity(updated);
         } catch (CustomException e) {
             throw e;
@@ -170,6 +181,7 @@ public class CategoryService {
                 file.setCategoryId(uncategorizedId);
             }
             fileRepository.saveAll(files);
+            searchOutboxService.enqueuePatches(files.stream().map(File::getId).toList(), SearchDocField.CATEGORY_NAME);
 
             // 3-1. 미분류 카테고리에 파일 개수 반영
             if (movedCount > 0) {
@@ -183,8 +195,8 @@ public class CategoryService {
             // 5. 실제 카테고리 삭제
             categoryRepository.deleteById(id);
 
-            // 6. 캐시 재계산 또는 이벤트 발행
-            publisher.publishEvent(new CategoryChangedEvent(userId));
+            // 6. 해당 카테고리 센트로이드만 제거
+            publisher.publishEvent(CentroidDeltaEvent.of(userId, CategoryDelta.deleted(category.getCategoryName())));
 
         } catch (CustomException e) {
             throw e;
@@ -13,12 +13,15 @@ import com.jinjinjara.pola.data.repository.CategoryRepository;
 import com.jinjinjara.pola.data.repository.TagRepository;
 import com.jinjinjara.pola.data.repository.CategoryTagRepository;
 import com.jinjinjara.pola.user.entity.Users;
-import com.jinjinjara.pola.vision.dto.common.CategoryChangedEvent;
+import com.jinjinjara.pola.vision.dto.common.CentroidDeltaEvent;
+import com.jinjinjara.pola.vision.dto.common.CentroidDeltaEvent.CategoryDelta;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -58,7 +61,8 @@ public class CategoryTagService {
                     .build();
 
             CategoryTag saved = categoryTagRepository.save(categoryTag);
-            publisher.publishEvent(new CategoryChangedEvent(category.getUser().getId()));
+            publisher.publishEvent(CentroidDeltaEvent.of(category.getUser().getId(),
+                    CategoryDelta.added(category.getCategoryName(), List.of(tag.getTagName()))));
             return CategoryTagResponse.fromEntity(saved);
         } catch (Exception e) {
             throw new CustomException(ErrorCode.TAG_CREATE_FAIL, e.getMessage());
@@ -76,9 +80,15 @@ public class CategoryTagService {
         Tag tag = tagRepository.findById(tagId)
                 .orElseThrow(() -> new CustomException(ErrorCode.TAG_NOT_FOUND));
 
+        // 실제로 연결돼 있던 태그만 센트로이드에서 빼야 한다
+        boolean linked = categoryTagRepository.existsByCategoryAndTag(category, tag);
+
         try {
             categoryTagRepository.deleteByCategoryAndTag(category, tag);
-            publisher.publishEvent(new CategoryChangedEvent(category.getUser().getId()));
+            if (linked) {
+                publisher.publishEvent(CentroidDeltaEvent.of(category.getUser().getId(),
+                        CategoryDelta.removed(category.getCategoryName(), List.of(tag.getTagName()))));
+            }
         } catch (Exception e) {
             throw new CustomException(ErrorCode.DATA_DELETE_FAIL, e.getMessage());
         }
@@ -184,7 +194,8 @@ public class CategoryTagService {
             }
         });
 
-        // 카테고리-태그 등록
+        // 카테고리-태그 등록 (새로 연결된 태그만 센트로이드에 반영)
+        Map<String, List<String>> added = new LinkedHashMap<>();
         request.getCategories().forEach(c -> {
             c.getTags().forEach(tagName -> {
                 Tag tag = tagRepository.findByTagName(tagName)
@@ -203,10 +214,15 @@ public class CategoryTagService {
                             .category(category)
                             .tag(tag)
                             .build());
+                    added.computeIfAbsent(category.getCategoryName(), k -> new ArrayList<>()).add(tag.getTagName());
                 }
             });
         });
-        publisher.publishEvent(new CategoryChangedEvent(user.getId()));
+        if (!added.isEmpty()) {
+            publisher.publishEvent(CentroidDeltaEvent.of(user.getId(), added.entrySet().stream()
+                    .map(e -> CategoryDelta.added(e.getKey(), e.getValue()))
+                    .toList()));
+        }
     }
 
     @Transactional(readOnly = true)
@@ -257,6 +273,7 @@ public class CategoryTagService {
                 .filter(c -> c.getUser().getId().equals(user.getId()))
                 .orElseThrow(() -> new CustomException(ErrorCode.FILE_ACCESS_DENIED));
 
+        List<String> addedTagNames = new ArrayList<>();
         List<CategoryTagResponse> results = tagNames.stream()
                 .map(tagName -> {
                     // 1. 태그 존재 확인 (없으면 생성)
@@ -275,13 +292,17 @@ public class CategoryTagService {
                             .tag(tag)
                             .build();
                     CategoryTag saved = categoryTagRepository.save(categoryTag);
+                    addedTagNames.add(tag.getTagName());
 
                     return CategoryTagResponse.fromEntity(saved);
                 })
                 .filter(ct -> ct != null)
                 .toList();
 
-        publisher.publishEvent(new CategoryChangedEvent(category.getUser().getId()));
+        if (!addedTagNames.isEmpty()) {
+            publisher.publishEvent(CentroidDeltaEvent.of(category.getUser().getId(),
+                    CategoryDelta.added(category.getCategoryName(), addedTagNames)));
+        }
         return results;
     }
 }
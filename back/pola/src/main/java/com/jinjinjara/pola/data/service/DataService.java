@@ -18,34 +18,26 @@ import com.jinjinjara.pola.data.repository.*;
 import com.jinjinjara.pola.data.repository.CategoryRepository;
 import com.jinjinjara.pola.data.repository.FileRepository;
 import com.jinjinjara.pola.data.repository.TagRepository;
+import com.jinjinjara.pola.pipeline.dto.common.AnalyzerMode;
+import com.jinjinjara.pola.pipeline.entity.PostProcessJobLane;
+import com.jinjinjara.pola.pipeline.service.PostProcessJobService;
+import com.jinjinjara.pola.pipeline.service.PostProcessPipeline;
+import com.jinjinjara.pola.pipeline.util.PipelineProperties;
 import com.jinjinjara.pola.s3.service.S3Service;
-import com.jinjinjara.pola.search.model.FileSearch;
-import com.jinjinjara.pola.search.service.FileSearchService;
+import com.jinjinjara.pola.search.model.SearchDocField;
+import com.jinjinjara.pola.search.service.SearchOutboxService;
 import com.jinjinjara.pola.user.entity.Users;
-import com.jinjinjara.pola.vision.dto.response.AnalyzeResponse;
-import com.jinjinjara.pola.vision.entity.FileEmbeddings;
-import com.jinjinjara.pola.vision.repository.FileEmbeddingsRepository;
-import com.jinjinjara.pola.vision.service.AnalyzeFacadeService;
-import com.jinjinjara.pola.vision.service.EmbeddingService;
-import com.jinjinjara.pola.vision.service.VisionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.transaction.support.TransactionSynchronizationManager;
-import org.springframework.util.StopWatch;
 
-import java.net.URL;
-import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.time.LocalDateTime;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -57,15 +49,13 @@ public class DataService {
     private final CategoryRepository categoryRepository;
     private final S3Service s3Service;
     private final TagRepository tagRepository;
-    private final AnalyzeFacadeService analyzeFacadeService;
-    private final FileTagService fileTagService;
-    private final VisionService visionService;
-    private final EmbeddingService embeddingService;
-    private final FileEmbeddingsRepository fileEmbeddingsRepository;
     private final CategoryTagRepository categoryTagRepository;
     private final FileTagRepository fileTagRepository;
-    private final FileSearchService fileSearchService;
+    private final SearchOutboxService searchOutboxService;
     private final RemindCacheRepository remindCacheRepository;
+    private final PostProcessPipeline postProcessPipeline;
+    private final PostProcessJobService postProcessJobService;
+    private final PipelineProperties pipelineProperties;
 
     @Transactional(readOnly = true)
     public List<DataResponse> getRemindFiles(Long userId) {
@@ -136,8 +126,8 @@ public class DataService {
 
             fileTagRepository.deleteByFile(file);
             s3Service.deleteFileFromS3(file.getSrc());
-            // 3. OpenSearch에서 인덱스 삭제
-            deleteFromOpenSearchAsync(fileId);
+            // 3. OpenSearch에서 인덱스 삭제 (아웃박스 → 커밋 후 릴레이가 반영)
+            searchOutboxService.enqueueDelete(fileId);
 
 
             fileRepository.delete(file);
@@ -317,7 +307,13 @@ public class DataService {
                 .views(0)
                 .build();
 
-        return fileRepository.save(file);
+        File saved = fileRepository.save(file);
+
+        // 같은 트랜잭션에서 후처리 작업 등록 (유실 방지)
+        // 클라이언트가 곧바로 동기 후처리를 호출하면 그쪽에서 완료 처리되고, 아니면 유예 후 워커가 처리
+        postProcessJobService.enqueue(user.getId(), saved.getId(), PostProcessJobLane.INTERACTIVE,
+                pipelineProperties.getJobs().getUploadGraceMs());
+        return saved;
     }
 
     /**
@@ -342,17 +338,14 @@ public class DataService {
         file.setCategoryId(categoryId);
         File savedFile = fileRepository.save(file);
 
-        // OpenSearch 업데이트
-        String categoryName = categoryRepository.findById(categoryId)
-                .map(Category::getCategoryName)
-                .orElse("미분류");
         oldCategory.decreaseCount(1);
         newCategory.increaseCount(1);
 
         categoryRepository.save(oldCategory);
         categoryRepository.save(newCategory);
 
-        indexToOpenSearchAsync(savedFile, categoryName);
+        // OpenSearch 업데이트 (categoryName 만)
+        searchOutboxService.enqueuePatch(savedFile.getId(), SearchDocField.CATEGORY_NAME);
 
         return savedFile;
     }
@@ -379,11 +372,8 @@ public class DataService {
 
         File saved = fileRepository.save(file);
 
-        // OpenSearch 업데이트
-        String categoryName = categoryRepository.findById(file.getCategoryId())
-                .map(Category::getCategoryName)
-                .orElse("미분류");
-        indexToOpenSearchAsync(saved, categoryName);
+        // OpenSearch 업데이트 (favorite 만)
+        searchOutboxService.enqueuePatch(saved.getId(), SearchDocField.FAVORITE);
 
         return saved;
     }
@@ -406,11 +396,8 @@ public class DataService {
 
         File saved = fileRepository.save(file);
 
-        // OpenSearch 업데이트
-        String categoryName = categoryRepository.findById(file.getCategoryId())
-                .map(Category::getCategoryName)
-                .orElse("미분류");
-        indexToOpenSearchAsync(saved, categoryName);
+        // OpenSearch 업데이트 (favorite 만)
+        searchOutboxService.enqueuePatch(saved.getId(), SearchDocField.FAVORITE);
 
         return saved;
     }
@@ -548,11 +535,8 @@ public class DataService {
 
         File saved = fileRepository.save(file);
 
-        // OpenSearch 업데이트
-        String categoryName = categoryRepository.findById(saved.getCategoryId())
-                .map(Category::getCategoryName)
-                .orElse("미분류");
-        indexToOpenSearchAsync(saved, categoryName);
+        // OpenSearch 업데이트 (context 만)
+        searchOutboxService.enqueuePatch(saved.getId(), SearchDocField.CONTEXT);
 
         return FileDetailResponse.builder()
                 .id(saved.getId())
@@ -576,198 +560,27 @@ public class DataService {
                 .build();
     }
 
-    @Transactional
-    public File postProcessingFile(Users user, Long fileId) throws Exception {
-
-        StopWatch sw = new StopWatch("postProcess");
-        log.info("[PostProcess] Start post-processing fileId={}, userId={}", fileId, user.getId());
-
-        sw.start("Load File");
-        File file = fileRepository.findById(fileId)
-                .orElseThrow(() -> new CustomException(ErrorCode.FILE_NOT_FOUND));
-        Long oldCategoryId = file.getCategoryId(); // 기존 카테고리 ID 저장
-        log.info("[PostProcess] File entity loaded: src={}, oldCategoryId={}", file.getSrc(), oldCategoryId);
-        sw.stop();
-
-        sw.start("Load Url");
-        URL downUrl = s3Service.generateDownloadUrl(file.getSrc());
-        log.info("[PostProcess] S3 download URL generated: {}", downUrl);
-        sw.stop();
-
-        sw.start("OCR+Analyze");
-
-        // OCR 비동기 실행
-        CompletableFuture<String> ocrFuture = CompletableFuture.supplyAsync(() -> {
-            long t0 = System.currentTimeMillis();
-            try {
-                String text = visionService.extractTextFromS3Url(downUrl.toString());
-                long elapsed = System.currentTimeMillis() - t0;
-                log.info("[PostProcess] OCR extraction completed: textLength={}, elapsed={} ms",
-                        text != null ? text.length() : 0,
-                        elapsed);
-                return text;
-            } catch (Exception e) {
-                log.error("[PostProcess] OCR failed", e);
-                throw new CompletionException(e);
-            }
-        });
-
-        // Analyze 비동기 실행
-        CompletableFuture<AnalyzeResponse> analyzeFuture = CompletableFuture.supplyAsync(() -> {
-            long t0 = System.currentTimeMillis();
-            try {
-                AnalyzeResponse res = analyzeFacadeService.analyze(user.getId(), downUrl.toString());
-                long elapsed = System.currentTimeMillis() - t0;
-                log.info("[PostProcess] Analyze completed: categoryId={}, tagsCount={}, elapsed={} ms",
-                        res.getCategoryId(),
-                        res.getTags() != null ? res.getTags().size() : 0,
-                        elapsed);
-                return res;
-            } catch (Exception e) {
-                log.error("[PostProcess] Analyze failed", e);
-                throw new CompletionException(e);
-            }
-        });
-
-        String ocrText;
-        AnalyzeResponse analyzeResponse;
-        try {
-            // 병렬 실행
-            ocrText = ocrFuture.join();
-            analyzeResponse = analyzeFuture.join();
-        } catch (CompletionException e) {
-            Throwable cause = e.getCause();
-            if (cause instanceof Exception ex) {
-                throw ex;
-            }
-            throw e;
-        }
-
-        Long newCategoryId = analyzeResponse.getCategoryId();
-        log.info("[PostProcess] Analyze completed: newCategoryId={}", newCategoryId);
-
-        sw.stop();
-
-        sw.start("TagSave");
-        fileTagService.addTagsToFile(fileId, analyzeResponse.getTags(),user);
-        sw.stop();
-
-        sw.start("Embedding");
-        float[] embedding = embeddingService.embedOcrAndContext(ocrText, analyzeResponse.getDescription());
-        sw.stop();
-
-        sw.start("EmbeddingDBSave");
-        FileEmbeddings fileEmbeddings = fileEmbeddingsRepository.save(
-                FileEmbeddings.builder()
-                        .userId(user.getId())
-                        .file(file)
-                        .ocrText(ocrText)
-                        .context(analyzeResponse.getDescription())
-                        .embedding(embedding)
-                        .build()
-        );
-        sw.stop();
-
-        sw.start("FileUpdate");
-        fileRepository.updatePostProcessing(
-                file.getId(),
-                user.getId(),
-                newCategoryId,
-                analyzeResponse.getDescription(),
-                ocrText,
-                fileEmbeddings.getId()
-        );
-        sw.stop();
-
-        /*  여기서 category 파일 개수 업데이트  */
-        if (!Objects.equals(oldCategoryId, newCategoryId)) {
-            Category oldCategory = categoryRepository.findById(oldCategoryId)
-                    .orElse(null); // 혹시 삭제된 카테고리 예외 처리
-
-            Category newCategory = categoryRepository.findById(newCategoryId)
-                    .orElseThrow(() -> new CustomException(ErrorCode.CATEGORY_NOT_FOUND));
-
-            if (oldCategory != null) {
-                oldCategory.decreaseCount(1);
-                categoryRepository.save(oldCategory);
-                log.info("[PostProcess] oldCategoryId={} decremented", oldCategoryId);
-            }
-
-            newCategory.increaseCount(1);
-            categoryRepository.save(newCategory);
-            log.info("[PostProcess] newCategoryId={} incremented", newCategoryId);
-        }
-
-        /* Entity 최신화 */
-        file.setCategoryId(newCategoryId);
-        file.setContext(analyzeResponse.getDescription());
-        file.setOcrText(ocrText);
-        file.setVectorId(fileEmbeddings.getId());
-
-        sw.start("OpenSearch");
-        String categoryName = categoryRepository.findById(newCategoryId)
-                .map(Category::getCategoryName)
-                .orElse("미분류");
-
-        indexToOpenSearchAsync(file, categoryName);
-        sw.stop();
-
-        log.info(sw.prettyPrint());
-        log.info("[PostProcess] total={} ms", sw.getTotalTimeMillis());
-
-        return file;
-    }
-
     /**
-     * OpenSearch 색인 (비동기 처리)
-     * 파일 저장/수정 시 자동으로 검색 인덱스 업데이트
+     * 파일 후처리 (OCR + Vertex 분석 + 태그 + 임베딩 + 색인)
+     * 단계별 실행기를 가진 PostProcessPipeline 에 위임하고 결과까지 대기한다.
+     * 트랜잭션은 파이프라인의 PERSIST 단계에서만 열린다.
      */
-    @Async
-    public void indexToOpenSearchAsync(File file, String categoryName) {
-        try {
-            // 현재 저장된 태그 조회
-            List<String> tagNames = tagRepository.findAllByFileId(file.getId())
-                    .stream()
-                    .map(Tag::getTagName)
-                    .collect(Collectors.toList());
-
-            FileSearch fileSearch = FileSearch.builder()
-                    .fileId(file.getId())
-                    .userId(file.getUserId())
-                    .categoryName(categoryName)
-                    .tags(String.join(", ", tagNames))
-                    .context(file.getContext() != null ? file.getContext() : "")
-                    .ocrText(file.getOcrText() != null ? file.getOcrText() : "")
-                    .imageUrl(file.getSrc())
-                    .createdAt(file.getCreatedAt().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME))
-                    .favorite(file.getFavorite() != null ? file.getFavorite() : false)
-                    .fileType(file.getType())
-                    .build();
-
-            fileSearchService.save(fileSearch);
-            log.info(" OpenSearch 색인 완료: fileId={}", file.getId());
-
-        } catch (Exception e) {
-            log.error(" OpenSearch 색인 실패: fileId={}", file.getId(), e);
-            // 실패해도 파일은 PostgreSQL에 저장되어 있음
-        }
+    public File postProcessingFile(Users user, Long fileId) throws Exception {
+        return postProcessingFile(user, fileId, null);
     }
 
-    /**
-     * OpenSearch 인덱스 삭제 (비동기 처리)
-     * 파일 삭제 시 자동으로 검색 인덱스에서 제거
-     */
-    @Async
-    public void deleteFromOpenSearchAsync(Long fileId) {
-        try {
-            fileSearchService.delete(fileId);
-            log.info(" OpenSearch 인덱스 삭제 완료: fileId={}", fileId);
+    public File postProcessingFile(Users user, Long fileId, AnalyzerMode analyzer) throws Exception {
+        fileRepository.findById(fileId)
+                .filter(f -> f.getUserId().equals(user.getId()))
+                .orElseThrow(() -> new CustomException(ErrorCode.FILE_NOT_FOUND));
 
-        } catch (Exception e) {
-            log.error(" OpenSearch 인덱스 삭제 실패: fileId={}", fileId, e);
-            // 실패해도 파일은 PostgreSQL에서 삭제되어 있음
-        }
+        // 워커와 같은 파일을 동시에 처리하지 않도록 작업 리스를 먼저 잡고,
+        // 파이프라인이 실제로 끝날 때(응답 시간 초과 이후 포함) 완료/반납한다
+        String owner = postProcessJobService.acquireSync(user.getId(), fileId);
+        return postProcessPipeline.process(user.getId(), fileId, analyzer,
+                (file, e) -> postProcessJobService.finishSync(fileId, owner, e));
     }
+
     @Transactional
     public List<File> getUncategorizedFilesByUser(Users user) {
         // "미분류" 카테고리 조회
@@ -778,36 +591,27 @@ public class DataService {
         // 해당 유저의 미분류 카테고리 파일들 조회
         return fileRepository.findByCategoryIdAndUserId(uncategorized.getId(), user.getId());
     }
+    /**
+     * 미분류 파일 일괄 후처리
+     * 파일마다 영속 작업(post_process_jobs)을 등록하고 바로 반환한다.
+     * 실제 처리는 모든 파드의 PostProcessJobWorker 가 나눠 가져간다. (재시작에도 유실 없음)
+     */
     @Transactional
-    @Async
-    public CompletableFuture<Void> processFile(Long fileId, Users user) {
-        try {
-            // 각 파일에 대해 postProcessing을 비동기적으로 실행
-            postProcessingFile(user, fileId);  // 비동기적으로 postProcessing 호출
-            return CompletableFuture.completedFuture(null);  // 작업이 완료되었음을 나타내는 값 (Void)
-        } catch (Exception e) {
-            log.error("Failed to process file: " + fileId, e);
-            throw new CompletionException(e);
-        }
-    }
-
-    @Transactional
-    @Async
-    public void processUncategorizedFilesForUserAsync(Users user) {
+    public int enqueueUncategorizedFiles(Users user) {
         // 유저의 미분류 카테고리 파일들을 조회
         List<File> files = getUncategorizedFilesByUser(user);  // 미분류 파일 조회
 
         if (files.isEmpty()) {
             log.info("No uncategorized files found for user: {}", user.getId());
-            return; // 미분류 파일이 없으면 종료
+            return 0; // 미분류 파일이 없으면 종료
         }
 
-        // 각 파일에 대해 비동기적으로 postProcessing 호출
         for (File file : files) {
-            processFile(file.getId(), user);  // 비동기적으로 postProcessing 실행
+            postProcessJobService.enqueue(user.getId(), file.getId(), PostProcessJobLane.BULK);
         }
 
-        log.info("Post-processing started for all uncategorized files of user: {}", user.getId());
+        log.info("Post-processing enqueued for {} uncategorized files of user: {}", files.size(), user.getId());
+        return files.size();
     }
 
 
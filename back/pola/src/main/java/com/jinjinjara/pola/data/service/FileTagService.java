@@ -6,15 +6,14 @@ import com.jinjinjara.pola.data.dto.response.*;
 import com.jinjinjara.pola.data.entity.*;
 import com.jinjinjara.pola.data.repository.*;
 import com.jinjinjara.pola.s3.service.S3Service;
-import com.jinjinjara.pola.search.model.FileSearch;
-import com.jinjinjara.pola.search.service.FileSearchService;
+import com.jinjinjara.pola.search.model.SearchDocField;
+import com.jinjinjara.pola.search.service.SearchOutboxService;
 import com.jinjinjara.pola.user.entity.Users;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -28,7 +27,7 @@ public class FileTagService {
     private final TagRepository tagRepository;
     private final FileTagRepository fileTagRepository;
     private final CategoryRepository categoryRepository;
-    private final FileSearchService fileSearchService;
+    private final SearchOutboxService searchOutboxService;
     private final S3Service s3Service;
 
     private File validateFileOwner(Long fileId, Users user) {
@@ -148,33 +147,7 @@ public class FileTagService {
     }
 
     private void updateOpenSearchTags(File file) {
-        try {
-            List<String> tagNames = tagRepository.findAllByFileId(file.getId())
-                    .stream()
-                    .map(Tag::getTagName)
-                    .toList();
-
-            String categoryName = categoryRepository.findById(file.getCategoryId())
-                    .map(Category::getCategoryName)
-                    .orElse("미분류");
-
-            FileSearch fs = FileSearch.builder()
-                    .fileId(file.getId())
-                    .userId(file.getUserId())
-                    .categoryName(categoryName)
-                    .tags(String.join(", ", tagNames))
-                    .context(Optional.ofNullable(file.getContext()).orElse(""))
-                    .ocrText(Optional.ofNullable(file.getOcrText()).orElse(""))
-                    .imageUrl(file.getSrc())
-                    .createdAt(file.getCreatedAt().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME))
-                    .favorite(Optional.ofNullable(file.getFavorite()).orElse(false))
-                    .fileType(file.getType())
-                    .build();
-
-            fileSearchService.save(fs);
-
-        } catch (Exception e) {
-            log.error("[OpenSearch] 태그 업데이트 실패: fileId={}", file.getId(), e);
-        }
+        // 같은 트랜잭션에서 아웃박스에 기록 → 커밋 후 릴레이가 tags 필드만 부분 갱신
+        searchOutboxService.enqueuePatch(file.getId(), SearchDocField.TAGS);
     }
 }
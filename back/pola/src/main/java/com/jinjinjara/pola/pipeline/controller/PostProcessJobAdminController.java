@@ -0,0 +1,92 @@
+package com.jinjinjara.pola.pipeline.controller;
+
+import com.jinjinjara.pola.common.ApiResponse;
+import com.jinjinjara.pola.pipeline.dto.response.PostProcessJobResponse;
+import com.jinjinjara.pola.pipeline.entity.PostProcessJobLane;
+import com.jinjinjara.pola.pipeline.service.PostProcessJobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * 후처리 작업 큐 관리자 컨트롤러
+ *
+ * 역할:
+ * - 재시도 한도를 넘긴 (DEAD) 작업 조회
+ * - DEAD 작업 수동 재등록
+ * - 차선별 대기 작업 수 조회, 미분류 파일 백필 등록
+ * - ADMIN 권한 필요
+ */
+@Tag(name = "Post-Process Job Admin API", description = "후처리 작업 큐 관리자 API (dead-letter, 차선)")
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/admin/post-process-jobs")
+@PreAuthorize("hasRole('ADMIN')")
+@RequiredArgsConstructor
+public class PostProcessJobAdminController {
+
+    private final PostProcessJobService jobService;
+
+    @Operation(
+            summary = "DEAD 작업 목록 조회 (관리자 전용)",
+            description = "재시도 한도를 넘겨 더 이상 자동 처리되지 않는 후처리 작업을 최근 순으로 조회합니다.",
+            security = @SecurityRequirement(name = "JWT")
+    )
+    @GetMapping("/dead")
+    public ApiResponse<Page<PostProcessJobResponse>> getDeadJobs(
+            @Parameter(description = "페이지 번호 (0부터 시작)", example = "0") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "페이지 크기", example = "20") @RequestParam(defaultValue = "20") int size
+    ) {
+        Page<PostProcessJobResponse> jobs = jobService.getDeadJobs(PageRequest.of(page, size))
+                .map(PostProcessJobResponse::from);
+        return ApiResponse.ok(jobs, "DEAD 작업 목록 조회 완료");
+    }
+
+    @Operation(
+            summary = "DEAD 작업 재시도 (관리자 전용)",
+            description = "DEAD 상태의 작업을 시도 횟수를 초기화하여 다시 대기열에 넣습니다.",
+            security = @SecurityRequirement(name = "JWT")
+    )
+    @PostMapping("/{jobId}/retry")
+    public ApiResponse<PostProcessJobResponse> retryDeadJob(
+            @Parameter(description = "작업 ID", example = "1") @PathVariable Long jobId
+    ) {
+        log.info("[관리자 API] 후처리 작업 재시도 요청: jobId={}", jobId);
+        PostProcessJobResponse job = PostProcessJobResponse.from(jobService.retryDeadJob(jobId));
+        return ApiResponse.ok(job, "후처리 작업이 다시 대기열에 등록되었습니다.");
+    }
+
+    @Operation(
+            summary = "차선별 대기 작업 수 조회 (관리자 전용)",
+            description = "INTERACTIVE / BULK / BACKFILL 차선별 PENDING 작업 수를 조회합니다.",
+            security = @SecurityRequirement(name = "JWT")
+    )
+    @GetMapping("/lanes")
+    public ApiResponse<Map<PostProcessJobLane, Long>> getLaneDepth() {
+        return ApiResponse.ok(jobService.countPendingByLane(), "차선별 대기 작업 수 조회 완료");
+    }
+
+    @Operation(
+            summary = "미분류 파일 백필 등록 (관리자 전용)",
+            description = "전체 사용자의 미분류 파일을 가장 낮은 우선순위(BACKFILL) 차선에 최대 limit 건 등록합니다. "
+                    + "이미 대기/실행 중인 파일은 제외됩니다.",
+            security = @SecurityRequirement(name = "JWT")
+    )
+    @PostMapping("/backfill")
+    public ApiResponse<Integer> backfill(
+            @Parameter(description = "최대 등록 건수", example = "1000") @RequestParam(defaultValue = "1000") int limit
+    ) {
+        log.info("[관리자 API] 미분류 파일 백필 요청: limit={}", limit);
+        int queued = jobService.enqueueBackfill(Math.max(1, Math.min(limit, 100000)));
+        return ApiResponse.ok(queued, "백필 작업이 등록되었습니다.");
+    }
+}
@@ -0,0 +1,15 @@
+package com.jinjinjara.pola.pipeline.dto.common;
+
+/**
+ * ANALYZE 단계 분석 방식
+ * TWO_CALL    : Vision OCR ‖ Gemini 태그/설명 (호출 2건)
+ * SINGLE_CALL : Gemini 한 번에 OCR 텍스트 + 태그 + 설명 (이미지에만 적용, 텍스트 파일은 TWO_CALL)
+ */
+public enum AnalyzerMode {
+    TWO_CALL,
+    SINGLE_CALL;
+
+    public AnalyzerMode other() {
+        return this == TWO_CALL ? SINGLE_CALL : TWO_CALL;
+    }
+}
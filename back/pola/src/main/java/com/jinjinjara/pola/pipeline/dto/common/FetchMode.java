@@ -0,0 +1,11 @@
+package com.jinjinjara.pola.pipeline.dto.common;
+
+/**
+ * 분석 제공자(Vision / Vertex)에 원본을 넘기는 방식
+ * BYTES : 파드가 S3 에서 받아 요청 본문으로 업로드
+ * URI   : presigned URL 만 넘기고 제공자가 직접 읽음 (실패 시 BYTES 로 자동 폴백)
+ */
+public enum FetchMode {
+    BYTES,
+    URI
+}
@@ -0,0 +1,15 @@
+package com.jinjinjara.pola.pipeline.dto.common;
+
+/**
+ * 파일 후처리 파이프라인 단계
+ * FETCH → NORMALIZE(이미지 축소/재인코딩) → ANALYZE(OCR + Vertex) → TAG(카테고리 분류) → EMBED → PERSIST
+ * (검색 색인은 PERSIST 트랜잭션의 아웃박스로 → SearchOutboxRelay)
+ */
+public enum PipelineStage {
+    FETCH,
+    NORMALIZE,
+    ANALYZE,
+    TAG,
+    EMBED,
+    PERSIST
+}
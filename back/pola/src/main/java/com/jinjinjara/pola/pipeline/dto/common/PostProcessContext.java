@@ -0,0 +1,53 @@
+package com.jinjinjara.pola.pipeline.dto.common;
+
+import com.jinjinjara.pola.data.entity.File;
+import com.jinjinjara.pola.resilience.util.Deadline;
+import com.jinjinjara.pola.vision.dto.common.FetchedObject;
+import com.jinjinjara.pola.vision.dto.common.VertexParsedResult;
+import com.jinjinjara.pola.vision.dto.response.AnalyzeResponse;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 후처리 1건이 파이프라인 단계를 거치며 채워지는 상태
+ * 각 단계는 이전 단계가 채운 값만 읽고, 자기 결과만 기록한다.
+ */
+@Getter
+@Setter
+public class PostProcessContext {
+
+    private final Long userId;
+    private final Long fileId;
+    private AnalyzerMode analyzerMode; // null 이면 설정값 (pipeline.analyzer-mode)
+    private Deadline deadline;         // 단건 요청 기한 (작업 큐 처리는 null), 단계 스레드마다 다시 설치
+
+    // FETCH
+    private String src;
+    private Long oldCategoryId;
+    private FetchedObject object;   // OCR / Vertex 가 공유하는 원본 (1회 다운로드)
+    private String objectUri;       // URI 모드: 제공자가 직접 읽는 presigned URL (object 는 비어 있음)
+    private String objectMime;      // URI 모드: HEAD 의 Content-Type
+    private String contentHash;     // 분석 캐시 키: SHA-256 hex (URI 모드는 "md5:" + 단일 파트 ETag, UriFetchRules)
+    private boolean cacheHit;       // true 면 ANALYZE / EMBED 결과가 이미 채워져 있음
+    private final ReentrantLock fetchLock = new ReentrantLock(); // URI 모드 폴백 다운로드 1회 보장 (가상 스레드 고정 방지로 synchronized 대신)
+
+    // ANALYZE
+    private String ocrText;
+    private VertexParsedResult parsed;
+
+    // TAG
+    private AnalyzeResponse analyzeResponse;
+
+    // EMBED
+    private float[] embedding;
+
+    // PERSIST
+    private File result;
+
+    public PostProcessContext(Long userId, Long fileId) {
+        this.userId = userId;
+        this.fileId = fileId;
+    }
+}
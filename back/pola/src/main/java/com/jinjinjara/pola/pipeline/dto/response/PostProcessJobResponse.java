@@ -0,0 +1,44 @@
+package com.jinjinjara.pola.pipeline.dto.response;
+
+import com.jinjinjara.pola.pipeline.entity.PostProcessJob;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 후처리 작업 응답 DTO (dead-letter 확인용)
+ */
+@Getter
+@Builder
+public class PostProcessJobResponse {
+
+    private Long id;
+    private Long fileId;
+    private Long userId;
+    private String status;
+    private String lane;
+    private Integer attempts;
+    private LocalDateTime nextRunAt;
+    private String lastError;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    /**
+     * Entity → DTO 변환
+     */
+    public static PostProcessJobResponse from(PostProcessJob job) {
+        return PostProcessJobResponse.builder()
+                .id(job.getId())
+                .fileId(job.getFileId())
+                .userId(job.getUserId())
+                .status(job.getStatus().name())
+                .lane(job.getLane().name())
+                .attempts(job.getAttempts())
+                .nextRunAt(job.getNextRunAt())
+                .lastError(job.getLastError())
+                .createdAt(job.getCreatedAt())
+                .updatedAt(job.getUpdatedAt())
+                .build();
+    }
+}
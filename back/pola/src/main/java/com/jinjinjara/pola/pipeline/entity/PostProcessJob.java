@@ -0,0 +1,81 @@
+package com.jinjinjara.pola.pipeline.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 파일 후처리 작업 (파일당 1행, file_id 유니크 → 중복 등록 방지)
+ * 모든 파드의 워커가 이 테이블에서 SKIP LOCKED 로 작업을 나눠 가져간다.
+ */
+@Entity
+@Table(name = "post_process_jobs",
+        indexes = {
+                @Index(name = "idx_post_process_jobs_status_next_run", columnList = "status, next_run_at"),
+                @Index(name = "idx_post_process_jobs_lane_status_next_run", columnList = "lane, status, next_run_at")
+        })
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostProcessJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "file_id", nullable = false, unique = true)
+    private Long fileId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private PostProcessJobStatus status;
+
+    // 기존 행은 기본값으로 채워지도록 DEFAULT 지정 (ddl-auto update)
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16, columnDefinition = "varchar(16) default 'INTERACTIVE'")
+    private PostProcessJobLane lane;
+
+    @Column(nullable = false)
+    private Integer attempts;
+
+    @Column(name = "next_run_at", nullable = false)
+    private LocalDateTime nextRunAt;
+
+    @Column(name = "lease_owner", length = 128)
+    private String leaseOwner;   // 작업을 가져간 워커 (파드) ID
+
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;   // 이 시각까지 끝내지 못하면 다른 워커가 회수
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    /* --- 콜백 영역 --- */
+    @PrePersist
+    public void prePersist() {
+        LocalDateTime now = LocalDateTime.now();
+        if (createdAt == null) createdAt = now;
+        if (updatedAt == null) updatedAt = now;
+        if (status == null) status = PostProcessJobStatus.PENDING;
+        if (lane == null) lane = PostProcessJobLane.INTERACTIVE;
+        if (attempts == null) attempts = 0;
+        if (nextRunAt == null) nextRunAt = now;
+    }
+
+    @PreUpdate
+    public void preUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,8 @@
+package com.jinjinjara.pola.pipeline.entity;
+
+/** 작업 우선순위 차선 (선언 순서 = 우선순위, 워커는 차선별 몫 안에서 앞 차선부터 수거) */
+public enum PostProcessJobLane {
+    INTERACTIVE,    // 업로드 직후 안전망 (사용자가 결과를 기다리는 중)
+    BULK,           // 사용자가 요청한 일괄 재처리 (미분류 파일 등)
+    BACKFILL        // 관리자/시스템 백필
+}
@@ -0,0 +1,8 @@
+package com.jinjinjara.pola.pipeline.entity;
+
+public enum PostProcessJobStatus {
+    PENDING,    // 실행 대기 (next_run_at 이후 수거 대상)
+    RUNNING,    // 워커가 리스 보유 중
+    DONE,       // 완료
+    DEAD        // 재시도 한도 초과 → 관리자 확인 필요
+}
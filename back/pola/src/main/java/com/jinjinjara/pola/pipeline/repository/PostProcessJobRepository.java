@@ -0,0 +1,234 @@
+package com.jinjinjara.pola.pipeline.repository;
+
+import com.jinjinjara.pola.pipeline.entity.PostProcessJob;
+import com.jinjinjara.pola.pipeline.entity.PostProcessJobStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PostProcessJobRepository extends JpaRepository<PostProcessJob, Long> {
+
+    Optional<PostProcessJob> findByFileId(Long fileId);
+
+    Page<PostProcessJob> findByStatusOrderByUpdatedAtDesc(PostProcessJobStatus status, Pageable pageable);
+
+    long countByStatus(PostProcessJobStatus status);
+
+    /**
+     * 파일 단위 멱등 등록
+     * - 대기/실행 중인 작업이 있으면 그대로 둔다
+     * - 완료/DEAD 작업은 재등록 (시도 횟수 초기화, 차선은 새 요청 기준)
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO post_process_jobs
+                (file_id, user_id, status, lane, attempts, next_run_at, created_at, updated_at)
+            VALUES (:fileId, :userId, 'PENDING', :lane, 0, :runAt, now(), now())
+            ON CONFLICT (file_id) DO UPDATE
+               SET status = 'PENDING', lane = EXCLUDED.lane, attempts = 0, next_run_at = EXCLUDED.next_run_at,
+                   lease_owner = NULL, lease_until = NULL, last_error = NULL, updated_at = now()
+             WHERE post_process_jobs.status IN ('DONE', 'DEAD')
+            """, nativeQuery = true)
+    int enqueue(@Param("fileId") Long fileId,
+                @Param("userId") Long userId,
+                @Param("lane") String lane,
+                @Param("runAt") LocalDateTime runAt);
+
+    /** 이미 대기 중인 작업을 더 높은 차선으로 올림 (백필 대기 중인 파일을 사용자가 직접 재처리 요청한 경우 등) */
+    @Modifying
+    @Query(value = """
+            UPDATE post_process_jobs
+               SET lane = :lane, updated_at = now()
+             WHERE file_id = :fileId
+               AND status = 'PENDING'
+               AND lane IN (:lowerLanes)
+            """, nativeQuery = true)
+    int promote(@Param("fileId") Long fileId,
+                @Param("lane") String lane,
+                @Param("lowerLanes") Collection<String> lowerLanes);
+
+    /**
+     * 시스템 백필: 미분류 파일 중 대기/실행 중인 작업이 없는 파일을 BACKFILL 차선으로 등록
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO post_process_jobs
+                (file_id, user_id, status, lane, attempts, next_run_at, created_at, updated_at)
+            SELECT f.id, f.user_id, 'PENDING', 'BACKFILL', 0, now(), now(), now()
+              FROM files f
+              JOIN categories c ON c.id = f.category_id
+             WHERE c.category_name = '미분류'
+               AND NOT EXISTS (SELECT 1 FROM post_process_jobs j
+                                WHERE j.file_id = f.id AND j.status IN ('PENDING', 'RUNNING'))
+             ORDER BY f.id
+             LIMIT :limit
+            ON CONFLICT (file_id) DO UPDATE
+               SET status = 'PENDING', lane = 'BACKFILL', attempts = 0, next_run_at = EXCLUDED.next_run_at,
+                   lease_owner = NULL, lease_until = NULL, last_error = NULL, updated_at = now()
+             WHERE post_process_jobs.status IN ('DONE', 'DEAD')
+            """, nativeQuery = true)
+    int enqueueUncategorizedBackfill(@Param("limit") int limit);
+
+    /**
+     * 재분석 백필: 전체 (또는 한 사용자의) 파일을 분류 여부와 관계없이 BACKFILL 차선으로 등록
+     * 모델/프롬프트 변경 후 기존 파일을 다시 분석할 때 사용
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO post_process_jobs
+                (file_id, user_id, status, lane, attempts, next_run_at, created_at, updated_at)
+            SELECT f.id, f.user_id, 'PENDING', 'BACKFILL', 0, now(), now(), now()
+              FROM files f
+             WHERE (CAST(:userId AS bigint) IS NULL OR f.user_id = :userId)
+               AND NOT EXISTS (SELECT 1 FROM post_process_jobs j
+                                WHERE j.file_id = f.id AND j.status IN ('PENDING', 'RUNNING'))
+             ORDER BY f.id
+             LIMIT :limit
+            ON CONFLICT (file_id) DO UPDATE
+               SET status = 'PENDING', lane = 'BACKFILL', attempts = 0, next_run_at = EXCLUDED.next_run_at,
+                   lease_owner = NULL, lease_until = NULL, last_error = NULL, updated_at = now()
+             WHERE post_process_jobs.status IN ('DONE', 'DEAD')
+            """, nativeQuery = true)
+    int enqueueReanalysisBackfill(@Param("userId") Long userId, @Param("limit") int limit);
+
+    /**
+     * 차선 하나에서 실행 가능한 작업 잠금 조회 (다른 워커가 잡은 행은 건너뜀)
+     * - PENDING 이고 next_run_at 이 지난 작업
+     * - RUNNING 이지만 리스가 만료된 작업 (워커가 죽은 경우)
+     * 같은 트랜잭션 안에서 리스를 기록해야 한다.
+     *
+     * fair_rank = (사용자가 이미 실행 중인 작업 수) + (사용자 안에서의 순번)
+     * → 사용자마다 한 건씩 번갈아 가져가고, 이미 많이 돌고 있는 사용자는 뒤로 밀린다.
+     * 순위 계산은 오래된 순 scanWindow 건 안에서만 한다 (대기열이 아주 길 때 비용 제한).
+     *
+     * 상태 조건은 바깥 쿼리(j)에도 반복한다. FOR UPDATE 는 잠금을 기다린 뒤 j 의 조건만 다시 평가하므로,
+     * 그 사이 다른 파드가 가져가 커밋한 행(RUNNING)이 다시 반환되지 않게 하려면 j 에 조건이 있어야 한다.
+     */
+    @Query(value = """
+            SELECT j.*
+              FROM post_process_jobs j
+              JOIN (SELECT c.id, c.next_run_at,
+                           ROW_NUMBER() OVER (PARTITION BY c.user_id ORDER BY c.next_run_at)
+                               + COALESCE(r.running, 0) AS fair_rank
+                      FROM (SELECT id, user_id, next_run_at
+                              FROM post_process_jobs
+                             WHERE lane = :lane
+                               AND ((status = 'PENDING' AND next_run_at <= :now)
+                                 OR (status = 'RUNNING' AND lease_until < :now))
+                             ORDER BY next_run_at
+                             LIMIT :scanWindow) c
+                      LEFT JOIN (SELECT user_id, COUNT(*) AS running
+                                   FROM post_process_jobs
+                                  WHERE status = 'RUNNING' AND lease_until >= :now
+                                  GROUP BY user_id) r ON r.user_id = c.user_id) f
+                ON f.id = j.id
+             WHERE j.lane = :lane
+               AND ((j.status = 'PENDING' AND j.next_run_at <= :now)
+                 OR (j.status = 'RUNNING' AND j.lease_until < :now))
+             ORDER BY f.fair_rank, f.next_run_at
+             LIMIT :limit
+               FOR UPDATE OF j SKIP LOCKED
+            """, nativeQuery = true)
+    List<PostProcessJob> lockRunnableFair(@Param("lane") String lane,
+                                          @Param("now") LocalDateTime now,
+                                          @Param("scanWindow") int scanWindow,
+                                          @Param("limit") int limit);
+
+    /** 차선별 대기 작업 수 (lane, count) */
+    @Query(value = """
+            SELECT lane, COUNT(*)
+              FROM post_process_jobs
+             WHERE status = 'PENDING'
+             GROUP BY lane
+            """, nativeQuery = true)
+    List<Object[]> countPendingByLane();
+
+    /** 완료 처리 (리스를 보유한 워커만 가능) */
+    @Modifying
+    @Query("""
+            UPDATE PostProcessJob j
+               SET j.status = com.jinjinjara.pola.pipeline.entity.PostProcessJobStatus.DONE,
+                   j.leaseOwner = NULL, j.leaseUntil = NULL, j.lastError = NULL, j.updatedAt = :now
+             WHERE j.id = :id AND j.leaseOwner = :owner
+            """)
+    int markDone(@Param("id") Long id, @Param("owner") String owner, @Param("now") LocalDateTime now);
+
+    /**
+     * 동기 후처리(API)용 리스: 파일의 작업 행을 owner 명의 RUNNING 으로 (행이 없으면 만든다)
+     * 다른 워커/요청이 유효한 리스를 들고 있으면 0 → 같은 파일을 동시에 두 번 처리하지 않는다.
+     * 사용자 요청이므로 시도 횟수는 건드리지 않는다.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO post_process_jobs
+                (file_id, user_id, status, lane, attempts, next_run_at, lease_owner, lease_until, created_at, updated_at)
+            VALUES (:fileId, :userId, 'RUNNING', 'INTERACTIVE', 0, :now, :owner, :leaseUntil, now(), now())
+            ON CONFLICT (file_id) DO UPDATE
+               SET status = 'RUNNING', lease_owner = EXCLUDED.lease_owner, lease_until = EXCLUDED.lease_until,
+                   updated_at = now()
+             WHERE post_process_jobs.status <> 'RUNNING' OR post_process_jobs.lease_until < :now
+            """, nativeQuery = true)
+    int acquireFileLease(@Param("fileId") Long fileId,
+                         @Param("userId") Long userId,
+                         @Param("owner") String owner,
+                         @Param("leaseUntil") LocalDateTime leaseUntil,
+                         @Param("now") LocalDateTime now);
+
+    /** 동기 후처리 성공: 리스를 보유한 경우에만 완료 */
+    @Modifying
+    @Query("""
+            UPDATE PostProcessJob j
+               SET j.status = com.jinjinjara.pola.pipeline.entity.PostProcessJobStatus.DONE,
+                   j.leaseOwner = NULL, j.leaseUntil = NULL, j.lastError = NULL, j.updatedAt = :now
+             WHERE j.fileId = :fileId AND j.leaseOwner = :owner
+            """)
+    int markDoneByFile(@Param("fileId") Long fileId, @Param("owner") String owner, @Param("now") LocalDateTime now);
+
+    /** 동기 후처리 실패: 안전망으로 워커가 runAt 이후 다시 처리하도록 반납 */
+    @Modifying
+    @Query("""
+            UPDATE PostProcessJob j
+               SET j.status = com.jinjinjara.pola.pipeline.entity.PostProcessJobStatus.PENDING,
+                   j.leaseOwner = NULL, j.leaseUntil = NULL, j.lastError = :error,
+                   j.nextRunAt = :runAt, j.updatedAt = :now
+             WHERE j.fileId = :fileId AND j.leaseOwner = :owner
+            """)
+    int releaseByFile(@Param("fileId") Long fileId,
+                      @Param("owner") String owner,
+                      @Param("error") String error,
+                      @Param("runAt") LocalDateTime runAt,
+                      @Param("now") LocalDateTime now);
+
+    /** 단건 리스 반납 (파이프라인이 가득 차 제출하지 못한 경우, 시도 횟수 미차감) */
+    @Modifying
+    @Query("""
+            UPDATE PostProcessJob j
+               SET j.status = com.jinjinjara.pola.pipeline.entity.PostProcessJobStatus.PENDING,
+                   j.attempts = CASE WHEN j.attempts > 0 THEN j.attempts - 1 ELSE 0 END,
+                   j.leaseOwner = NULL, j.leaseUntil = NULL, j.nextRunAt = :now, j.updatedAt = :now
+             WHERE j.id = :id AND j.leaseOwner = :owner
+            """)
+    int releaseLease(@Param("id") Long id, @Param("owner") String owner, @Param("now") LocalDateTime now);
+
+    /** 종료 시 보유 중인 리스 반납 → 다른 파드가 즉시 가져갈 수 있게 */
+    @Modifying
+    @Query("""
+            UPDATE PostProcessJob j
+               SET j.status = com.jinjinjara.pola.pipeline.entity.PostProcessJobStatus.PENDING,
+                   j.attempts = CASE WHEN j.attempts > 0 THEN j.attempts - 1 ELSE 0 END,
+                   j.leaseOwner = NULL, j.leaseUntil = NULL, j.nextRunAt = :now, j.updatedAt = :now
+             WHERE j.leaseOwner = :owner
+               AND j.status = com.jinjinjara.pola.pipeline.entity.PostProcessJobStatus.RUNNING
+            """)
+    int releaseLeases(@Param("owner") String owner, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,200 @@
+package com.jinjinjara.pola.pipeline.scheduler;
+
+import com.jinjinjara.pola.batch.util.BatchAnalysisProperties;
+import com.jinjinjara.pola.common.CustomException;
+import com.jinjinjara.pola.common.ErrorCode;
+import com.jinjinjara.pola.pipeline.entity.PostProcessJob;
+import com.jinjinjara.pola.pipeline.entity.PostProcessJobLane;
+import com.jinjinjara.pola.pipeline.service.PostProcessJobService;
+import com.jinjinjara.pola.pipeline.service.PostProcessPipeline;
+import com.jinjinjara.pola.pipeline.util.PipelineProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 후처리 작업 큐 워커
+ *
+ * 역할:
+ * - pollIntervalMs 마다 post_process_jobs 에서 실행 가능한 작업을 가져와 파이프라인에 제출
+ * - 차선(INTERACTIVE > BULK > BACKFILL)마다 concurrency 의 보장 몫(share)을 먼저 채우고,
+ *   남는 자리는 앞 차선부터 상한(maxShare)까지 빌려 준다 → 일괄 재처리가 업로드를 굶기지 않음
+ * - 같은 차선 안에서는 사용자 간 공정 수거 (PostProcessJobService.claim)
+ * - 배치 재분석이 켜져 있으면 그 차선(batch-analysis.lanes)은 BatchAnalysisWorker 에 맡긴다
+ * - 파드마다 하나씩 떠 있으므로 처리량은 파드 수에 비례
+ * - 종료 시 수거 중단 → 진행 중 작업 대기 → 남은 리스 반납 (graceful drain)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PostProcessJobWorker {
+
+    private final PostProcessJobService jobService;
+    private final PostProcessPipeline pipeline;
+    private final PipelineProperties properties;
+    private final BatchAnalysisProperties batchProperties;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicInteger running = new AtomicInteger();
+    private final Map<PostProcessJobLane, AtomicInteger> laneRunning = new EnumMap<>(PostProcessJobLane.class);
+    private final Map<PostProcessJobLane, AtomicLong> laneQueued = new EnumMap<>(PostProcessJobLane.class);
+    private volatile boolean draining = false;
+    private String owner;
+
+    @PostConstruct
+    void init() {
+        String host = Optional.ofNullable(System.getenv("HOSTNAME")).orElse("local");
+        owner = host + "-" + UUID.randomUUID().toString().substring(0, 8);
+        meterRegistry.gauge("pola.pipeline.jobs.running", running);
+        for (PostProcessJobLane lane : PostProcessJobLane.values()) {
+            laneRunning.put(lane, meterRegistry.gauge("pola.pipeline.jobs.lane.running",
+                    Tags.of("lane", lane.name()), new AtomicInteger()));
+            laneQueued.put(lane, meterRegistry.gauge("pola.pipeline.jobs.lane.queued",
+                    Tags.of("lane", lane.name()), new AtomicLong()));
+        }
+        log.info("[PostProcessJob] worker started owner={} enabled={}", owner, properties.getJobs().isEnabled());
+    }
+
+    @Scheduled(fixedDelayString = "${pipeline.jobs.poll-interval-ms:1000}")
+    public void poll() {
+        PipelineProperties.Jobs cfg = properties.getJobs();
+        if (!cfg.isEnabled() || draining) return;
+
+        int capacity = Math.min(cfg.getConcurrency() - running.get(), pipeline.availableSlots());
+        if (capacity <= 0) return;
+
+        // 1차: 차선별 보장 몫, 2차: 남는 자리를 앞 차선부터 maxShare 까지
+        Set<PostProcessJobLane> drained = EnumSet.noneOf(PostProcessJobLane.class);
+        for (boolean borrow : new boolean[]{false, true}) {
+            for (PostProcessJobLane lane : PostProcessJobLane.values()) {
+                if (capacity <= 0) return;
+                if (drained.contains(lane) || batchProperties.handles(lane)) continue;
+
+                PipelineProperties.Lane laneCfg = cfg.lane(lane);
+                int quota = (int) Math.ceil(cfg.getConcurrency() * (borrow ? laneCfg.getMaxShare() : laneCfg.getShare()));
+                int want = Math.min(capacity, quota - laneRunning.get(lane).get());
+                if (want <= 0) continue;
+
+                List<PostProcessJob> jobs;
+                try {
+                    jobs = jobService.claim(owner, lane, want);
+                } catch (Exception e) {
+                    log.error("[PostProcessJob] claim failed lane={}", lane, e);
+                    return;
+                }
+                if (jobs.size() < want) drained.add(lane); // 이 차선은 더 가져올 작업이 없음
+                int submitted = submit(lane, jobs);
+                if (submitted < jobs.size()) return;      // 파이프라인이 찼음 → 다음 주기에
+                capacity -= submitted;
+            }
+        }
+    }
+
+    /** 수거한 작업을 파이프라인에 제출하고 제출한 수를 반환 (제출하지 못한 작업은 리스 반납) */
+    private int submit(PostProcessJobLane lane, List<PostProcessJob> jobs) {
+        int submitted = 0;
+        AtomicInteger inLane = laneRunning.get(lane);
+        for (PostProcessJob job : jobs) {
+            CompletableFuture<?> future = pipeline.trySubmit(job.getUserId(), job.getFileId());
+            if (future == null) {
+                // 그 사이 동기 요청이 자리를 차지함 → 다음 주기에 다시
+                jobService.release(job.getId(), owner);
+                continue;
+            }
+
+            running.incrementAndGet();
+            inLane.incrementAndGet();
+            submitted++;
+            future.whenComplete((file, e) -> {
+                try {
+                    if (e == null) {
+                        jobService.complete(job.getId(), owner);
+                        meterRegistry.counter("pola.pipeline.jobs", "result", "done", "lane", lane.name()).increment();
+                    } else {
+                        Throwable cause = unwrap(e);
+                        boolean retryable = isRetryable(cause);
+                        jobService.fail(job.getId(), owner, cause, retryable);
+                        meterRegistry.counter("pola.pipeline.jobs", "result", retryable ? "retry" : "dead",
+                                "lane", lane.name()).increment();
+                    }
+                } catch (Exception ex) {
+                    // 상태 기록 실패 시 리스 만료 후 다른 워커가 회수
+                    log.error("[PostProcessJob] status update failed jobId={}", job.getId(), ex);
+                } finally {
+                    inLane.decrementAndGet();
+                    running.decrementAndGet();
+                }
+            });
+        }
+        return submitted;
+    }
+
+    /** 차선별 대기 작업 수 지표 (pola.pipeline.jobs.lane.queued{lane}) */
+    @Scheduled(fixedDelayString = "${pipeline.jobs.depth-refresh-ms:15000}")
+    public void refreshQueueDepth() {
+        if (!properties.getJobs().isEnabled()) return;
+        try {
+            jobService.countPendingByLane().forEach((lane, depth) -> laneQueued.get(lane).set(depth));
+        } catch (Exception e) {
+            log.warn("[PostProcessJob] queue depth refresh failed: {}", e.toString());
+        }
+    }
+
+    @PreDestroy
+    void drain() {
+        draining = true;
+        long deadline = System.currentTimeMillis() + properties.getJobs().getDrainTimeoutMs();
+        log.info("[PostProcessJob] draining owner={} running={}", owner, running.get());
+
+        while (running.get() > 0 && System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        try {
+            int released = jobService.releaseLeases(owner);
+            log.info("[PostProcessJob] drained owner={} unfinished={} released={}", owner, running.get(), released);
+        } catch (Exception e) {
+            log.warn("[PostProcessJob] lease release failed owner={} (leases will expire)", owner, e);
+        }
+    }
+
+    /** 파일이 없거나 요청 자체가 잘못된 경우는 재시도해도 소용없다 */
+    private static boolean isRetryable(Throwable cause) {
+        if (cause instanceof CustomException ce) {
+            ErrorCode code = ce.getErrorCode();
+            return code != ErrorCode.FILE_NOT_FOUND && code != ErrorCode.INVALID_REQUEST;
+        }
+        return true;
+    }
+
+    private static Throwable unwrap(Throwable e) {
+        Throwable t = e;
+        while ((t instanceof CompletionException || t instanceof ExecutionException) && t.getCause() != null) {
+            t = t.getCause();
+        }
+        return t;
+    }
+}
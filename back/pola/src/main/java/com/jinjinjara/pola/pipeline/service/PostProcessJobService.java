@@ -0,0 +1,264 @@
+package com.jinjinjara.pola.pipeline.service;
+
+import com.jinjinjara.pola.common.CustomException;
+import com.jinjinjara.pola.common.ErrorCode;
+import com.jinjinjara.pola.pipeline.entity.PostProcessJob;
+import com.jinjinjara.pola.pipeline.entity.PostProcessJobLane;
+import com.jinjinjara.pola.pipeline.entity.PostProcessJobStatus;
+import com.jinjinjara.pola.pipeline.repository.PostProcessJobRepository;
+import com.jinjinjara.pola.pipeline.util.PipelineProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 후처리 작업 큐 (post_process_jobs)
+ *
+ * 등록 → 수거(리스) → 완료 / 재시도(지수 백오프) / DEAD
+ * 모든 상태 전이는 짧은 트랜잭션 안에서 끝난다. 실제 처리는 트랜잭션 밖 파이프라인에서 수행.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PostProcessJobService {
+
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    private final PostProcessJobRepository jobRepository;
+    private final PipelineProperties properties;
+
+    /** 파일 후처리 작업 등록 (이미 대기/실행 중이면 무시). 호출 측 트랜잭션에 참여 */
+    @Transactional
+    public void enqueue(Long userId, Long fileId, PostProcessJobLane lane) {
+        enqueue(userId, fileId, lane, 0);
+    }
+
+    /**
+     * delayMs 이후부터 수거 가능하도록 등록 (업로드 직후 안전망 용도)
+     * 이미 더 낮은 차선에서 대기 중이면 요청한 차선으로 올린다.
+     */
+    @Transactional
+    public void enqueue(Long userId, Long fileId, PostProcessJobLane lane, long delayMs) {
+        int changed = jobRepository.enqueue(fileId, userId, lane.name(), LocalDateTime.now().plusNanos(delayMs * 1_000_000));
+        if (changed == 0) {
+            List<String> lower = Arrays.stream(PostProcessJobLane.values())
+                    .filter(l -> l.ordinal() > lane.ordinal())
+                    .map(Enum::name)
+                    .toList();
+            if (!lower.isEmpty()) changed = jobRepository.promote(fileId, lane.name(), lower);
+        }
+        log.debug("[PostProcessJob] enqueue fileId={} lane={} delayMs={} changed={}", fileId, lane, delayMs, changed);
+    }
+
+    /** 미분류 파일 백필 등록 (최대 limit 건), 등록된 수 반환 */
+    @Transactional
+    public int enqueueBackfill(int limit) {
+        int queued = jobRepository.enqueueUncategorizedBackfill(limit);
+        log.info("[PostProcessJob] backfill enqueued={} limit={}", queued, limit);
+        return queued;
+    }
+
+    /** 파일 전체 재분석 등록 (userId 가 null 이면 전체 사용자, 최대 limit 건), 등록된 수 반환 */
+    @Transactional
+    public int enqueueReanalysis(Long userId, int limit) {
+        int queued = jobRepository.enqueueReanalysisBackfill(userId, limit);
+        log.info("[PostProcessJob] reanalysis enqueued={} userId={} limit={}", queued, userId, limit);
+        return queued;
+    }
+
+    /**
+     * lane 에서 실행 가능한 작업을 최대 limit 개 가져와 owner 명의로 리스를 건다.
+     * SKIP LOCKED 이므로 여러 파드가 동시에 호출해도 같은 작업을 가져가지 않는다.
+     * 같은 차선 안에서는 사용자 간 공정하게 (실행 중인 작업이 적은 사용자 먼저) 가져간다.
+     */
+    @Transactional
+    public List<PostProcessJob> claim(String owner, PostProcessJobLane lane, int limit) {
+        return claim(owner, lane, limit, properties.getJobs().getLeaseMs());
+    }
+
+    /** 리스 길이를 지정해 수거 (결과를 오래 기다리는 배치 재분석용) */
+    @Transactional
+    public List<PostProcessJob> claim(String owner, PostProcessJobLane lane, int limit, long leaseMs) {
+        if (limit <= 0) return List.of();
+
+        PipelineProperties.Jobs cfg = properties.getJobs();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime leaseUntil = now.plusNanos(leaseMs * 1_000_000);
+
+        List<PostProcessJob> jobs = jobRepository.lockRunnableFair(
+                lane.name(), now, Math.max(limit, cfg.getFairScanWindow()), limit);
+        for (PostProcessJob job : jobs) {
+            if (job.getStatus() == PostProcessJobStatus.RUNNING) {
+                log.warn("[PostProcessJob] lease expired, reclaiming jobId={} prevOwner={}", job.getId(), job.getLeaseOwner());
+            }
+            job.setStatus(PostProcessJobStatus.RUNNING);
+            job.setAttempts(job.getAttempts() + 1);
+            job.setLeaseOwner(owner);
+            job.setLeaseUntil(leaseUntil);
+        }
+        return jobs;
+    }
+
+    @Transactional
+    public void complete(Long jobId, String owner) {
+        if (jobRepository.markDone(jobId, owner, LocalDateTime.now()) == 0) {
+            log.warn("[PostProcessJob] complete ignored (lease lost) jobId={} owner={}", jobId, owner);
+        }
+    }
+
+    /**
+     * 실패 처리
+     * - retryable 이고 시도 횟수가 남아 있으면 지수 백오프 후 PENDING
+     * - 그 외에는 DEAD
+     */
+    @Transactional
+    public void fail(Long jobId, String owner, Throwable error, boolean retryable) {
+        PostProcessJob job = jobRepository.findById(jobId).orElse(null);
+        if (job == null || !owner.equals(job.getLeaseOwner())) {
+            log.warn("[PostProcessJob] fail ignored (lease lost) jobId={} owner={}", jobId, owner);
+            return;
+        }
+
+        PipelineProperties.Jobs cfg = properties.getJobs();
+        job.setLastError(truncate(String.valueOf(error)));
+        job.setLeaseOwner(null);
+        job.setLeaseUntil(null);
+
+        if (!retryable || job.getAttempts() >= cfg.getMaxAttempts()) {
+            job.setStatus(PostProcessJobStatus.DEAD);
+            log.error("[PostProcessJob] dead-lettered jobId={} fileId={} attempts={} error={}",
+                    jobId, job.getFileId(), job.getAttempts(), job.getLastError());
+            return;
+        }
+
+        long delay = backoffMs(job.getAttempts(), cfg);
+        job.setStatus(PostProcessJobStatus.PENDING);
+        job.setNextRunAt(LocalDateTime.now().plusNanos(delay * 1_000_000));
+        log.warn("[PostProcessJob] retry scheduled jobId={} fileId={} attempt={} in {} ms",
+                jobId, job.getFileId(), job.getAttempts(), delay);
+    }
+
+    /**
+     * 동기 후처리(API) 시작: 파일의 작업에 이 요청 명의 리스를 건다.
+     * 워커나 다른 요청이 이미 처리 중이면 POST_PROCESS_IN_PROGRESS (같은 파일을 두 번 처리하지 않음)
+     *
+     * @return 리스 소유자 (finishSync 에 그대로 넘긴다)
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public String acquireSync(Long userId, Long fileId) {
+        String owner = "sync-" + UUID.randomUUID();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime leaseUntil = now.plusNanos(properties.getJobs().getLeaseMs() * 1_000_000);
+        if (jobRepository.acquireFileLease(fileId, userId, owner, leaseUntil, now) == 0) {
+            throw new CustomException(ErrorCode.POST_PROCESS_IN_PROGRESS);
+        }
+        return owner;
+    }
+
+    /**
+     * 동기 후처리 종료 (응답 시간이 지난 뒤 파이프라인이 끝난 경우 포함)
+     * 성공하면 안전망 작업은 더 돌 필요가 없고, 실패하면 워커가 백오프 후 다시 처리한다.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void finishSync(Long fileId, String owner, Throwable error) {
+        LocalDateTime now = LocalDateTime.now();
+        if (error == null) {
+            jobRepository.markDoneByFile(fileId, owner, now);
+            return;
+        }
+        long delay = backoffMs(1, properties.getJobs());
+        jobRepository.releaseByFile(fileId, owner, truncate(String.valueOf(error)),
+                now.plusNanos(delay * 1_000_000), now);
+    }
+
+    /**
+     * 다른 차선으로 옮겨 바로 대기 (배치 재분석이 다룰 수 없는 파일 → 건별 파이프라인 차선)
+     * 실패가 아니므로 이번 수거로 늘어난 시도 횟수는 되돌린다.
+     */
+    @Transactional
+    public void reroute(Long jobId, String owner, PostProcessJobLane lane, String reason) {
+        PostProcessJob job = jobRepository.findById(jobId).orElse(null);
+        if (job == null || !owner.equals(job.getLeaseOwner())) {
+            log.warn("[PostProcessJob] reroute ignored (lease lost) jobId={} owner={}", jobId, owner);
+            return;
+        }
+        job.setLane(lane);
+        job.setStatus(PostProcessJobStatus.PENDING);
+        job.setAttempts(Math.max(0, job.getAttempts() - 1));
+        job.setLeaseOwner(null);
+        job.setLeaseUntil(null);
+        job.setNextRunAt(LocalDateTime.now());
+        job.setLastError(truncate(reason));
+        log.info("[PostProcessJob] rerouted jobId={} fileId={} lane={} reason={}", jobId, job.getFileId(), lane, reason);
+    }
+
+    /** 처리하지 못한 작업을 바로 다른 워커가 가져갈 수 있게 반납 */
+    @Transactional
+    public void release(Long jobId, String owner) {
+        jobRepository.releaseLease(jobId, owner, LocalDateTime.now());
+    }
+
+    /** 종료 시 이 워커가 보유한 리스 반납 */
+    @Transactional
+    public int releaseLeases(String owner) {
+        return jobRepository.releaseLeases(owner, LocalDateTime.now());
+    }
+
+    /** 차선별 대기 작업 수 (대기 작업이 없는 차선은 0) */
+    @Transactional(readOnly = true)
+    public Map<PostProcessJobLane, Long> countPendingByLane() {
+        Map<PostProcessJobLane, Long> depth = new EnumMap<>(PostProcessJobLane.class);
+        for (PostProcessJobLane lane : PostProcessJobLane.values()) depth.put(lane, 0L);
+        for (Object[] row : jobRepository.countPendingByLane()) {
+            depth.put(PostProcessJobLane.valueOf((String) row[0]), ((Number) row[1]).longValue());
+        }
+        return depth;
+    }
+
+    // ----------------------- dead-letter -----------------------
+
+    @Transactional(readOnly = true)
+    public Page<PostProcessJob> getDeadJobs(Pageable pageable) {
+        return jobRepository.findByStatusOrderByUpdatedAtDesc(PostProcessJobStatus.DEAD, pageable);
+    }
+
+    @Transactional
+    public PostProcessJob retryDeadJob(Long jobId) {
+        PostProcessJob job = jobRepository.findById(jobId)
+                .orElseThrow(() -> new CustomException(ErrorCode.POST_PROCESS_JOB_NOT_FOUND));
+        if (job.getStatus() != PostProcessJobStatus.DEAD) {
+            throw new CustomException(ErrorCode.INVALID_REQUEST, "DEAD 상태의 작업만 재시도할 수 있습니다.");
+        }
+        job.setStatus(PostProcessJobStatus.PENDING);
+        job.setAttempts(0);
+        job.setNextRunAt(LocalDateTime.now());
+        log.info("[PostProcessJob] dead job requeued jobId={} fileId={}", jobId, job.getFileId());
+        return job;
+    }
+
+    // ----------------------- helpers -----------------------
+
+    /** base * 2^(attempt-1), 상한 max, ±20% 지터 (동시에 실패한 작업이 한꺼번에 몰리지 않도록) */
+    static long backoffMs(int attempt, PipelineProperties.Jobs cfg) {
+        int exp = Math.max(0, Math.min(attempt - 1, 20));
+        long delay = Math.min(cfg.getBackoffMaxMs(), cfg.getBackoffBaseMs() << exp);
+        double jitter = 0.8 + ThreadLocalRandom.current().nextDouble() * 0.4;
+        return (long) (delay * jitter);
+    }
+
+    private static String truncate(String s) {
+        return s.length() <= MAX_ERROR_LENGTH ? s : s.substring(0, MAX_ERROR_LENGTH);
+    }
+}
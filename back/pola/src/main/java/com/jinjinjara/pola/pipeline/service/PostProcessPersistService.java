@@ -0,0 +1,123 @@
+package com.jinjinjara.pola.pipeline.service;
+
+import com.jinjinjara.pola.common.CustomException;
+import com.jinjinjara.pola.common.ErrorCode;
+import com.jinjinjara.pola.data.entity.Category;
+import com.jinjinjara.pola.data.entity.File;
+import com.jinjinjara.pola.data.repository.CategoryRepository;
+import com.jinjinjara.pola.data.repository.FileRepository;
+import com.jinjinjara.pola.data.service.FileTagService;
+import com.jinjinjara.pola.pipeline.dto.common.PostProcessContext;
+import com.jinjinjara.pola.search.service.SearchOutboxService;
+import com.jinjinjara.pola.user.entity.Users;
+import com.jinjinjara.pola.vision.dto.response.AnalyzeResponse;
+import com.jinjinjara.pola.vision.entity.FileEmbeddings;
+import com.jinjinjara.pola.vision.repository.FileEmbeddingsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 후처리 PERSIST 단계
+ * AI 호출이 모두 끝난 뒤 DB 쓰기만 짧은 트랜잭션 하나로 묶는다.
+ * (AI 왕복 동안 커넥션을 잡고 있지 않도록 파이프라인의 다른 단계와 분리)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PostProcessPersistService {
+
+    private final FileRepository fileRepository;
+    private final CategoryRepository categoryRepository;
+    private final FileTagService fileTagService;
+    private final FileEmbeddingsRepository fileEmbeddingsRepository;
+    private final SearchOutboxService searchOutboxService;
+
+    @Transactional
+    public File persist(PostProcessContext ctx) {
+        return write(ctx);
+    }
+
+    /**
+     * 배치 재분석 결과를 트랜잭션 하나로 반영 (파일마다 커밋하지 않음)
+     * 하나라도 실패하면 전체 롤백 → 호출 측에서 건별 persist 로 다시 시도
+     */
+    @Transactional
+    public List<File> persistAll(List<PostProcessContext> contexts) {
+        List<File> files = new ArrayList<>(contexts.size());
+        for (PostProcessContext ctx : contexts) {
+            files.add(write(ctx));
+        }
+        return files;
+    }
+
+    private File write(PostProcessContext ctx) {
+        Long userId = ctx.getUserId();
+        Long fileId = ctx.getFileId();
+        AnalyzeResponse analyzeResponse = ctx.getAnalyzeResponse();
+
+        // 행 잠금으로 같은 파일의 반영을 직렬화하고, 카테고리 이동은 지금 행의 값 기준으로 계산
+        // → 같은 파일이 두 번 반영돼도 개수가 두 번 바뀌지 않는다
+        File file = fileRepository.findByIdForUpdate(fileId)
+                .orElseThrow(() -> new CustomException(ErrorCode.FILE_NOT_FOUND));
+
+        Long oldCategoryId = file.getCategoryId();
+        // 분류 결과가 없으면(태그 없음/센트로이드 없음) 기존 카테고리 유지
+        Long newCategoryId = analyzeResponse.getCategoryId() != null
+                ? analyzeResponse.getCategoryId()
+                : oldCategoryId;
+
+        fileTagService.addTagsToFile(fileId, analyzeResponse.getTags(), Users.builder().id(userId).build());
+
+        // 파일당 임베딩 한 행: 이미 있으면 갱신
+        FileEmbeddings fileEmbeddings = fileEmbeddingsRepository.findTopByFile_IdOrderByCreatedAtDesc(fileId)
+                .orElseGet(() -> FileEmbeddings.builder()
+                        .userId(userId)
+                        .file(file)
+                        .build());
+        fileEmbeddings.setOcrText(ctx.getOcrText());
+        fileEmbeddings.setContext(analyzeResponse.getDescription());
+        fileEmbeddings.setEmbedding(ctx.getEmbedding());
+        fileEmbeddings = fileEmbeddingsRepository.save(fileEmbeddings);
+
+        fileRepository.updatePostProcessing(
+                fileId,
+                userId,
+                newCategoryId,
+                analyzeResponse.getDescription(),
+                ctx.getOcrText(),
+                fileEmbeddings.getId()
+        );
+
+        // 검색 색인은 같은 트랜잭션의 아웃박스로 (커밋 후 SearchOutboxRelay 가 반영)
+        searchOutboxService.enqueueUpsert(fileId);
+
+        /*  여기서 category 파일 개수 업데이트  */
+        if (!Objects.equals(oldCategoryId, newCategoryId)) {
+            Category oldCategory = categoryRepository.findById(oldCategoryId)
+                    .orElse(null); // 혹시 삭제된 카테고리 예외 처리
+
+            Category newCategory = categoryRepository.findById(newCategoryId)
+                    .orElseThrow(() -> new CustomException(ErrorCode.CATEGORY_NOT_FOUND));
+
+            if (oldCategory != null) {
+                oldCategory.decreaseCount(1);
+                categoryRepository.save(oldCategory);
+                log.info("[PostProcess] oldCategoryId={} decremented", oldCategoryId);
+            }
+
+            newCategory.increaseCount(1);
+            categoryRepository.save(newCategory);
+            log.info("[PostProcess] newCategoryId={} incremented", newCategoryId);
+        }
+
+        /* Entity 최신화 (updatePostProcessing 이 영속성 컨텍스트를 비우므로 다시 조회) */
+        return fileRepository.findById(fileId)
+                .orElseThrow(() -> new CustomException(ErrorCode.FILE_NOT_FOUND));
+    }
+}
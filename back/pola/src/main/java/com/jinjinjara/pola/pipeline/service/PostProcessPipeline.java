@@ -0,0 +1,474 @@
+package com.jinjinjara.pola.pipeline.service;
+
+import com.jinjinjara.pola.common.CustomException;
+import com.jinjinjara.pola.common.ErrorCode;
+import com.jinjinjara.pola.data.entity.File;
+import com.jinjinjara.pola.data.repository.FileRepository;
+import com.jinjinjara.pola.pipeline.dto.common.AnalyzerMode;
+import com.jinjinjara.pola.pipeline.dto.common.FetchMode;
+import com.jinjinjara.pola.pipeline.dto.common.PipelineStage;
+import com.jinjinjara.pola.pipeline.dto.common.PostProcessContext;
+import com.jinjinjara.pola.pipeline.util.PipelineExecutors;
+import com.jinjinjara.pola.pipeline.util.PipelineProperties;
+import com.jinjinjara.pola.pipeline.util.UriFetchRules;
+import com.jinjinjara.pola.resilience.util.Deadline;
+import com.jinjinjara.pola.s3.service.S3Service;
+import com.jinjinjara.pola.vision.dto.common.FetchedObject;
+import com.jinjinjara.pola.vision.dto.common.VertexOcrParsedResult;
+import com.jinjinjara.pola.vision.dto.common.VertexParsedResult;
+import com.jinjinjara.pola.vision.service.AnalyzeFacadeService;
+import com.jinjinjara.pola.vision.service.ContentAnalysisCacheService;
+import com.jinjinjara.pola.vision.service.EmbeddingService;
+import com.jinjinjara.pola.vision.service.TagEmbeddingStore;
+import com.jinjinjara.pola.vision.service.VisionService;
+import com.jinjinjara.pola.vision.util.ImageNormalizer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * 파일 후처리 파이프라인
+ *
+ * FETCH → NORMALIZE → ANALYZE(OCR ‖ Vertex) → TAG → EMBED → PERSIST
+ * - FETCH 에서 S3 원본을 한 번만 받아 OCR 과 Vertex 가 같은 바이트를 공유
+ * - fetchMode=URI 이면 이미지는 받지 않고 presigned URL 을 Vision / Vertex 에 넘김 (실패 시 바이트로 폴백)
+ * - ANALYZE 는 두 호출(OCR ‖ Vertex) 또는 Gemini 단일 호출 중 선택 (AnalyzerMode, 요청별 지정 가능)
+ * - NORMALIZE 에서 이미지를 한도 해상도로 줄여 재인코딩 (분석 캐시 키는 원본 해시)
+ * - 내용 해시가 분석 캐시에 있으면 ANALYZE / EMBED 의 외부 호출을 건너뜀
+ * - 단계마다 전용 유한 실행기에서 실행 (PipelineExecutors)
+ * - 입구에서 maxInFlight 세마포어로 동시 처리 수를 제한 (backpressure)
+ * - DB 트랜잭션은 PERSIST 단계에서만 짧게 연다
+ * - 검색 색인은 PERSIST 트랜잭션에 기록한 아웃박스를 SearchOutboxRelay 가 반영
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PostProcessPipeline {
+
+    private final PipelineProperties properties;
+    private final PipelineExecutors executors;
+    private final MeterRegistry meterRegistry;
+
+    private final FileRepository fileRepository;
+    private final S3Service s3Service;
+    private final VisionService visionService;
+    private final AnalyzeFacadeService analyzeFacadeService;
+    private final EmbeddingService embeddingService;
+    private final ContentAnalysisCacheService analysisCacheService;
+    private final ImageNormalizer imageNormalizer;
+    private final PostProcessPersistService persistService;
+
+    // OCR(이미지 20MB) / Vertex(100MB) 중 큰 쪽 한도로 받고, 각 서비스가 자기 한도를 다시 확인
+    private static final long MAX_OBJECT_BYTES = 100L * 1024 * 1024;
+
+    private Semaphore admission;
+
+    @PostConstruct
+    void init() {
+        admission = new Semaphore(properties.getMaxInFlight());
+        meterRegistry.gauge("pola.pipeline.in_flight", admission,
+                s -> properties.getMaxInFlight() - s.availablePermits());
+    }
+
+    // ----------------------- 진입점 -----------------------
+
+    /**
+     * 단건 후처리 (API 요청 스레드에서 결과까지 대기)
+     * 입장 허가를 admissionTimeoutMs 안에 얻지 못하면 POST_PROCESS_BUSY
+     */
+    public File process(Long userId, Long fileId) throws Exception {
+        return process(userId, fileId, null);
+    }
+
+    /** analyzer 가 null 이면 pipeline.analyzer-mode 사용 */
+    public File process(Long userId, Long fileId, AnalyzerMode analyzer) throws Exception {
+        return process(userId, fileId, analyzer, (file, e) -> { });
+    }
+
+    /**
+     * onComplete 는 파이프라인이 실제로 끝났을 때 한 번 호출된다.
+     * 호출자가 POST_PROCESS_TIMEOUT 으로 먼저 돌아간 뒤에 끝나는 경우와, 입장이 거절된 경우도 포함.
+     */
+    public File process(Long userId, Long fileId, AnalyzerMode analyzer,
+                        BiConsumer<File, Throwable> onComplete) throws Exception {
+        if (!admission.tryAcquire(properties.getAdmissionTimeoutMs(), TimeUnit.MILLISECONDS)) {
+            log.warn("[Pipeline] admission rejected fileId={} inFlight={}", fileId, properties.getMaxInFlight());
+            CustomException busy = new CustomException(ErrorCode.POST_PROCESS_BUSY);
+            onComplete.accept(null, busy);
+            throw busy;
+        }
+
+        // HTTP 요청 기한(DeadlineFilter)이 더 짧으면 그 기한을 파이프라인 외부 호출까지 전파
+        Deadline deadline = Deadline.after(properties.getRequestTimeoutMs()).min(Deadline.current());
+        CompletableFuture<File> future = run(userId, fileId, analyzer, deadline);
+        future.whenComplete((file, e) -> {
+            try {
+                onComplete.accept(file, e == null ? null : unwrap(e));
+            } catch (Exception ex) {
+                log.error("[Pipeline] completion callback failed fileId={}", fileId, ex);
+            }
+        });
+        try {
+            return future.get(deadline.remainingMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // 파이프라인은 계속 진행되고 결과는 DB에 반영된다. 호출자만 먼저 돌려보낸다.
+            throw new CustomException(ErrorCode.POST_PROCESS_TIMEOUT);
+        } catch (ExecutionException e) {
+            Throwable cause = unwrap(e);
+            if (cause instanceof Exception ex) throw ex;
+            throw e;
+        }
+    }
+
+    /**
+     * 일괄 후처리용 제출. 파이프라인이 가득 차 있으면 자리가 날 때까지 호출 스레드를 막는다.
+     */
+    public CompletableFuture<File> submitBlocking(Long userId, Long fileId) throws InterruptedException {
+        admission.acquire();
+        return run(userId, fileId, null, null);
+    }
+
+    /**
+     * 작업 큐 워커용 제출. 자리가 없으면 기다리지 않고 null 을 돌려준다. (스케줄러 스레드를 막지 않음)
+     */
+    public CompletableFuture<File> trySubmit(Long userId, Long fileId) {
+        if (!admission.tryAcquire()) return null;
+        return run(userId, fileId, null, null);
+    }
+
+    /** 지금 바로 받을 수 있는 파일 수 */
+    public int availableSlots() {
+        return admission.availablePermits();
+    }
+
+    // ----------------------- 파이프라인 -----------------------
+
+    private CompletableFuture<File> run(Long userId, Long fileId, AnalyzerMode analyzer, Deadline deadline) {
+        PostProcessContext ctx = new PostProcessContext(userId, fileId);
+        ctx.setAnalyzerMode(analyzer);
+        ctx.setDeadline(deadline);
+        long t0 = System.currentTimeMillis();
+        log.info("[PostProcess] Start post-processing fileId={}, userId={}", fileId, userId);
+
+        CompletableFuture<File> future = stage(PipelineStage.FETCH, ctx, () -> fetch(ctx))
+                .thenCompose(c -> c.isCacheHit() ? CompletableFuture.completedFuture(c)
+                        : stage(PipelineStage.NORMALIZE, c, () -> normalize(c)).thenCompose(this::analyze))
+                .thenCompose(c -> stage(PipelineStage.TAG, c, () -> tag(c)))
+                .thenCompose(c -> stage(PipelineStage.EMBED, c, () -> embed(c)))
+                .thenCompose(c -> stage(PipelineStage.PERSIST, c, () -> persist(c)))
+                .thenApply(PostProcessContext::getResult);
+
+        return future.whenComplete((file, e) -> {
+            admission.release();
+            if (e != null) {
+                log.error("[PostProcess] failed fileId={}", fileId, unwrap(e));
+            } else {
+                log.info("[PostProcess] total={} ms fileId={}", System.currentTimeMillis() - t0, fileId);
+            }
+        });
+    }
+
+    private PostProcessContext fetch(PostProcessContext ctx) {
+        File file = fileRepository.findById(ctx.getFileId())
+                .orElseThrow(() -> new CustomException(ErrorCode.FILE_NOT_FOUND));
+        ctx.setSrc(file.getSrc());
+        ctx.setOldCategoryId(file.getCategoryId()); // 기존 카테고리 ID 저장
+        log.info("[PostProcess] File entity loaded: src={}, oldCategoryId={}", file.getSrc(), file.getCategoryId());
+
+        if (properties.getFetchMode() == FetchMode.URI && prepareUri(ctx)) {
+            lookupCache(ctx);
+            return ctx;
+        }
+
+        // 원본은 여기서 한 번만 받는다. 이후 단계는 같은 불변 버퍼를 공유
+        long t0 = System.currentTimeMillis();
+        byte[] data = s3Service.downloadObject(file.getSrc(), MAX_OBJECT_BYTES);
+        ctx.setObject(FetchedObject.of(file.getSrc(), data));
+        meterRegistry.summary("pola.pipeline.fetch.bytes").record(data.length);
+        log.info("[PostProcess] Object fetched: size={} bytes, mime={}, elapsed={} ms",
+                data.length, ctx.getObject().getMime(), System.currentTimeMillis() - t0);
+
+        ctx.setContentHash(ctx.getObject().sha256Hex());
+        lookupCache(ctx);
+        return ctx;
+    }
+
+    /** 같은 내용을 이미 분석했다면 OCR / Vertex / 임베딩 호출을 모두 건너뛴다 */
+    private void lookupCache(PostProcessContext ctx) {
+        analysisCacheService.find(ctx.getContentHash()).ifPresent(cached -> {
+            ctx.setOcrText(cached.ocrText());
+            ctx.setParsed(cached.parsed());
+            ctx.setEmbedding(cached.embedding());
+            ctx.setCacheHit(true);
+            ctx.setObject(null);
+            ctx.setObjectUri(null);
+            log.info("[PostProcess] Analysis cache hit: hash={}", ctx.getContentHash());
+        });
+    }
+
+    /**
+     * URI 모드 준비: HEAD 로 타입/크기/ETag 만 확인하고 presigned URL 발급
+     * 대상이 아니면(UriFetchRules: 텍스트, 한도 초과, 멀티파트 ETag) false → BYTES 경로
+     */
+    private boolean prepareUri(PostProcessContext ctx) {
+        HeadObjectResponse head = s3Service.headObject(ctx.getSrc());
+        String contentKey = UriFetchRules.contentKey(head);
+        if (contentKey == null) return false;
+        ctx.setObjectMime(head.contentType());
+        ctx.setObjectUri(s3Service.generateAnalysisUrl(
+                ctx.getSrc(), Duration.ofMillis(properties.getFetchUriTtlMs())).toString());
+        ctx.setContentHash(contentKey);
+        log.info("[PostProcess] URI fetch mode: size={} bytes, mime={}", head.contentLength(), head.contentType());
+        return true;
+    }
+
+    /** URI 모드 폴백: 제공자가 URI 로 읽지 못하면 그때 한 번만 받아서 정규화 (OCR / Vertex 가 공유) */
+    private FetchedObject ensureBytes(PostProcessContext ctx) {
+        ctx.getFetchLock().lock();
+        try {
+            if (ctx.getObject() == null) {
+                byte[] data = s3Service.downloadObject(ctx.getSrc(), MAX_OBJECT_BYTES);
+                meterRegistry.summary("pola.pipeline.fetch.bytes").record(data.length);
+                ctx.setObject(imageNormalizer.normalize(FetchedObject.of(ctx.getSrc(), data)));
+            }
+            return ctx.getObject();
+        } finally {
+            ctx.getFetchLock().unlock();
+        }
+    }
+
+    /** OCR / Vertex 가 함께 쓸 이미지를 한 번만 축소/재인코딩 (이미지가 아니면 그대로) */
+    private PostProcessContext normalize(PostProcessContext ctx) {
+        ctx.setObject(imageNormalizer.normalize(ctx.getObject()));
+        return ctx;
+    }
+
+    /**
+     * ANALYZE: analyzerMode 에 따라 두 호출(OCR ‖ Vertex) 또는 Gemini 단일 호출
+     * 결과가 나오면 analyzerAb.sampleRate 비율로 반대 방식을 그림자 실행해 지연/태그 일치도를 비교한다.
+     */
+    private CompletableFuture<PostProcessContext> analyze(PostProcessContext ctx) {
+        AnalyzerMode mode = effectiveMode(ctx, ctx.getAnalyzerMode());
+        long t0 = System.nanoTime();
+
+        CompletableFuture<VertexOcrParsedResult> result = mode == AnalyzerMode.SINGLE_CALL
+                ? stage(PipelineStage.ANALYZE, ctx, () -> fetchAware(ctx, "vertex_ocr",
+                        uri -> analyzeFacadeService.extractOcrAndTagsFromUri(uri, ctx.getObjectMime()),
+                        obj -> analyzeFacadeService.extractOcrAndTags(obj)))
+                : analyzeTwoCall(ctx);
+
+        return result.thenApply(r -> {
+            recordAnalyzer(mode, "primary", t0);
+            log.info("[PostProcess] Analyze({}) completed: textLength={}, tags={}",
+                    mode, r.getOcrText() != null ? r.getOcrText().length() : 0, r.getParsed().getTags().size());
+            maybeShadow(mode, ctx.getObject(), ctx.getObjectUri(), ctx.getObjectMime(), r);
+
+            ctx.setOcrText(r.getOcrText());
+            ctx.setParsed(r.getParsed());
+            ctx.setObject(null); // 분석이 끝나면 원본 버퍼는 더 이상 붙잡지 않는다
+            ctx.setObjectUri(null);
+            return ctx;
+        });
+    }
+
+    /** OCR 과 Vertex 분석을 ANALYZE 실행기에서 병렬로 수행 */
+    private CompletableFuture<VertexOcrParsedResult> analyzeTwoCall(PostProcessContext ctx) {
+        CompletableFuture<String> ocrFuture = stage(PipelineStage.ANALYZE, ctx, () -> fetchAware(ctx, "vision",
+                uri -> visionService.documentOcrFromUri(uri),
+                obj -> visionService.extractText(obj)));
+
+        CompletableFuture<VertexParsedResult> vertexFuture = stage(PipelineStage.ANALYZE, ctx,
+                () -> fetchAware(ctx, "vertex",
+                        uri -> analyzeFacadeService.extractTagsFromUri(uri, ctx.getObjectMime()),
+                        obj -> analyzeFacadeService.extractTags(obj)));
+
+        return ocrFuture.thenCombine(vertexFuture, VertexOcrParsedResult::new);
+    }
+
+    /** 단일 호출은 이미지에만 의미가 있다 (텍스트 파일의 "OCR" 은 본문 그대로) */
+    private AnalyzerMode effectiveMode(PostProcessContext ctx, AnalyzerMode requested) {
+        AnalyzerMode mode = requested != null ? requested : properties.getAnalyzerMode();
+        boolean image = ctx.getObjectUri() != null || (ctx.getObject() != null && ctx.getObject().isImage());
+        return image ? mode : AnalyzerMode.TWO_CALL;
+    }
+
+    private void recordAnalyzer(AnalyzerMode mode, String role, long startNanos) {
+        meterRegistry.timer("pola.analysis.latency", "analyzer", mode.name(), "role", role)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    // ----------------------- A/B 그림자 실행 -----------------------
+
+    /**
+     * 반대 분석 방식을 결과에 영향 없이 한 번 더 실행하고 비교 지표만 남긴다.
+     * - pola.analysis.latency{analyzer,role=shadow}
+     * - pola.analysis.ab.tag_agreement{primary} : 태그 집합 Jaccard (정규화 후)
+     * - pola.analysis.ab.ocr_length_ratio{primary} : 그림자 / 본 실행 OCR 길이
+     * 비용(토큰)은 pola.vertex.tokens{op} 로 함께 본다. URI 폴백은 하지 않으며, 큐가 차 있으면 건너뛴다.
+     */
+    private void maybeShadow(AnalyzerMode primary, FetchedObject obj, String uri, String mime,
+                             VertexOcrParsedResult primaryResult) {
+        double rate = properties.getAnalyzerAb().getSampleRate();
+        if (rate <= 0 || ThreadLocalRandom.current().nextDouble() >= rate) return;
+        if (obj == null && uri == null) return;
+
+        AnalyzerMode shadow = primary.other();
+        try {
+            executors.get(PipelineStage.ANALYZE).execute(() -> {
+                try {
+                    VertexOcrParsedResult r = runShadow(shadow, obj, uri, mime);
+                    meterRegistry.summary("pola.analysis.ab.tag_agreement", "primary", primary.name())
+                            .record(jaccard(primaryResult.getParsed().getTags(), r.getParsed().getTags()));
+                    int base = Math.max(1, length(primaryResult.getOcrText()));
+                    meterRegistry.summary("pola.analysis.ab.ocr_length_ratio", "primary", primary.name())
+                            .record((double) length(r.getOcrText()) / base);
+                } catch (Exception e) {
+                    meterRegistry.counter("pola.analysis.ab.failed", "analyzer", shadow.name()).increment();
+                    log.debug("[PostProcess] shadow analyze({}) failed: {}", shadow, e.toString());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            meterRegistry.counter("pola.analysis.ab.skipped").increment();
+        }
+    }
+
+    /**
+     * 그림자 실행은 지금 스레드(ANALYZE 실행기)에서 순서대로 한다.
+     * 같은 유한 실행기에 하위 작업을 넣고 기다리면, 그림자 작업이 스레드를 모두 차지했을 때
+     * 하위 작업이 시작되지 못해 그림자와 본 실행 ANALYZE 가 함께 멈춘다.
+     * 두 호출 경로의 지연은 본 실행(병렬)과 비교할 수 있도록 두 호출 중 긴 쪽으로 기록한다.
+     */
+    private VertexOcrParsedResult runShadow(AnalyzerMode mode, FetchedObject obj, String uri, String mime)
+            throws Exception {
+        long t0 = System.nanoTime();
+        if (mode == AnalyzerMode.SINGLE_CALL) {
+            VertexOcrParsedResult r = obj != null ? analyzeFacadeService.extractOcrAndTags(obj)
+                    : analyzeFacadeService.extractOcrAndTagsFromUri(uri, mime);
+            recordAnalyzer(mode, "shadow", t0);
+            return r;
+        }
+        String ocr = obj != null ? visionService.extractText(obj) : visionService.documentOcrFromUri(uri);
+        long ocrNanos = System.nanoTime() - t0;
+
+        long t1 = System.nanoTime();
+        VertexParsedResult parsed = obj != null ? analyzeFacadeService.extractTags(obj)
+                : analyzeFacadeService.extractTagsFromUri(uri, mime);
+        long tagsNanos = System.nanoTime() - t1;
+
+        meterRegistry.timer("pola.analysis.latency", "analyzer", mode.name(), "role", "shadow")
+                .record(Math.max(ocrNanos, tagsNanos), TimeUnit.NANOSECONDS);
+        return new VertexOcrParsedResult(ocr, parsed);
+    }
+
+    private static double jaccard(List<String> a, List<String> b) {
+        Set<String> sa = a.stream().map(TagEmbeddingStore::normalize).collect(Collectors.toSet());
+        Set<String> sb = b.stream().map(TagEmbeddingStore::normalize).collect(Collectors.toSet());
+        if (sa.isEmpty() && sb.isEmpty()) return 1.0;
+        Set<String> union = new HashSet<>(sa);
+        union.addAll(sb);
+        sa.retainAll(sb);
+        return (double) sa.size() / union.size();
+    }
+
+    private static int length(String s) {
+        return s == null ? 0 : s.length();
+    }
+
+    /**
+     * 제공자 호출을 fetch 방식별로 계측: pola.analysis.fetch{mode,provider,result}
+     * URI 호출이 실패하면 원본을 받아 바이트 경로로 한 번 더 시도한다.
+     */
+    private <T> T fetchAware(PostProcessContext ctx, String provider,
+                             UriCall<T> byUri, Function<FetchedObject, T> byBytes) {
+        if (ctx.getObjectUri() != null) {
+            long t0 = System.nanoTime();
+            try {
+                T result = byUri.call(ctx.getObjectUri());
+                recordFetch("uri", provider, "success", t0);
+                return result;
+            } catch (Exception e) {
+                recordFetch("uri", provider, "fallback", t0);
+                log.warn("[PostProcess] {} URI fetch failed, falling back to bytes: fileId={}, err={}",
+                        provider, ctx.getFileId(), e.toString());
+            }
+            FetchedObject obj = ensureBytes(ctx);
+            long t1 = System.nanoTime();
+            T result = byBytes.apply(obj);
+            recordFetch("bytes", provider, "fallback", t1);
+            return result;
+        }
+
+        long t0 = System.nanoTime();
+        T result = byBytes.apply(ctx.getObject());
+        recordFetch("bytes", provider, "success", t0);
+        return result;
+    }
+
+    private void recordFetch(String mode, String provider, String result, long startNanos) {
+        meterRegistry.timer("pola.analysis.fetch", "mode", mode, "provider", provider, "result", result)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @FunctionalInterface
+    private interface UriCall<T> {
+        T call(String uri) throws Exception;
+    }
+
+    private PostProcessContext tag(PostProcessContext ctx) {
+        ctx.setAnalyzeResponse(analyzeFacadeService.classify(ctx.getUserId(), ctx.getParsed()));
+        log.info("[PostProcess] Analyze completed: newCategoryId={}, tagsCount={}",
+                ctx.getAnalyzeResponse().getCategoryId(), ctx.getAnalyzeResponse().getTags().size());
+        return ctx;
+    }
+
+    private PostProcessContext embed(PostProcessContext ctx) {
+        if (ctx.isCacheHit()) return ctx;
+
+        ctx.setEmbedding(embeddingService.embedOcrAndContext(
+                ctx.getOcrText(), ctx.getAnalyzeResponse().getDescription()));
+        analysisCacheService.put(ctx.getContentHash(), ctx.getOcrText(), ctx.getParsed(), ctx.getEmbedding());
+        return ctx;
+    }
+
+    private PostProcessContext persist(PostProcessContext ctx) {
+        ctx.setResult(persistService.persist(ctx));
+        return ctx;
+    }
+
+    // ----------------------- helpers -----------------------
+
+    /** 단계 실행기에서 task 실행. 요청 기한(ctx.deadline)을 작업 스레드에 다시 설치한다 */
+    private <T> CompletableFuture<T> stage(PipelineStage stage, PostProcessContext ctx, Supplier<T> task) {
+        Timer timer = meterRegistry.timer("pola.pipeline.stage", "stage", stage.name());
+        Deadline deadline = ctx.getDeadline();
+        try {
+            return CompletableFuture.supplyAsync(
+                    () -> timer.record(() -> Deadline.call(deadline, task)), executors.get(stage));
+        } catch (RejectedExecutionException e) {
+            log.warn("[Pipeline] stage={} queue full", stage);
+            return CompletableFuture.failedFuture(new CustomException(ErrorCode.POST_PROCESS_BUSY));
+        }
+    }
+
+    private static Throwable unwrap(Throwable e) {
+        Throwable t = e;
+        while ((t instanceof CompletionException || t instanceof ExecutionException) && t.getCause() != null) {
+            t = t.getCause();
+        }
+        return t;
+    }
+}
@@ -0,0 +1,82 @@
+package com.jinjinjara.pola.pipeline.util;
+
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 가상 스레드 모드의 단계 실행기
+ *
+ * 작업마다 가상 스레드를 만들고, 동시 실행 수는 스레드 풀 크기 대신 세마포어로 제한한다.
+ * - running: 동시에 실행되는 작업 수 (= 기존 threads)
+ * - admitted: 실행 + 대기 중인 작업 수 (= threads + queueCapacity), 넘치면 TaskRejectedException
+ */
+public class BoundedVirtualExecutor implements Executor {
+
+    private final int concurrency;
+    private final int capacity;
+    private final Semaphore running;
+    private final Semaphore admitted;
+    private final ExecutorService delegate;
+
+    public BoundedVirtualExecutor(String namePrefix, int concurrency, int queueCapacity) {
+        this.concurrency = concurrency;
+        this.capacity = concurrency + queueCapacity;
+        this.running = new Semaphore(concurrency);
+        this.admitted = new Semaphore(capacity);
+        this.delegate = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(namePrefix, 0).factory());
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (!admitted.tryAcquire()) {
+            throw new TaskRejectedException("Executor is full (capacity=" + capacity + ")");
+        }
+        try {
+            delegate.execute(() -> {
+                try {
+                    running.acquire();
+                    try {
+                        task.run();
+                    } finally {
+                        running.release();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    admitted.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            admitted.release();
+            throw new TaskRejectedException("Executor is shut down", e);
+        }
+    }
+
+    /** 실행 중인 작업 수 */
+    public int getActiveCount() {
+        return concurrency - running.availablePermits();
+    }
+
+    /** 실행 허가를 기다리는 작업 수 */
+    public int getQueueSize() {
+        return Math.max(0, (capacity - admitted.availablePermits()) - getActiveCount());
+    }
+
+    /** 새 작업은 거절하고 진행 중인 작업은 timeoutSeconds 까지 기다린다 */
+    public void shutdown(long timeoutSeconds) {
+        delegate.shutdown();
+        try {
+            if (!delegate.awaitTermination(timeoutSeconds, TimeUnit.SECONDS)) {
+                delegate.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            delegate.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.jinjinjara.pola.pipeline.util;
+
+import com.jinjinjara.pola.pipeline.dto.common.PipelineStage;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * 파이프라인 단계별 전용 실행기
+ * - 단계마다 고정 크기 스레드 + 유한 큐 (공용 ForkJoinPool / @Async 풀과 분리)
+ * - 큐가 가득 차면 TaskRejectedException (호출 측에서 POST_PROCESS_BUSY 로 변환)
+ * - spring.threads.virtual.enabled=true 면 가상 스레드 + 세마포어(threads / threads+queue)로 같은 한도 유지
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PipelineExecutors {
+
+    private final PipelineProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private final Map<PipelineStage, Executor> executors = new EnumMap<>(PipelineStage.class);
+
+    @PostConstruct
+    void init() {
+        for (PipelineStage stage : PipelineStage.values()) {
+            PipelineProperties.Stage cfg = properties.stage(stage);
+            String prefix = "pipeline-" + stage.name().toLowerCase() + "-";
+
+            if (virtualThreads) {
+                BoundedVirtualExecutor executor = new BoundedVirtualExecutor(prefix, cfg.getThreads(), cfg.getQueueCapacity());
+                executors.put(stage, executor);
+                Gauge.builder("pola.pipeline.queue", executor, BoundedVirtualExecutor::getQueueSize)
+                        .tag("stage", stage.name())
+                        .register(meterRegistry);
+                Gauge.builder("pola.pipeline.active", executor, BoundedVirtualExecutor::getActiveCount)
+                        .tag("stage", stage.name())
+                        .register(meterRegistry);
+                log.info("[Pipeline] stage={} virtual concurrency={} queue={}", stage, cfg.getThreads(), cfg.getQueueCapacity());
+                continue;
+            }
+
+            ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+            executor.setCorePoolSize(cfg.getThreads());
+            executor.setMaxPoolSize(cfg.getThreads());
+            executor.setQueueCapacity(cfg.getQueueCapacity());
+            executor.setThreadNamePrefix(prefix);
+            executor.setWaitForTasksToCompleteOnShutdown(true);
+            executor.setAwaitTerminationSeconds(30);
+            executor.initialize();
+            executors.put(stage, executor);
+
+            Gauge.builder("pola.pipeline.queue", executor, e -> e.getThreadPoolExecutor().getQueue().size())
+                    .tag("stage", stage.name())
+                    .register(meterRegistry);
+            Gauge.builder("pola.pipeline.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+                    .tag("stage", stage.name())
+                    .register(meterRegistry);
+
+            log.info("[Pipeline] stage={} threads={} queue={}", stage, cfg.getThreads(), cfg.getQueueCapacity());
+        }
+    }
+
+    public Executor get(PipelineStage stage) {
+        return executors.get(stage);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        for (Executor executor : executors.values()) {
+            if (executor instanceof ThreadPoolTaskExecutor pool) pool.shutdown();
+            else if (executor instanceof BoundedVirtualExecutor virtual) virtual.shutdown(30);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.jinjinjara.pola.pipeline.util;
+
+import com.jinjinjara.pola.pipeline.dto.common.AnalyzerMode;
+import com.jinjinjara.pola.pipeline.dto.common.FetchMode;
+import com.jinjinjara.pola.pipeline.dto.common.PipelineStage;
+import com.jinjinjara.pola.pipeline.entity.PostProcessJobLane;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+@Configuration
+@ConfigurationProperties(prefix = "pipeline")
+@Getter @Setter
+public class PipelineProperties {
+
+    /** 동시에 파이프라인에 들어갈 수 있는 파일 수 (초과 시 입구에서 대기/거절) */
+    private int maxInFlight = 32;
+
+    /** 단건 후처리 요청이 입장 허가를 기다리는 최대 시간 */
+    private long admissionTimeoutMs = 2000;
+
+    /** 단건 후처리 요청이 결과를 기다리는 최대 시간 */
+    private long requestTimeoutMs = 120000;
+
+    /** 분석 제공자에 원본을 넘기는 방식 (URI 는 이미지에만 적용, 텍스트는 항상 BYTES) */
+    private FetchMode fetchMode = FetchMode.BYTES;
+
+    /** URI 모드에서 제공자에 넘기는 presigned URL 유효 시간 */
+    private long fetchUriTtlMs = 600000;
+
+    /** ANALYZE 방식 기본값 (요청 파라미터로 건별 지정 가능) */
+    private AnalyzerMode analyzerMode = AnalyzerMode.TWO_CALL;
+
+    /** 반대 분석 방식 그림자 실행 (A/B 비교) */
+    private AnalyzerAb analyzerAb = new AnalyzerAb();
+
+    /** 단계별 전용 스레드/큐 크기 (queueCapacity 는 maxInFlight 이상 권장, ANALYZE 는 2배) */
+    private Map<PipelineStage, Stage> stages = new EnumMap<>(PipelineStage.class);
+
+    /** 영속 작업 큐 (post_process_jobs) 워커 설정 */
+    private Jobs jobs = new Jobs();
+
+    @Getter @Setter
+    public static class Jobs {
+        private boolean enabled = true;
+        private long pollIntervalMs = 1000;     // 수거 주기
+        private int concurrency = 16;           // 파드당 동시에 처리하는 작업 수 (maxInFlight 이하)
+        private long leaseMs = 300000;          // 이 시간 안에 끝내지 못하면 다른 워커가 회수
+        private int maxAttempts = 5;            // 초과 시 DEAD
+        private long backoffBaseMs = 5000;
+        private long backoffMaxMs = 600000;
+        private long uploadGraceMs = 60000;     // 업로드 직후 동기 후처리를 기다리는 시간 (안전망)
+        private long drainTimeoutMs = 30000;    // 종료 시 진행 중 작업 대기 시간
+        private int fairScanWindow = 2000;      // 공정 수거 시 순위를 매기는 대기 작업 수 (차선별, 오래된 순)
+        private long depthRefreshMs = 15000;    // 차선별 대기 작업 수 지표 갱신 주기
+
+        /** 차선별 동시 처리 몫 (concurrency 대비 비율) */
+        private Map<PostProcessJobLane, Lane> lanes = new EnumMap<>(Map.of(
+                PostProcessJobLane.INTERACTIVE, new Lane(0.5, 1.0),
+                PostProcessJobLane.BULK, new Lane(0.35, 0.8),
+                PostProcessJobLane.BACKFILL, new Lane(0.15, 0.5)));
+
+        public Lane lane(PostProcessJobLane lane) {
+            return lanes.getOrDefault(lane, new Lane());
+        }
+    }
+
+    @Getter @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Lane {
+        private double share = 0.2;             // 항상 보장되는 몫
+        private double maxShare = 1.0;          // 다른 차선이 한가할 때 빌려 쓸 수 있는 상한
+    }
+
+    @Getter @Setter
+    public static class AnalyzerAb {
+        private double sampleRate = 0.0;        // 0 이면 비활성, 0.05 면 5% 파일에 대해 반대 방식도 호출
+    }
+
+    @Getter @Setter
+    public static class Stage {
+        private int threads = 4;
+        private int queueCapacity = 64;
+    }
+
+    public Stage stage(PipelineStage stage) {
+        return stages.getOrDefault(stage, new Stage());
+    }
+}
@@ -0,0 +1,40 @@
+package com.jinjinjara.pola.pipeline.util;
+
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * URI 모드 공통 규칙 (건별 파이프라인 FETCH 와 배치 재분석이 함께 사용)
+ * 원본을 받지 않고 presigned URL 로 분석할 수 있는 이미지인지, 그때의 분석 캐시 키가 무엇인지 정한다.
+ *
+ * 캐시 키: 단일 파트 업로드의 ETag 는 내용의 MD5 → "md5:" + ETag
+ * - 멀티파트 ETag("...-N")는 파트 크기에 따라 같은 바이트도 값이 달라 내용 키가 될 수 없다 → URI 대상 아님 (BYTES 경로의 SHA-256)
+ * - SSE-KMS 처럼 ETag 가 MD5 가 아닌 경우에는 객체별 키가 되어 재사용이 안 될 뿐, 다른 내용과 섞이지는 않는다.
+ */
+public final class UriFetchRules {
+
+    /** Vision 이 URI 로 읽을 수 있는 이미지 한도 */
+    public static final long MAX_IMAGE_BYTES = 20L * 1024 * 1024;
+
+    /** SHA-256 hex 키와 구분되는 접두사 */
+    public static final String MD5_KEY_PREFIX = "md5:";
+
+    private static final Pattern SINGLE_PART_ETAG = Pattern.compile("[0-9a-fA-F]{32}");
+
+    private UriFetchRules() {
+    }
+
+    /** URI 로 분석할 수 있으면 분석 캐시 키, 아니면 null (원본을 받아 SHA-256 으로) */
+    public static String contentKey(HeadObjectResponse head) {
+        String mime = head.contentType();
+        Long length = head.contentLength();
+        if (mime == null || !mime.startsWith("image/") || length == null || length > MAX_IMAGE_BYTES) {
+            return null;
+        }
+        String etag = head.eTag() == null ? null : head.eTag().replace("\"", "");
+        if (etag == null || !SINGLE_PART_ETAG.matcher(etag).matches()) return null;
+        return MD5_KEY_PREFIX + etag.toLowerCase(Locale.ROOT);
+    }
+}
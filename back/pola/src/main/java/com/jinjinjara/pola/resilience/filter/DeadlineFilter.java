@@ -0,0 +1,71 @@
+package com.jinjinjara.pola.resilience.filter;
+
+import com.jinjinjara.pola.resilience.util.Deadline;
+import com.jinjinjara.pola.resilience.util.ResilienceProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * 요청별 처리 기한 설정
+ * - 클라이언트 헤더(X-Request-Timeout-Ms)와 엔드포인트 설정(resilience.deadline.endpoints) 중 더 이른 값
+ * - 기한은 외부 AI 호출(HedgedCaller)과 후처리 파이프라인 대기 시간에 반영된다
+ */
+@Component
+@RequiredArgsConstructor
+public class DeadlineFilter extends OncePerRequestFilter {
+
+    private final ResilienceProperties properties;
+    private final AntPathMatcher matcher = new AntPathMatcher();
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Deadline deadline = resolve(request);
+        if (deadline == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        try (Deadline.Scope ignored = Deadline.open(deadline)) {
+            chain.doFilter(request, response);
+        }
+    }
+
+    private Deadline resolve(HttpServletRequest request) {
+        ResilienceProperties.Deadlines cfg = properties.getDeadline();
+        Deadline deadline = null;
+
+        String path = request.getRequestURI();
+        for (Map.Entry<String, Long> e : cfg.getEndpoints().entrySet()) {
+            if (matcher.match(e.getKey(), path)) {
+                deadline = Deadline.after(e.getValue());
+                break;
+            }
+        }
+        if (deadline == null && cfg.getDefaultMs() > 0) {
+            deadline = Deadline.after(cfg.getDefaultMs());
+        }
+
+        String header = request.getHeader(cfg.getHeader());
+        if (header != null) {
+            try {
+                long ms = Math.min(Long.parseLong(header.trim()), cfg.getMaxMs());
+                if (ms > 0) {
+                    Deadline fromClient = Deadline.after(ms);
+                    deadline = fromClient.min(deadline);
+                }
+            } catch (NumberFormatException ignore) {
+                // 잘못된 헤더는 무시
+            }
+        }
+        return deadline;
+    }
+}
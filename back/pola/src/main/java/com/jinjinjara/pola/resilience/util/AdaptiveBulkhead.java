@@ -0,0 +1,206 @@
+package com.jinjinjara.pola.resilience.util;
+
+import com.google.api.gax.rpc.ApiException;
+import com.google.api.gax.rpc.StatusCode;
+import com.jinjinjara.pola.common.CustomException;
+import com.jinjinjara.pola.common.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.opensearch.client.opensearch._types.OpenSearchException;
+import org.springframework.web.client.HttpStatusCodeException;
+
+import java.net.SocketTimeoutException;
+import java.net.http.HttpTimeoutException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 의존성 하나에 대한 동시 호출 격벽 (AIMD 적응형 limit)
+ *
+ * - 동시 호출이 limit 에 차면 maxWaitMs(요청 기한 이내)까지 대기, 대기열이 차 있거나 시간이 지나면 즉시 거절
+ * - 정상 응답: limit += 1/limit (허용량의 절반 이상을 쓰고 있을 때만)
+ * - 과부하 신호(타임아웃, 429/5xx, 느린 성공): limit *= backoffRatio (cooldown 당 한 번)
+ *
+ * 지표: pola.bulkhead.in_flight / limit / queued, pola.bulkhead.rejected{reason}, pola.bulkhead.wait
+ */
+public class AdaptiveBulkhead {
+
+    private final String dependency;
+    private final ResilienceProperties.Bulkhead cfg;
+    private final ErrorCode rejectCode;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    private int inFlight;
+    private int queued;
+    private double limit;
+    private long lastDecreaseNanos;
+
+    private final Counter rejectedQueueFull;
+    private final Counter rejectedTimeout;
+    private final Timer waitTimer;
+
+    AdaptiveBulkhead(String dependency, ResilienceProperties.Bulkhead cfg, ErrorCode rejectCode,
+                     MeterRegistry meterRegistry) {
+        this.dependency = dependency;
+        this.cfg = cfg;
+        this.rejectCode = rejectCode;
+        this.limit = Math.max(cfg.getMinLimit(), Math.min(cfg.getMaxLimit(), cfg.getInitialLimit()));
+
+        Gauge.builder("pola.bulkhead.in_flight", this, b -> b.inFlight).tag("dependency", dependency).register(meterRegistry);
+        Gauge.builder("pola.bulkhead.limit", this, b -> b.limit).tag("dependency", dependency).register(meterRegistry);
+        Gauge.builder("pola.bulkhead.queued", this, b -> b.queued).tag("dependency", dependency).register(meterRegistry);
+        this.rejectedQueueFull = meterRegistry.counter("pola.bulkhead.rejected", "dependency", dependency, "reason", "queue_full");
+        this.rejectedTimeout = meterRegistry.counter("pola.bulkhead.rejected", "dependency", dependency, "reason", "timeout");
+        this.waitTimer = meterRegistry.timer("pola.bulkhead.wait", "dependency", dependency);
+    }
+
+    /** 허용량을 얻을 때까지 대기 (maxWaitMs 와 요청 기한 중 짧은 쪽), 실패 시 CustomException(rejectCode) */
+    public Permit acquire() throws InterruptedException {
+        return acquire(Math.min(cfg.getMaxWaitMs(), Deadline.remainingMillisOrMax()));
+    }
+
+    /** 대기 없이 허용량 확보 시도 (헤지 요청용) */
+    public Permit tryAcquire() {
+        lock.lock();
+        try {
+            if (inFlight >= currentLimit()) return null;
+            inFlight++;
+            return new Permit(System.nanoTime());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Permit acquire(long waitMs) throws InterruptedException {
+        long t0 = System.nanoTime();
+        lock.lock();
+        try {
+            if (inFlight < currentLimit()) {
+                inFlight++;
+                return new Permit(System.nanoTime());
+            }
+            if (waitMs <= 0 || queued >= cfg.getMaxQueue()) {
+                rejectedQueueFull.increment();
+                throw busy();
+            }
+            queued++;
+            try {
+                long nanos = TimeUnit.MILLISECONDS.toNanos(waitMs);
+                while (inFlight >= currentLimit()) {
+                    if (nanos <= 0) {
+                        rejectedTimeout.increment();
+                        throw busy();
+                    }
+                    nanos = released.awaitNanos(nanos);
+                }
+            } finally {
+                queued--;
+            }
+            inFlight++;
+            return new Permit(System.nanoTime());
+        } finally {
+            lock.unlock();
+            waitTimer.record(System.nanoTime() - t0, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private int currentLimit() {
+        return (int) limit;
+    }
+
+    private CustomException busy() {
+        return new CustomException(rejectCode, dependency + " bulkhead full (limit=" + currentLimit() + ")");
+    }
+
+    private void release(Permit permit, Outcome outcome) {
+        lock.lock();
+        try {
+            inFlight--;
+            long now = System.nanoTime();
+            if (outcome == Outcome.SUCCESS
+                    && now - permit.startNanos > TimeUnit.MILLISECONDS.toNanos(cfg.getLatencyThresholdMs())) {
+                outcome = Outcome.OVERLOAD;
+            }
+            if (outcome == Outcome.SUCCESS) {
+                // 허용량을 충분히 쓰고 있을 때만 늘림 (한산할 때 limit 이 의미 없이 커지지 않도록)
+                if (inFlight + 1 >= limit / 2) {
+                    limit = Math.min(cfg.getMaxLimit(), limit + 1.0 / limit);
+                }
+            } else if (outcome == Outcome.OVERLOAD
+                    && now - lastDecreaseNanos >= TimeUnit.MILLISECONDS.toNanos(cfg.getDecreaseCooldownMs())) {
+                limit = Math.max(cfg.getMinLimit(), limit * cfg.getBackoffRatio());
+                lastDecreaseNanos = now;
+            }
+            released.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** 예외가 공급자 과부하를 뜻하는지 (타임아웃, 429, 5xx, gRPC UNAVAILABLE 등) */
+    static boolean isOverload(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof TimeoutException || t instanceof HttpTimeoutException
+                    || t instanceof SocketTimeoutException) {
+                return true;
+            }
+            if (t instanceof HttpStatusCodeException h) {
+                int s = h.getStatusCode().value();
+                return s == 429 || s >= 500;
+            }
+            if (t instanceof OpenSearchException o) {
+                return o.status() == 429 || o.status() >= 500;
+            }
+            if (t instanceof ApiException a) {
+                StatusCode.Code c = a.getStatusCode().getCode();
+                return c == StatusCode.Code.UNAVAILABLE || c == StatusCode.Code.RESOURCE_EXHAUSTED
+                        || c == StatusCode.Code.DEADLINE_EXCEEDED;
+            }
+            if (t.getCause() == t) break;
+        }
+        return false;
+    }
+
+    public enum Outcome { SUCCESS, OVERLOAD, IGNORE }
+
+    /** 확보한 허용량, 정확히 한 번만 반납 */
+    public final class Permit {
+        private final long startNanos;
+        private final AtomicInteger state = new AtomicInteger(); // 0: 확보, 1: 사용 중, 2: 반납
+
+        private Permit(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        /** 다른 스레드에서 실제 호출을 시작할 때, 이미 포기된 허용량이면 false */
+        boolean start() {
+            return state.compareAndSet(0, 1);
+        }
+
+        /** 시작되지 않은 채 버려진 경우에만 반납 (취소된 헤지 시도 등) */
+        void abandon() {
+            if (state.compareAndSet(0, 2)) AdaptiveBulkhead.this.release(this, Outcome.IGNORE);
+        }
+
+        public void release(Outcome outcome) {
+            if (state.getAndSet(2) != 2) AdaptiveBulkhead.this.release(this, outcome);
+        }
+
+        /** 호출 결과로 반납 (중단/취소는 신호로 쓰지 않음) */
+        public void release(Throwable error) {
+            if (error == null) {
+                release(Outcome.SUCCESS);
+            } else if (error instanceof InterruptedException || Thread.currentThread().isInterrupted()) {
+                release(Outcome.IGNORE);
+            } else {
+                release(isOverload(error) ? Outcome.OVERLOAD : Outcome.IGNORE);
+            }
+        }
+    }
+}
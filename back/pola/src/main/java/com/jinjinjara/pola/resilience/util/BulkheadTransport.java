@@ -0,0 +1,101 @@
+package com.jinjinjara.pola.resilience.util;
+
+import org.opensearch.client.json.JsonpMapper;
+import org.opensearch.client.opensearch.core.BulkRequest;
+import org.opensearch.client.transport.Endpoint;
+import org.opensearch.client.transport.OpenSearchTransport;
+import org.opensearch.client.transport.TransportOptions;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * OpenSearch 전송 계층을 격벽으로 감싼 래퍼
+ *
+ * OpenSearch 가 느려져도 검색/색인 호출만 대기/거절(SEARCH_BUSY)되고, 요청 스레드 전체가 묶이지 않도록 한다.
+ *
+ * _bulk 와 인덱스 관리 요청(재색인의 생성/설정/별칭 전환 등)은 원래 오래 걸리므로 검색용 격벽과 나눈다.
+ * 같은 격벽을 쓰면 느린 _bulk 성공이 과부하 신호가 되어 검색 허용량이 줄고 SEARCH_BUSY 가 난다.
+ * bulk 격벽이 null 이면 이 요청들은 격벽 없이 통과한다.
+ */
+public class BulkheadTransport implements OpenSearchTransport {
+
+    private static final String INDICES_PACKAGE = "org.opensearch.client.opensearch.indices";
+
+    private final OpenSearchTransport delegate;
+    private final AdaptiveBulkhead bulkhead;
+    private final AdaptiveBulkhead bulkBulkhead;
+
+    public BulkheadTransport(OpenSearchTransport delegate, AdaptiveBulkhead bulkhead, AdaptiveBulkhead bulkBulkhead) {
+        this.delegate = delegate;
+        this.bulkhead = bulkhead;
+        this.bulkBulkhead = bulkBulkhead;
+    }
+
+    /** _bulk / 인덱스 관리 요청 여부 */
+    static boolean isBulk(Object request) {
+        return request instanceof BulkRequest || request.getClass().getPackageName().equals(INDICES_PACKAGE);
+    }
+
+    @Override
+    public <RequestT, ResponseT, ErrorT> ResponseT performRequest(
+            RequestT request, Endpoint<RequestT, ResponseT, ErrorT> endpoint, TransportOptions options)
+            throws IOException {
+        AdaptiveBulkhead target = isBulk(request) ? bulkBulkhead : bulkhead;
+        if (target == null) return delegate.performRequest(request, endpoint, options);
+        AdaptiveBulkhead.Permit permit = acquire(target);
+        try {
+            ResponseT response = delegate.performRequest(request, endpoint, options);
+            permit.release((Throwable) null);
+            return response;
+        } catch (Throwable e) {
+            permit.release(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public <RequestT, ResponseT, ErrorT> CompletableFuture<ResponseT> performRequestAsync(
+            RequestT request, Endpoint<RequestT, ResponseT, ErrorT> endpoint, TransportOptions options) {
+        AdaptiveBulkhead target = isBulk(request) ? bulkBulkhead : bulkhead;
+        if (target == null) return delegate.performRequestAsync(request, endpoint, options);
+        AdaptiveBulkhead.Permit permit;
+        try {
+            permit = acquire(target);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        CompletableFuture<ResponseT> future;
+        try {
+            future = delegate.performRequestAsync(request, endpoint, options);
+        } catch (Throwable e) {
+            permit.release(e);
+            throw e;
+        }
+        return future.whenComplete((r, e) -> permit.release(e));
+    }
+
+    private static AdaptiveBulkhead.Permit acquire(AdaptiveBulkhead target) throws IOException {
+        try {
+            return target.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted while waiting for OpenSearch bulkhead", e);
+        }
+    }
+
+    @Override
+    public JsonpMapper jsonpMapper() {
+        return delegate.jsonpMapper();
+    }
+
+    @Override
+    public TransportOptions options() {
+        return delegate.options();
+    }
+
+    @Override
+    public void close() throws IOException {
+        delegate.close();
+    }
+}
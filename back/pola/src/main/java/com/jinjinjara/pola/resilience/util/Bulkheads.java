@@ -0,0 +1,34 @@
+package com.jinjinjara.pola.resilience.util;
+
+import com.jinjinjara.pola.common.ErrorCode;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 의존성별 AdaptiveBulkhead 보관소
+ *
+ * 외부 공급자가 느려져도 해당 의존성의 호출만 대기/거절되고, 나머지 요청 스레드는 영향받지 않도록 한다.
+ * 설정은 resilience.bulkhead.<dependency>, 꺼져 있으면 null.
+ */
+@Component
+@RequiredArgsConstructor
+public class Bulkheads {
+
+    private final ResilienceProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private static final ResilienceProperties.Bulkhead DEFAULTS = new ResilienceProperties.Bulkhead();
+
+    private final Map<String, AdaptiveBulkhead> bulkheads = new ConcurrentHashMap<>();
+
+    public AdaptiveBulkhead get(String dependency) {
+        ResilienceProperties.Bulkhead cfg = properties.getBulkhead().getOrDefault(dependency, DEFAULTS);
+        if (!cfg.isEnabled()) return null;
+        return bulkheads.computeIfAbsent(dependency, d -> new AdaptiveBulkhead(d, cfg,
+                d.startsWith("opensearch") ? ErrorCode.SEARCH_BUSY : ErrorCode.AI_PROVIDER_BUSY, meterRegistry));
+    }
+}
@@ -0,0 +1,85 @@
+package com.jinjinjara.pola.resilience.util;
+
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+/**
+ * 요청 처리 기한 (절대 시각, nanoTime 기준)
+ *
+ * HTTP 요청 스레드에서 DeadlineFilter 가 설정하고, 다른 스레드(파이프라인 단계 등)로 넘길 때는
+ * 값을 직접 들고 가서 {@link #call(Deadline, Supplier)} 로 다시 설치한다.
+ * 외부 호출(HedgedCaller)은 남은 시간 안에서만 기다린다.
+ */
+public final class Deadline {
+
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    private final long deadlineNanos;
+
+    private Deadline(long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    public static Deadline after(long millis) {
+        return new Deadline(System.nanoTime() + millis * 1_000_000L);
+    }
+
+    /** 현재 스레드의 기한 (없으면 null) */
+    public static Deadline current() {
+        return CURRENT.get();
+    }
+
+    /** 현재 기한까지 남은 ms (기한이 없으면 Long.MAX_VALUE) */
+    public static long remainingMillisOrMax() {
+        Deadline d = CURRENT.get();
+        return d == null ? Long.MAX_VALUE : d.remainingMillis();
+    }
+
+    public long remainingMillis() {
+        return Math.max(0, (deadlineNanos - System.nanoTime()) / 1_000_000L);
+    }
+
+    public boolean isExpired() {
+        return System.nanoTime() - deadlineNanos >= 0;
+    }
+
+    /** 둘 중 더 이른 기한 */
+    public Deadline min(Deadline other) {
+        if (other == null) return this;
+        return deadlineNanos - other.deadlineNanos <= 0 ? this : other;
+    }
+
+    private static void set(Deadline deadline) {
+        if (deadline == null) CURRENT.remove();
+        else CURRENT.set(deadline);
+    }
+
+    /** deadline 을 현재 스레드에 설치. close 시 이전 값 복원 (try-with-resources) */
+    public static Scope open(Deadline deadline) {
+        Deadline prev = CURRENT.get();
+        set(deadline);
+        return () -> set(prev);
+    }
+
+    /** deadline 을 설치한 채로 task 실행 후 이전 값 복원 */
+    public static <T> T call(Deadline deadline, Supplier<T> task) {
+        try (Scope ignored = open(deadline)) {
+            return task.get();
+        }
+    }
+
+    /** 다른 스레드에서 실행될 작업에 현재 기한을 실어 보냄 */
+    public static <T> Callable<T> propagate(Callable<T> task) {
+        Deadline captured = CURRENT.get();
+        return () -> {
+            try (Scope ignored = open(captured)) {
+                return task.call();
+            }
+        };
+    }
+
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,240 @@
+package com.jinjinjara.pola.resilience.util;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.*;
+
+/**
+ * 외부 AI 호출 헤징 + 기한 적용 (Gemini / Vision / 임베딩)
+ *
+ * - 첫 요청이 최근 성공 지연의 percentile(기본 p95)을 넘기면 같은 요청을 한 번 더 보내고, 먼저 성공한 쪽을 쓴다
+ * - 진 쪽은 취소 (interrupt)
+ * - 헤지는 예산(전체 호출의 budgetRatio, 최대 budgetBurst)을 넘지 않는다
+ * - 현재 스레드의 Deadline 을 넘겨서 기다리지 않는다
+ *
+ * 대상 호출은 멱등이어야 한다 (generateContent / annotate / predict 는 조회성).
+ * 모든 시도는 의존성별 Bulkheads 허용량 안에서만 실행 (첫 요청은 잠시 대기, 헤지는 여유가 있을 때만).
+ * 지표: pola.hedge{dependency,outcome}, pola.hedge.delay_ms{dependency}
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HedgedCaller {
+
+    private final ResilienceProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Bulkheads bulkheads;
+
+    private final Map<String, DependencyState> states = new ConcurrentHashMap<>();
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private ExecutorService attempts;
+
+    @PostConstruct
+    void init() {
+        // 시도는 대부분 네트워크 대기이므로 가상 스레드 모드에서는 시도마다 가상 스레드
+        attempts = virtualThreads
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("hedge-attempt-", 0).factory())
+                : Executors.newCachedThreadPool(r -> {
+                    Thread t = new Thread(r, "hedge-attempt");
+                    t.setDaemon(true);
+                    return t;
+                });
+    }
+
+    public <T> T call(String dependency, Callable<T> task) throws Exception {
+        ResilienceProperties.Hedge cfg = properties.getHedge();
+        DependencyState state = states.computeIfAbsent(dependency, this::newState);
+        long remainingMs = Deadline.remainingMillisOrMax();
+        if (remainingMs <= 0) {
+            meterRegistry.counter("pola.hedge", "dependency", dependency, "outcome", "deadline_exceeded").increment();
+            throw new TimeoutException(dependency + " call skipped: deadline already exceeded");
+        }
+
+        state.addBudget(cfg.getBudgetRatio(), cfg.getBudgetBurst());
+        long hedgeDelayMs = cfg.isEnabled() ? state.hedgeDelayMs(cfg) : -1;
+
+        // 허용량이 없으면 여기서 대기/거절 (느린 공급자 때문에 요청 스레드가 쌓이지 않도록)
+        AdaptiveBulkhead bulkhead = bulkheads.get(dependency);
+        AdaptiveBulkhead.Permit primaryPermit = bulkhead == null ? null : bulkhead.acquire();
+
+        // 헤지 불가 + 기한 없음 → 호출 스레드에서 그대로 실행 (스레드 전환 비용 없음)
+        if (hedgeDelayMs < 0 && remainingMs == Long.MAX_VALUE) {
+            long t0 = System.nanoTime();
+            T result;
+            try {
+                result = task.call();
+            } catch (Throwable e) {
+                if (primaryPermit != null) primaryPermit.release(e);
+                throw e;
+            }
+            if (primaryPermit != null) primaryPermit.release((Throwable) null);
+            state.record(System.nanoTime() - t0);
+            return result;
+        }
+
+        Callable<T> propagated = Deadline.propagate(task);
+        CompletionService<Attempt<T>> cs = new ExecutorCompletionService<>(attempts);
+        Future<Attempt<T>> primary = cs.submit(timed(propagated, false, primaryPermit));
+        Future<Attempt<T>> hedge = null;
+        AdaptiveBulkhead.Permit hedgePermit = null;
+        long start = System.nanoTime();
+
+        try {
+            Future<Attempt<T>> first;
+            if (hedgeDelayMs >= 0 && hedgeDelayMs < remainingMs) {
+                first = cs.poll(hedgeDelayMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    hedgePermit = bulkhead == null ? null : bulkhead.tryAcquire();
+                    if (bulkhead != null && hedgePermit == null) {
+                        // 공급자가 이미 포화 상태면 헤지가 부하만 키우므로 보내지 않음
+                        meterRegistry.counter("pola.hedge", "dependency", dependency, "outcome", "bulkhead_full").increment();
+                    } else if (state.tryTakeBudget()) {
+                        hedge = cs.submit(timed(propagated, true, hedgePermit));
+                    } else {
+                        if (hedgePermit != null) hedgePermit.abandon();
+                        meterRegistry.counter("pola.hedge", "dependency", dependency, "outcome", "budget_exhausted").increment();
+                    }
+                    first = poll(cs, start, remainingMs);
+                }
+            } else {
+                first = poll(cs, start, remainingMs);
+            }
+            if (first == null) throw deadlineExceeded(dependency);
+
+            Exception firstError = null;
+            int outstanding = hedge == null ? 1 : 2;
+            for (int i = 0; i < outstanding; i++) {
+                Future<Attempt<T>> done = i == 0 ? first : poll(cs, start, remainingMs);
+                if (done == null) throw deadlineExceeded(dependency);
+                try {
+                    Attempt<T> a = done.get();
+                    state.record(a.elapsedNanos);
+                    meterRegistry.counter("pola.hedge", "dependency", dependency, "outcome",
+                            hedge == null ? "no_hedge" : (a.hedge ? "hedge_won" : "primary_won")).increment();
+                    return a.value;
+                } catch (ExecutionException e) {
+                    if (firstError == null) firstError = unwrap(e);
+                }
+            }
+            throw firstError;
+        } finally {
+            primary.cancel(true);
+            if (hedge != null) hedge.cancel(true);
+            // 시작 전에 취소된 시도의 허용량 반납 (실행된 시도는 스스로 반납)
+            if (primaryPermit != null) primaryPermit.abandon();
+            if (hedgePermit != null) hedgePermit.abandon();
+        }
+    }
+
+    private <T> Future<Attempt<T>> poll(CompletionService<Attempt<T>> cs, long start, long remainingMs)
+            throws InterruptedException {
+        if (remainingMs == Long.MAX_VALUE) return cs.take();
+        long left = remainingMs - (System.nanoTime() - start) / 1_000_000L;
+        return left <= 0 ? null : cs.poll(left, TimeUnit.MILLISECONDS);
+    }
+
+    private TimeoutException deadlineExceeded(String dependency) {
+        meterRegistry.counter("pola.hedge", "dependency", dependency, "outcome", "deadline_exceeded").increment();
+        return new TimeoutException(dependency + " call exceeded request deadline");
+    }
+
+    private static <T> Callable<Attempt<T>> timed(Callable<T> task, boolean hedge, AdaptiveBulkhead.Permit permit) {
+        return () -> {
+            if (permit != null && !permit.start()) throw new CancellationException("attempt abandoned");
+            long t0 = System.nanoTime();
+            T value;
+            try {
+                value = task.call();
+            } catch (Throwable e) {
+                if (permit != null) permit.release(e);
+                throw e;
+            }
+            if (permit != null) permit.release((Throwable) null);
+            return new Attempt<>(value, System.nanoTime() - t0, hedge);
+        };
+    }
+
+    private static Exception unwrap(ExecutionException e) {
+        Throwable c = e.getCause();
+        if (c instanceof Exception ex) return ex;
+        if (c instanceof Error err) throw err;
+        return e;
+    }
+
+    private DependencyState newState(String dependency) {
+        DependencyState s = new DependencyState(properties.getHedge().getWindow());
+        Gauge.builder("pola.hedge.delay_ms", s, st -> st.lastDelayMs)
+                .tag("dependency", dependency)
+                .register(meterRegistry);
+        return s;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        attempts.shutdownNow();
+    }
+
+    private record Attempt<T>(T value, long elapsedNanos, boolean hedge) {}
+
+    /** 의존성별 최근 지연 (고정 크기 링 버퍼) + 헤지 예산 */
+    private static final class DependencyState {
+        private final long[] samples;
+        private int next;
+        private int count;
+        private int sinceRecompute;
+        private volatile long cachedPercentileMs = -1;
+        private volatile long lastDelayMs = -1;
+        private double budget;
+
+        DependencyState(int window) {
+            this.samples = new long[Math.max(16, window)];
+        }
+
+        synchronized void record(long nanos) {
+            samples[next] = nanos;
+            next = (next + 1) % samples.length;
+            if (count < samples.length) count++;
+            sinceRecompute++;
+        }
+
+        long hedgeDelayMs(ResilienceProperties.Hedge cfg) {
+            long p;
+            synchronized (this) {
+                if (count < cfg.getMinSamples()) return -1;
+                // 매 호출 정렬하지 않도록 일정 샘플마다 재계산
+                if (cachedPercentileMs < 0 || sinceRecompute >= 32) {
+                    long[] copy = Arrays.copyOf(samples, count);
+                    Arrays.sort(copy);
+                    int idx = (int) Math.min(count - 1, Math.ceil(cfg.getPercentile() * count) - 1);
+                    cachedPercentileMs = copy[Math.max(0, idx)] / 1_000_000L;
+                    sinceRecompute = 0;
+                }
+                p = cachedPercentileMs;
+            }
+            lastDelayMs = Math.max(cfg.getMinDelayMs(), Math.min(cfg.getMaxDelayMs(), p));
+            return lastDelayMs;
+        }
+
+        synchronized void addBudget(double ratio, int burst) {
+            budget = Math.min(burst, budget + ratio);
+        }
+
+        synchronized boolean tryTakeBudget() {
+            if (budget < 1.0) return false;
+            budget -= 1.0;
+            return true;
+        }
+    }
+}
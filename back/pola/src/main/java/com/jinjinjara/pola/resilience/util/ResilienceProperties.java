@@ -0,0 +1,61 @@
+package com.jinjinjara.pola.resilience.util;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Configuration
+@ConfigurationProperties(prefix = "resilience")
+@Getter @Setter
+public class ResilienceProperties {
+
+    /** 외부 AI 호출 헤징 (느린 첫 요청 뒤에 두 번째 요청을 보내 먼저 끝난 쪽 사용) */
+    private Hedge hedge = new Hedge();
+
+    /** HTTP 요청 처리 기한 (하위 외부 호출까지 전파) */
+    private Deadlines deadline = new Deadlines();
+
+    /** 의존성별 동시 호출 격벽 (vertex / vision / embedding / opensearch), 없는 항목은 기본값 */
+    private Map<String, Bulkhead> bulkhead = new LinkedHashMap<>();
+
+    @Getter @Setter
+    public static class Hedge {
+        private boolean enabled = true;
+        private double percentile = 0.95;    // 이 분위수보다 오래 걸리면 헤지
+        private long minDelayMs = 300;       // 학습값이 아무리 작아도 이보다 먼저 헤지하지 않음
+        private long maxDelayMs = 20000;
+        private int window = 512;            // 최근 성공 지연 샘플 수
+        private int minSamples = 50;         // 샘플이 모이기 전에는 헤지하지 않음
+        private double budgetRatio = 0.1;    // 전체 호출 대비 헤지 비율 상한
+        private int budgetBurst = 10;        // 순간적으로 허용하는 헤지 수
+    }
+
+    @Getter @Setter
+    public static class Deadlines {
+        /** 클라이언트가 남은 시간을 알려 주는 헤더 (ms) */
+        private String header = "X-Request-Timeout-Ms";
+        /** 헤더가 없을 때 기본 기한 (0 이면 없음) */
+        private long defaultMs = 0;
+        /** 헤더 값 상한 */
+        private long maxMs = 300000;
+        /** 엔드포인트별 기한 (Ant 패턴 → ms), 먼저 일치한 항목 사용 */
+        private Map<String, Long> endpoints = new LinkedHashMap<>();
+    }
+
+    @Getter @Setter
+    public static class Bulkhead {
+        private boolean enabled = true;
+        private int initialLimit = 16;
+        private int minLimit = 2;
+        private int maxLimit = 64;
+        private long maxWaitMs = 200;          // 허용량이 찰 때 대기 상한 (0 이면 즉시 거절)
+        private int maxQueue = 32;             // 대기 중인 호출 수 상한
+        private long latencyThresholdMs = 10000; // 이보다 느린 성공도 과부하 신호로 봄
+        private double backoffRatio = 0.9;     // 과부하 신호 시 limit *= ratio
+        private long decreaseCooldownMs = 1000; // 연속 실패로 limit 이 한 번에 무너지지 않도록
+    }
+}
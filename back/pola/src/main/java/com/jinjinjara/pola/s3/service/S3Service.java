@@ -8,6 +8,7 @@ import com.jinjinjara.pola.s3.dto.response.S3PresignedUrlResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import software.amazon.awssdk.core.ResponseInputStream;
 import software.amazon.awssdk.services.s3.model.*;
 import software.amazon.awssdk.services.s3.presigner.model.*;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
@@ -76,6 +77,65 @@ public class S3Service {
         }
     }
 
+    /* 원본 바이트 직접 다운로드 (presign 없이 SDK 스트림으로 1회 수신) */
+    public byte[] downloadObject(String key, long maxBytes) {
+        GetObjectRequest getRequest = GetObjectRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .build();
+
+        try (ResponseInputStream<GetObjectResponse> in = s3Client.getObject(getRequest)) {
+            Long declared = in.response().contentLength();
+            if (declared != null && declared > maxBytes) {
+                throw new CustomException(ErrorCode.INVALID_REQUEST, "Object too large (Content-Length): " + declared);
+            }
+
+            byte[] data = (declared != null && declared >= 0)
+                    ? in.readNBytes(declared.intValue())
+                    : in.readNBytes((int) Math.min(maxBytes + 1, Integer.MAX_VALUE - 8));
+            if (data.length > maxBytes) {
+                throw new CustomException(ErrorCode.INVALID_REQUEST, "Object too large (actual): " + data.length);
+            }
+            return data;
+        } catch (NoSuchKeyException e) {
+            throw new CustomException(ErrorCode.FILE_NOT_FOUND, e.getMessage());
+        } catch (CustomException e) {
+            throw e;
+        } catch (Exception e) {
+            // 네트워크/S3 일시 오류 → 재시도 대상
+            throw new RuntimeException("S3 download failed: " + key, e);
+        }
+    }
+
+    /* 객체 메타데이터 조회 (크기/타입/ETag, 본문 없음) */
+    public HeadObjectResponse headObject(String key) {
+        try {
+            return s3Client.headObject(HeadObjectRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .build());
+        } catch (NoSuchKeyException e) {
+            throw new CustomException(ErrorCode.FILE_NOT_FOUND, e.getMessage());
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) {
+                throw new CustomException(ErrorCode.FILE_NOT_FOUND, e.getMessage());
+            }
+            throw new RuntimeException("S3 head failed: " + key, e);
+        }
+    }
+
+    /* 분석 제공자(Vision/Vertex)가 직접 읽어 갈 GET URL (짧은 TTL, Content-Disposition 없음) */
+    public URL generateAnalysisUrl(String key, Duration ttl) {
+        GetObjectRequest getRequest = GetObjectRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .build();
+
+        return s3Presigner.presignGetObject(builder ->
+                builder.signatureDuration(ttl)
+                        .getObjectRequest(getRequest)).url();
+    }
+
     public URL generateDownloadUrlByFileId(Long fileId) {
         File file = fileRepository.findById(fileId)
                 .orElseThrow(() -> new CustomException(ErrorCode.FILE_NOT_FOUND));
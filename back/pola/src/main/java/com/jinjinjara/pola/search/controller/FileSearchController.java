@@ -5,6 +5,8 @@ import com.jinjinjara.pola.common.CustomException;
 import com.jinjinjara.pola.common.ErrorCode;
 import com.jinjinjara.pola.s3.service.S3Service;
 import com.jinjinjara.pola.search.model.FileSearch;
+import com.jinjinjara.pola.search.model.FileSearchHit;
+import com.jinjinjara.pola.search.model.SearchPage;
 import com.jinjinjara.pola.search.model.SearchResponse;
 import com.jinjinjara.pola.search.model.TagSuggestionResponse;
 import com.jinjinjara.pola.search.service.FileSearchService;
@@ -21,7 +23,6 @@ import org.springframework.web.bind.annotation.*;
 import java.io.IOException;
 import java.net.URL;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Tag(name = "검색 API", description = "OpenSearch 기반 파일 검색 API")
@@ -151,6 +152,8 @@ public class FileSearchController {
                     ```
 
                     **참고:**
+                    - 최대 size 건(기본 20, 최대 100)을 반환합니다. 다음 페이지까지 조회하려면 `/api/v2/search` 의 같은 API(nextCursor)를 사용하세요.
+                    - ocrText 는 원문 전체가 아닌 조각(검색어 주변 또는 앞부분)입니다. 검색어가 걸린 부분은 highlights 에 <em> 으로 감싸 반환합니다.
                     - imageUrl은 실제 접근 가능한 Presigned URL로 반환됩니다.
                     - Presigned URL은 일정 시간 후 만료됩니다.
                     """,
@@ -160,12 +163,14 @@ public class FileSearchController {
     public ApiResponse<SearchResponse> searchByTag(
             @Parameter(hidden = true) @AuthenticationPrincipal Users user,
             @Parameter(description = "검색할 태그", example = "여행", required = true)
-            @RequestParam String tag
+            @RequestParam String tag,
+            @Parameter(description = "최대 결과 수 (최대 100)", example = "20")
+            @RequestParam(defaultValue = "20") int size
     ) {
         try {
-            List<FileSearch> results = service.searchByTag(user.getId(), tag);
-            List<FileSearch> withPresignedUrls = addPresignedUrls(results);
-            SearchResponse response = SearchResponse.from(withPresignedUrls);
+            SearchPage page = service.searchByTag(user.getId(), tag, size, null);
+            addPresignedUrls(page.getHits());
+            SearchResponse response = SearchResponse.from(page);
             return ApiResponse.ok(response, "태그 검색 완료");
         } catch (IOException e) {
             throw new CustomException(ErrorCode.SEARCH_FAIL, e.getMessage());
@@ -218,6 +223,8 @@ public class FileSearchController {
                     ```
 
                     **참고:**
+                    - 최대 size 건(기본 20, 최대 100)을 반환합니다. 다음 페이지까지 조회하려면 `/api/v2/search` 의 같은 API(nextCursor)를 사용하세요.
+                    - ocrText 는 원문 전체가 아닌 조각(검색어 주변 또는 앞부분)입니다. 검색어가 걸린 부분은 highlights 에 <em> 으로 감싸 반환합니다.
                     - 카테고리명은 정확히 입력해야 합니다 ("개발" ≠ "개").
                     - 키워드 검색이 필요한 경우 통합 검색(`/all`)을 사용하세요.
                     """,
@@ -227,12 +234,14 @@ public class FileSearchController {
     public ApiResponse<SearchResponse> searchByCategory(
             @Parameter(hidden = true) @AuthenticationPrincipal Users user,
             @Parameter(description = "검색할 카테고리명", example = "개발", required = true)
-            @RequestParam String categoryName
+            @RequestParam String categoryName,
+            @Parameter(description = "최대 결과 수 (최대 100)", example = "20")
+            @RequestParam(defaultValue = "20") int size
     ) {
         try {
-            List<FileSearch> results = service.searchByCategoryName(user.getId(), categoryName);
-            List<FileSearch> withPresignedUrls = addPresignedUrls(results);
-            SearchResponse response = SearchResponse.from(withPresignedUrls);
+            SearchPage page = service.searchByCategoryName(user.getId(), categoryName, size, null);
+            addPresignedUrls(page.getHits());
+            SearchResponse response = SearchResponse.from(page);
             return ApiResponse.ok(response, "카테고리 검색 완료");
         } catch (IOException e) {
             throw new CustomException(ErrorCode.SEARCH_FAIL, e.getMessage());
@@ -289,6 +298,8 @@ public class FileSearchController {
                     ```
 
                     **참고:**
+                    - 최대 size 건(기본 20, 최대 100)을 반환합니다. 다음 페이지까지 조회하려면 `/api/v2/search` 의 같은 API(nextCursor)를 사용하세요.
+                    - ocrText 는 원문 전체가 아닌 조각(검색어 주변 또는 앞부분)입니다. 검색어가 걸린 부분은 highlights 에 <em> 으로 감싸 반환합니다.
                     - ocrText가 없는 파일은 검색 결과에 포함되지 않습니다.
                     - 텍스트 파일의 풀텍스트 검색에 매우 유용합니다.
                     """,
@@ -298,12 +309,14 @@ public class FileSearchController {
     public ApiResponse<SearchResponse> searchByOcrText(
             @Parameter(hidden = true) @AuthenticationPrincipal Users user,
             @Parameter(description = "검색할 키워드", example = "API 키", required = true)
-            @RequestParam String keyword
+            @RequestParam String keyword,
+            @Parameter(description = "최대 결과 수 (최대 100)", example = "20")
+            @RequestParam(defaultValue = "20") int size
     ) {
         try {
-            List<FileSearch> results = service.searchByOcrText(user.getId(), keyword);
-            List<FileSearch> withPresignedUrls = addPresignedUrls(results);
-            SearchResponse response = SearchResponse.from(withPresignedUrls);
+            SearchPage page = service.searchByOcrText(user.getId(), keyword, size, null);
+            addPresignedUrls(page.getHits());
+            SearchResponse response = SearchResponse.from(page);
             return ApiResponse.ok(response, "OCR 텍스트 검색 완료");
         } catch (IOException e) {
             throw new CustomException(ErrorCode.SEARCH_FAIL, e.getMessage());
@@ -361,6 +374,10 @@ public class FileSearchController {
                       ]
                     }
                     ```
+
+                    **참고:**
+                    - 최대 size 건(기본 20, 최대 100)을 반환합니다. 다음 페이지까지 조회하려면 `/api/v2/search` 의 같은 API(nextCursor)를 사용하세요.
+                    - ocrText 는 원문 전체가 아닌 조각(검색어 주변 또는 앞부분)입니다. 검색어가 걸린 부분은 highlights 에 <em> 으로 감싸 반환합니다.
                     """,
             security = @SecurityRequirement(name = "JWT")
     )
@@ -368,12 +385,14 @@ public class FileSearchController {
     public ApiResponse<SearchResponse> searchByContext(
             @Parameter(hidden = true) @AuthenticationPrincipal Users user,
             @Parameter(description = "검색할 키워드", example = "파란색 버튼", required = true)
-            @RequestParam String keyword
+            @RequestParam String keyword,
+            @Parameter(description = "최대 결과 수 (최대 100)", example = "20")
+            @RequestParam(defaultValue = "20") int size
     ) {
         try {
-            List<FileSearch> results = service.searchByContext(user.getId(), keyword);
-            List<FileSearch> withPresignedUrls = addPresignedUrls(results);
-            SearchResponse response = SearchResponse.from(withPresignedUrls);
+            SearchPage page = service.searchByContext(user.getId(), keyword, size, null);
+            addPresignedUrls(page.getHits());
+            SearchResponse response = SearchResponse.from(page);
             return ApiResponse.ok(response, "설명 검색 완료");
         } catch (IOException e) {
             throw new CustomException(ErrorCode.SEARCH_FAIL, e.getMessage());
@@ -456,6 +475,8 @@ public class FileSearchController {
                     ```
 
                     **참고:**
+                    - 최대 size 건(기본 20, 최대 100)을 반환합니다. 다음 페이지까지 조회하려면 `/api/v2/search` 의 같은 API(nextCursor)를 사용하세요.
+                    - ocrText 는 원문 전체가 아닌 조각(검색어 주변 또는 앞부분)입니다. 검색어가 걸린 부분은 highlights 에 <em> 으로 감싸 반환합니다.
                     - 특정 필드만 검색하고 싶은 경우:
                       - 태그만 검색: `/tags`
                       - 설명만 검색: `/context`
@@ -467,12 +488,14 @@ public class FileSearchController {
     public ApiResponse<SearchResponse> searchAll(
             @Parameter(hidden = true) @AuthenticationPrincipal Users user,
             @Parameter(description = "검색할 키워드", example = "개발", required = true)
-            @RequestParam String keyword
+            @RequestParam String keyword,
+            @Parameter(description = "최대 결과 수 (최대 100)", example = "20")
+            @RequestParam(defaultValue = "20") int size
     ) {
         try {
-            List<FileSearch> results = service.searchAll(user.getId(), keyword);
-            List<FileSearch> withPresignedUrls = addPresignedUrls(results);
-            SearchResponse response = SearchResponse.from(withPresignedUrls);
+            SearchPage page = service.searchAll(user.getId(), keyword, size, null);
+            addPresignedUrls(page.getHits());
+            SearchResponse response = SearchResponse.from(page);
             return ApiResponse.ok(response, "통합 검색 완료");
         } catch (IOException e) {
             throw new CustomException(ErrorCode.SEARCH_FAIL, e.getMessage());
@@ -560,26 +583,27 @@ public class FileSearchController {
 
     /**
      * 검색 결과에 Presigned URL 추가
-     * S3 키를 실제로 접근 가능한 URL로 변환
+     * S3 키를 실제로 접근 가능한 URL로 변환 (이번 페이지 결과만)
      */
-    private List<FileSearch> addPresignedUrls(List<FileSearch> searches) {
-        return searches.stream()
-                .map(search -> {
-                    try {
-                        if (search.getImageUrl() != null && !search.getImageUrl().startsWith("http")) {
-                            URL previewUrl = s3Service.generatePreviewUrl(
-                                    search.getImageUrl(),
-                                    search.getFileType()
-                            );
-                            search.setImageUrl(previewUrl.toString());
-                        }
-                    } catch (Exception e) {
-                        log.warn("Preview URL 생성 실패: fileId={}, key={}",
-                                search.getFileId(), search.getImageUrl(), e);
-                    }
-                    return search;
-                })
-                .collect(Collectors.toList());
+    static void addPresignedUrls(S3Service s3Service, List<FileSearchHit> hits) {
+        for (FileSearchHit hit : hits) {
+            try {
+                if (hit.getImageUrl() != null && !hit.getImageUrl().startsWith("http")) {
+                    URL previewUrl = s3Service.generatePreviewUrl(
+                            hit.getImageUrl(),
+                            hit.getFileType()
+                    );
+                    hit.setImageUrl(previewUrl.toString());
+                }
+            } catch (Exception e) {
+                log.warn("Preview URL 생성 실패: fileId={}, key={}",
+                        hit.getFileId(), hit.getImageUrl(), e);
+            }
+        }
+    }
+
+    private void addPresignedUrls(List<FileSearchHit> hits) {
+        addPresignedUrls(s3Service, hits);
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,141 @@
+package com.jinjinjara.pola.search.controller;
+
+import com.jinjinjara.pola.common.ApiResponse;
+import com.jinjinjara.pola.common.CustomException;
+import com.jinjinjara.pola.common.ErrorCode;
+import com.jinjinjara.pola.s3.service.S3Service;
+import com.jinjinjara.pola.search.model.SearchPage;
+import com.jinjinjara.pola.search.model.SearchPageResponse;
+import com.jinjinjara.pola.search.service.FileSearchService;
+import com.jinjinjara.pola.user.entity.Users;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+/**
+ * 페이지 검색 API (search_after 커서)
+ * 검색 조건은 /api/v1/search 의 같은 API 와 동일하고, 응답에 nextCursor 가 추가된다.
+ */
+@Tag(name = "검색 API (페이지)", description = "커서 기반 페이지 검색 API")
+@RestController
+@RequestMapping("/api/v2/search")
+@RequiredArgsConstructor
+public class FileSearchPageController {
+
+    private static final String PAGE_NOTE = """
+            - 검색 조건은 `/api/v1/search` 의 같은 API 와 동일합니다.
+            - 한 번에 size 건(기본 20, 최대 100)씩 반환합니다. 다음 페이지는 응답의 nextCursor 를 cursor 로 넘겨 요청하고, nextCursor 가 없으면 마지막 페이지입니다.
+            - ocrText 는 원문 전체가 아닌 조각입니다. 검색어가 걸린 부분은 highlights 에 <em> 으로 감싸 반환합니다.
+            - 잘못된 cursor 는 400 (INVALID_REQUEST) 입니다.
+            """;
+
+    private final FileSearchService service;
+    private final S3Service s3Service;
+
+    @Operation(summary = "태그 검색 (페이지)", description = PAGE_NOTE, security = @SecurityRequirement(name = "JWT"))
+    @GetMapping("/tags")
+    public ApiResponse<SearchPageResponse> searchByTag(
+            @Parameter(hidden = true) @AuthenticationPrincipal Users user,
+            @Parameter(description = "검색할 태그", example = "여행", required = true)
+            @RequestParam String tag,
+            @Parameter(description = "페이지 크기 (최대 100)", example = "20")
+            @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "다음 페이지 커서 (이전 응답의 nextCursor, 첫 페이지는 생략)")
+            @RequestParam(required = false) String cursor
+    ) {
+        try {
+            return ApiResponse.ok(toResponse(service.searchByTag(user.getId(), tag, size, cursor)), "태그 검색 완료");
+        } catch (IOException e) {
+            throw new CustomException(ErrorCode.SEARCH_FAIL, e.getMessage());
+        }
+    }
+
+    @Operation(summary = "카테고리 검색 (페이지)", description = PAGE_NOTE, security = @SecurityRequirement(name = "JWT"))
+    @GetMapping("/category")
+    public ApiResponse<SearchPageResponse> searchByCategory(
+            @Parameter(hidden = true) @AuthenticationPrincipal Users user,
+            @Parameter(description = "검색할 카테고리명", example = "개발", required = true)
+            @RequestParam String categoryName,
+            @Parameter(description = "페이지 크기 (최대 100)", example = "20")
+            @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "다음 페이지 커서 (이전 응답의 nextCursor, 첫 페이지는 생략)")
+            @RequestParam(required = false) String cursor
+    ) {
+        try {
+            return ApiResponse.ok(toResponse(service.searchByCategoryName(user.getId(), categoryName, size, cursor)),
+                    "카테고리 검색 완료");
+        } catch (IOException e) {
+            throw new CustomException(ErrorCode.SEARCH_FAIL, e.getMessage());
+        }
+    }
+
+    @Operation(summary = "OCR 텍스트 검색 (페이지)", description = PAGE_NOTE, security = @SecurityRequirement(name = "JWT"))
+    @GetMapping("/ocr")
+    public ApiResponse<SearchPageResponse> searchByOcrText(
+            @Parameter(hidden = true) @AuthenticationPrincipal Users user,
+            @Parameter(description = "검색할 키워드", example = "API 키", required = true)
+            @RequestParam String keyword,
+            @Parameter(description = "페이지 크기 (최대 100)", example = "20")
+            @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "다음 페이지 커서 (이전 응답의 nextCursor, 첫 페이지는 생략)")
+            @RequestParam(required = false) String cursor
+    ) {
+        try {
+            return ApiResponse.ok(toResponse(service.searchByOcrText(user.getId(), keyword, size, cursor)),
+                    "OCR 텍스트 검색 완료");
+        } catch (IOException e) {
+            throw new CustomException(ErrorCode.SEARCH_FAIL, e.getMessage());
+        }
+    }
+
+    @Operation(summary = "설명(Context) 검색 (페이지)", description = PAGE_NOTE, security = @SecurityRequirement(name = "JWT"))
+    @GetMapping("/context")
+    public ApiResponse<SearchPageResponse> searchByContext(
+            @Parameter(hidden = true) @AuthenticationPrincipal Users user,
+            @Parameter(description = "검색할 키워드", example = "파란색 버튼", required = true)
+            @RequestParam String keyword,
+            @Parameter(description = "페이지 크기 (최대 100)", example = "20")
+            @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "다음 페이지 커서 (이전 응답의 nextCursor, 첫 페이지는 생략)")
+            @RequestParam(required = false) String cursor
+    ) {
+        try {
+            return ApiResponse.ok(toResponse(service.searchByContext(user.getId(), keyword, size, cursor)),
+                    "설명 검색 완료");
+        } catch (IOException e) {
+            throw new CustomException(ErrorCode.SEARCH_FAIL, e.getMessage());
+        }
+    }
+
+    @Operation(summary = "통합 검색 (페이지)", description = PAGE_NOTE, security = @SecurityRequirement(name = "JWT"))
+    @GetMapping("/all")
+    public ApiResponse<SearchPageResponse> searchAll(
+            @Parameter(hidden = true) @AuthenticationPrincipal Users user,
+            @Parameter(description = "검색할 키워드", example = "개발", required = true)
+            @RequestParam String keyword,
+            @Parameter(description = "페이지 크기 (최대 100)", example = "20")
+            @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "다음 페이지 커서 (이전 응답의 nextCursor, 첫 페이지는 생략)")
+            @RequestParam(required = false) String cursor
+    ) {
+        try {
+            return ApiResponse.ok(toResponse(service.searchAll(user.getId(), keyword, size, cursor)), "통합 검색 완료");
+        } catch (IOException e) {
+            throw new CustomException(ErrorCode.SEARCH_FAIL, e.getMessage());
+        }
+    }
+
+    private SearchPageResponse toResponse(SearchPage page) {
+        FileSearchController.addPresignedUrls(s3Service, page.getHits());
+        return SearchPageResponse.from(page);
+    }
+}
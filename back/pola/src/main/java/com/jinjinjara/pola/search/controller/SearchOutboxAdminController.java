@@ -0,0 +1,69 @@
+package com.jinjinjara.pola.search.controller;
+
+import com.jinjinjara.pola.common.ApiResponse;
+import com.jinjinjara.pola.search.model.SearchOutboxStatusResponse;
+import com.jinjinjara.pola.search.service.SearchOutboxService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 검색 아웃박스 관리자 컨트롤러
+ *
+ * 역할:
+ * - 릴레이 상태 (대기 행 수, 체크포인트, 리더) 조회
+ * - 체크포인트 이전 지점부터 재생 (인덱스 복구 후 등)
+ * - 전체 / 사용자 단위 재동기화
+ * - ADMIN 권한 필요
+ */
+@Tag(name = "Search Outbox Admin API", description = "OpenSearch 동기화 아웃박스 관리자 API")
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/admin/search-outbox")
+@PreAuthorize("hasRole('ADMIN')")
+@RequiredArgsConstructor
+public class SearchOutboxAdminController {
+
+    private final SearchOutboxService outboxService;
+
+    @Operation(
+            summary = "아웃박스 상태 조회 (관리자 전용)",
+            description = "반영 대기 행 수, 가장 오래된 대기 시각, 체크포인트(마지막 반영 ID), 현재 릴레이 리더를 조회합니다.",
+            security = @SecurityRequirement(name = "JWT")
+    )
+    @GetMapping
+    public ApiResponse<SearchOutboxStatusResponse> getStatus() {
+        return ApiResponse.ok(outboxService.getStatus(), "아웃박스 상태 조회 완료");
+    }
+
+    @Operation(
+            summary = "아웃박스 재생 (관리자 전용)",
+            description = "fromId 이상의 반영 완료 행을 다시 대기 상태로 돌립니다. 보존 기간(retention-hours) 안의 행만 재생됩니다.",
+            security = @SecurityRequirement(name = "JWT")
+    )
+    @PostMapping("/replay")
+    public ApiResponse<Integer> replay(
+            @Parameter(description = "재생 시작 아웃박스 ID", example = "1") @RequestParam long fromId
+    ) {
+        log.info("[관리자 API] 아웃박스 재생 요청: fromId={}", fromId);
+        return ApiResponse.ok(outboxService.replayFrom(fromId), "아웃박스 재생이 등록되었습니다.");
+    }
+
+    @Operation(
+            summary = "검색 문서 재동기화 (관리자 전용)",
+            description = "전체 (또는 userId 사용자의) 파일 문서를 현재 DB 상태로 다시 색인하도록 아웃박스에 등록합니다.",
+            security = @SecurityRequirement(name = "JWT")
+    )
+    @PostMapping("/resync")
+    public ApiResponse<Integer> resync(
+            @Parameter(description = "대상 사용자 ID (없으면 전체)", example = "1") @RequestParam(required = false) Long userId
+    ) {
+        log.info("[관리자 API] 검색 문서 재동기화 요청: userId={}", userId);
+        return ApiResponse.ok(outboxService.resync(userId), "재동기화가 등록되었습니다.");
+    }
+}
@@ -0,0 +1,106 @@
+package com.jinjinjara.pola.search.controller;
+
+import com.jinjinjara.pola.common.ApiResponse;
+import com.jinjinjara.pola.search.model.SearchReindexJobResponse;
+import com.jinjinjara.pola.search.service.SearchReindexService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 무중단 재색인 관리자 컨트롤러
+ *
+ * 역할:
+ * - 매핑 리소스로 새 버전 인덱스를 만들어 전체 적재 후 별칭 전환 (검색 중단 없음)
+ * - 진행률 / 적재 속도 / 슬라이스별 위치 조회
+ * - 실패한 작업 이어서 실행, 취소
+ * - ADMIN 권한 필요
+ */
+@Tag(name = "Search Reindex Admin API", description = "OpenSearch 무중단 재색인 관리자 API")
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/admin/search-reindex")
+@PreAuthorize("hasRole('ADMIN')")
+@RequiredArgsConstructor
+public class SearchReindexAdminController {
+
+    private final SearchReindexService reindexService;
+
+    @Operation(
+            summary = "재색인 시작 (관리자 전용)",
+            description = "mapping 리소스(기본 opensearch-mapping-edge-ngram.json)로 files_v<버전> 인덱스를 만들고, "
+                    + "파일 ID 범위를 slices 개로 나눠 동시에 적재한 뒤 files 별칭을 새 인덱스로 전환합니다. "
+                    + "진행 중인 작업이 있거나 매핑에 검색이 쓰는 서브필드(edge_ngram 등)가 없으면 거절됩니다.",
+            security = @SecurityRequirement(name = "JWT")
+    )
+    @PostMapping
+    public ApiResponse<SearchReindexJobResponse> start(
+            @Parameter(description = "매핑 리소스", example = "opensearch-mapping-edge-ngram.json") @RequestParam(required = false) String mapping,
+            @Parameter(description = "슬라이스 수 (없으면 설정값)", example = "4") @RequestParam(required = false) Integer slices
+    ) {
+        log.info("[관리자 API] 재색인 시작 요청: mapping={}, slices={}", mapping, slices);
+        return ApiResponse.ok(SearchReindexJobResponse.from(reindexService.start(mapping, slices)), "재색인이 등록되었습니다.");
+    }
+
+    @Operation(
+            summary = "재색인 목록 조회 (관리자 전용)",
+            description = "재색인 작업을 최근 순으로 조회합니다.",
+            security = @SecurityRequirement(name = "JWT")
+    )
+    @GetMapping
+    public ApiResponse<Page<SearchReindexJobResponse>> getJobs(
+            @Parameter(description = "페이지 번호 (0부터 시작)", example = "0") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "페이지 크기", example = "20") @RequestParam(defaultValue = "20") int size
+    ) {
+        Page<SearchReindexJobResponse> jobs = reindexService.getJobs(PageRequest.of(page, size))
+                .map(SearchReindexJobResponse::from);
+        return ApiResponse.ok(jobs, "재색인 목록 조회 완료");
+    }
+
+    @Operation(
+            summary = "재색인 단건 조회 (관리자 전용)",
+            description = "진행률, 평균 적재 속도, 슬라이스별 진행 위치를 조회합니다.",
+            security = @SecurityRequirement(name = "JWT")
+    )
+    @GetMapping("/{jobId}")
+    public ApiResponse<SearchReindexJobResponse> getJob(
+            @Parameter(description = "재색인 작업 ID", example = "1") @PathVariable Long jobId
+    ) {
+        SearchReindexJobResponse job = SearchReindexJobResponse.from(
+                reindexService.getJob(jobId), reindexService.getSlices(jobId));
+        return ApiResponse.ok(job, "재색인 조회 완료");
+    }
+
+    @Operation(
+            summary = "재색인 이어서 실행 (관리자 전용)",
+            description = "FAILED 상태의 작업을 마지막 체크포인트(단계, 슬라이스별 위치)부터 다시 실행합니다.",
+            security = @SecurityRequirement(name = "JWT")
+    )
+    @PostMapping("/{jobId}/resume")
+    public ApiResponse<SearchReindexJobResponse> resume(
+            @Parameter(description = "재색인 작업 ID", example = "1") @PathVariable Long jobId
+    ) {
+        log.info("[관리자 API] 재색인 재개 요청: jobId={}", jobId);
+        return ApiResponse.ok(SearchReindexJobResponse.from(reindexService.resume(jobId)), "재색인이 다시 등록되었습니다.");
+    }
+
+    @Operation(
+            summary = "재색인 취소 (관리자 전용)",
+            description = "작업을 취소하고 만들던 인덱스를 삭제합니다. 별칭은 기존 인덱스를 그대로 가리킵니다.",
+            security = @SecurityRequirement(name = "JWT")
+    )
+    @PostMapping("/{jobId}/cancel")
+    public ApiResponse<SearchReindexJobResponse> cancel(
+            @Parameter(description = "재색인 작업 ID", example = "1") @PathVariable Long jobId
+    ) {
+        log.info("[관리자 API] 재색인 취소 요청: jobId={}", jobId);
+        return ApiResponse.ok(SearchReindexJobResponse.from(reindexService.cancel(jobId)), "재색인이 취소되었습니다.");
+    }
+}
@@ -0,0 +1,63 @@
+package com.jinjinjara.pola.search.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * OpenSearch 동기화 아웃박스 (파일 변경 1건당 1행)
+ * 파일을 바꾸는 트랜잭션 안에서 함께 기록되고, SearchOutboxRelay 가 모아서 _bulk 로 반영한다.
+ * 반영이 끝난 행은 보존 기간 동안 남겨 두어 재생(replay)에 쓴다.
+ */
+@Entity
+@Table(name = "search_outbox",
+        indexes = {
+                @Index(name = "idx_search_outbox_processed_id", columnList = "processed_at, id"),
+                @Index(name = "idx_search_outbox_file_id", columnList = "file_id")
+        })
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "file_id", nullable = false)
+    private Long fileId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private SearchOutboxOp op;
+
+    @Column(length = 128)
+    private String fields;               // PATCH 대상 필드 (SearchDocField 이름, 쉼표 구분)
+
+    @Column(nullable = false)
+    private Integer attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;   // null 이면 아직 반영 전
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    /* --- 콜백 영역 --- */
+    @PrePersist
+    public void prePersist() {
+        LocalDateTime now = LocalDateTime.now();
+        if (createdAt == null) createdAt = now;
+        if (nextAttemptAt == null) nextAttemptAt = now;
+        if (attempts == null) attempts = 0;
+    }
+}
@@ -0,0 +1,36 @@
+package com.jinjinjara.pola.search.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 아웃박스 릴레이 체크포인트 겸 리더 리스 (릴레이 이름당 1행)
+ * 리스를 가진 파드 하나만 반영하므로 같은 파일의 변경 순서가 뒤집히지 않는다.
+ */
+@Entity
+@Table(name = "search_outbox_checkpoints")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchOutboxCheckpoint {
+
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    @Column(length = 128)
+    private String owner;
+
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;
+
+    @Column(name = "last_id", nullable = false)
+    private Long lastId;                 // 마지막으로 반영한 아웃박스 ID
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
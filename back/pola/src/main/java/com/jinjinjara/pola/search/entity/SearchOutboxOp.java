@@ -0,0 +1,12 @@
+package com.jinjinjara.pola.search.entity;
+
+/**
+ * 검색 아웃박스 변경 종류
+ * 릴레이는 보낼 때의 DB 상태를 기준으로 판단한다: 파일이 있으면 색인, 없으면 삭제.
+ * 같은 파일의 행이 모두 PATCH 일 때만 부분 갱신, 하나라도 UPSERT / DELETE 면 문서 전체.
+ */
+public enum SearchOutboxOp {
+    UPSERT,
+    PATCH,   // fields 에 적힌 필드만 update API 로 (ocrText 등 큰 필드는 다시 보내지 않음)
+    DELETE
+}
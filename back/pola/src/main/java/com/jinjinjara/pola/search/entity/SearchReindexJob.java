@@ -0,0 +1,93 @@
+package com.jinjinjara.pola.search.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 버전 인덱스 재색인 작업 1건
+ * 슬라이스별 진행 위치는 search_reindex_slices 에 기록한다.
+ */
+@Entity
+@Table(name = "search_reindex_jobs")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchReindexJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "target_index", nullable = false, length = 128)
+    private String targetIndex;     // files_v<yyyyMMddHHmmss>
+
+    @Column(nullable = false, length = 128)
+    private String mapping;         // 매핑 리소스 이름
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private SearchReindexStatus status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private SearchReindexPhase phase;
+
+    @Column(name = "slice_count", nullable = false)
+    private Integer sliceCount;
+
+    @Column(name = "total_files", nullable = false)
+    private Long totalFiles;        // 시작 시점 파일 수 (진행률 분모)
+
+    @Column(name = "indexed_files", nullable = false)
+    private Long indexedFiles;
+
+    @Column(name = "failed_files", nullable = false)
+    private Long failedFiles;
+
+    @Column(name = "outbox_from_id", nullable = false)
+    private Long outboxFromId;      // 적재 시작 시점의 아웃박스 마지막 ID, 이후 변경분을 따라잡는다
+
+    @Column(length = 128)
+    private String owner;
+
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    /* --- 콜백 영역 --- */
+    @PrePersist
+    public void prePersist() {
+        LocalDateTime now = LocalDateTime.now();
+        if (createdAt == null) createdAt = now;
+        if (updatedAt == null) updatedAt = now;
+        if (status == null) status = SearchReindexStatus.PENDING;
+        if (phase == null) phase = SearchReindexPhase.CREATE_INDEX;
+        if (totalFiles == null) totalFiles = 0L;
+        if (indexedFiles == null) indexedFiles = 0L;
+        if (failedFiles == null) failedFiles = 0L;
+        if (outboxFromId == null) outboxFromId = 0L;
+    }
+
+    @PreUpdate
+    public void preUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,13 @@
+package com.jinjinjara.pola.search.entity;
+
+/**
+ * 재색인 단계 (이어받을 때 여기서부터 다시 시작)
+ * - CREATE_INDEX: 버전 인덱스 생성 (refresh 끔, 레플리카 0)
+ * - LOAD: 슬라이스별 키셋 페이지로 전체 파일 적재
+ * - FINALIZE: 설정 복구 → 적재 중 변경분 따라잡기 → 별칭 전환 → 이전 인덱스 정리
+ */
+public enum SearchReindexPhase {
+    CREATE_INDEX,
+    LOAD,
+    FINALIZE
+}
@@ -0,0 +1,67 @@
+package com.jinjinjara.pola.search.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 재색인 슬라이스 (파일 ID 범위 (fromId, toId]) 와 진행 위치
+ * 페이지를 보낼 때마다 lastId 가 전진하므로, 중단되면 lastId 다음부터 이어서 적재한다.
+ */
+@Entity
+@Table(name = "search_reindex_slices",
+        uniqueConstraints = @UniqueConstraint(name = "uk_search_reindex_slices_job_slice", columnNames = {"job_id", "slice_no"}))
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchReindexSlice {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_id", nullable = false)
+    private Long jobId;
+
+    @Column(name = "slice_no", nullable = false)
+    private Integer sliceNo;
+
+    @Column(name = "from_id", nullable = false)
+    private Long fromId;            // 제외
+
+    @Column(name = "to_id", nullable = false)
+    private Long toId;              // 포함
+
+    @Column(name = "last_id", nullable = false)
+    private Long lastId;            // 마지막으로 보낸 파일 ID
+
+    @Column(name = "indexed_files", nullable = false)
+    private Long indexedFiles;
+
+    @Column(name = "failed_files", nullable = false)
+    private Long failedFiles;
+
+    @Column(nullable = false)
+    private Boolean done;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    /* --- 콜백 영역 --- */
+    @PrePersist
+    public void prePersist() {
+        if (updatedAt == null) updatedAt = LocalDateTime.now();
+        if (lastId == null) lastId = fromId;
+        if (indexedFiles == null) indexedFiles = 0L;
+        if (failedFiles == null) failedFiles = 0L;
+        if (done == null) done = false;
+    }
+
+    @PreUpdate
+    public void preUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
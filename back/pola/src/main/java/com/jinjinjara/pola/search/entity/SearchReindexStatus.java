@@ -0,0 +1,17 @@
+package com.jinjinjara.pola.search.entity;
+
+/**
+ * 재색인 작업 상태
+ * - PENDING: 등록됨, 워커 대기
+ * - RUNNING: 진행 중 (phase 참고)
+ * - COMPLETED: 별칭 전환 완료
+ * - FAILED: 중단됨, 체크포인트가 남아 있어 resume 가능
+ * - CANCELLED: 관리자가 취소 (만들던 인덱스는 삭제)
+ */
+public enum SearchReindexStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED,
+    CANCELLED
+}
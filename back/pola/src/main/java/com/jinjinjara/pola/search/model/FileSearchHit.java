@@ -0,0 +1,81 @@
+package com.jinjinjara.pola.search.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 검색 결과 한 건 (목록 화면용 필드만)
+ * 기존 FileSearch 응답 필드는 그대로 두고, ocrText 는 원문 대신 앞부분 / 검색어 주변 조각만 내려준다.
+ * 검색어가 걸린 부분은 highlights 로 따로 내려준다.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "검색 결과 항목")
+public class FileSearchHit {
+
+    private Long fileId;
+    private Long userId;
+    private String categoryName;
+    private String tags;
+    private String context;
+
+    @Schema(description = "OCR 텍스트 조각 (원문 전체가 아님, 없으면 빈 문자열)", example = "Google API 키: AIzaSyC...")
+    private String ocrText;
+
+    private String imageUrl;
+    private String createdAt;
+    private Boolean favorite;
+    private String fileType;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Schema(description = "필드별 강조 조각 (검색어는 <em> 으로 감쌈)",
+            example = "{\"ocrText\": [\"Google <em>API</em> 키: ...\"]}")
+    private Map<String, List<String>> highlights;
+
+    /**
+     * @param highlights OpenSearch highlight 결과
+     *                   ocrText 는 검색어가 없어도 앞부분 조각이 오도록 요청한다 (no_match_size) → 조각 문자열로 사용,
+     *                   highlights 에는 검색어가 실제로 걸린(<em>) 조각만 남긴다.
+     */
+    public static FileSearchHit of(FileSearch source, Map<String, List<String>> highlights) {
+        Map<String, List<String>> matched = new LinkedHashMap<>();
+        String ocrSnippet = "";
+        if (highlights != null) {
+            List<String> ocr = highlights.get("ocrText");
+            if (ocr != null && !ocr.isEmpty()) ocrSnippet = plain(ocr.get(0));
+            highlights.forEach((field, fragments) -> {
+                List<String> hits = fragments.stream().filter(f -> f.contains("<em>")).toList();
+                if (!hits.isEmpty()) matched.put(field, hits);
+            });
+        }
+        return FileSearchHit.builder()
+                .fileId(source.getFileId())
+                .userId(source.getUserId())
+                .categoryName(source.getCategoryName())
+                .tags(source.getTags())
+                .context(source.getContext())
+                .ocrText(ocrSnippet)
+                .imageUrl(source.getImageUrl())
+                .createdAt(source.getCreatedAt())
+                .favorite(source.getFavorite())
+                .fileType(source.getFileType())
+                .highlights(matched.isEmpty() ? null : matched)
+                .build();
+    }
+
+    /** 강조 조각 → 일반 텍스트 (<em> 제거, html encoder 로 이스케이프된 문자 복원) */
+    static String plain(String fragment) {
+        return HtmlUtils.htmlUnescape(fragment.replace("<em>", "").replace("</em>", ""));
+    }
+}
@@ -0,0 +1,42 @@
+package com.jinjinjara.pola.search.model;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 부분 갱신(PATCH) 대상이 되는 검색 문서 필드
+ * fieldName 은 FileSearch 의 JSON 필드명과 같아야 한다.
+ */
+public enum SearchDocField {
+    CATEGORY_NAME("categoryName"),
+    TAGS("tags"),
+    CONTEXT("context"),
+    FAVORITE("favorite");
+
+    private final String fieldName;
+
+    SearchDocField(String fieldName) {
+        this.fieldName = fieldName;
+    }
+
+    public String fieldName() {
+        return fieldName;
+    }
+
+    /** 아웃박스 fields 컬럼 → 필드 집합 (모르는 이름은 무시) */
+    public static Set<SearchDocField> parse(String fields) {
+        Set<SearchDocField> set = EnumSet.noneOf(SearchDocField.class);
+        if (fields == null || fields.isBlank()) return set;
+        for (String name : fields.split(",")) {
+            Arrays.stream(values()).filter(f -> f.name().equals(name.trim())).findFirst().ifPresent(set::add);
+        }
+        return set;
+    }
+
+    public static String format(Collection<SearchDocField> fields) {
+        return fields.stream().sorted().map(Enum::name).collect(Collectors.joining(","));
+    }
+}
@@ -0,0 +1,20 @@
+package com.jinjinjara.pola.search.model;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 검색 아웃박스 상태 응답 DTO
+ */
+@Getter
+@Builder
+public class SearchOutboxStatusResponse {
+
+    private long pending;                 // 아직 반영되지 않은 행 수
+    private LocalDateTime oldestPendingAt;
+    private Long lastId;                  // 체크포인트 (마지막으로 반영한 아웃박스 ID)
+    private String owner;                 // 현재 릴레이 리더
+    private LocalDateTime leaseUntil;
+}
@@ -0,0 +1,19 @@
+package com.jinjinjara.pola.search.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 검색 결과 한 페이지 (FileSearchService → 컨트롤러)
+ * nextCursor 가 null 이면 마지막 페이지
+ */
+@Getter
+@AllArgsConstructor
+public class SearchPage {
+
+    private final List<FileSearchHit> hits;
+    private final long total;
+    private final String nextCursor;
+}
@@ -0,0 +1,35 @@
+package com.jinjinjara.pola.search.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 페이지 검색 API 응답 DTO (/api/v2/search)
+ * 한 페이지의 검색 결과와 총 개수, 다음 페이지 커서를 함께 반환합니다.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "페이지 검색 결과 응답")
+public class SearchPageResponse {
+
+    @Schema(description = "검색된 파일 총 개수 (10,000 건 이상은 10000)", example = "42")
+    private long totalCount;
+
+    @Schema(description = "검색 결과 리스트 (이번 페이지)")
+    private List<FileSearchHit> results;
+
+    @Schema(description = "다음 페이지 커서 (없으면 마지막 페이지)", example = "MS4yMzQsMTczNjkwNDYwMDAwMCwxMjM")
+    private String nextCursor;
+
+    /**
+     * 검색 결과 페이지로부터 SearchPageResponse 생성
+     */
+    public static SearchPageResponse from(SearchPage page) {
+        return new SearchPageResponse(page.getTotal(), page.getHits(), page.getNextCursor());
+    }
+}
@@ -0,0 +1,90 @@
+package com.jinjinjara.pola.search.model;
+
+import com.jinjinjara.pola.search.entity.SearchReindexJob;
+import com.jinjinjara.pola.search.entity.SearchReindexSlice;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 재색인 작업 응답 DTO (slices 는 단건 조회에서만 채움)
+ */
+@Getter
+@Builder
+public class SearchReindexJobResponse {
+
+    private Long id;
+    private String targetIndex;
+    private String mapping;
+    private String status;
+    private String phase;
+    private Integer sliceCount;
+    private Long totalFiles;
+    private Long indexedFiles;
+    private Long failedFiles;
+    private Double progressPercent;
+    private Double docsPerSecond;     // 시작 이후 평균 적재 속도
+    private String owner;
+    private String lastError;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+    private LocalDateTime createdAt;
+    private List<Slice> slices;
+
+    @Getter
+    @Builder
+    public static class Slice {
+        private Integer sliceNo;
+        private Long fromId;
+        private Long toId;
+        private Long lastId;
+        private Long indexedFiles;
+        private Long failedFiles;
+        private Boolean done;
+    }
+
+    /**
+     * Entity → DTO 변환
+     */
+    public static SearchReindexJobResponse from(SearchReindexJob job) {
+        return from(job, null);
+    }
+
+    public static SearchReindexJobResponse from(SearchReindexJob job, List<SearchReindexSlice> slices) {
+        LocalDateTime end = job.getCompletedAt() != null ? job.getCompletedAt() : LocalDateTime.now();
+        double seconds = job.getStartedAt() == null ? 0 : Duration.between(job.getStartedAt(), end).toMillis() / 1000.0;
+        return SearchReindexJobResponse.builder()
+                .id(job.getId())
+                .targetIndex(job.getTargetIndex())
+                .mapping(job.getMapping())
+                .status(job.getStatus().name())
+                .phase(job.getPhase().name())
+                .sliceCount(job.getSliceCount())
+                .totalFiles(job.getTotalFiles())
+                .indexedFiles(job.getIndexedFiles())
+                .failedFiles(job.getFailedFiles())
+                .progressPercent(job.getTotalFiles() == 0 ? 100.0
+                        : Math.min(100.0, job.getIndexedFiles() * 100.0 / job.getTotalFiles()))
+                .docsPerSecond(seconds <= 0 ? 0.0 : job.getIndexedFiles() / seconds)
+                .owner(job.getOwner())
+                .lastError(job.getLastError())
+                .startedAt(job.getStartedAt())
+                .completedAt(job.getCompletedAt())
+                .createdAt(job.getCreatedAt())
+                .slices(slices == null ? null : slices.stream()
+                        .map(s -> Slice.builder()
+                                .sliceNo(s.getSliceNo())
+                                .fromId(s.getFromId())
+                                .toId(s.getToId())
+                                .lastId(s.getLastId())
+                                .indexedFiles(s.getIndexedFiles())
+                                .failedFiles(s.getFailedFiles())
+                                .done(s.getDone())
+                                .build())
+                        .toList())
+                .build();
+    }
+}
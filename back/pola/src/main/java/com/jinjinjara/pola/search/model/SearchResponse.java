@@ -10,6 +10,7 @@ import java.util.List;
 /**
  * 검색 API 응답 DTO
  * 검색 결과와 총 개수를 함께 반환합니다.
+ * 페이지 단위 조회(nextCursor)는 SearchPageResponse (/api/v2/search) 를 사용합니다.
  */
 @Data
 @NoArgsConstructor
@@ -21,12 +22,12 @@ public class SearchResponse {
     private int totalCount;
 
     @Schema(description = "검색 결과 리스트")
-    private List<FileSearch> results;
+    private List<FileSearchHit> results;
 
     /**
-     * 검색 결과 리스트로부터 SearchResponse 생성
+     * 검색 결과 첫 페이지로부터 SearchResponse 생성
      */
-    public static SearchResponse from(List<FileSearch> results) {
-        return new SearchResponse(results.size(), results);
+    public static SearchResponse from(SearchPage page) {
+        return new SearchResponse((int) page.getTotal(), page.getHits());
     }
 }
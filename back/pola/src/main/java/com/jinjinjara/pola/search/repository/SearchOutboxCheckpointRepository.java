@@ -0,0 +1,46 @@
+package com.jinjinjara.pola.search.repository;
+
+import com.jinjinjara.pola.search.entity.SearchOutboxCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+public interface SearchOutboxCheckpointRepository extends JpaRepository<SearchOutboxCheckpoint, String> {
+
+    /**
+     * 리더 리스 획득/연장 (내가 이미 갖고 있거나 이전 리스가 만료된 경우에만)
+     * @return 1 이면 획득
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO search_outbox_checkpoints (name, owner, lease_until, last_id, updated_at)
+            VALUES (:name, :owner, :leaseUntil, 0, now())
+            ON CONFLICT (name) DO UPDATE
+               SET owner = EXCLUDED.owner, lease_until = EXCLUDED.lease_until, updated_at = now()
+             WHERE search_outbox_checkpoints.owner = EXCLUDED.owner
+                OR search_outbox_checkpoints.lease_until IS NULL
+                OR search_outbox_checkpoints.lease_until < now()
+            """, nativeQuery = true)
+    int acquireLease(@Param("name") String name,
+                     @Param("owner") String owner,
+                     @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Modifying
+    @Query(value = """
+            UPDATE search_outbox_checkpoints
+               SET last_id = GREATEST(last_id, :lastId), updated_at = now()
+             WHERE name = :name AND owner = :owner
+            """, nativeQuery = true)
+    int advance(@Param("name") String name, @Param("owner") String owner, @Param("lastId") Long lastId);
+
+    @Modifying
+    @Query(value = """
+            UPDATE search_outbox_checkpoints
+               SET lease_until = NULL, updated_at = now()
+             WHERE name = :name AND owner = :owner
+            """, nativeQuery = true)
+    int releaseLease(@Param("name") String name, @Param("owner") String owner);
+}
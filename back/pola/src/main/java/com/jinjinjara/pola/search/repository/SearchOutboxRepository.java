@@ -0,0 +1,95 @@
+package com.jinjinjara.pola.search.repository;
+
+import com.jinjinjara.pola.search.entity.SearchOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface SearchOutboxRepository extends JpaRepository<SearchOutbox, Long> {
+
+    /** 반영할 차례가 된 행 (ID 순) */
+    @Query(value = """
+            SELECT * FROM search_outbox
+             WHERE processed_at IS NULL AND next_attempt_at <= :now
+             ORDER BY id
+             LIMIT :limit
+            """, nativeQuery = true)
+    List<SearchOutbox> findReady(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * 반영 완료: 이번 배치에서 읽은 행만 닫는다
+     * (백오프 중이라 읽지 않은 같은 파일의 PATCH 행을 닫으면 그 필드가 보내지지 않은 채 사라진다)
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE search_outbox
+               SET processed_at = :now, last_error = NULL
+             WHERE processed_at IS NULL AND id IN (:ids)
+            """, nativeQuery = true)
+    int markProcessed(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query(value = """
+            UPDATE search_outbox
+               SET attempts = attempts + 1, next_attempt_at = :nextAttemptAt, last_error = :error
+             WHERE processed_at IS NULL AND id IN (:ids)
+            """, nativeQuery = true)
+    int markFailed(@Param("ids") Collection<Long> ids,
+                   @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                   @Param("error") String error);
+
+    /** 카테고리 이름이 바뀌면 그 카테고리 파일 문서의 categoryName 만 갱신 */
+    @Modifying
+    @Query(value = """
+            INSERT INTO search_outbox (file_id, op, fields, attempts, next_attempt_at, created_at)
+            SELECT f.id, 'PATCH', 'CATEGORY_NAME', 0, now(), now()
+              FROM files f
+             WHERE f.category_id = :categoryId
+            """, nativeQuery = true)
+    int enqueueCategory(@Param("categoryId") Long categoryId);
+
+    /** 재동기화: 전체 (또는 한 사용자의) 파일 문서를 다시 보낸다 */
+    @Modifying
+    @Query(value = """
+            INSERT INTO search_outbox (file_id, op, attempts, next_attempt_at, created_at)
+            SELECT f.id, 'UPSERT', 0, now(), now()
+              FROM files f
+             WHERE (CAST(:userId AS bigint) IS NULL OR f.user_id = :userId)
+            """, nativeQuery = true)
+    int enqueueResync(@Param("userId") Long userId);
+
+    /** 체크포인트 이후 (fromId 이상) 행을 다시 반영 대기로 */
+    @Modifying
+    @Query(value = """
+            UPDATE search_outbox
+               SET processed_at = NULL, attempts = 0, next_attempt_at = now(), last_error = NULL
+             WHERE id >= :fromId AND processed_at IS NOT NULL
+            """, nativeQuery = true)
+    int replayFrom(@Param("fromId") Long fromId);
+
+    @Modifying
+    @Query(value = "DELETE FROM search_outbox WHERE processed_at < :cutoff", nativeQuery = true)
+    int purgeProcessedBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    long countByProcessedAtIsNull();
+
+    @Query(value = "SELECT MIN(created_at) FROM search_outbox WHERE processed_at IS NULL", nativeQuery = true)
+    LocalDateTime findOldestPendingCreatedAt();
+
+    @Query(value = "SELECT COALESCE(MAX(id), 0) FROM search_outbox", nativeQuery = true)
+    Long findMaxId();
+
+    /** 재색인 따라잡기: afterId 이후 행 (반영 여부와 무관, ID 순) */
+    @Query(value = """
+            SELECT * FROM search_outbox
+             WHERE id > :afterId
+             ORDER BY id
+             LIMIT :limit
+            """, nativeQuery = true)
+    List<SearchOutbox> findAfter(@Param("afterId") Long afterId, @Param("limit") int limit);
+}
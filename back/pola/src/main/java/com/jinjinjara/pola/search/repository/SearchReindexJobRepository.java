@@ -0,0 +1,57 @@
+package com.jinjinjara.pola.search.repository;
+
+import com.jinjinjara.pola.search.entity.SearchReindexJob;
+import com.jinjinjara.pola.search.entity.SearchReindexStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+
+public interface SearchReindexJobRepository extends JpaRepository<SearchReindexJob, Long> {
+
+    Page<SearchReindexJob> findAllByOrderByIdDesc(Pageable pageable);
+
+    boolean existsByStatusIn(Collection<SearchReindexStatus> statuses);
+
+    /** 실행할 작업 (리스가 없거나 만료된 PENDING / RUNNING, 먼저 등록된 것부터) */
+    @Query(value = """
+            SELECT * FROM search_reindex_jobs
+             WHERE status IN ('PENDING', 'RUNNING')
+               AND (lease_until IS NULL OR lease_until < now())
+             ORDER BY id
+             LIMIT 1
+            """, nativeQuery = true)
+    Optional<SearchReindexJob> findClaimable();
+
+    /**
+     * 작업 리스 획득/연장 (내가 갖고 있거나 리스가 만료된 경우에만)
+     * @return 1 이면 획득
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE search_reindex_jobs
+               SET owner = :owner, lease_until = :leaseUntil, status = 'RUNNING',
+                   started_at = COALESCE(started_at, now()), updated_at = now()
+             WHERE id = :id
+               AND status IN ('PENDING', 'RUNNING')
+               AND (owner = :owner OR lease_until IS NULL OR lease_until < now())
+            """, nativeQuery = true)
+    int acquireLease(@Param("id") Long id,
+                     @Param("owner") String owner,
+                     @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    /** 슬라이스 페이지 반영분을 작업 합계에 더한다 (여러 슬라이스가 동시에 호출) */
+    @Modifying
+    @Query(value = """
+            UPDATE search_reindex_jobs
+               SET indexed_files = indexed_files + :indexed, failed_files = failed_files + :failed, updated_at = now()
+             WHERE id = :id
+            """, nativeQuery = true)
+    int addProgress(@Param("id") Long id, @Param("indexed") long indexed, @Param("failed") long failed);
+}
@@ -0,0 +1,28 @@
+package com.jinjinjara.pola.search.repository;
+
+import com.jinjinjara.pola.search.entity.SearchReindexSlice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface SearchReindexSliceRepository extends JpaRepository<SearchReindexSlice, Long> {
+
+    List<SearchReindexSlice> findByJobIdOrderBySliceNoAsc(Long jobId);
+
+    /** 페이지 하나 반영 후 진행 위치 전진 */
+    @Modifying
+    @Query(value = """
+            UPDATE search_reindex_slices
+               SET last_id = :lastId, indexed_files = indexed_files + :indexed,
+                   failed_files = failed_files + :failed, done = :done, updated_at = now()
+             WHERE id = :id
+            """, nativeQuery = true)
+    int advance(@Param("id") Long id,
+                @Param("lastId") Long lastId,
+                @Param("indexed") long indexed,
+                @Param("failed") long failed,
+                @Param("done") boolean done);
+}
@@ -0,0 +1,208 @@
+package com.jinjinjara.pola.search.scheduler;
+
+import com.jinjinjara.pola.search.entity.SearchOutbox;
+import com.jinjinjara.pola.search.entity.SearchOutboxOp;
+import com.jinjinjara.pola.search.model.FileSearch;
+import com.jinjinjara.pola.search.model.SearchDocField;
+import com.jinjinjara.pola.search.model.SearchOutboxStatusResponse;
+import com.jinjinjara.pola.search.service.FileSearchService;
+import com.jinjinjara.pola.search.service.FileSearchUpdateService;
+import com.jinjinjara.pola.search.service.SearchOutboxService;
+import com.jinjinjara.pola.search.util.SearchOutboxProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 검색 아웃박스 릴레이
+ *
+ * 역할:
+ * - 리더 리스를 가진 파드 하나만 동작 (같은 파일의 변경 순서 보장)
+ * - pollIntervalMs 마다 대기 행을 ID 순으로 batchSize 개 읽어 파일별로 합친 뒤
+ *   보낼 때의 DB 상태로 문서를 만들어 _bulk 요청 하나로 반영 (DB 에 없는 파일은 삭제)
+ * - PATCH 만 쌓인 파일은 바뀐 필드만 update API 로 보냄, 문서가 아직 없으면 같은 주기에 전체 문서로 다시
+ * - 밀려 있으면 한 주기에 maxBatchesPerPoll 번까지 연달아 보냄
+ * - 실패한 파일은 지수 백오프 후 다시 (행을 버리지 않음), 성공하면 체크포인트 전진
+ *
+ * 지표: pola.search.outbox.shipped{result=indexed|patched|deleted|failed|patch_fallback}, pola.search.outbox.batch, pola.search.outbox.pending / lag_seconds
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SearchOutboxRelay {
+
+    private final SearchOutboxService outboxService;
+    private final FileSearchUpdateService fileSearchUpdateService;
+    private final FileSearchService fileSearchService;
+    private final SearchOutboxProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong lagSeconds = new AtomicLong();
+    private String owner;
+
+    @PostConstruct
+    void init() {
+        String host = Optional.ofNullable(System.getenv("HOSTNAME")).orElse("local");
+        owner = host + "-outbox-" + UUID.randomUUID().toString().substring(0, 8);
+        meterRegistry.gauge("pola.search.outbox.pending", pending);
+        meterRegistry.gauge("pola.search.outbox.lag_seconds", lagSeconds);
+        log.info("[SearchOutbox] relay started owner={} enabled={}", owner, properties.isEnabled());
+    }
+
+    @Scheduled(fixedDelayString = "${search.outbox.poll-interval-ms:500}")
+    public void poll() {
+        if (!properties.isEnabled()) return;
+        try {
+            if (!outboxService.acquireLease(owner)) return;
+            for (int i = 0; i < properties.getMaxBatchesPerPoll(); i++) {
+                if (!relayOnce()) break;
+            }
+        } catch (Exception e) {
+            log.error("[SearchOutbox] relay failed owner={}", owner, e);
+        }
+    }
+
+    /** 배치 하나 반영, 바로 이어서 더 보낼 만하면 true (꽉 찬 배치를 모두 성공) */
+    private boolean relayOnce() {
+        List<SearchOutbox> rows = outboxService.findReady(properties.getBatchSize());
+        if (rows.isEmpty()) return false;
+
+        // 파일별로 합치기: 같은 파일의 여러 변경은 문서 하나로
+        // PATCH 만 모였으면 필드 합집합으로 부분 갱신, UPSERT/DELETE 가 하나라도 있으면 전체 문서
+        Map<Long, Integer> attempts = new LinkedHashMap<>();
+        Map<Long, List<Long>> rowIds = new HashMap<>();
+        Map<Long, Set<SearchDocField>> patchFields = new HashMap<>();
+        Set<Long> full = new HashSet<>();
+        long maxId = 0;
+        for (SearchOutbox row : rows) {
+            attempts.merge(row.getFileId(), row.getAttempts(), Math::max);
+            rowIds.computeIfAbsent(row.getFileId(), id -> new ArrayList<>()).add(row.getId());
+            maxId = Math.max(maxId, row.getId());
+            Set<SearchDocField> fields = row.getOp() == SearchOutboxOp.PATCH
+                    ? SearchDocField.parse(row.getFields()) : Set.of();
+            if (fields.isEmpty()) {
+                full.add(row.getFileId());
+            } else {
+                patchFields.computeIfAbsent(row.getFileId(), id -> EnumSet.noneOf(SearchDocField.class)).addAll(fields);
+            }
+        }
+        patchFields.keySet().removeAll(full);
+
+        List<Long> fullIds = attempts.keySet().stream().filter(full::contains).toList();
+        Map<Long, FileSearch> docs = fileSearchUpdateService.buildDocuments(fullIds);
+        Map<Long, Map<String, Object>> patches = fileSearchUpdateService.buildPartialDocuments(patchFields);
+        List<Long> deletes = attempts.keySet().stream()
+                .filter(id -> !docs.containsKey(id) && !patches.containsKey(id)).toList();
+
+        long t0 = System.currentTimeMillis();
+        Map<Long, String> failed = ship(docs, patches, deletes);
+
+        // 아직 색인되지 않은 문서의 부분 갱신은 전체 문서로 한 번 더
+        List<Long> missing = failed.entrySet().stream()
+                .filter(f -> patches.containsKey(f.getKey()) && FileSearchService.isDocumentMissing(f.getValue()))
+                .map(Map.Entry::getKey).toList();
+        if (!missing.isEmpty()) {
+            Map<Long, FileSearch> fallback = fileSearchUpdateService.buildDocuments(missing);
+            List<Long> gone = missing.stream().filter(id -> !fallback.containsKey(id)).toList();
+            missing.forEach(failed::remove);
+            failed.putAll(ship(fallback, Map.of(), gone));
+            meterRegistry.counter("pola.search.outbox.shipped", "result", "patch_fallback").increment(missing.size());
+        }
+
+        // 이번 배치에서 읽은 행만 닫는다 (백오프 중인 같은 파일의 행은 자기 차례에 따로 반영)
+        List<Long> succeeded = new ArrayList<>(attempts.size());
+        List<Long> processedRows = new ArrayList<>(rows.size());
+        for (Long fileId : attempts.keySet()) {
+            if (failed.containsKey(fileId)) continue;
+            succeeded.add(fileId);
+            processedRows.addAll(rowIds.get(fileId));
+        }
+        outboxService.markProcessed(owner, processedRows, maxId);
+        for (Map.Entry<Long, String> f : failed.entrySet()) {
+            outboxService.markFailed(rowIds.get(f.getKey()), attempts.getOrDefault(f.getKey(), 0), f.getValue());
+        }
+
+        long deleted = deletes.stream().filter(id -> !failed.containsKey(id)).count();
+        long patched = patches.keySet().stream().filter(id -> !failed.containsKey(id) && !missing.contains(id)).count();
+        meterRegistry.summary("pola.search.outbox.batch").record(attempts.size());
+        meterRegistry.counter("pola.search.outbox.shipped", "result", "indexed").increment(succeeded.size() - deleted - patched);
+        meterRegistry.counter("pola.search.outbox.shipped", "result", "patched").increment(patched);
+        meterRegistry.counter("pola.search.outbox.shipped", "result", "deleted").increment(deleted);
+        meterRegistry.counter("pola.search.outbox.shipped", "result", "failed").increment(failed.size());
+        log.debug("[SearchOutbox] shipped rows={} files={} patched={} failed={} maxId={} in {} ms",
+                rows.size(), attempts.size(), patched, failed.size(), maxId, System.currentTimeMillis() - t0);
+        if (!failed.isEmpty()) {
+            log.warn("[SearchOutbox] {} files failed, retry with backoff: {}", failed.size(), failed.keySet());
+        }
+
+        return failed.isEmpty() && rows.size() >= properties.getBatchSize();
+    }
+
+    /** @return 실패한 파일 ID → 사유 (요청 자체가 실패하면 전부) */
+    private Map<Long, String> ship(Map<Long, FileSearch> docs, Map<Long, Map<String, Object>> patches,
+                                   List<Long> deletes) {
+        try {
+            return new HashMap<>(fileSearchService.bulk(docs.values(), patches, deletes));
+        } catch (Exception e) {
+            log.warn("[SearchOutbox] bulk request failed files={}: {}",
+                    docs.size() + patches.size() + deletes.size(), e.toString());
+            Map<Long, String> failed = new HashMap<>();
+            docs.keySet().forEach(id -> failed.put(id, e.toString()));
+            patches.keySet().forEach(id -> failed.put(id, e.toString()));
+            deletes.forEach(id -> failed.put(id, e.toString()));
+            return failed;
+        }
+    }
+
+    /** 대기 행 수 / 가장 오래된 대기 시간 지표 (모든 파드에서 갱신) */
+    @Scheduled(fixedDelayString = "${search.outbox.lag-refresh-ms:15000}")
+    public void refreshLag() {
+        try {
+            SearchOutboxStatusResponse status = outboxService.getStatus();
+            pending.set(status.getPending());
+            lagSeconds.set(status.getOldestPendingAt() == null ? 0
+                    : Duration.between(status.getOldestPendingAt(), LocalDateTime.now()).toSeconds());
+        } catch (Exception e) {
+            log.warn("[SearchOutbox] lag refresh failed: {}", e.toString());
+        }
+    }
+
+    /** 보존 기간이 지난 반영 완료 행 정리 */
+    @Scheduled(fixedDelayString = "${search.outbox.purge-interval-ms:3600000}")
+    public void purge() {
+        try {
+            int purged = outboxService.purgeProcessed();
+            if (purged > 0) log.info("[SearchOutbox] purged processed rows={}", purged);
+        } catch (Exception e) {
+            log.warn("[SearchOutbox] purge failed: {}", e.toString());
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        try {
+            outboxService.releaseLease(owner);
+        } catch (Exception e) {
+            log.warn("[SearchOutbox] lease release failed owner={} (lease will expire)", owner);
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package com.jinjinjara.pola.search.scheduler;
+
+import com.jinjinjara.pola.data.repository.FileRepository;
+import com.jinjinjara.pola.search.entity.SearchOutbox;
+import com.jinjinjara.pola.search.entity.SearchReindexJob;
+import com.jinjinjara.pola.search.entity.SearchReindexPhase;
+import com.jinjinjara.pola.search.entity.SearchReindexSlice;
+import com.jinjinjara.pola.search.entity.SearchReindexStatus;
+import com.jinjinjara.pola.search.model.FileSearch;
+import com.jinjinjara.pola.search.service.FileSearchService;
+import com.jinjinjara.pola.search.service.FileSearchUpdateService;
+import com.jinjinjara.pola.search.service.OpenSearchIndexService;
+import com.jinjinjara.pola.search.service.SearchOutboxService;
+import com.jinjinjara.pola.search.service.SearchReindexService;
+import com.jinjinjara.pola.search.util.SearchReindexProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 무중단 재색인 워커
+ *
+ * 역할:
+ * - pollIntervalMs 마다 리스가 빈 재색인 작업을 하나 가져와 전용 스레드에서 실행 (스케줄러 스레드를 막지 않음)
+ * - CREATE_INDEX: 매핑 리소스로 버전 인덱스 생성 (refresh 끔, 레플리카 0)
+ * - LOAD: 슬라이스별로 파일 ID 키셋 페이지를 읽어 문서를 만들고 _bulk 적재, 페이지마다 체크포인트
+ *   문서 단위 실패는 아웃박스에 다시 등록해 따라잡기 단계에서 새 인덱스로 재전송
+ * - FINALIZE: 설정 복구 + refresh → 적재 중 아웃박스 변경분 따라잡기 → 별칭 원자 전환 → 한 번 더 따라잡기 → 이전 인덱스 정리
+ * - 파드가 죽거나 재배포되면 리스 만료 후 다른 파드가 마지막 체크포인트부터 이어받는다
+ *
+ * 지표: pola.search.reindex.docs{result}, pola.search.reindex.page, pola.search.reindex.progress / docs_per_second
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SearchReindexWorker {
+
+    private final SearchReindexService reindexService;
+    private final OpenSearchIndexService indexService;
+    private final FileSearchService fileSearchService;
+    private final FileSearchUpdateService fileSearchUpdateService;
+    private final SearchOutboxService outboxService;
+    private final FileRepository fileRepository;
+    private final SearchReindexProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong progressPermille = new AtomicLong();
+    private final AtomicLong docsPerSecond = new AtomicLong();
+    private ExecutorService runner;
+    private String owner;
+
+    @PostConstruct
+    void init() {
+        String host = Optional.ofNullable(System.getenv("HOSTNAME")).orElse("local");
+        owner = host + "-reindex-" + UUID.randomUUID().toString().substring(0, 8);
+        runner = Executors.newSingleThreadExecutor(Thread.ofPlatform().name("search-reindex").factory());
+        meterRegistry.gauge("pola.search.reindex.progress", progressPermille, p -> p.get() / 1000.0);
+        meterRegistry.gauge("pola.search.reindex.docs_per_second", docsPerSecond);
+        log.info("[Reindex] worker started owner={} enabled={}", owner, properties.isEnabled());
+    }
+
+    @Scheduled(fixedDelayString = "${search.reindex.poll-interval-ms:10000}")
+    public void poll() {
+        if (!properties.isEnabled() || running.get()) return;
+        try {
+            Optional<SearchReindexJob> job = reindexService.claim(owner);
+            if (job.isEmpty()) return;
+            running.set(true);
+            runner.execute(() -> {
+                try {
+                    run(job.get());
+                } finally {
+                    running.set(false);
+                }
+            });
+        } catch (Exception e) {
+            running.set(false);
+            log.error("[Reindex] poll failed owner={}", owner, e);
+        }
+    }
+
+    private void run(SearchReindexJob job) {
+        Long jobId = job.getId();
+        log.info("[Reindex] job {} start phase={} target={} owner={}", jobId, job.getPhase(), job.getTargetIndex(), owner);
+        try {
+            if (job.getPhase() == SearchReindexPhase.CREATE_INDEX) {
+                indexService.createForBulkLoad(job.getTargetIndex(), job.getMapping());
+                reindexService.setPhase(jobId, SearchReindexPhase.LOAD);
+                job.setPhase(SearchReindexPhase.LOAD);
+            }
+            if (job.getPhase() == SearchReindexPhase.LOAD) {
+                load(job);
+                job = reindexService.getJob(jobId);
+                if (job.getFailedFiles() > properties.getMaxDocFailures()) {
+                    throw new IllegalStateException("too many document failures: " + job.getFailedFiles());
+                }
+                reindexService.setPhase(jobId, SearchReindexPhase.FINALIZE);
+                job.setPhase(SearchReindexPhase.FINALIZE);
+            }
+            finalizeJob(job);
+            reindexService.complete(jobId);
+            progressPermille.set(1000);
+            log.info("[Reindex] job {} completed, alias {} → {}", jobId, properties.getAlias(), job.getTargetIndex());
+        } catch (LeaseLostException e) {
+            SearchReindexJob latest = reindexService.getJob(jobId);
+            log.warn("[Reindex] job {} stopped: lease lost (status={})", jobId, latest.getStatus());
+            if (latest.getStatus() == SearchReindexStatus.CANCELLED) {
+                reindexService.dropIndex(latest.getTargetIndex());
+            }
+        } catch (InterruptedException e) {
+            // 종료 중: 상태는 RUNNING 으로 두고 리스 만료 후 다른 파드가 이어받음
+            Thread.currentThread().interrupt();
+            log.warn("[Reindex] job {} interrupted at phase {}, will resume from checkpoint", jobId, job.getPhase());
+        } catch (Exception e) {
+            log.error("[Reindex] job {} failed at phase {}", jobId, job.getPhase(), e);
+            reindexService.fail(jobId, e.toString());
+        }
+    }
+
+    // ----------------------- LOAD -----------------------
+
+    /** 끝나지 않은 슬라이스를 동시에 적재 (하나라도 실패하면 나머지도 멈추고 예외) */
+    private void load(SearchReindexJob job) throws Exception {
+        List<SearchReindexSlice> slices = reindexService.getSlices(job.getId()).stream()
+                .filter(s -> !s.getDone()).toList();
+        if (slices.isEmpty()) return;
+
+        AtomicBoolean abort = new AtomicBoolean();
+        long startedAt = System.currentTimeMillis();
+        long indexedBefore = job.getIndexedFiles();
+        AtomicLong indexed = new AtomicLong(indexedBefore);
+        try (ExecutorService pool = Executors.newFixedThreadPool(slices.size(),
+                Thread.ofPlatform().name("search-reindex-slice-", 0).factory())) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (SearchReindexSlice slice : slices) {
+                futures.add(pool.submit(() -> {
+                    try {
+                        loadSlice(job, slice, abort, indexed, indexedBefore, startedAt);
+                    } catch (Exception e) {
+                        abort.set(true);
+                        throw e;
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> f : futures) {
+                try {
+                    f.get();
+                } catch (ExecutionException e) {
+                    abort.set(true);
+                    if (e.getCause() instanceof Exception cause) throw cause;
+                    throw e;
+                }
+            }
+        }
+        log.info("[Reindex] job {} loaded {} files in {} ms", job.getId(),
+                indexed.get() - indexedBefore, System.currentTimeMillis() - startedAt);
+    }
+
+    private void loadSlice(SearchReindexJob job, SearchReindexSlice slice, AtomicBoolean abort,
+                           AtomicLong indexed, long indexedBefore, long startedAt) throws Exception {
+        Timer pageTimer = meterRegistry.timer("pola.search.reindex.page");
+        long lastId = slice.getLastId();
+        boolean done = false;
+        while (!done) {
+            if (abort.get()) return;
+            if (!reindexService.renew(job.getId(), owner)) throw new LeaseLostException();
+
+            long t0 = System.nanoTime();
+            List<Long> ids = fileRepository.findIdsInRange(lastId, slice.getToId(), properties.getPageSize());
+            done = ids.size() < properties.getPageSize();
+            if (ids.isEmpty()) {
+                reindexService.checkpoint(slice, lastId, 0, 0, true);
+                break;
+            }
+
+            // 읽는 사이 삭제된 파일은 문서가 안 만들어지므로 그냥 건너뜀 (삭제 이벤트는 아웃박스 따라잡기에서 반영)
+            Map<Long, FileSearch> docs = fileSearchUpdateService.buildDocuments(ids);
+            Map<Long, String> failed = bulkWithRetry(job.getTargetIndex(), docs.values(), List.of());
+            failed.keySet().forEach(outboxService::enqueueUpsert);
+
+            lastId = ids.get(ids.size() - 1);
+            long ok = docs.size() - failed.size();
+            reindexService.checkpoint(slice, lastId, ok, failed.size(), done);
+            pageTimer.record(System.nanoTime() - t0, TimeUnit.NANOSECONDS);
+            meterRegistry.counter("pola.search.reindex.docs", "result", "indexed").increment(ok);
+            meterRegistry.counter("pola.search.reindex.docs", "result", "failed").increment(failed.size());
+
+            long total = indexed.addAndGet(ok);
+            long elapsedMs = Math.max(1, System.currentTimeMillis() - startedAt);
+            docsPerSecond.set((total - indexedBefore) * 1000 / elapsedMs);
+            if (job.getTotalFiles() > 0) progressPermille.set(Math.min(1000, total * 1000 / job.getTotalFiles()));
+            if (!failed.isEmpty()) {
+                log.warn("[Reindex] job {} slice {} {} documents failed, re-queued via outbox: {}",
+                        job.getId(), slice.getSliceNo(), failed.size(), failed.keySet());
+            }
+        }
+        log.info("[Reindex] job {} slice {} done (lastId={})", job.getId(), slice.getSliceNo(), lastId);
+    }
+
+    // ----------------------- FINALIZE -----------------------
+
+    private void finalizeJob(SearchReindexJob job) throws Exception {
+        String alias = properties.getAlias();
+        String target = job.getTargetIndex();
+        boolean swapped = indexService.aliasTargets(alias).contains(target);
+
+        if (!swapped) {
+            indexService.finishBulkLoad(target, job.getMapping());
+            long cursor = catchUp(job, job.getOutboxFromId());
+            if (!reindexService.renew(job.getId(), owner)) throw new LeaseLostException();
+            indexService.swapAlias(alias, target);
+            job.setOutboxFromId(cursor);
+        }
+        // 따라잡기 이후 ~ 전환 전까지 릴레이가 이전 인덱스에 쓴 변경분
+        catchUp(job, job.getOutboxFromId());
+        dropOldIndices(alias, target);
+    }
+
+    /**
+     * afterId 이후 아웃박스 행의 파일을 현재 DB 상태로 새 인덱스에 다시 보낸다 (반영 여부와 무관)
+     * @return 마지막으로 따라잡은 아웃박스 ID
+     */
+    private long catchUp(SearchReindexJob job, long afterId) throws Exception {
+        long cursor = afterId;
+        long files = 0;
+        while (true) {
+            if (!reindexService.renew(job.getId(), owner)) throw new LeaseLostException();
+            List<SearchOutbox> rows = reindexService.findOutboxAfter(cursor, properties.getPageSize());
+            if (rows.isEmpty()) break;
+
+            Set<Long> ids = new LinkedHashSet<>();
+            rows.forEach(r -> ids.add(r.getFileId()));
+            Map<Long, FileSearch> docs = fileSearchUpdateService.buildDocuments(ids);
+            List<Long> deletes = ids.stream().filter(id -> !docs.containsKey(id)).toList();
+            Map<Long, String> failed = bulkWithRetry(job.getTargetIndex(), docs.values(), deletes);
+            if (!failed.isEmpty()) {
+                throw new IllegalStateException("catch-up failed for " + failed.size() + " files: " + failed);
+            }
+
+            cursor = rows.get(rows.size() - 1).getId();
+            files += ids.size();
+            reindexService.advanceOutbox(job.getId(), cursor);
+        }
+        log.info("[Reindex] job {} caught up {} files from outbox id {} to {}", job.getId(), files, afterId, cursor);
+        meterRegistry.counter("pola.search.reindex.docs", "result", "caught_up").increment(files);
+        return cursor;
+    }
+
+    /** 별칭 대상보다 오래된 버전 인덱스는 keepPreviousIndices 개만 남기고 삭제 */
+    private void dropOldIndices(String alias, String target) {
+        try {
+            List<String> older = indexService.versionedIndices(alias).stream()
+                    .filter(i -> i.compareTo(target) < 0).toList();
+            for (int i = 0; i < older.size() - properties.getKeepPreviousIndices(); i++) {
+                indexService.deleteIndex(older.get(i));
+            }
+        } catch (Exception e) {
+            log.warn("[Reindex] old index cleanup failed: {}", e.toString());
+        }
+    }
+
+    /** 요청 자체가 실패하면 bulkRetries 번까지 재시도, 문서 단위 실패는 그대로 돌려준다 */
+    private Map<Long, String> bulkWithRetry(String index, Collection<FileSearch> docs, List<Long> deletes)
+            throws Exception {
+        for (int attempt = 0; ; attempt++) {
+            try {
+                return new HashMap<>(fileSearchService.bulk(index, docs, Map.of(), deletes));
+            } catch (Exception e) {
+                if (attempt >= properties.getBulkRetries()) throw e;
+                log.warn("[Reindex] bulk to {} failed (attempt {}), retrying: {}", index, attempt + 1, e.toString());
+                Thread.sleep(properties.getRetryBackoffMs() * (attempt + 1));
+            }
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        // 진행 중인 페이지만 마무리하고 멈춤, 나머지는 리스 만료 후 다른 파드가 체크포인트부터 이어받는다
+        runner.shutdownNow();
+    }
+
+    private static class LeaseLostException extends RuntimeException {
+    }
+}
@@ -1,20 +1,26 @@
 package com.jinjinjara.pola.search.service;
 
 
+import com.jinjinjara.pola.common.CustomException;
+import com.jinjinjara.pola.common.ErrorCode;
 import com.jinjinjara.pola.search.model.FileSearch;
+import com.jinjinjara.pola.search.model.FileSearchHit;
+import com.jinjinjara.pola.search.model.SearchPage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.opensearch.client.opensearch.OpenSearchClient;
 import org.opensearch.client.opensearch._types.FieldValue;
+import org.opensearch.client.opensearch._types.SortOrder;
 import org.opensearch.client.opensearch._types.query_dsl.BoolQuery;
 import org.opensearch.client.opensearch.core.*;
-import org.opensearch.client.opensearch.indices.AnalyzeRequest;
-import org.opensearch.client.opensearch.indices.AnalyzeResponse;
-import org.opensearch.client.opensearch.indices.analyze.AnalyzeToken;
+import org.opensearch.client.opensearch.core.search.HighlighterEncoder;
+import org.opensearch.client.opensearch.core.search.Hit;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -23,8 +29,19 @@ import java.util.stream.Collectors;
 public class FileSearchService {
 
     private final OpenSearchClient client;
+    private final KeywordAnalyzeService keywordAnalyzeService;
     private static final String INDEX_NAME = "files";
 
+    /** 검색 결과 목록에 필요한 필드만 (ocrText 원문은 highlight 조각으로 대신) */
+    private static final List<String> LIST_FIELDS = List.of(
+            "fileId", "userId", "categoryName", "tags", "context", "imageUrl", "createdAt", "favorite", "fileType");
+    /** 검색 쿼리가 쓰는 서브필드 (재색인 매핑이 이 필드를 갖는지 확인) */
+    public static final List<String> QUERY_SUBFIELDS = List.of(
+            "tags.keyword", "tags.edge_ngram", "context.edge_ngram", "ocrText.edge_ngram");
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int HIGHLIGHT_FRAGMENT_SIZE = 100;
+    private static final int HIGHLIGHT_FRAGMENTS = 3;
+
     /** 생성/갱신 */
     public void save(FileSearch file) throws IOException {
         client.index(i -> i.index(INDEX_NAME)
@@ -32,6 +49,56 @@ public class FileSearchService {
                 .document(file));
     }
 
+    /**
+     * 전체 색인 + 부분 갱신 + 삭제를 bulk 요청 하나로 (검색 아웃박스 릴레이)
+     * - 부분 갱신은 update API: 보낸 필드만 바뀌고 값이 같으면 noop (재색인 없음)
+     * - 없는 문서 삭제(not_found)는 성공으로 본다.
+     *
+     * @return 실패한 문서 ID → 사유 (부분 갱신 대상 문서가 없으면 "document_missing_exception: ...")
+     */
+    public Map<Long, String> bulk(Collection<FileSearch> upserts,
+                                  Map<Long, Map<String, Object>> patches,
+                                  Collection<Long> deletes) throws IOException {
+        return bulk(INDEX_NAME, upserts, patches, deletes);
+    }
+
+    /** 지정한 인덱스로 bulk (재색인 적재 / 따라잡기는 별칭이 아닌 새 버전 인덱스에 쓴다) */
+    public Map<Long, String> bulk(String index,
+                                  Collection<FileSearch> upserts,
+                                  Map<Long, Map<String, Object>> patches,
+                                  Collection<Long> deletes) throws IOException {
+        if (upserts.isEmpty() && patches.isEmpty() && deletes.isEmpty()) return Map.of();
+        BulkRequest.Builder bulk = new BulkRequest.Builder();
+        for (FileSearch f : upserts) {
+            bulk.operations(op -> op.index(idx -> idx.index(index)
+                    .id(String.valueOf(f.getFileId()))
+                    .document(f)));
+        }
+        for (Map.Entry<Long, Map<String, Object>> p : patches.entrySet()) {
+            bulk.operations(op -> op.<Map<String, Object>>update(u -> u.index(index)
+                    .id(String.valueOf(p.getKey()))
+                    .document(p.getValue())
+                    .retryOnConflict(3)));
+        }
+        for (Long id : deletes) {
+            bulk.operations(op -> op.delete(d -> d.index(index).id(String.valueOf(id))));
+        }
+        BulkResponse res = client.bulk(bulk.build());
+        if (!res.errors()) return Map.of();
+
+        Map<Long, String> failed = new HashMap<>();
+        for (var item : res.items()) {
+            if (item.error() != null) {
+                failed.put(Long.valueOf(item.id()), item.error().type() + ": " + item.error().reason());
+            }
+        }
+        return failed;
+    }
+
+    public static boolean isDocumentMissing(String failure) {
+        return failure != null && failure.startsWith("document_missing_exception");
+    }
+
     /** 단건 조회 */
     public FileSearch get(Long id) throws IOException {
         GetResponse<FileSearch> res = client.get(g -> g
@@ -58,17 +125,8 @@ public class FileSearchService {
      */
     private List<String> analyzeWithNori(String text) throws IOException {
         try {
-            AnalyzeRequest request = AnalyzeRequest.of(a -> a
-                    .index(INDEX_NAME)
-                    .analyzer("nori_analyzer")
-                    .text(text)
-            );
-
-            AnalyzeResponse response = client.indices().analyze(request);
-
-            List<String> tokens = response.tokens().stream()
-                    .map(AnalyzeToken::token)
-                    .collect(Collectors.toList());
+            // JVM 안의 nori 분석기 + 캐시 (설정에 따라 OpenSearch _analyze)
+            List<String> tokens = keywordAnalyzeService.analyze(text);
 
             log.debug("Nori 분석: '{}' → {}", text, tokens);
             return tokens;
@@ -81,6 +139,11 @@ public class FileSearchService {
     }
 
     // ========== 새로운 검색 메서드 ==========
+    //
+    // 공통:
+    // - userId 는 filter 컨텍스트 (점수 계산 없음, 필터 캐시 사용)
+    // - 목록 화면 필드만 _source 로 받고 (ocrText 제외), 검색어 주변은 highlight 조각으로
+    // - 정렬 _score ↓, createdAt ↓, fileId ↓ + search_after 커서로 페이지 이동
 
     /**
      * 태그 기반 검색 (단일 태그)
@@ -97,8 +160,10 @@ public class FileSearchService {
      *
      * @param userId 사용자 ID
      * @param tag 검색할 태그
+     * @param size 페이지 크기
+     * @param cursor 이전 페이지의 nextCursor (첫 페이지는 null)
      */
-    public List<FileSearch> searchByTag(Long userId, String tag) throws IOException {
+    public SearchPage searchByTag(Long userId, String tag, int size, String cursor) throws IOException {
         // 1. Nori로 토큰 분석
         List<String> tokens = analyzeWithNori(tag);
 
@@ -107,69 +172,44 @@ public class FileSearchService {
             // 다중 토큰: must(AND) 조건 - 모든 토큰이 포함되어야 함
             log.debug("다중 토큰 검색 (AND): {}", tokens);
 
-            SearchResponse<FileSearch> res = client.search(s -> s
-                    .index(INDEX_NAME)
-                    .query(q -> {
-                        BoolQuery.Builder bool = new BoolQuery.Builder();
-
-                        // userId 필터
-                        bool.must(m -> m.term(t -> t.field("userId").value(FieldValue.of(userId))));
-
-                        // 각 토큰을 must 조건으로 추가 (AND)
-                        for (String token : tokens) {
-                            bool.must(m -> m.match(match -> match.field("tags").query(FieldValue.of(token))));
-                        }
-
-                        return q.bool(bool.build());
-                    }), FileSearch.class);
-
-            return res.hits().hits().stream()
-                    .map(hit -> hit.source())
-                    .collect(Collectors.toList());
+            return search(userId, b -> {
+                // 각 토큰을 must 조건으로 추가 (AND)
+                for (String token : tokens) {
+                    b.must(m -> m.match(match -> match.field("tags").query(FieldValue.of(token))));
+                }
+                return b;
+            }, List.of("tags"), size, cursor);
 
         } else {
             // 단일 토큰: should(OR) 조건 - Edge N-gram과 조합
             log.debug("단일 토큰 검색 (OR + Edge N-gram): {}", tokens);
 
-            SearchResponse<FileSearch> res = client.search(s -> s
-                    .index(INDEX_NAME)
-                    .query(q -> q.bool(b -> b
-                            .must(m -> m.term(t -> t.field("userId").value(FieldValue.of(userId))))
-                            // Nori 형태소 분석 매칭
-                            .should(sh -> sh.match(match -> match.field("tags").query(FieldValue.of(tag))))
-                            // Edge N-gram 매칭 (한 글자 및 접두사 검색)
-                            .should(sh -> sh.match(match -> match.field("tags.edge_ngram").query(FieldValue.of(tag))))
-                            // Wildcard 매칭 (fallback)
-                            .should(sh -> sh.wildcard(w -> w
-                                    .field("tags.keyword")
-                                    .value("*" + tag + "*")
-                                    .caseInsensitive(true)
-                            ))
-                            .minimumShouldMatch(String.valueOf(1))
-                    )), FileSearch.class);
-
-            return res.hits().hits().stream()
-                    .map(hit -> hit.source())
-                    .collect(Collectors.toList());
+            return search(userId, b -> b
+                    // Nori 형태소 분석 매칭
+                    .should(sh -> sh.match(match -> match.field("tags").query(FieldValue.of(tag))))
+                    // Edge N-gram 매칭 (한 글자 및 접두사 검색)
+                    .should(sh -> sh.match(match -> match.field("tags.edge_ngram").query(FieldValue.of(tag))))
+                    // Wildcard 매칭 (fallback)
+                    .should(sh -> sh.wildcard(w -> w
+                            .field("tags.keyword")
+                            .value("*" + tag + "*")
+                            .caseInsensitive(true)
+                    ))
+                    .minimumShouldMatch(String.valueOf(1)),
+                    List.of("tags"), size, cursor);
         }
     }
 
     /**
      * 카테고리별 검색 (사용자 필터링 포함)
+     * 점수가 없는 필터 검색이므로 최신순으로 정렬된다.
      * @param userId 사용자 ID
      * @param categoryName 카테고리명
      */
-    public List<FileSearch> searchByCategoryName(Long userId, String categoryName) throws IOException {
-        SearchResponse<FileSearch> res = client.search(s -> s
-                .index(INDEX_NAME)
-                .query(q -> q.bool(b -> b
-                        .must(m -> m.term(t -> t.field("userId").value(FieldValue.of(userId))))
-                        .must(m -> m.term(t -> t.field("categoryName").value(FieldValue.of(categoryName))))
-                )), FileSearch.class);
-
-        return res.hits().hits().stream()
-                .map(hit -> hit.source())
-                .collect(Collectors.toList());
+    public SearchPage searchByCategoryName(Long userId, String categoryName, int size, String cursor) throws IOException {
+        return search(userId, b -> b
+                        .filter(f -> f.term(t -> t.field("categoryName").value(FieldValue.of(categoryName)))),
+                List.of(), size, cursor);
     }
 
     /**
@@ -177,17 +217,10 @@ public class FileSearchService {
      * @param userId 사용자 ID
      * @param keyword 검색할 키워드
      */
-    public List<FileSearch> searchByOcrText(Long userId, String keyword) throws IOException {
-        SearchResponse<FileSearch> res = client.search(s -> s
-                .index(INDEX_NAME)
-                .query(q -> q.bool(b -> b
-                        .must(m -> m.term(t -> t.field("userId").value(FieldValue.of(userId))))
-                        .must(m -> m.match(match -> match.field("ocrText").query(FieldValue.of(keyword))))
-                )), FileSearch.class);
-
-        return res.hits().hits().stream()
-                .map(hit -> hit.source())
-                .collect(Collectors.toList());
+    public SearchPage searchByOcrText(Long userId, String keyword, int size, String cursor) throws IOException {
+        return search(userId, b -> b
+                        .must(m -> m.match(match -> match.field("ocrText").query(FieldValue.of(keyword)))),
+                List.of("ocrText"), size, cursor);
     }
 
     /**
@@ -195,17 +228,10 @@ public class FileSearchService {
      * @param userId 사용자 ID
      * @param keyword 검색할 키워드
      */
-    public List<FileSearch> searchByContext(Long userId, String keyword) throws IOException {
-        SearchResponse<FileSearch> res = client.search(s -> s
-                .index(INDEX_NAME)
-                .query(q -> q.bool(b -> b
-                        .must(m -> m.term(t -> t.field("userId").value(FieldValue.of(userId))))
-                        .must(m -> m.match(match -> match.field("context").query(FieldValue.of(keyword))))
-                )), FileSearch.class);
-
-        return res.hits().hits().stream()
-                .map(hit -> hit.source())
-                .collect(Collectors.toList());
+    public SearchPage searchByContext(Long userId, String keyword, int size, String cursor) throws IOException {
+        return search(userId, b -> b
+                        .must(m -> m.match(match -> match.field("context").query(FieldValue.of(keyword)))),
+                List.of("context"), size, cursor);
     }
 
     /**
@@ -221,68 +247,118 @@ public class FileSearchService {
      * @param userId 사용자 ID
      * @param keyword 검색할 키워드
      */
-    public List<FileSearch> searchAll(Long userId, String keyword) throws IOException {
+    public SearchPage searchAll(Long userId, String keyword, int size, String cursor) throws IOException {
         // 1. Nori로 토큰 분석
         List<String> tokens = analyzeWithNori(keyword);
+        List<String> highlightFields = List.of("tags", "context", "ocrText");
 
         // 2. 토큰 수에 따라 쿼리 전략 분기
         if (tokens.size() >= 2) {
             // 다중 토큰: must(AND) 조건
             log.debug("통합 검색 - 다중 토큰 (AND): {}", tokens);
 
-            SearchResponse<FileSearch> res = client.search(s -> s
-                    .index(INDEX_NAME)
-                    .query(q -> {
-                        BoolQuery.Builder bool = new BoolQuery.Builder();
-
-                        // userId 필터
-                        bool.must(m -> m.term(t -> t.field("userId").value(FieldValue.of(userId))));
-
-                        // 각 토큰이 tags, ocrText, context 중 하나에는 반드시 존재해야 함
-                        for (String token : tokens) {
-                            bool.must(m -> m.bool(b -> b
-                                    .should(sh -> sh.match(match -> match.field("tags").query(FieldValue.of(token))))
-                                    .should(sh -> sh.match(match -> match.field("ocrText").query(FieldValue.of(token))))
-                                    .should(sh -> sh.match(match -> match.field("context").query(FieldValue.of(token))))
-                                    .minimumShouldMatch("1")
-                            ));
-                        }
-
-                        return q.bool(bool.build());
-                    }), FileSearch.class);
-
-            return res.hits().hits().stream()
-                    .map(hit -> hit.source())
-                    .collect(Collectors.toList());
+            return search(userId, b -> {
+                // 각 토큰이 tags, ocrText, context 중 하나에는 반드시 존재해야 함
+                for (String token : tokens) {
+                    b.must(m -> m.bool(bb -> bb
+                            .should(sh -> sh.match(match -> match.field("tags").query(FieldValue.of(token))))
+                            .should(sh -> sh.match(match -> match.field("ocrText").query(FieldValue.of(token))))
+                            .should(sh -> sh.match(match -> match.field("context").query(FieldValue.of(token))))
+                            .minimumShouldMatch("1")
+                    ));
+                }
+                return b;
+            }, highlightFields, size, cursor);
 
         } else {
             // 단일 토큰: should(OR) 조건 + Edge N-gram
             log.debug("통합 검색 - 단일 토큰 (OR + Edge N-gram): {}", tokens);
 
-            SearchResponse<FileSearch> res = client.search(s -> s
-                    .index(INDEX_NAME)
-                    .query(q -> q.bool(b -> b
-                            .must(m -> m.term(t -> t.field("userId").value(FieldValue.of(userId))))
-                            // Nori 형태소 분석 매칭
-                            .should(sh -> sh.match(match -> match.field("tags").query(FieldValue.of(keyword))))
-                            .should(sh -> sh.match(match -> match.field("ocrText").query(FieldValue.of(keyword))))
-                            .should(sh -> sh.match(match -> match.field("context").query(FieldValue.of(keyword))))
-                            // Edge N-gram 매칭 (한 글자 및 접두사 검색)
-                            .should(sh -> sh.match(match -> match.field("tags.edge_ngram").query(FieldValue.of(keyword))))
-                            .should(sh -> sh.match(match -> match.field("ocrText.edge_ngram").query(FieldValue.of(keyword))))
-                            .should(sh -> sh.match(match -> match.field("context.edge_ngram").query(FieldValue.of(keyword))))
-                            // Wildcard 매칭 (fallback)
-                            .should(sh -> sh.wildcard(w -> w
-                                    .field("tags.keyword")
-                                    .value("*" + keyword + "*")
-                                    .caseInsensitive(true)
-                            ))
-                            .minimumShouldMatch(String.valueOf(1))
-                    )), FileSearch.class);
-
-            return res.hits().hits().stream()
-                    .map(hit -> hit.source())
-                    .collect(Collectors.toList());
+            return search(userId, b -> b
+                    // Nori 형태소 분석 매칭
+                    .should(sh -> sh.match(match -> match.field("tags").query(FieldValue.of(keyword))))
+                    .should(sh -> sh.match(match -> match.field("ocrText").query(FieldValue.of(keyword))))
+                    .should(sh -> sh.match(match -> match.field("context").query(FieldValue.of(keyword))))
+                    // Edge N-gram 매칭 (한 글자 및 접두사 검색)
+                    .should(sh -> sh.match(match -> match.field("tags.edge_ngram").query(FieldValue.of(keyword))))
+                    .should(sh -> sh.match(match -> match.field("ocrText.edge_ngram").query(FieldValue.of(keyword))))
+                    .should(sh -> sh.match(match -> match.field("context.edge_ngram").query(FieldValue.of(keyword))))
+                    // Wildcard 매칭 (fallback)
+                    .should(sh -> sh.wildcard(w -> w
+                            .field("tags.keyword")
+                            .value("*" + keyword + "*")
+                            .caseInsensitive(true)
+                    ))
+                    .minimumShouldMatch(String.valueOf(1)),
+                    highlightFields, size, cursor);
+        }
+    }
+
+    /**
+     * 검색 공통 실행
+     * @param query userId 필터를 뺀 나머지 조건
+     * @param highlightFields 강조 조각을 만들 필드 (ocrText 는 응답 조각용으로 항상 요청)
+     */
+    private SearchPage search(Long userId,
+                              Function<BoolQuery.Builder, BoolQuery.Builder> query,
+                              List<String> highlightFields,
+                              int size,
+                              String cursor) throws IOException {
+        int pageSize = Math.max(1, Math.min(MAX_PAGE_SIZE, size));
+        List<String> after = decodeCursor(cursor);
+
+        SearchResponse<FileSearch> res = client.search(s -> {
+            s.index(INDEX_NAME)
+                    .size(pageSize)
+                    .query(q -> q.bool(b -> query.apply(
+                            b.filter(f -> f.term(t -> t.field("userId").value(FieldValue.of(userId)))))))
+                    .source(src -> src.filter(f -> f.includes(LIST_FIELDS)))
+                    .sort(so -> so.score(sc -> sc.order(SortOrder.Desc)))
+                    .sort(so -> so.field(f -> f.field("createdAt").order(SortOrder.Desc)))
+                    .sort(so -> so.field(f -> f.field("fileId").order(SortOrder.Desc)));
+            if (after != null) s.searchAfter(after);
+            s.highlight(h -> {
+                h.preTags("<em>").postTags("</em>")
+                        .encoder(HighlighterEncoder.Html)
+                        .fragmentSize(HIGHLIGHT_FRAGMENT_SIZE)
+                        .numberOfFragments(HIGHLIGHT_FRAGMENTS)
+                        .requireFieldMatch(false);   // edge_ngram 서브필드로 걸린 검색어도 원 필드에 표시
+                highlightFields.stream()
+                        .filter(field -> !field.equals("ocrText"))
+                        .forEach(field -> h.fields(field, hf -> hf));
+                // ocrText 응답 필드용 조각: 검색어가 없으면 앞부분(no_match_size)
+                h.fields("ocrText", hf -> hf.noMatchSize(HIGHLIGHT_FRAGMENT_SIZE));
+                return h;
+            });
+            return s;
+        }, FileSearch.class);
+
+        List<Hit<FileSearch>> hits = res.hits().hits();
+        List<FileSearchHit> results = hits.stream()
+                .filter(hit -> hit.source() != null)
+                .map(hit -> FileSearchHit.of(hit.source(), hit.highlight()))
+                .collect(Collectors.toList());
+        String nextCursor = hits.size() < pageSize ? null : encodeCursor(hits.get(hits.size() - 1).sort());
+        long total = res.hits().total() != null ? res.hits().total().value() : results.size();
+        return new SearchPage(results, total, nextCursor);
+    }
+
+    /** search_after 정렬 값 [score, createdAt, fileId] → 불투명 문자열 */
+    static String encodeCursor(List<String> sortValues) {
+        if (sortValues == null || sortValues.isEmpty()) return null;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.join(",", sortValues).getBytes(StandardCharsets.UTF_8));
+    }
+
+    static List<String> decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) return null;
+        try {
+            String[] values = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(",");
+            if (values.length != 3) throw new IllegalArgumentException("expected 3 sort values");
+            for (String v : values) Double.parseDouble(v);
+            return List.of(values);
+        } catch (IllegalArgumentException e) {
+            throw new CustomException(ErrorCode.INVALID_REQUEST, "invalid search cursor");
         }
     }
 
@@ -304,8 +380,9 @@ public class FileSearchService {
         SearchResponse<FileSearch> res = client.search(s -> s
                 .index(INDEX_NAME)
                 .size(100) // 충분한 결과 가져오기
+                .source(src -> src.filter(f -> f.includes("tags")))
                 .query(q -> q.bool(b -> b
-                        .must(m -> m.term(t -> t.field("userId").value(FieldValue.of(userId))))
+                        .filter(f -> f.term(t -> t.field("userId").value(FieldValue.of(userId))))
                         // Edge N-gram: 접두사 검색
                         .should(sh -> sh.match(match -> match.field("tags.edge_ngram").query(FieldValue.of(keyword))))
                         // Wildcard: fallback (중간 매칭)
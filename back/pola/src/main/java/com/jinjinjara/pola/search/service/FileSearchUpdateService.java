@@ -1,21 +1,24 @@
 package com.jinjinjara.pola.search.service;
 
-import com.jinjinjara.pola.common.CustomException;
-import com.jinjinjara.pola.common.ErrorCode;
 import com.jinjinjara.pola.data.entity.Category;
 import com.jinjinjara.pola.data.entity.File;
-import com.jinjinjara.pola.data.entity.Tag;
 import com.jinjinjara.pola.data.repository.CategoryRepository;
 import com.jinjinjara.pola.data.repository.FileRepository;
-import com.jinjinjara.pola.data.repository.TagRepository;
+import com.jinjinjara.pola.data.repository.FileTagRepository;
 import com.jinjinjara.pola.search.model.FileSearch;
+import com.jinjinjara.pola.search.model.SearchDocField;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -28,51 +31,107 @@ import java.util.stream.Collectors;
 public class FileSearchUpdateService {
 
     private final FileRepository fileRepository;
-    private final TagRepository tagRepository;
+    private final FileTagRepository fileTagRepository;
     private final CategoryRepository categoryRepository;
-    private final FileSearchService fileSearchService;
+    private final SearchOutboxService searchOutboxService;
 
     /**
      * AI 팀원용: 파일 ID로 OpenSearch 문서 업데이트
      * Vision API 처리 후 이 메서드만 호출하면 자동으로 검색에 반영됨
+     * (검색 아웃박스에 기록 → 호출 측 트랜잭션이 커밋되면 릴레이가 반영)
      *
      * @param fileId 업데이트할 파일 ID
      */
-    @Transactional(readOnly = true)
+    @Transactional
     public void updateFileSearch(Long fileId) {
-        try {
-            File file = fileRepository.findById(fileId)
-                    .orElseThrow(() -> new IllegalArgumentException("파일을 찾을 수 없습니다: " + fileId));
+        searchOutboxService.enqueueUpsert(fileId);
+    }
 
-            // 현재 태그 조회 (수동 + AI 추가 태그)
-            List<String> tagNames = tagRepository.findAllByFileId(fileId)
-                    .stream()
-                    .map(Tag::getTagName)
-                    .collect(Collectors.toList());
+    /**
+     * 현재 DB 상태로 검색 문서 전체 생성 (검색 아웃박스 릴레이)
+     * 태그 / 카테고리는 파일 수와 관계없이 쿼리 한 번씩으로 모아 읽는다.
+     *
+     * @return fileId → 문서 (DB 에 없는 파일은 빠짐 → 호출 측에서 삭제)
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, FileSearch> buildDocuments(Collection<Long> fileIds) {
+        List<File> files = fileRepository.findAllById(fileIds);
+        if (files.isEmpty()) return Map.of();
 
-            String categoryName = categoryRepository.findById(file.getCategoryId())
-                    .map(Category::getCategoryName)
-                    .orElse("미분류");
+        Map<Long, List<String>> tagsByFile = tagsOf(files);
+        Map<Long, String> categoryNames = categoryNamesOf(files);
 
-            FileSearch fileSearch = FileSearch.builder()
-                    .fileId(file.getId())
-                    .userId(file.getUserId())
-                    .categoryName(categoryName)
-                    .tags(String.join(", ", tagNames))
-                    .context(file.getContext() != null ? file.getContext() : "")
-                    .ocrText(file.getOcrText() != null ? file.getOcrText() : "")
-                    .imageUrl(file.getSrc())
-                    .createdAt(file.getCreatedAt().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME))
-                    .favorite(file.getFavorite() != null ? file.getFavorite() : false)
-                    .fileType(file.getType())
-                    .build();
+        Map<Long, FileSearch> docs = new LinkedHashMap<>();
+        for (File file : files) {
+            docs.put(file.getId(), toDocument(file,
+                    tagsByFile.getOrDefault(file.getId(), List.of()),
+                    categoryNames.getOrDefault(file.getCategoryId(), "미분류")));
+        }
+        return docs;
+    }
 
-            fileSearchService.save(fileSearch);
-            log.info(" OpenSearch 업데이트 완료: fileId={}", fileId);
+    /**
+     * 요청한 필드만 담은 부분 문서 생성 (update API 용)
+     * 태그 / 카테고리는 그 필드를 요청한 파일이 있을 때만 조회한다.
+     *
+     * @return fileId → {필드명: 값} (DB 에 없는 파일은 빠짐)
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, Map<String, Object>> buildPartialDocuments(Map<Long, Set<SearchDocField>> fieldsByFile) {
+        List<File> files = fileRepository.findAllById(fieldsByFile.keySet());
+        if (files.isEmpty()) return Map.of();
+
+        List<File> needTags = files.stream()
+                .filter(f -> fieldsByFile.get(f.getId()).contains(SearchDocField.TAGS)).toList();
+        List<File> needCategory = files.stream()
+                .filter(f -> fieldsByFile.get(f.getId()).contains(SearchDocField.CATEGORY_NAME)).toList();
+        Map<Long, List<String>> tagsByFile = needTags.isEmpty() ? Map.of() : tagsOf(needTags);
+        Map<Long, String> categoryNames = needCategory.isEmpty() ? Map.of() : categoryNamesOf(needCategory);
 
-        } catch (Exception e) {
-            log.error(" OpenSearch 업데이트 실패: fileId={}", fileId, e);
-            throw new CustomException(ErrorCode.SEARCH_UPDATE_FAIL, e.getMessage());
+        Map<Long, Map<String, Object>> docs = new LinkedHashMap<>();
+        for (File file : files) {
+            Map<String, Object> doc = new LinkedHashMap<>();
+            for (SearchDocField field : fieldsByFile.get(file.getId())) {
+                doc.put(field.fieldName(), switch (field) {
+                    case CATEGORY_NAME -> categoryNames.getOrDefault(file.getCategoryId(), "미분류");
+                    case TAGS -> String.join(", ", tagsByFile.getOrDefault(file.getId(), List.of()));
+                    case CONTEXT -> file.getContext() != null ? file.getContext() : "";
+                    case FAVORITE -> file.getFavorite() != null ? file.getFavorite() : false;
+                });
+            }
+            docs.put(file.getId(), doc);
         }
+        return docs;
+    }
+
+    // 현재 태그 조회 (수동 + AI 추가 태그), 파일 수와 관계없이 쿼리 한 번
+    private Map<Long, List<String>> tagsOf(List<File> files) {
+        return fileTagRepository.findAllByFileIds(files.stream().map(File::getId).toList())
+                .stream()
+                .collect(Collectors.groupingBy(
+                        ft -> ft.getFile().getId(),
+                        Collectors.mapping(ft -> ft.getTag().getTagName(), Collectors.toList())));
+    }
+
+    private Map<Long, String> categoryNamesOf(List<File> files) {
+        return categoryRepository.findAllById(
+                        files.stream().map(File::getCategoryId).filter(Objects::nonNull).collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Category::getId, Category::getCategoryName));
+    }
+
+    private FileSearch toDocument(File file, List<String> tagNames, String categoryName) {
+        return FileSearch.builder()
+                .fileId(file.getId())
+                .userId(file.getUserId())
+                .categoryName(categoryName)
+                .tags(String.join(", ", tagNames))
+                .context(file.getContext() != null ? file.getContext() : "")
+                .ocrText(file.getOcrText() != null ? file.getOcrText() : "")
+                .imageUrl(file.getSrc())
+                .createdAt(file.getCreatedAt().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME))
+                .favorite(file.getFavorite() != null ? file.getFavorite() : false)
+                .fileType(file.getType())
+                .build();
     }
 }
@@ -0,0 +1,237 @@
+package com.jinjinjara.pola.search.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jinjinjara.pola.search.util.SearchAnalyzerProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.ko.KoreanPartOfSpeechStopFilter;
+import org.apache.lucene.analysis.ko.KoreanReadingFormFilter;
+import org.apache.lucene.analysis.ko.KoreanTokenizer;
+import org.apache.lucene.analysis.ko.POS;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.opensearch.client.opensearch.OpenSearchClient;
+import org.opensearch.client.opensearch.indices.analyze.AnalyzeToken;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * 검색어 형태소 분석 (nori_analyzer 와 같은 토큰)
+ *
+ * 역할:
+ * - 매핑 리소스의 분석기 정의(nori 토크나이저 + 품사 필터 + lowercase)를 읽어 같은 구성의 Lucene 분석기를 JVM 안에 만든다
+ *   → 검색마다 OpenSearch _analyze 를 따로 부르지 않음 (왕복 2번 → 1번)
+ * - 최근 검색어 → 토큰 LRU 캐시
+ * - 시작 시 샘플 검색어로 로컬 / 원격 결과를 비교, 다르거나 지원하지 않는 구성이면 원격(_analyze)으로 동작
+ *
+ * 지표: pola.search.analyze{source=cache|local|remote}, pola.search.analyze.local (1 이면 로컬 분석)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class KeywordAnalyzeService {
+
+    private final OpenSearchClient client;
+    private final SearchAnalyzerProperties properties;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    private static final String INDEX_NAME = "files";
+    private static final int MAX_CACHED_LENGTH = 256;
+
+    private final AtomicBoolean localEnabled = new AtomicBoolean();
+    private Analyzer analyzer;
+    private Map<String, List<String>> cache;
+    private Counter cacheHits;
+    private Counter localHits;
+    private Counter remoteHits;
+
+    @PostConstruct
+    void init() {
+        cache = Collections.synchronizedMap(new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, List<String>> eldest) {
+                return size() > properties.getCacheSize();
+            }
+        });
+        cacheHits = meterRegistry.counter("pola.search.analyze", "source", "cache");
+        localHits = meterRegistry.counter("pola.search.analyze", "source", "local");
+        remoteHits = meterRegistry.counter("pola.search.analyze", "source", "remote");
+        meterRegistry.gauge("pola.search.analyze.local", localEnabled, b -> b.get() ? 1 : 0);
+
+        if (!properties.isLocal()) return;
+        try {
+            analyzer = buildAnalyzer(properties.getMapping(), properties.getAnalyzer());
+            localEnabled.set(true);
+            log.info("[Analyze] local {} analyzer built from {}", properties.getAnalyzer(), properties.getMapping());
+        } catch (Exception e) {
+            log.warn("[Analyze] local analyzer unavailable, using OpenSearch _analyze: {}", e.toString());
+        }
+    }
+
+    /**
+     * 샘플 검색어로 로컬 / 원격 토큰 비교
+     * 하나라도 다르면 로컬 분석을 끈다 (인덱스 분석기와 다른 토큰으로 검색하지 않도록).
+     * OpenSearch 에 연결할 수 없으면 비교를 건너뛰고 로컬을 유지한다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void verify() {
+        if (!localEnabled.get() || !properties.isVerifyOnStartup()) return;
+        for (String sample : properties.getVerifySamples()) {
+            List<String> remote;
+            try {
+                remote = analyzeRemote(sample);
+            } catch (Exception e) {
+                log.warn("[Analyze] verification skipped, OpenSearch _analyze failed: {}", e.toString());
+                return;
+            }
+            List<String> local = analyzeLocal(sample);
+            if (!local.equals(remote)) {
+                localEnabled.set(false);
+                cache.clear();
+                log.warn("[Analyze] local analyzer differs from index analyzer for '{}': local={} remote={}, "
+                        + "falling back to OpenSearch _analyze", sample, local, remote);
+                return;
+            }
+        }
+        log.info("[Analyze] local analyzer verified against index ({} samples)", properties.getVerifySamples().size());
+    }
+
+    /** 검색어 → 토큰 목록 (인덱스의 nori_analyzer 와 같은 결과) */
+    public List<String> analyze(String text) throws IOException {
+        List<String> cached = cache.get(text);
+        if (cached != null) {
+            cacheHits.increment();
+            return cached;
+        }
+        List<String> tokens;
+        if (localEnabled.get()) {
+            tokens = analyzeLocal(text);
+            localHits.increment();
+        } else {
+            tokens = analyzeRemote(text);
+            remoteHits.increment();
+        }
+        if (text.length() <= MAX_CACHED_LENGTH) cache.put(text, tokens);
+        return tokens;
+    }
+
+    private List<String> analyzeLocal(String text) {
+        List<String> tokens = new ArrayList<>();
+        try (TokenStream ts = analyzer.tokenStream("", text)) {
+            CharTermAttribute term = ts.addAttribute(CharTermAttribute.class);
+            ts.reset();
+            while (ts.incrementToken()) {
+                tokens.add(term.toString());
+            }
+            ts.end();
+        } catch (IOException e) {
+            // StringReader 라 실제로는 발생하지 않음
+            throw new IllegalStateException(e);
+        }
+        return List.copyOf(tokens);
+    }
+
+    private List<String> analyzeRemote(String text) throws IOException {
+        return client.indices().analyze(a -> a
+                        .index(INDEX_NAME)
+                        .analyzer(properties.getAnalyzer())
+                        .text(text))
+                .tokens().stream()
+                .map(AnalyzeToken::token)
+                .toList();
+    }
+
+    /**
+     * 매핑의 custom 분석기 정의 → Lucene 분석기
+     * 지원: nori_tokenizer(decompound_mode, discard_punctuation) + lowercase / nori_part_of_speech / nori_readingform
+     * 그 외 구성(user_dictionary 등)은 예외 → 원격 분석 사용
+     */
+    private Analyzer buildAnalyzer(String mapping, String analyzerName) throws IOException {
+        JsonNode analysis;
+        try (InputStream in = new ClassPathResource(mapping).getInputStream()) {
+            analysis = objectMapper.readTree(in).path("settings").path("analysis");
+        }
+        JsonNode def = analysis.path("analyzer").path(analyzerName);
+        if (!"custom".equals(def.path("type").asText())) {
+            throw new IllegalStateException("analyzer " + analyzerName + " is not a custom analyzer in " + mapping);
+        }
+
+        JsonNode tokenizer = analysis.path("tokenizer").path(def.path("tokenizer").asText());
+        if (!"nori_tokenizer".equals(tokenizer.path("type").asText())) {
+            throw new IllegalStateException("unsupported tokenizer: " + def.path("tokenizer").asText());
+        }
+        if (tokenizer.has("user_dictionary") || tokenizer.has("user_dictionary_rules")) {
+            throw new IllegalStateException("user dictionary is not supported locally");
+        }
+        KoreanTokenizer.DecompoundMode mode = KoreanTokenizer.DecompoundMode.valueOf(
+                tokenizer.path("decompound_mode").asText("discard").toUpperCase());
+        boolean discardPunctuation = tokenizer.path("discard_punctuation").asBoolean(true);
+
+        List<Function<TokenStream, TokenStream>> filters = new ArrayList<>();
+        for (JsonNode name : def.path("filter")) {
+            filters.add(filter(analysis.path("filter"), name.asText()));
+        }
+
+        return new Analyzer() {
+            @Override
+            protected TokenStreamComponents createComponents(String fieldName) {
+                Tokenizer source = new KoreanTokenizer(KoreanTokenizer.DEFAULT_TOKEN_ATTRIBUTE_FACTORY,
+                        null, mode, false, discardPunctuation);
+                TokenStream stream = source;
+                for (Function<TokenStream, TokenStream> f : filters) {
+                    stream = f.apply(stream);
+                }
+                return new TokenStreamComponents(source, stream);
+            }
+        };
+    }
+
+    private static Function<TokenStream, TokenStream> filter(JsonNode filterDefs, String name) {
+        JsonNode def = filterDefs.path(name);
+        String type = def.isMissingNode() ? name : def.path("type").asText();
+        switch (type) {
+            case "lowercase":
+                return LowerCaseFilter::new;
+            case "nori_readingform":
+                return KoreanReadingFormFilter::new;
+            case "nori_part_of_speech": {
+                if (!def.has("stoptags")) return KoreanPartOfSpeechStopFilter::new;
+                Set<POS.Tag> stopTags = EnumSet.noneOf(POS.Tag.class);
+                for (JsonNode tag : def.path("stoptags")) {
+                    stopTags.add(POS.resolveTag(tag.asText()));
+                }
+                return ts -> new KoreanPartOfSpeechStopFilter(ts, stopTags);
+            }
+            default:
+                throw new IllegalStateException("unsupported filter: " + name + " (" + type + ")");
+        }
+    }
+
+    @PreDestroy
+    void close() {
+        if (analyzer != null) analyzer.close();
+    }
+}
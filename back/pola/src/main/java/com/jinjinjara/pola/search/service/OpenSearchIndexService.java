@@ -1,16 +1,36 @@
 package com.jinjinjara.pola.search.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.jinjinjara.pola.search.util.SearchReindexProperties;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.opensearch.client.json.JsonpMapper;
 import org.opensearch.client.opensearch.OpenSearchClient;
+import org.opensearch.client.opensearch._types.Time;
+import org.opensearch.client.opensearch._types.mapping.TypeMapping;
 import org.opensearch.client.opensearch.indices.ExistsRequest;
+import org.opensearch.client.opensearch.indices.IndexSettings;
+import org.opensearch.client.opensearch.indices.update_aliases.Action;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
 /**
- * OpenSearch 인덱스 초기화 서비스
- * 애플리케이션 시작 시 files 인덱스 존재 여부를 확인합니다.
+ * OpenSearch 인덱스 관리 서비스
+ *
+ * 검색/색인은 별칭(files)으로만 접근하고, 실제 인덱스는 files_v<버전> 으로 만든다.
+ * 매핑이 바뀌면 새 버전 인덱스를 채운 뒤 별칭을 원자적으로 옮긴다 (SearchReindexService).
  */
 @Slf4j
 @Service
@@ -18,28 +38,25 @@ import org.springframework.stereotype.Service;
 public class OpenSearchIndexService {
 
     private final OpenSearchClient client;
-    private static final String INDEX_NAME = "files";
+    private final SearchReindexProperties properties;
+    private final ObjectMapper objectMapper;
 
     /**
-     * 애플리케이션 시작 시 인덱스 확인
-     *
-     * 참고: 인덱스는 OpenSearch Dashboard에서 Nori 매핑으로 수동 생성되어야 합니다.
-     * opensearch-mapping.json 파일 참고
+     * 애플리케이션 시작 시 별칭 / 인덱스 확인
      */
     @EventListener(ApplicationReadyEvent.class)
     public void initializeIndex() {
+        String alias = properties.getAlias();
         try {
-            // 인덱스 존재 여부 확인
-            boolean exists = client.indices()
-                    .exists(ExistsRequest.of(e -> e.index(INDEX_NAME)))
-                    .value();
-
-            if (!exists) {
-                log.warn(" OpenSearch 인덱스 '{}' 가 존재하지 않습니다.", INDEX_NAME);
-                log.warn(" OpenSearch Dashboard에서 Nori 매핑으로 인덱스를 생성해주세요.");
-                log.warn(" 참고: opensearch-mapping.json");
+            Set<String> targets = aliasTargets(alias);
+            if (!targets.isEmpty()) {
+                log.info(" OpenSearch 별칭 '{}' → {} 확인 완료", alias, targets);
+            } else if (exists(alias)) {
+                log.warn(" OpenSearch '{}' 가 별칭이 아닌 인덱스입니다. 재색인을 한 번 실행하면 버전 인덱스 + 별칭으로 전환됩니다.", alias);
+                log.warn(" POST /api/v1/admin/search-reindex");
             } else {
-                log.info(" OpenSearch 인덱스 '{}' 확인 완료", INDEX_NAME);
+                log.warn(" OpenSearch 인덱스 '{}' 가 존재하지 않습니다.", alias);
+                log.warn(" POST /api/v1/admin/search-reindex 로 {} 매핑의 인덱스를 만들어주세요.", properties.getMapping());
             }
         } catch (Exception e) {
             log.error("OpenSearch 연결 실패", e);
@@ -47,23 +64,100 @@ public class OpenSearchIndexService {
         }
     }
 
+    public boolean exists(String index) throws IOException {
+        return client.indices().exists(ExistsRequest.of(e -> e.index(index))).value();
+    }
+
+    /** 별칭이 가리키는 인덱스들 (별칭이 없으면 빈 집합) */
+    public Set<String> aliasTargets(String alias) throws IOException {
+        if (!client.indices().existsAlias(a -> a.name(alias)).value()) return Set.of();
+        return client.indices().getAlias(a -> a.name(alias)).result().keySet();
+    }
+
+    /** 별칭 이름으로 시작하는 버전 인덱스 목록 (files_v*) */
+    public List<String> versionedIndices(String alias) throws IOException {
+        return client.indices().get(g -> g.index(alias + "_v*").allowNoIndices(true))
+                .result().keySet().stream().sorted().toList();
+    }
+
     /**
-     * 인덱스 삭제 (개발/테스트용)
+     * 매핑 리소스로 적재용 인덱스 생성 (refresh 끔, 레플리카 0)
+     * 이미 있으면 그대로 사용 (중단 후 이어받는 경우)
      */
-    public void deleteIndex() throws Exception {
-        client.indices().delete(d -> d.index(INDEX_NAME));
-        log.info("OpenSearch 인덱스 '{}' 삭제 완료", INDEX_NAME);
+    public void createForBulkLoad(String index, String mapping) throws IOException {
+        if (exists(index)) {
+            log.info("[Reindex] index {} already exists, resuming", index);
+            return;
+        }
+        JsonNode root = readMapping(mapping);
+        ObjectNode settings = ((ObjectNode) root.get("settings")).deepCopy();
+        settings.put("number_of_replicas", "0");
+        settings.put("refresh_interval", "-1");
+
+        JsonpMapper mapper = client._transport().jsonpMapper();
+        IndexSettings indexSettings = IndexSettings._DESERIALIZER.deserialize(
+                mapper.jsonProvider().createParser(new StringReader(settings.toString())), mapper);
+        TypeMapping typeMapping = TypeMapping._DESERIALIZER.deserialize(
+                mapper.jsonProvider().createParser(new StringReader(root.get("mappings").toString())), mapper);
+
+        client.indices().create(c -> c.index(index).settings(indexSettings).mappings(typeMapping));
+        log.info("[Reindex] created index {} from {} (replicas=0, refresh=-1)", index, mapping);
+    }
+
+    /** 적재가 끝난 인덱스의 레플리카 / refresh 를 매핑 값으로 되돌리고 refresh */
+    public void finishBulkLoad(String index, String mapping) throws IOException {
+        JsonNode settings = readMapping(mapping).get("settings");
+        String replicas = settings.path("number_of_replicas").asText("1");
+        String refresh = settings.path("refresh_interval").asText("1s");
+        client.indices().putSettings(p -> p.index(index)
+                .settings(s -> s.numberOfReplicas(replicas).refreshInterval(Time.of(t -> t.time(refresh)))));
+        client.indices().refresh(r -> r.index(index));
+        log.info("[Reindex] restored settings on {} (replicas={}, refresh={})", index, replicas, refresh);
     }
 
     /**
-     * 인덱스 재생성 (개발/테스트용)
+     * 별칭을 target 으로 원자적으로 전환
+     * 별칭 이름과 같은 실제 인덱스가 있으면 (별칭 도입 전 구성) 같은 요청 안에서 삭제한다.
      */
-    public void recreateIndex() throws Exception {
-        try {
-            deleteIndex();
-        } catch (Exception e) {
-            log.warn("인덱스 삭제 실패 (존재하지 않을 수 있음)");
+    public void swapAlias(String alias, String target) throws IOException {
+        List<Action> actions = new ArrayList<>();
+        Set<String> current = aliasTargets(alias);
+        if (current.isEmpty() && exists(alias)) {
+            log.warn("[Reindex] '{}' is a concrete index, removing it in the alias swap", alias);
+            actions.add(Action.of(a -> a.removeIndex(r -> r.index(alias))));
+        }
+        for (String index : current) {
+            if (!index.equals(target)) actions.add(Action.of(a -> a.remove(r -> r.index(index).alias(alias))));
+        }
+        actions.add(Action.of(a -> a.add(r -> r.index(target).alias(alias).isWriteIndex(true))));
+        client.indices().updateAliases(u -> u.actions(actions));
+        log.info("[Reindex] alias {} : {} → {}", alias, current, target);
+    }
+
+    public void deleteIndex(String index) throws IOException {
+        client.indices().delete(d -> d.index(index));
+        log.info("OpenSearch 인덱스 '{}' 삭제 완료", index);
+    }
+
+    /**
+     * 매핑 리소스에 없는 필드 (검색 쿼리가 쓰는 "필드" / "필드.서브필드" 중)
+     * 없는 서브필드를 쿼리하면 OpenSearch 는 오류 없이 빈 결과를 주므로 재색인 전에 확인한다.
+     */
+    public List<String> missingFields(String mapping, Collection<String> fields) throws IOException {
+        JsonNode properties = readMapping(mapping).path("mappings").path("properties");
+        List<String> missing = new ArrayList<>();
+        for (String field : fields) {
+            String[] path = field.split("\\.", 2);
+            JsonNode node = properties.path(path[0]);
+            if (path.length == 2) node = node.path("fields").path(path[1]);
+            if (node.isMissingNode()) missing.add(field);
+        }
+        return missing;
+    }
+
+    private JsonNode readMapping(String mapping) throws IOException {
+        try (InputStream in = new ClassPathResource(mapping).getInputStream()) {
+            return objectMapper.readTree(in);
         }
-        initializeIndex();
     }
 }
@@ -0,0 +1,196 @@
+package com.jinjinjara.pola.search.service;
+
+import com.jinjinjara.pola.search.entity.SearchOutbox;
+import com.jinjinjara.pola.search.entity.SearchOutboxCheckpoint;
+import com.jinjinjara.pola.search.entity.SearchOutboxOp;
+import com.jinjinjara.pola.search.model.SearchDocField;
+import com.jinjinjara.pola.search.model.SearchOutboxStatusResponse;
+import com.jinjinjara.pola.search.repository.SearchOutboxCheckpointRepository;
+import com.jinjinjara.pola.search.repository.SearchOutboxRepository;
+import com.jinjinjara.pola.search.util.SearchOutboxProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * OpenSearch 동기화 아웃박스
+ *
+ * - 쓰기: 파일을 바꾸는 트랜잭션 안에서 enqueue* 호출 → 커밋되면 반드시 반영, 롤백되면 흔적 없음
+ *   같은 트랜잭션에서 같은 파일을 여러 번 바꿔도 행은 하나만 남긴다.
+ * - 읽기/상태 전이: SearchOutboxRelay 전용 (짧은 트랜잭션)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SearchOutboxService {
+
+    public static final String RELAY_NAME = "opensearch";
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    private final SearchOutboxRepository outboxRepository;
+    private final SearchOutboxCheckpointRepository checkpointRepository;
+    private final SearchOutboxProperties properties;
+
+    // ----------------------- 쓰기 (호출 측 트랜잭션에 참여) -----------------------
+
+    /** 문서 전체 갱신 (후처리 결과 반영 등 여러 필드가 함께 바뀔 때) */
+    @Transactional
+    public void enqueueUpsert(Long fileId) {
+        enqueue(fileId, SearchOutboxOp.UPSERT, Set.of());
+    }
+
+    /** 일부 필드만 갱신 (즐겨찾기, 카테고리 이동, 설명 수정, 태그 변경) */
+    @Transactional
+    public void enqueuePatch(Long fileId, SearchDocField... fields) {
+        enqueue(fileId, SearchOutboxOp.PATCH, Set.of(fields));
+    }
+
+    @Transactional
+    public void enqueuePatches(Collection<Long> fileIds, SearchDocField... fields) {
+        Set<SearchDocField> set = Set.of(fields);
+        fileIds.forEach(id -> enqueue(id, SearchOutboxOp.PATCH, set));
+    }
+
+    @Transactional
+    public void enqueueDelete(Long fileId) {
+        enqueue(fileId, SearchOutboxOp.DELETE, Set.of());
+    }
+
+    /** 카테고리 이름 변경: 그 카테고리 파일 문서의 categoryName 만 갱신 */
+    @Transactional
+    public int enqueueCategory(Long categoryId) {
+        return outboxRepository.enqueueCategory(categoryId);
+    }
+
+    /**
+     * 같은 트랜잭션 안에서는 파일당 종류별로 한 행만 남긴다.
+     * PATCH 는 필드를 합치고, 이미 UPSERT 가 있으면 PATCH 는 생략 (전체 갱신에 포함됨).
+     */
+    private void enqueue(Long fileId, SearchOutboxOp op, Set<SearchDocField> fields) {
+        Map<String, SearchOutbox> rows = enqueuedInTransaction();
+        if (op == SearchOutboxOp.PATCH) {
+            if (rows.containsKey(SearchOutboxOp.UPSERT + ":" + fileId)) return;
+            SearchOutbox patch = rows.get(op + ":" + fileId);
+            if (patch != null) {
+                Set<SearchDocField> merged = SearchDocField.parse(patch.getFields());
+                merged.addAll(fields);
+                patch.setFields(SearchDocField.format(merged)); // 영속 상태 → 커밋 시 반영
+                return;
+            }
+        } else if (rows.containsKey(op + ":" + fileId)) {
+            return;
+        }
+
+        SearchOutbox row = outboxRepository.save(SearchOutbox.builder()
+                .fileId(fileId)
+                .op(op)
+                .fields(op == SearchOutboxOp.PATCH ? SearchDocField.format(fields) : null)
+                .build());
+        rows.put(op + ":" + fileId, row);
+    }
+
+    /** 현재 트랜잭션에서 이미 기록한 행 ("op:fileId" → 행, REQUIRES_NEW 안에서는 별도) */
+    private static Map<String, SearchOutbox> enqueuedInTransaction() {
+        for (TransactionSynchronization s : TransactionSynchronizationManager.getSynchronizations()) {
+            if (s instanceof Enqueued e) return e.rows;
+        }
+        Enqueued e = new Enqueued();
+        TransactionSynchronizationManager.registerSynchronization(e);
+        return e.rows;
+    }
+
+    private static final class Enqueued implements TransactionSynchronization {
+        private final Map<String, SearchOutbox> rows = new HashMap<>();
+    }
+
+    // ----------------------- 릴레이 -----------------------
+
+    /** 리더 리스 획득/연장, 리더이면 true */
+    @Transactional
+    public boolean acquireLease(String owner) {
+        LocalDateTime leaseUntil = LocalDateTime.now().plusNanos(properties.getLeaseMs() * 1_000_000);
+        return checkpointRepository.acquireLease(RELAY_NAME, owner, leaseUntil) > 0;
+    }
+
+    @Transactional
+    public void releaseLease(String owner) {
+        checkpointRepository.releaseLease(RELAY_NAME, owner);
+    }
+
+    @Transactional(readOnly = true)
+    public List<SearchOutbox> findReady(int limit) {
+        return outboxRepository.findReady(LocalDateTime.now(), limit);
+    }
+
+    /** 반영 성공: 이번 배치에서 읽은 행(rowIds)을 닫고 체크포인트 전진 */
+    @Transactional
+    public void markProcessed(String owner, Collection<Long> rowIds, Long maxId) {
+        if (!rowIds.isEmpty()) outboxRepository.markProcessed(rowIds, LocalDateTime.now());
+        checkpointRepository.advance(RELAY_NAME, owner, maxId);
+    }
+
+    /** 반영 실패: 지수 백오프 후 재시도 (행은 버리지 않는다 → 인덱스가 조용히 어긋나지 않음) */
+    @Transactional
+    public void markFailed(Collection<Long> rowIds, int attempts, String error) {
+        long delay = backoffMs(attempts, properties);
+        outboxRepository.markFailed(rowIds, LocalDateTime.now().plusNanos(delay * 1_000_000), truncate(error));
+    }
+
+    // ----------------------- 관리 -----------------------
+
+    /** fromId 이상 행을 다시 반영 대기로 (보존 기간 안의 행만 가능) */
+    @Transactional
+    public int replayFrom(long fromId) {
+        int replayed = outboxRepository.replayFrom(fromId);
+        log.info("[SearchOutbox] replay fromId={} rows={}", fromId, replayed);
+        return replayed;
+    }
+
+    /** 전체 (또는 한 사용자의) 파일 문서를 다시 보낸다 */
+    @Transactional
+    public int resync(Long userId) {
+        int queued = outboxRepository.enqueueResync(userId);
+        log.info("[SearchOutbox] resync userId={} rows={}", userId, queued);
+        return queued;
+    }
+
+    @Transactional
+    public int purgeProcessed() {
+        return outboxRepository.purgeProcessedBefore(LocalDateTime.now().minusHours(properties.getRetentionHours()));
+    }
+
+    @Transactional(readOnly = true)
+    public SearchOutboxStatusResponse getStatus() {
+        SearchOutboxCheckpoint checkpoint = checkpointRepository.findById(RELAY_NAME).orElse(null);
+        return SearchOutboxStatusResponse.builder()
+                .pending(outboxRepository.countByProcessedAtIsNull())
+                .oldestPendingAt(outboxRepository.findOldestPendingCreatedAt())
+                .lastId(checkpoint == null ? 0L : checkpoint.getLastId())
+                .owner(checkpoint == null ? null : checkpoint.getOwner())
+                .leaseUntil(checkpoint == null ? null : checkpoint.getLeaseUntil())
+                .build();
+    }
+
+    /** base * 2^attempts, 상한 backoffMaxMs (base 가 커도 shift 가 넘치지 않도록 상한과 먼저 비교) */
+    static long backoffMs(int attempts, SearchOutboxProperties properties) {
+        int exp = Math.max(0, Math.min(attempts, 20));
+        long base = Math.max(0, properties.getBackoffBaseMs());
+        long max = properties.getBackoffMaxMs();
+        return base > (max >> exp) ? max : base << exp;
+    }
+
+    private static String truncate(String s) {
+        if (s == null) return null;
+        return s.length() <= MAX_ERROR_LENGTH ? s : s.substring(0, MAX_ERROR_LENGTH);
+    }
+}
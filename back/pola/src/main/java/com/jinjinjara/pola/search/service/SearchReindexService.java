@@ -0,0 +1,235 @@
+package com.jinjinjara.pola.search.service;
+
+import com.jinjinjara.pola.common.CustomException;
+import com.jinjinjara.pola.common.ErrorCode;
+import com.jinjinjara.pola.data.repository.FileRepository;
+import com.jinjinjara.pola.search.entity.SearchOutbox;
+import com.jinjinjara.pola.search.entity.SearchReindexJob;
+import com.jinjinjara.pola.search.entity.SearchReindexPhase;
+import com.jinjinjara.pola.search.entity.SearchReindexSlice;
+import com.jinjinjara.pola.search.entity.SearchReindexStatus;
+import com.jinjinjara.pola.search.repository.SearchOutboxRepository;
+import com.jinjinjara.pola.search.repository.SearchReindexJobRepository;
+import com.jinjinjara.pola.search.repository.SearchReindexSliceRepository;
+import com.jinjinjara.pola.search.util.SearchReindexProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * 재색인 작업 상태 관리 (등록 / 리스 / 체크포인트 / 종료)
+ * 실제 적재와 별칭 전환은 SearchReindexWorker 가 이 서비스의 메서드로 상태를 남기며 진행한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SearchReindexService {
+
+    private final SearchReindexJobRepository jobRepository;
+    private final SearchReindexSliceRepository sliceRepository;
+    private final FileRepository fileRepository;
+    private final SearchOutboxRepository outboxRepository;
+    private final OpenSearchIndexService indexService;
+    private final SearchReindexProperties properties;
+
+    private static final Set<SearchReindexStatus> ACTIVE = Set.of(SearchReindexStatus.PENDING, SearchReindexStatus.RUNNING);
+    private static final Pattern MAPPING_NAME = Pattern.compile("opensearch-mapping[\\w-]*\\.json");
+    private static final DateTimeFormatter VERSION = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+    private static final int MAX_SLICES = 32;
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    // ----------------------- 관리 -----------------------
+
+    /**
+     * 재색인 등록
+     * 파일 ID 범위 (0, maxId] 를 slices 개로 나누고, 지금의 아웃박스 위치를 따라잡기 시작점으로 기록한다.
+     * 등록 이후 생기거나 바뀐 파일은 적재가 끝난 뒤 아웃박스 따라잡기로 반영된다.
+     */
+    @Transactional
+    public SearchReindexJob start(String mapping, Integer slices) {
+        String mappingName = mapping == null || mapping.isBlank() ? properties.getMapping() : mapping;
+        if (!MAPPING_NAME.matcher(mappingName).matches() || !new ClassPathResource(mappingName).exists()) {
+            throw new CustomException(ErrorCode.INVALID_REQUEST, "unknown mapping: " + mappingName);
+        }
+        List<String> missing = missingSearchFields(mappingName);
+        if (!missing.isEmpty()) {
+            throw new CustomException(ErrorCode.INVALID_REQUEST,
+                    "mapping " + mappingName + " lacks fields used by search: " + missing);
+        }
+        if (jobRepository.existsByStatusIn(ACTIVE)) {
+            throw new CustomException(ErrorCode.SEARCH_REINDEX_IN_PROGRESS);
+        }
+        int sliceCount = Math.max(1, Math.min(MAX_SLICES, slices == null ? properties.getSlices() : slices));
+        long maxId = fileRepository.findMaxId();
+
+        SearchReindexJob job = jobRepository.save(SearchReindexJob.builder()
+                .targetIndex(properties.getAlias() + "_v" + LocalDateTime.now().format(VERSION))
+                .mapping(mappingName)
+                .sliceCount(sliceCount)
+                .totalFiles(fileRepository.count())
+                .outboxFromId(outboxRepository.findMaxId())
+                .build());
+
+        long span = Math.max(1, (maxId + sliceCount - 1) / sliceCount);
+        for (int i = 0; i < sliceCount; i++) {
+            long from = Math.min(maxId, i * span);
+            long to = i == sliceCount - 1 ? maxId : Math.min(maxId, (i + 1) * span);
+            sliceRepository.save(SearchReindexSlice.builder()
+                    .jobId(job.getId()).sliceNo(i).fromId(from).toId(to)
+                    .build());
+        }
+        log.info("[Reindex] job {} registered target={} mapping={} slices={} files={} maxId={}",
+                job.getId(), job.getTargetIndex(), mappingName, sliceCount, job.getTotalFiles(), maxId);
+        return job;
+    }
+
+    /** 실패한 작업을 체크포인트부터 다시 (단계 / 슬라이스 진행 위치 유지) */
+    @Transactional
+    public SearchReindexJob resume(Long jobId) {
+        SearchReindexJob job = getJob(jobId);
+        if (job.getStatus() != SearchReindexStatus.FAILED) {
+            throw new CustomException(ErrorCode.INVALID_REQUEST, "only FAILED jobs can be resumed: " + job.getStatus());
+        }
+        if (jobRepository.existsByStatusIn(ACTIVE)) {
+            throw new CustomException(ErrorCode.SEARCH_REINDEX_IN_PROGRESS);
+        }
+        job.setStatus(SearchReindexStatus.PENDING);
+        job.setOwner(null);
+        job.setLeaseUntil(null);
+        job.setLastError(null);
+        job.setCompletedAt(null);
+        log.info("[Reindex] job {} resumed at phase {}", jobId, job.getPhase());
+        return job;
+    }
+
+    /**
+     * 취소: 실행 중이면 워커가 다음 체크포인트에서 멈추고 인덱스를 지운다.
+     * 실행 중이 아니면 (PENDING / FAILED) 만들던 인덱스를 바로 지운다.
+     */
+    @Transactional
+    public SearchReindexJob cancel(Long jobId) {
+        SearchReindexJob job = getJob(jobId);
+        if (job.getStatus() == SearchReindexStatus.COMPLETED || job.getStatus() == SearchReindexStatus.CANCELLED) {
+            return job;
+        }
+        boolean running = job.getStatus() == SearchReindexStatus.RUNNING
+                && job.getLeaseUntil() != null && job.getLeaseUntil().isAfter(LocalDateTime.now());
+        job.setStatus(SearchReindexStatus.CANCELLED);
+        job.setCompletedAt(LocalDateTime.now());
+        if (!running) dropIndex(job.getTargetIndex());
+        log.info("[Reindex] job {} cancelled (running={})", jobId, running);
+        return job;
+    }
+
+    @Transactional(readOnly = true)
+    public Page<SearchReindexJob> getJobs(Pageable pageable) {
+        return jobRepository.findAllByOrderByIdDesc(pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public SearchReindexJob getJob(Long jobId) {
+        return jobRepository.findById(jobId)
+                .orElseThrow(() -> new CustomException(ErrorCode.SEARCH_REINDEX_NOT_FOUND));
+    }
+
+    @Transactional(readOnly = true)
+    public List<SearchReindexSlice> getSlices(Long jobId) {
+        return sliceRepository.findByJobIdOrderBySliceNoAsc(jobId);
+    }
+
+    // ----------------------- 워커 -----------------------
+
+    /** 리스가 비어 있는 실행 대상 작업을 가져온다 (없으면 empty) */
+    @Transactional
+    public Optional<SearchReindexJob> claim(String owner) {
+        Optional<SearchReindexJob> job = jobRepository.findClaimable();
+        if (job.isEmpty() || !renew(job.get().getId(), owner)) return Optional.empty();
+        return jobRepository.findById(job.get().getId());
+    }
+
+    /** 리스 연장, 취소되었거나 다른 파드가 가져갔으면 false */
+    @Transactional
+    public boolean renew(Long jobId, String owner) {
+        LocalDateTime leaseUntil = LocalDateTime.now().plusNanos(properties.getLeaseMs() * 1_000_000);
+        return jobRepository.acquireLease(jobId, owner, leaseUntil) > 0;
+    }
+
+    /** 슬라이스 페이지 하나 반영 (진행 위치 + 작업 합계) */
+    @Transactional
+    public void checkpoint(SearchReindexSlice slice, long lastId, long indexed, long failed, boolean done) {
+        sliceRepository.advance(slice.getId(), lastId, indexed, failed, done);
+        jobRepository.addProgress(slice.getJobId(), indexed, failed);
+    }
+
+    @Transactional
+    public void setPhase(Long jobId, SearchReindexPhase phase) {
+        jobRepository.findById(jobId).ifPresent(job -> job.setPhase(phase));
+    }
+
+    /** 따라잡기 진행 위치 (중단되면 여기서부터 다시) */
+    @Transactional
+    public void advanceOutbox(Long jobId, long outboxId) {
+        jobRepository.findById(jobId).ifPresent(job -> job.setOutboxFromId(Math.max(job.getOutboxFromId(), outboxId)));
+    }
+
+    @Transactional(readOnly = true)
+    public List<SearchOutbox> findOutboxAfter(long afterId, int limit) {
+        return outboxRepository.findAfter(afterId, limit);
+    }
+
+    @Transactional
+    public void complete(Long jobId) {
+        jobRepository.findById(jobId).ifPresent(job -> {
+            job.setStatus(SearchReindexStatus.COMPLETED);
+            job.setCompletedAt(LocalDateTime.now());
+            job.setLeaseUntil(null);
+        });
+    }
+
+    @Transactional
+    public void fail(Long jobId, String error) {
+        jobRepository.findById(jobId).ifPresent(job -> {
+            if (job.getStatus() != SearchReindexStatus.RUNNING) return;
+            job.setStatus(SearchReindexStatus.FAILED);
+            job.setLastError(truncate(error));
+            job.setLeaseUntil(null);
+        });
+    }
+
+    /** 별칭이 가리키지 않는 경우에만 인덱스 삭제 */
+    public void dropIndex(String index) {
+        try {
+            if (indexService.aliasTargets(properties.getAlias()).contains(index) || !indexService.exists(index)) return;
+            indexService.deleteIndex(index);
+        } catch (Exception e) {
+            log.warn("[Reindex] failed to delete index {}: {}", index, e.toString());
+        }
+    }
+
+    /** 검색 쿼리가 쓰는 서브필드 중 매핑에 없는 것 */
+    private List<String> missingSearchFields(String mapping) {
+        try {
+            return indexService.missingFields(mapping, FileSearchService.QUERY_SUBFIELDS);
+        } catch (IOException e) {
+            throw new UncheckedIOException("mapping read failed: " + mapping, e);
+        }
+    }
+
+    private static String truncate(String s) {
+        if (s == null) return null;
+        return s.length() <= MAX_ERROR_LENGTH ? s : s.substring(0, MAX_ERROR_LENGTH);
+    }
+}
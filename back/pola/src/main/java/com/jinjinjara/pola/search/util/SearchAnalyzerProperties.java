@@ -0,0 +1,31 @@
+package com.jinjinjara.pola.search.util;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+@Configuration
+@ConfigurationProperties(prefix = "search.analyzer")
+@Getter @Setter
+public class SearchAnalyzerProperties {
+
+    /** 끄면 매 검색마다 OpenSearch _analyze 로 토큰 분석 (기존 방식) */
+    private boolean local = true;
+
+    /** 분석기 정의를 읽을 매핑 리소스 (인덱스와 같은 파일이어야 토큰이 일치) */
+    private String mapping = "opensearch-mapping-edge-ngram.json";
+
+    private String analyzer = "nori_analyzer";
+
+    /** 최근 검색어 → 토큰 캐시 크기 */
+    private int cacheSize = 10000;
+
+    /** 시작 시 로컬 / 원격 분석 결과를 비교해 하나라도 다르면 원격으로 전환 */
+    private boolean verifyOnStartup = true;
+
+    private List<String> verifySamples = List.of(
+            "강아지잠옷", "립스틱", "환경설정", "로그인버튼", "제주도 여행 사진", "React개발", "API 키");
+}
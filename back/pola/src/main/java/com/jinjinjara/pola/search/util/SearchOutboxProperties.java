@@ -0,0 +1,35 @@
+package com.jinjinjara.pola.search.util;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "search.outbox")
+@Getter @Setter
+public class SearchOutboxProperties {
+
+    /** 끄면 아웃박스 행은 계속 쌓이고 릴레이만 멈춘다 (켜면 밀린 것부터 반영) */
+    private boolean enabled = true;
+
+    private long pollIntervalMs = 500;
+
+    /** _bulk 요청 하나에 담는 최대 행 수 (같은 파일은 합쳐지므로 문서 수는 이하) */
+    private int batchSize = 500;
+
+    /** 한 주기에 연속으로 보낼 최대 배치 수 (밀려 있을 때 빠르게 따라잡기) */
+    private int maxBatchesPerPoll = 20;
+
+    /** 릴레이 리더 리스 (이 시간 동안 갱신이 없으면 다른 파드가 이어받음) */
+    private long leaseMs = 30000;
+
+    private long backoffBaseMs = 1000;
+    private long backoffMaxMs = 300000;
+
+    /** 반영된 행 보존 기간 (재생 가능 범위) */
+    private long retentionHours = 72;
+
+    /** 대기 행 수 / 가장 오래된 대기 시간 지표 갱신 주기 */
+    private long lagRefreshMs = 15000;
+}
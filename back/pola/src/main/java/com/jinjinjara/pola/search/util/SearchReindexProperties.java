@@ -0,0 +1,45 @@
+package com.jinjinjara.pola.search.util;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "search.reindex")
+@Getter @Setter
+public class SearchReindexProperties {
+
+    /** 끄면 등록된 재색인 작업을 이 파드에서 실행하지 않는다 (상태 조회/등록은 가능) */
+    private boolean enabled = true;
+
+    /** 검색/색인이 바라보는 별칭 (FileSearchService 의 인덱스 이름) */
+    private String alias = "files";
+
+    /**
+     * 새 인덱스의 매핑 (classpath 리소스, 관리자 API 에서 바꿔 지정 가능)
+     * 검색 쿼리가 쓰는 edge_ngram 서브필드가 없는 매핑은 등록 시 거절한다.
+     */
+    private String mapping = "opensearch-mapping-edge-ngram.json";
+
+    /** 파일 ID 범위를 나눠 동시에 적재할 슬라이스 수 */
+    private int slices = 4;
+
+    /** 슬라이스가 한 번에 읽어 _bulk 로 보내는 파일 수 */
+    private int pageSize = 1000;
+
+    /** 페이지 bulk 요청 실패 시 재시도 횟수 (넘으면 작업 FAILED, resume 으로 이어서) */
+    private int bulkRetries = 3;
+    private long retryBackoffMs = 2000;
+
+    /** 문서 단위 실패가 이보다 많으면 별칭을 바꾸지 않고 FAILED */
+    private int maxDocFailures = 100;
+
+    /** 작업 리스 (이 시간 동안 진행이 없으면 다른 파드가 체크포인트부터 이어받음) */
+    private long leaseMs = 120000;
+
+    private long pollIntervalMs = 10000;
+
+    /** 별칭 전환 후 남겨 둘 이전 버전 인덱스 수 (롤백용) */
+    private int keepPreviousIndices = 1;
+}
@@ -1,8 +0,0 @@
-package com.jinjinjara.pola.vision.dto.common;
-
-import lombok.Value;
-
-@Value
-public class CategoryChangedEvent {
-    Long userId;
-}
\ No newline at end of file
@@ -0,0 +1,47 @@
+package com.jinjinjara.pola.vision.dto.common;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * 카테고리-태그 변경분 이벤트 (커밋 후 센트로이드에 증분 반영)
+ */
+@Value
+public class CentroidDeltaEvent {
+    Long userId;
+    List<CategoryDelta> deltas;
+
+    public static CentroidDeltaEvent of(Long userId, List<CategoryDelta> deltas) {
+        return new CentroidDeltaEvent(userId, deltas);
+    }
+
+    public static CentroidDeltaEvent of(Long userId, CategoryDelta delta) {
+        return new CentroidDeltaEvent(userId, List.of(delta));
+    }
+
+    @Value
+    public static class CategoryDelta {
+        String categoryName;
+        List<String> addedTags;
+        List<String> removedTags;
+        boolean deleted;        // 카테고리 자체 삭제
+        String renamedTo;       // 카테고리 이름 변경 (센트로이드 키 이동)
+
+        public static CategoryDelta added(String categoryName, List<String> tags) {
+            return new CategoryDelta(categoryName, tags, List.of(), false, null);
+        }
+
+        public static CategoryDelta removed(String categoryName, List<String> tags) {
+            return new CategoryDelta(categoryName, List.of(), tags, false, null);
+        }
+
+        public static CategoryDelta deleted(String categoryName) {
+            return new CategoryDelta(categoryName, List.of(), List.of(), true, null);
+        }
+
+        public static CategoryDelta renamed(String categoryName, String newName) {
+            return new CategoryDelta(categoryName, List.of(), List.of(), false, newName);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.jinjinjara.pola.vision.dto.common;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 사용자별 카테고리 센트로이드 상태
+ * 평균 대신 (합, 개수)를 들고 있어 태그 하나 추가/제거가 O(d) 로 끝난다.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class CentroidState {
+
+    private long version;
+    private String builtAt;
+    private Map<String, CategorySum> categories = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    public static class CategorySum {
+        private int count;
+        private double[] sum;   // 누적 오차를 줄이기 위해 double 로 보관
+    }
+
+    public void add(String category, float[] v) {
+        CategorySum cs = categories.computeIfAbsent(category, k -> new CategorySum());
+        if (cs.sum == null) cs.sum = new double[v.length];
+        for (int i = 0; i < v.length; i++) cs.sum[i] += v[i];
+        cs.count++;
+    }
+
+    public void subtract(String category, float[] v) {
+        CategorySum cs = categories.get(category);
+        if (cs == null || cs.sum == null) return;
+        if (cs.count <= 1) {
+            categories.remove(category);  // 마지막 태그가 빠지면 센트로이드 없음
+            return;
+        }
+        for (int i = 0; i < v.length; i++) cs.sum[i] -= v[i];
+        cs.count--;
+    }
+
+    public void remove(String category) {
+        categories.remove(category);
+    }
+
+    public void rename(String from, String to) {
+        CategorySum cs = categories.remove(from);
+        if (cs != null) categories.put(to, cs);
+    }
+
+    /** 카테고리명 → 평균 벡터 */
+    public Map<String, float[]> toCentroids() {
+        Map<String, float[]> out = new LinkedHashMap<>();
+        for (var e : categories.entrySet()) {
+            CategorySum cs = e.getValue();
+            if (cs.count <= 0 || cs.sum == null) continue;
+            float[] m = new float[cs.sum.length];
+            for (int i = 0; i < m.length; i++) m[i] = (float) (cs.sum[i] / cs.count);
+            out.put(e.getKey(), m);
+        }
+        return out;
+    }
+}
@@ -0,0 +1,62 @@
+package com.jinjinjara.pola.vision.dto.common;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
+import com.jinjinjara.pola.vision.util.AIUtil;
+import lombok.Getter;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * 후처리 1회 동안 한 번만 내려받은 S3 객체
+ * - 바이트는 불변 ByteString 으로 감싸 OCR / Vertex 분석이 복사 없이 공유
+ * - MIME 은 생성 시 한 번만 스니핑
+ */
+@Getter
+public final class FetchedObject {
+
+    private final String key;
+    private final ByteString content;
+    private final String mime;
+
+    private FetchedObject(String key, ByteString content, String mime) {
+        this.key = key;
+        this.content = content;
+        this.mime = mime;
+    }
+
+    /** 호출 측은 data 를 이후에 수정하지 않아야 한다 (복사 없이 감쌈) */
+    public static FetchedObject of(String key, byte[] data) {
+        return new FetchedObject(key, UnsafeByteOperations.unsafeWrap(data), AIUtil.sniffMime(data));
+    }
+
+    public boolean isImage() {
+        return mime.startsWith("image/");
+    }
+
+    public int size() {
+        return content.size();
+    }
+
+    public ByteBuffer asReadOnlyBuffer() {
+        return content.asReadOnlyByteBuffer();
+    }
+
+    public String asUtf8Text() {
+        return content.toStringUtf8();
+    }
+
+    /** 내용 기반 키 (SHA-256 hex) */
+    public String sha256Hex() {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            md.update(content.asReadOnlyByteBuffer());
+            return HexFormat.of().formatHex(md.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.jinjinjara.pola.vision.dto.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/** 단일 호출 분석 결과 (Gemini 가 OCR 텍스트 + 태그 + 설명을 한 번에 반환) */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class VertexOcrParsedResult {
+    String ocrText;
+    VertexParsedResult parsed;
+}
@@ -0,0 +1,54 @@
+package com.jinjinjara.pola.vision.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+/**
+ * 내용 해시 기반 분석 결과 캐시 (사용자 무관)
+ * 같은 바이트 + 같은 모델/프롬프트 버전이면 OCR / Vertex / 임베딩 결과를 그대로 재사용
+ * 키 종류는 접두사로 구분한다: 접두사 없음 = SHA-256 hex, "md5:" = URI 모드 이미지의 단일 파트 S3 ETag (UriFetchRules)
+ */
+@Entity
+@Table(name = "content_analysis_cache",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_content_analysis_cache_hash_version",
+                columnNames = {"content_hash", "analysis_version"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ContentAnalysisCache {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "content_hash", nullable = false, length = 64)
+    private String contentHash; // SHA-256 hex 또는 "md5:" + ETag
+
+    @Column(name = "analysis_version", nullable = false, length = 255)
+    private String analysisVersion; // 모델/프롬프트 버전 조합
+
+    @Column(name = "ocr_text", columnDefinition = "text")
+    private String ocrText;
+
+    @Column(name = "tags", columnDefinition = "text")
+    private String tags; // JSON 배열 문자열
+
+    @Column(name = "description", columnDefinition = "text")
+    private String description;
+
+    @JdbcTypeCode(SqlTypes.VECTOR)
+    @Column(name = "embedding", columnDefinition = "vector(768)")
+    private float[] embedding;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,44 @@
+package com.jinjinjara.pola.vision.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+/**
+ * 태그 문자열 → 임베딩 벡터 (전역, 사용자 무관)
+ * 태그는 한 번만 임베딩하고 분류/센트로이드 계산에서 재사용한다.
+ */
+@Entity
+@Table(name = "tag_embeddings",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_tag_embeddings_model_tag",
+                columnNames = {"model", "tag_text"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TagEmbedding {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "tag_text", nullable = false, length = 255)
+    private String tagText; // 정규화된 태그
+
+    @Column(name = "model", nullable = false, length = 100)
+    private String model;
+
+    @JdbcTypeCode(SqlTypes.VECTOR)
+    @Column(name = "embedding", nullable = false, columnDefinition = "vector(768)")
+    private float[] embedding;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,13 @@
+package com.jinjinjara.pola.vision.repository;
+
+import com.jinjinjara.pola.vision.entity.ContentAnalysisCache;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ContentAnalysisCacheRepository extends JpaRepository<ContentAnalysisCache, Long> {
+
+    Optional<ContentAnalysisCache> findByContentHashAndAnalysisVersion(String contentHash, String analysisVersion);
+}
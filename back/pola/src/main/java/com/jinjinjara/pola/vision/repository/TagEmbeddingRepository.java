@@ -0,0 +1,14 @@
+package com.jinjinjara.pola.vision.repository;
+
+import com.jinjinjara.pola.vision.entity.TagEmbedding;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TagEmbeddingRepository extends JpaRepository<TagEmbedding, Long> {
+
+    List<TagEmbedding> findByModelAndTagTextIn(String model, Collection<String> tagTexts);
+}
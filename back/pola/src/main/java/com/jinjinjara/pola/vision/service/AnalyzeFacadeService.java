@@ -1,6 +1,5 @@
 package com.jinjinjara.pola.vision.service;
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jinjinjara.pola.data.dto.response.CategoryIdResponse;
@@ -10,16 +9,18 @@ import com.jinjinjara.pola.data.service.CategoryService;
 import com.jinjinjara.pola.data.service.CategoryTagService;
 import com.jinjinjara.pola.user.entity.Users;
 import com.jinjinjara.pola.vision.dto.common.Result;
+import com.jinjinjara.pola.vision.dto.common.FetchedObject;
+import com.jinjinjara.pola.vision.dto.common.VertexOcrParsedResult;
 import com.jinjinjara.pola.vision.dto.common.VertexParsedResult;
 import com.jinjinjara.pola.vision.dto.response.AnalyzeResponse;
 import com.jinjinjara.pola.vision.dto.response.AnalyzeTestResponse;
+import com.jinjinjara.pola.vision.util.VertexResponseParser;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StopWatch;
 
 
-import java.time.Instant;
 import java.util.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -32,34 +33,84 @@ import java.util.stream.Collectors;
 public class AnalyzeFacadeService {
 
     private final VertexService vertexService;
-    private final CategoryEmbeddingService categoryEmbeddingService;
+    private final CentroidIndexService centroidIndexService;
     private final EmbeddingCacheService embeddingCacheService;
     private final CategoryTagService categoryTagService;
     private final CategoryService categoryService;
     private final ClassifierService classifierService;
+    private final VertexResponseParser responseParser;
 
     private final ObjectMapper om = new ObjectMapper();
 
     public AnalyzeResponse analyze(Long userId, String s3Url) throws Exception {
+        VertexParsedResult parsed = extractTags(s3Url);
+        if (parsed.getTags().isEmpty()) {
+            log.warn("[Analyze] No tags extracted. url={}", s3Url);
+        }
+        return classify(userId, parsed);
+    }
 
-        StopWatch sw = new StopWatch("analyze");
-
-        // (1) Vertex
-        sw.start("Vertex");
+    /** (1) Vertex 호출 → 태그/설명 추출 (후처리 파이프라인 ANALYZE 단계) */
+    public VertexParsedResult extractTags(String s3Url) throws Exception {
+        long t0 = System.currentTimeMillis();
         String vertexBody = vertexService.analyzeImageFromUrl(s3Url);
-        var parsed = parseVertexJson(vertexBody);
+        VertexParsedResult parsed = parseVertexJson(vertexBody);
+        log.debug("[Analyze] Parsed from Vertex -> tags({}): {}, descLen={}, elapsed={} ms",
+                parsed.getTags().size(), parsed.getTags(), parsed.getDescription().length(),
+                System.currentTimeMillis() - t0);
+        return parsed;
+    }
+
+    /** (1) FETCH 단계에서 받아 둔 객체로 Vertex 호출 (재다운로드 없음) */
+    public VertexParsedResult extractTags(FetchedObject obj) {
+        long t0 = System.currentTimeMillis();
+        String vertexBody = vertexService.analyze(obj);
+        VertexParsedResult parsed = parseVertexJson(vertexBody, OP_TAGS);
+        log.debug("[Analyze] Parsed from Vertex -> tags({}): {}, descLen={}, elapsed={} ms",
+                parsed.getTags().size(), parsed.getTags(), parsed.getDescription().length(),
+                System.currentTimeMillis() - t0);
+        return parsed;
+    }
+
+    /** (1) 제공자가 URI 로 직접 읽는 Vertex 호출 (파드 경유 전송 없음) */
+    public VertexParsedResult extractTagsFromUri(String fileUri, String mime) {
+        long t0 = System.currentTimeMillis();
+        String vertexBody = vertexService.analyzeImageUri(fileUri, mime);
+        VertexParsedResult parsed = parseVertexJson(vertexBody, OP_TAGS);
+        log.debug("[Analyze] Parsed from Vertex(uri) -> tags({}): {}, descLen={}, elapsed={} ms",
+                parsed.getTags().size(), parsed.getTags(), parsed.getDescription().length(),
+                System.currentTimeMillis() - t0);
+        return parsed;
+    }
+
+    /** (1') 단일 호출 분석: OCR 텍스트 + 태그/설명을 Gemini 한 번으로 */
+    public VertexOcrParsedResult extractOcrAndTags(FetchedObject obj) {
+        return parseVertexOcrJson(vertexService.analyzeImageWithOcr(obj));
+    }
+
+    public VertexOcrParsedResult extractOcrAndTagsFromUri(String fileUri, String mime) {
+        return parseVertexOcrJson(vertexService.analyzeImageWithOcrUri(fileUri, mime));
+    }
+
+    /** (1'') 배치 재분석: 이미지 여러 장을 Gemini 호출 하나로. 결과가 빠진 항목은 null */
+    public List<VertexParsedResult> extractTagsBatchFromUris(List<String> fileUris, List<String> mimes) {
+        return parseVertexBatchJson(vertexService.analyzeImagesBatch(fileUris, mimes), fileUris.size());
+    }
+
+    /** (1'') 배치 재분석: 텍스트 여러 건을 Gemini 호출 하나로. 결과가 빠진 항목은 null */
+    public List<VertexParsedResult> extractTagsBatchFromTexts(List<String> texts) {
+        return parseVertexBatchJson(vertexService.generateTagsFromTexts(texts), texts.size());
+    }
+
+    /** (2)~(5) 센트로이드 기반 카테고리 분류 (후처리 파이프라인 TAG 단계) */
+    public AnalyzeResponse classify(Long userId, VertexParsedResult parsed) {
+
+        StopWatch sw = new StopWatch("classify");
+
         List<String> inputTags = parsed.getTags();
         String description = parsed.getDescription();
-        log.debug("[Analyze] Parsed from Vertex -> tags({}): {}, descLen={}",
-                inputTags.size(), inputTags, description.length());
-        sw.stop();
 
         if (inputTags.isEmpty()) {
-            log.warn("[Analyze] No tags extracted. url={}", s3Url);
-
-            log.info(sw.prettyPrint());
-            log.info("[Analyze] total={} ms", sw.getTotalTimeMillis());
-
             return AnalyzeResponse.builder()
                     .categoryId(null).categoryName(null)
                     .tags(List.of()).description(description)
@@ -187,44 +238,7 @@ public class AnalyzeFacadeService {
 
     /** 캐시에서 센트로이드 로드. 없으면 계산 후 저장(meta 포함). */
     private Map<String, float[]> loadCentroidsOrBuild(Long userId) {
-        // 1) 캐시 로드
-        var cached = embeddingCacheService.loadCentroidsJson(userId);
-        if (cached.isPresent()) {
-            try {
-                Map<String, float[]> m = om.readValue(
-                        cached.get(),
-                        new TypeReference<Map<String, float[]>>() {}
-                );
-                if (m != null && !m.isEmpty()) {
-                    return m;
-                }
-            } catch (Exception e) {
-                log.warn("[Analyze] Failed to parse cached centroids. user={}", userId, e);
-                // 캐시 파싱 실패 시 무시하고 재계산
-            }
-        }
-
-        // 2) 미존재 or 파싱 실패 → 계산
-        Map<String, float[]> centroids = categoryEmbeddingService.computeCategoryCentroids(userId);
-        if (centroids.isEmpty()) {
-            return Collections.emptyMap();
-        }
-
-        // 3) 저장
-        try {
-            String json = om.writeValueAsString(centroids);
-            embeddingCacheService.saveCentroidsJson(userId, json);
-
-            // meta 저장(옵션)
-            Map<String, Object> meta = new HashMap<>();
-            meta.put("builtAt", Instant.now().toString());
-            meta.put("categoryCount", centroids.size());
-            embeddingCacheService.saveMetaJson(userId, om.writeValueAsString(meta));
-        } catch (Exception e) {
-            log.warn("[Analyze] Failed to cache centroids. user={}", userId, e);
-        }
-
-        return centroids;
+        return centroidIndexService.loadCentroids(userId);
     }
 
     /** DB에서 사용자 카테고리 → 태그 목록을 불러와 evidence 맵 생성 */
@@ -407,6 +421,26 @@ public class AnalyzeFacadeService {
 
     // ③ parseVertexJson 안에서 스니펫 로그 + fence 처리 전진 배치
     private VertexParsedResult parseVertexJson(String body) {
+        return parseVertexJson(body, OP_TAGS);
+    }
+
+    /**
+     * 구조화 출력(responseSchema)이면 스트리밍 파서로 한 번에 디코딩하고,
+     * 스키마를 따르지 않은 응답(레거시 프롬프트 등)만 아래의 관대한 파서로 처리한다.
+     */
+    private VertexParsedResult parseVertexJson(String body, String op) {
+        long t0 = System.nanoTime();
+        VertexOcrParsedResult structured = responseParser.readStructured(responseParser.firstText(body, op));
+        if (structured != null) {
+            responseParser.record("structured", true, t0);
+            return structured.getParsed();
+        }
+        VertexParsedResult lenient = parseVertexJsonLenient(body);
+        responseParser.record("lenient", !lenient.getTags().isEmpty() || !lenient.getDescription().isEmpty(), t0);
+        return lenient;
+    }
+
+    private VertexParsedResult parseVertexJsonLenient(String body) {
         try {
             // 원문 스니펫 로그
             String snippet = body == null ? "null" : body.substring(0, Math.min(300, body.length()));
@@ -432,4 +466,62 @@ public class AnalyzeFacadeService {
         }
     }
 
+    // ④ 단일 호출 분석 응답: { "ocr_text", "tags", "description" }
+    // 배치는 구조화 출력만 지원 (항목 구분을 스키마의 index 에 의존)
+    private List<VertexParsedResult> parseVertexBatchJson(String body, int size) {
+        long t0 = System.nanoTime();
+        List<VertexParsedResult> parsed = responseParser.readStructuredBatch(responseParser.firstText(body, OP_TAGS_BATCH), size);
+        responseParser.record("batch", parsed != null, t0);
+        if (parsed == null) {
+            throw new IllegalStateException("Unparseable batch response: "
+                    + (body == null ? "null" : body.substring(0, Math.min(300, body.length()))));
+        }
+        return parsed;
+    }
+
+    private static final String OP_TAGS = "tags";
+    private static final String OP_OCR_TAGS = "ocr_tags";
+    private static final String OP_TAGS_BATCH = "tags_batch";
+
+    private VertexOcrParsedResult parseVertexOcrJson(String body) {
+        long t0 = System.nanoTime();
+        VertexOcrParsedResult structured = responseParser.readStructured(responseParser.firstText(body, OP_OCR_TAGS));
+        if (structured != null) {
+            responseParser.record("structured", true, t0);
+            return structured;
+        }
+        VertexOcrParsedResult lenient = parseVertexOcrJsonLenient(body);
+        responseParser.record("lenient", !lenient.getParsed().getTags().isEmpty() || !lenient.getOcrText().isEmpty(), t0);
+        return lenient;
+    }
+
+    private VertexOcrParsedResult parseVertexOcrJsonLenient(String body) {
+        try {
+            JsonNode root = om.readTree(body);
+
+            String text = body;
+            JsonNode parts = root.path("candidates").path(0).path("content").path("parts");
+            for (JsonNode p : parts) {
+                JsonNode t = p.get("text");
+                if (t != null && t.isTextual()) {
+                    text = t.asText();
+                    break;
+                }
+            }
+
+            String raw = stripCodeFence(text);
+            int li = raw == null ? -1 : raw.indexOf('{');
+            int ri = raw == null ? -1 : raw.lastIndexOf('}');
+            if (li >= 0 && ri > li) {
+                JsonNode node = om.readTree(raw.substring(li, ri + 1));
+                String ocr = node.path("ocr_text").asText("").trim();
+                return new VertexOcrParsedResult(ocr, safeParseVertexObject(raw.substring(li, ri + 1)));
+            }
+            log.warn("[Analyze] Non-JSON single-call vertex text: {}", raw);
+        } catch (Exception e) {
+            log.warn("[Analyze] Failed to parse single-call Vertex response: {}", e.getMessage());
+        }
+        return new VertexOcrParsedResult("", new VertexParsedResult(List.of(), ""));
+    }
+
 }
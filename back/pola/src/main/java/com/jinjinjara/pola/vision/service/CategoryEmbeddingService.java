@@ -4,11 +4,11 @@ import com.jinjinjara.pola.data.dto.response.CategoryWithTagsResponse;
 import com.jinjinjara.pola.data.dto.response.TagResponse;
 import com.jinjinjara.pola.data.service.CategoryTagService;
 import com.jinjinjara.pola.user.entity.Users;
+import com.jinjinjara.pola.vision.dto.common.CentroidState;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -16,15 +16,25 @@ public class CategoryEmbeddingService {
 
     private static final int MAX_UNIQUE_TAGS = 2000; // 안전 상한 (필요시 조정)
     private final CategoryTagService categoryTagService;
-    private final EmbeddingService embeddingService;
+    private final TagEmbeddingStore tagEmbeddingStore;
 
 
     public Map<String, float[]> computeCategoryCentroids(Long userId) {
+        return computeCategoryState(userId).toCentroids();
+    }
+
+    /**
+     * 카테고리별 태그 벡터 합/개수 계산 (증분 갱신의 기준 상태)
+     * 버전/생성 시각은 호출 측에서 채운다.
+     */
+    public CentroidState computeCategoryState(Long userId) {
+        CentroidState state = new CentroidState();
+
         // 1) 유저 카테고리/태그 조회
         Users user = Users.builder().id(userId).build();
         List<CategoryWithTagsResponse> categories = categoryTagService.getUserCategoriesWithTags(user);
         if (categories == null || categories.isEmpty()) {
-            return Collections.emptyMap();
+            return state;
         }
 
         // 2) 전체 고유 태그 수집 (순서 보존)
@@ -40,7 +50,7 @@ public class CategoryEmbeddingService {
             }
         }
         if (uniqueTags.isEmpty()) {
-            return Collections.emptyMap();
+            return state;
         }
 
         // 상한 적용 (너무 클 경우 앞에서부터 자른다)
@@ -49,27 +59,26 @@ public class CategoryEmbeddingService {
             tagList = tagList.subList(0, MAX_UNIQUE_TAGS);
         }
 
-        // 3) 배치 임베딩
-        List<float[]> vectors = embeddingService.embedTexts(tagList);
-        if (vectors == null || vectors.isEmpty()) {
-            return Collections.emptyMap();
+        // 3) 태그 임베딩 조회 (저장소에 없는 태그만 임베딩 API 호출, 대부분 메모리/DB 에서 해결)
+        Map<String, float[]> stored = tagEmbeddingStore.getAll(tagList);
+        if (stored.isEmpty()) {
+            return state;
         }
         // 태그명 -> 임베딩 벡터 맵
         Map<String, float[]> tagVec = new HashMap<>(tagList.size());
-        for (int i = 0; i < tagList.size(); i++) {
-            float[] v = vectors.get(i);
+        for (String tag : tagList) {
+            float[] v = stored.get(TagEmbeddingStore.normalize(tag));
             if (v != null && v.length > 0) {
-                tagVec.put(tagList.get(i), v);
+                tagVec.put(tag, v);
             }
         }
 
-        // 4) 카테고리별 평균(centroid) 계산
-        Map<String, float[]> centroids = new LinkedHashMap<>();
+        // 4) 카테고리별 합/개수 누적 (평균은 CentroidState.toCentroids 에서)
         for (CategoryWithTagsResponse c : categories) {
             String categoryName = c.getCategoryName();
             if (categoryName == null || categoryName.isBlank()) continue;
 
-            List<float[]> vs = (c.getTags() == null ? List.<TagResponse>of() : c.getTags())
+            (c.getTags() == null ? List.<TagResponse>of() : c.getTags())
                     .stream()
                     .map(TagResponse::getTagName)
                     .filter(Objects::nonNull)
@@ -77,26 +86,10 @@ public class CategoryEmbeddingService {
                     .filter(s -> !s.isEmpty())
                     .map(tagVec::get)
                     .filter(Objects::nonNull)
-                    .collect(Collectors.toList());
-
-            if (!vs.isEmpty()) {
-                centroids.put(categoryName, mean(vs));
-            }
+                    .forEach(v -> state.add(categoryName, v));
             // 태그 임베딩이 하나도 없으면 해당 카테고리는 건너뜀
         }
 
-        return centroids;
-    }
-
-    // ---- helpers ----
-
-    private static float[] mean(List<float[]> vs) {
-        int d = vs.get(0).length;
-        float[] m = new float[d];
-        for (float[] v : vs) {
-            for (int i = 0; i < d; i++) m[i] += v[i];
-        }
-        for (int i = 0; i < d; i++) m[i] /= vs.size();
-        return m;
+        return state;
     }
 }
@@ -0,0 +1,219 @@
+package com.jinjinjara.pola.vision.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jinjinjara.pola.vision.dto.common.CentroidDeltaEvent;
+import com.jinjinjara.pola.vision.dto.common.CentroidState;
+import com.jinjinjara.pola.vision.util.CentroidCodec;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * 사용자별 카테고리 센트로이드 관리
+ *
+ * - 상태는 카테고리별 (벡터 합, 태그 수) + 버전으로 Redis 에 보관
+ * - 태그 추가/제거는 해당 카테고리의 합만 O(d) 로 갱신하고 버전 CAS 로 원자적으로 게시
+ * - 상태가 없을 때만 전체 계산 (태그 벡터는 TagEmbeddingStore 에서 재사용)
+ * - Redis 에는 CentroidCodec 바이너리로 저장, 파드마다 버전으로 검증하는 near-cache 를 둔다
+ *   (평상시 분류 1회 비용 = 버전 키 GET 1회)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CentroidIndexService {
+
+    private static final int MAX_CAS_RETRIES = 3;
+
+    private final EmbeddingCacheService embeddingCacheService;
+    private final CategoryEmbeddingService categoryEmbeddingService;
+    private final TagEmbeddingStore tagEmbeddingStore;
+
+    private final MeterRegistry meterRegistry;
+
+    private final ObjectMapper om = new ObjectMapper();
+
+    @Value("${embedding.centroid-near-cache.max-entries:500}")
+    private int nearCacheMaxEntries;
+
+    /** 파드 로컬 캐시: 사용자 → (버전, 상태, 평균 벡터) */
+    private record Near(long version, CentroidState state, Map<String, float[]> centroids) {}
+
+    private Map<Long, Near> nearCache;
+    private Counter nearHits;
+    private Counter redisHits;
+    private Counter rebuilds;
+
+    @PostConstruct
+    void init() {
+        nearCache = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Near> eldest) {
+                return size() > nearCacheMaxEntries;
+            }
+        });
+        nearHits = meterRegistry.counter("pola.centroid.cache", "result", "near");
+        redisHits = meterRegistry.counter("pola.centroid.cache", "result", "redis");
+        rebuilds = meterRegistry.counter("pola.centroid.cache", "result", "rebuild");
+    }
+
+    /** 분류용 센트로이드 (카테고리명 → 평균 벡터). 없으면 계산 후 저장 */
+    public Map<String, float[]> loadCentroids(Long userId) {
+        Optional<Long> version = embeddingCacheService.loadStateVersion(userId);
+        if (version.isPresent()) {
+            Near near = nearCache.get(userId);
+            if (near != null && near.version() == version.get()) {
+                nearHits.increment();
+                return near.centroids();
+            }
+            // 버전 키와 같은 버전의 상태만 사용 (무효화 직전에 끼어든 옛 상태 방지)
+            Optional<CentroidState> cached = loadState(userId)
+                    .filter(s -> s.getVersion() == version.get());
+            if (cached.isPresent()) {
+                redisHits.increment();
+                return remember(userId, cached.get()).centroids();
+            }
+        }
+        rebuilds.increment();
+        return rebuild(userId).toCentroids();
+    }
+
+    /** 전체 재계산 후 게시 */
+    public CentroidState rebuild(Long userId) {
+        // 버전은 버전 키 기준 (상태 형식이 바뀌어 디코딩이 안 되는 경우에도 CAS 가 맞도록)
+        // DB 를 읽기 전에 잡아 두어, 계산 중에 커밋된 변경분의 무효화가 있으면 게시가 실패하게 한다
+        long current = embeddingCacheService.loadStateVersion(userId).orElse(0L);
+        CentroidState state = categoryEmbeddingService.computeCategoryState(userId);
+        if (state.getCategories().isEmpty()) {
+            return state;
+        }
+
+        state.setVersion(current + 1);
+        state.setBuiltAt(Instant.now().toString());
+        if (publish(userId, current, state)) {
+            saveMeta(userId, state);
+        }
+        return state;
+    }
+
+    /**
+     * 변경분 반영
+     * 상태가 없으면 무효화(버전 증가)만 한다. 커밋 전 DB 를 읽은 진행 중 rebuild 가
+     * 이 변경분이 빠진 센트로이드를 게시하지 못하도록 CAS 를 어긋나게 한다 (다음 분류 때 전체 계산).
+     * CAS 경합이 계속되면 무효화로 되돌린다.
+     */
+    public void applyDelta(CentroidDeltaEvent event) {
+        Long userId = event.getUserId();
+
+        // 태그 벡터는 한 번만 조회 (대부분 메모리/DB 적중)
+        Set<String> tags = new LinkedHashSet<>();
+        for (var d : event.getDeltas()) {
+            tags.addAll(d.getAddedTags());
+            tags.addAll(d.getRemovedTags());
+        }
+        Map<String, float[]> vectors = tags.isEmpty() ? Map.of() : tagEmbeddingStore.getAll(tags);
+
+        for (int attempt = 1; attempt <= MAX_CAS_RETRIES; attempt++) {
+            Optional<CentroidState> loaded = loadState(userId);
+            if (loaded.isEmpty()) {
+                log.debug("[Centroid] no state yet, invalidating instead of delta. user={}", userId);
+                invalidate(userId);
+                return;
+            }
+
+            CentroidState state = loaded.get();
+            long expected = state.getVersion();
+            apply(state, event, vectors);
+            state.setVersion(expected + 1);
+
+            if (publish(userId, expected, state)) {
+                log.info("[Centroid] delta applied user={} version={} categories={}",
+                        userId, state.getVersion(), event.getDeltas().size());
+                return;
+            }
+            log.debug("[Centroid] CAS conflict user={} attempt={}", userId, attempt);
+        }
+
+        log.warn("[Centroid] delta CAS failed, invalidating. user={}", userId);
+        invalidate(userId);
+    }
+
+    /** Redis 상태 무효화 (버전 증가 → 다른 파드의 near-cache 도 다음 조회에서 버려짐) + 이 파드의 near-cache 제거 */
+    public void invalidate(Long userId) {
+        nearCache.remove(userId);
+        embeddingCacheService.invalidate(userId);
+    }
+
+    // ----------------------- helpers -----------------------
+
+    private static void apply(CentroidState state, CentroidDeltaEvent event, Map<String, float[]> vectors) {
+        for (var d : event.getDeltas()) {
+            String category = d.getCategoryName();
+            if (d.isDeleted()) {
+                state.remove(category);
+                continue;
+            }
+            if (d.getRenamedTo() != null) {
+                state.rename(category, d.getRenamedTo());
+                continue;
+            }
+            for (String t : d.getAddedTags()) {
+                float[] v = vectors.get(TagEmbeddingStore.normalize(t));
+                if (v != null) state.add(category, v);
+            }
+            for (String t : d.getRemovedTags()) {
+                float[] v = vectors.get(TagEmbeddingStore.normalize(t));
+                if (v != null) state.subtract(category, v);
+            }
+        }
+    }
+
+    private Optional<CentroidState> loadState(Long userId) {
+        return embeddingCacheService.loadStateBytes(userId).flatMap(bytes -> {
+            try {
+                CentroidState state = CentroidCodec.decode(bytes);
+                if (state == null) log.warn("[Centroid] Unknown cached state format. user={}", userId);
+                return Optional.ofNullable(state);
+            } catch (Exception e) {
+                log.warn("[Centroid] Failed to decode cached state. user={}", userId, e);
+                return Optional.empty();
+            }
+        });
+    }
+
+    private Near remember(Long userId, CentroidState state) {
+        Near near = new Near(state.getVersion(), state, state.toCentroids());
+        nearCache.put(userId, near);
+        return near;
+    }
+
+    private boolean publish(Long userId, long expectedVersion, CentroidState state) {
+        try {
+            boolean saved = embeddingCacheService.compareAndSaveState(
+                    userId, expectedVersion, state.getVersion(), CentroidCodec.encode(state));
+            if (saved) remember(userId, state);
+            return saved;
+        } catch (Exception e) {
+            log.warn("[Centroid] Failed to cache state. user={}", userId, e);
+            return false;
+        }
+    }
+
+    private void saveMeta(Long userId, CentroidState state) {
+        try {
+            Map<String, Object> meta = new HashMap<>();
+            meta.put("builtAt", state.getBuiltAt());
+            meta.put("categoryCount", state.getCategories().size());
+            meta.put("version", state.getVersion());
+            embeddingCacheService.saveMetaJson(userId, om.writeValueAsString(meta));
+        } catch (Exception e) {
+            log.warn("[Centroid] Failed to save meta. user={}", userId, e);
+        }
+    }
+}
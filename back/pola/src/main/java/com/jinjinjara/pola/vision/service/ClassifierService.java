@@ -19,7 +19,7 @@ import java.util.stream.Collectors;
 @Service
 public class ClassifierService {
 
-    private final EmbeddingService embedding;
+    private final TagEmbeddingStore tagEmbeddings;
     private final ResourceLoader resourceLoader;
     private final ObjectMapper yaml = new ObjectMapper(new YAMLFactory());
 
@@ -47,8 +47,8 @@ public class ClassifierService {
     private Map<String,String> SYNONYM = Map.of();
     private Set<String> GENERIC = Set.of();
 
-    public ClassifierService(EmbeddingService embedding, ResourceLoader rl) {
-        this.embedding = embedding;
+    public ClassifierService(TagEmbeddingStore tagEmbeddings, ResourceLoader rl) {
+        this.tagEmbeddings = tagEmbeddings;
         this.resourceLoader = rl;
     }
 
@@ -115,13 +115,25 @@ public class ClassifierService {
             }
         }
 
-        // 2) 입력 태그 임베딩 + 가중치
+        // 2) 입력 태그 임베딩 + 가중치 (태그 저장소에 없는 것만 임베딩 API 호출)
+        List<float[]> found = tagEmbeddings.embedAll(canonInputs);
+        List<String> embeddedInputs = new ArrayList<>(canonInputs.size());
+        List<float[]> inputVecs = new ArrayList<>(canonInputs.size());
+        for (int i = 0; i < canonInputs.size(); i++) {
+            if (found.get(i) == null) continue;
+            embeddedInputs.add(canonInputs.get(i));
+            inputVecs.add(found.get(i));
+        }
+        if (inputVecs.isEmpty()) {
+            return new Result(List.of(), null, List.of());
+        }
+        canonInputs = embeddedInputs;
+
         double[] weights = new double[canonInputs.size()];
         for (int i = 0; i < canonInputs.size(); i++) {
             String t = canonInputs.get(i);
             weights[i] = GENERIC.contains(t) ? genericDown : 1.0;
         }
-        List<float[]> inputVecs = embedding.embedTexts(canonInputs);
         float[] q = weightedMean(inputVecs, weights);
 
         // 3) 근거 태그 임베딩(전체 카테고리 태그를 한 번에 배치 임베딩)
@@ -0,0 +1,112 @@
+package com.jinjinjara.pola.vision.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jinjinjara.pola.vision.dto.common.VertexParsedResult;
+import com.jinjinjara.pola.vision.entity.ContentAnalysisCache;
+import com.jinjinjara.pola.vision.repository.ContentAnalysisCacheRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 내용 키(SHA-256 / URI 모드는 "md5:" + ETag) 기반 분석 결과 저장소
+ *
+ * - 키: content_hash + analysis_version (Vertex 모델 / 임베딩 모델 / 프롬프트 버전)
+ * - 값: OCR 텍스트, 태그/설명, 임베딩 벡터
+ * - 같은 이미지를 여러 번 저장해도 외부 AI 호출은 처음 한 번만 발생
+ * 프롬프트나 모델을 바꾸면 analysis.cache.prompt-version 을 올려 기존 결과를 자연스럽게 무시한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ContentAnalysisCacheService {
+
+    private final ContentAnalysisCacheRepository repository;
+    private final MeterRegistry meterRegistry;
+
+    private final ObjectMapper om = new ObjectMapper();
+
+    @Value("${analysis.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${analysis.cache.prompt-version:1}")
+    private String promptVersion;
+
+    @Value("${vertex.model.vision:gemini-2.5-flash-lite}")
+    private String visionModel;
+
+    @Value("${vertex.model.text:gemini-2.5-flash-lite}")
+    private String textModel;
+
+    private static final String EMBEDDING_MODEL = "text-multilingual-embedding-002";
+
+    private String version;
+    private Counter hits;
+    private Counter misses;
+
+    /** 캐시 적중 결과 */
+    public record Cached(String ocrText, VertexParsedResult parsed, float[] embedding) {}
+
+    @PostConstruct
+    void init() {
+        version = String.join("|", visionModel, textModel, EMBEDDING_MODEL, "p" + promptVersion);
+        hits = meterRegistry.counter("pola.analysis.cache", "result", "hit");
+        misses = meterRegistry.counter("pola.analysis.cache", "result", "miss");
+        log.info("[AnalysisCache] enabled={} version={}", enabled, version);
+    }
+
+    public Optional<Cached> find(String contentHash) {
+        if (!enabled || contentHash == null) return Optional.empty();
+        try {
+            Optional<Cached> cached = repository.findByContentHashAndAnalysisVersion(contentHash, version)
+                    .filter(c -> c.getEmbedding() != null)
+                    .map(this::toCached);
+            (cached.isPresent() ? hits : misses).increment();
+            return cached;
+        } catch (Exception e) {
+            // 캐시 장애는 후처리를 막지 않는다
+            log.warn("[AnalysisCache] lookup failed hash={} err={}", contentHash, e.toString());
+            misses.increment();
+            return Optional.empty();
+        }
+    }
+
+    public void put(String contentHash, String ocrText, VertexParsedResult parsed, float[] embedding) {
+        if (!enabled || contentHash == null || parsed == null || embedding == null) return;
+        try {
+            repository.save(ContentAnalysisCache.builder()
+                    .contentHash(contentHash)
+                    .analysisVersion(version)
+                    .ocrText(ocrText)
+                    .tags(om.writeValueAsString(parsed.getTags()))
+                    .description(parsed.getDescription())
+                    .embedding(embedding)
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            // 같은 내용을 동시에 처리한 다른 작업이 먼저 저장함
+            log.debug("[AnalysisCache] already stored hash={}", contentHash);
+        } catch (Exception e) {
+            log.warn("[AnalysisCache] store failed hash={} err={}", contentHash, e.toString());
+        }
+    }
+
+    private Cached toCached(ContentAnalysisCache c) {
+        List<String> tags;
+        try {
+            tags = (c.getTags() == null) ? List.of() : om.readValue(c.getTags(), new TypeReference<List<String>>() {});
+        } catch (Exception e) {
+            tags = List.of();
+        }
+        String description = c.getDescription() == null ? "" : c.getDescription();
+        return new Cached(c.getOcrText(), new VertexParsedResult(tags, description), c.getEmbedding());
+    }
+}
@@ -0,0 +1,267 @@
+package com.jinjinjara.pola.vision.service;
+
+import com.jinjinjara.pola.vision.util.VertexEmbeddingClient;
+import com.jinjinjara.pola.resilience.util.Deadline;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * 임베딩 요청 병합/분할 디스패처
+ *
+ * - 여러 호출자의 작은 요청을 lingerMs 동안 모아 한 번의 predict 호출로 보낸다 (병합)
+ * - 큰 요청(센트로이드 재계산 등)은 maxBatchSize / maxBatchChars 단위로 잘려 병렬 전송 (분할)
+ * - 결과는 텍스트 단위 future 로 각 호출자에게 되돌려준다 (역다중화)
+ *
+ * 동시 전송 수는 maxConcurrent 로 제한. 전송 슬롯을 기다리는 동안 큐에 쌓인 요청은 다음 배치에 합쳐진다.
+ * 호출자가 기다림을 포기한(시간 초과 / 취소) 요청은 전송하지 않고 버린다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EmbeddingBatchDispatcher {
+
+    private final VertexEmbeddingClient client;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${embedding.batch.linger-ms:5}")
+    private long lingerMs;
+
+    @Value("${embedding.batch.max-size:100}")
+    private int maxBatchSize;          // 요청당 인스턴스 수 상한
+
+    @Value("${embedding.batch.max-chars:20000}")
+    private int maxBatchChars;         // 요청당 입력 길이 상한 (토큰 한도 대비 보수적으로)
+
+    @Value("${embedding.batch.max-concurrent:8}")
+    private int maxConcurrent;
+
+    @Value("${embedding.batch.timeout-ms:30000}")
+    private long timeoutMs;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private final LinkedBlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private TaskExecutor sender;
+    private Semaphore sendSlots;
+    private Thread dispatcherThread;
+    private volatile boolean running = true;
+
+    private DistributionSummary batchSize;
+    private Timer callTimer;
+    private Counter abandoned;
+
+    /** 텍스트 1건 = 호출자 future 1개 */
+    private record Pending(String text, CompletableFuture<float[]> future) {}
+
+    @PostConstruct
+    void init() {
+        sendSlots = new Semaphore(maxConcurrent);
+
+        if (virtualThreads) {
+            // 동시 전송 수는 어차피 슬롯 세마포어가 제한하므로 전송마다 가상 스레드
+            SimpleAsyncTaskExecutor virtual = new SimpleAsyncTaskExecutor("embed-send-");
+            virtual.setVirtualThreads(true);
+            sender = virtual;
+        } else {
+            ThreadPoolTaskExecutor pool = new ThreadPoolTaskExecutor();
+            pool.setCorePoolSize(maxConcurrent);
+            pool.setMaxPoolSize(maxConcurrent);
+            pool.setQueueCapacity(maxConcurrent);    // 실제 동시 전송 수는 슬롯 세마포어로 제한
+            pool.setThreadNamePrefix("embed-send-");
+            pool.initialize();
+            sender = pool;
+        }
+
+        batchSize = meterRegistry.summary("pola.embedding.batch.size");
+        callTimer = meterRegistry.timer("pola.embedding.batch.call");
+        abandoned = meterRegistry.counter("pola.embedding.batch.abandoned");
+        meterRegistry.gauge("pola.embedding.batch.queue", queue, LinkedBlockingQueue::size);
+
+        dispatcherThread = (virtualThreads ? Thread.ofVirtual() : Thread.ofPlatform().daemon())
+                .name("embed-dispatcher")
+                .start(this::loop);
+        log.info("[EmbedBatch] linger={}ms maxSize={} maxChars={} maxConcurrent={}",
+                lingerMs, maxBatchSize, maxBatchChars, maxConcurrent);
+    }
+
+    /** 비동기 제출. 결과 순서는 입력 순서와 같다. 반환된 future 를 취소하면 아직 전송 전인 텍스트는 보내지 않는다. */
+    public CompletableFuture<List<float[]>> submit(List<String> texts) {
+        if (texts == null || texts.isEmpty()) return CompletableFuture.completedFuture(List.of());
+        if (!running) return CompletableFuture.failedFuture(new IllegalStateException("Embedding dispatcher stopped"));
+
+        List<CompletableFuture<float[]>> futures = new ArrayList<>(texts.size());
+        for (String t : texts) {
+            CompletableFuture<float[]> f = new CompletableFuture<>();
+            futures.add(f);
+            queue.add(new Pending(t, f));
+        }
+        CompletableFuture<List<float[]>> result = CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                .thenApply(v -> futures.stream().map(CompletableFuture::join).toList());
+        result.whenComplete((v, e) -> {
+            if (e instanceof CancellationException) futures.forEach(f -> f.cancel(false));
+        });
+        return result;
+    }
+
+    /** 동기 호출 (기존 EmbeddingService.embedTexts 시그니처 유지용) */
+    public List<float[]> embed(List<String> texts) {
+        // 요청 기한이 더 짧으면 그만큼만 기다린다 (Deadline)
+        long waitMs = Math.min(timeoutMs, Deadline.remainingMillisOrMax());
+        CompletableFuture<List<float[]>> result = submit(texts);
+        try {
+            return result.get(waitMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            result.cancel(false); // 큐에 남은 텍스트는 보내지 않도록
+            throw new RuntimeException("Embedding timed out after " + waitMs + " ms", e);
+        } catch (InterruptedException e) {
+            result.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Embedding interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException re) throw re;
+            throw new RuntimeException("Embedding failed", cause);
+        }
+    }
+
+    // ----------------------- dispatcher -----------------------
+
+    private void loop() {
+        while (running) {
+            try {
+                Pending first = queue.take();
+                if (isAbandoned(first)) continue;
+                List<Pending> batch = collect(first);
+
+                sendSlots.acquire();
+                try {
+                    sender.execute(() -> send(batch));
+                } catch (RejectedExecutionException e) {
+                    sendSlots.release();
+                    fail(batch, e);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.error("[EmbedBatch] dispatcher error", e);
+            }
+        }
+    }
+
+    /** 첫 요청 이후 lingerMs 동안, 또는 크기 한도에 닿을 때까지 모은다 */
+    private List<Pending> collect(Pending first) throws InterruptedException {
+        List<Pending> batch = new ArrayList<>(Math.min(maxBatchSize, 64));
+        batch.add(first);
+        int chars = length(first);
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMs);
+        while (batch.size() < maxBatchSize) {
+            Pending next = queue.peek();
+            if (next == null) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) break;
+                next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                if (next == null) break;
+            } else {
+                if (chars + length(next) > maxBatchChars) break; // 다음 배치로 넘김
+                next = queue.poll();
+            }
+            if (isAbandoned(next)) continue;
+            batch.add(next);
+            chars += length(next);
+            if (chars >= maxBatchChars) break;
+        }
+        return batch;
+    }
+
+    private void send(List<Pending> batch) {
+        try {
+            predict(batch);
+        } finally {
+            sendSlots.release();
+        }
+    }
+
+    /**
+     * 배치 전송. 4xx(잘못된 입력)는 배치를 반으로 나눠 다시 보내 문제 입력만 실패시킨다.
+     * (함께 병합된 다른 호출자까지 실패하지 않도록) 전송 오류 / 5xx / 429 는 배치 전체 실패.
+     */
+    private void predict(List<Pending> batch) {
+        // 슬롯을 기다리는 동안 / 분할 재전송 전에 포기된 요청 제외
+        batch = batch.stream().filter(p -> !isAbandoned(p)).toList();
+        if (batch.isEmpty()) return;
+        try {
+            List<String> texts = batch.stream().map(Pending::text).toList();
+            List<float[]> vectors = callTimer.recordCallable(() -> client.predict(texts));
+            batchSize.record(batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).future().complete(vectors.get(i));
+            }
+        } catch (Exception e) {
+            if (batch.size() > 1 && isBadInput(e)) {
+                meterRegistry.counter("pola.embedding.batch.split").increment();
+                log.warn("[EmbedBatch] predict rejected size={}, splitting err={}", batch.size(), e.toString());
+                int mid = batch.size() / 2;
+                predict(batch.subList(0, mid));
+                predict(batch.subList(mid, batch.size()));
+                return;
+            }
+            log.warn("[EmbedBatch] predict failed size={} err={}", batch.size(), e.toString());
+            fail(batch, e);
+        }
+    }
+
+    /** 요청 자체가 거절된 경우 (429 는 한도 초과라 입력 문제가 아님) */
+    private static boolean isBadInput(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof HttpClientErrorException http) {
+                return http.getStatusCode().value() != 429;
+            }
+        }
+        return false;
+    }
+
+    /** 호출자가 이미 포기했거나 끝난 요청 (시간 초과 후 취소 등) */
+    private boolean isAbandoned(Pending p) {
+        if (!p.future().isDone()) return false;
+        abandoned.increment();
+        return true;
+    }
+
+    private static void fail(List<Pending> batch, Throwable e) {
+        for (Pending p : batch) p.future().completeExceptionally(e);
+    }
+
+    private static int length(Pending p) {
+        return p.text() == null ? 0 : p.text().length();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        running = false;
+        dispatcherThread.interrupt();
+        List<Pending> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        fail(rest, new IllegalStateException("Embedding dispatcher stopped"));
+        if (sender instanceof ThreadPoolTaskExecutor pool) pool.shutdown();
+        else if (sender instanceof SimpleAsyncTaskExecutor virtual) virtual.close();
+    }
+}
@@ -4,8 +4,13 @@ import com.jinjinjara.pola.auth.redis.RedisUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Optional;
 
 @Slf4j
@@ -14,6 +19,27 @@ import java.util.Optional;
 public class EmbeddingCacheService {
 
     private final RedisUtil redis;
+    private final RedisTemplate<String, byte[]> binaryRedisTemplate;
+
+    // 버전 키는 TTL 없이 계속 증가만 한다 (만료/삭제 후 같은 번호로 돌아가면 다른 파드의 near-cache 가 옛 상태를 맞다고 본다)
+    // KEYS[1]=state, KEYS[2]=version / ARGV[1]=expected, ARGV[2]=new, ARGV[3]=state, ARGV[4]=ttlMs
+    private static final RedisScript<Long> CAS_SCRIPT = new DefaultRedisScript<>("""
+            local cur = redis.call('GET', KEYS[2])
+            if (cur == false and ARGV[1] == '0') or cur == ARGV[1] then
+              redis.call('SET', KEYS[1], ARGV[3], 'PX', ARGV[4])
+              redis.call('SET', KEYS[2], ARGV[2])
+              return 1
+            end
+            return 0
+            """, Long.class);
+
+    // 무효화: 버전을 올리고 상태/메타 삭제 (한 번에 → 그 사이 옛 버전 기준 CAS 가 끼어들지 못함)
+    // KEYS[1]=meta, KEYS[2]=state, KEYS[3]=version
+    private static final RedisScript<Long> INVALIDATE_SCRIPT = new DefaultRedisScript<>("""
+            local v = redis.call('INCR', KEYS[3])
+            redis.call('DEL', KEYS[1], KEYS[2])
+            return v
+            """, Long.class);
 
     @Value("${embedding.cache.centroids-ttl-ms:0}")
     private long centroidsTtlMs;
@@ -22,19 +48,6 @@ public class EmbeddingCacheService {
 
     // ------- Public API -------
 
-    /** 센트로이드 JSON 로드 */
-    public Optional<String> loadCentroidsJson(Long userId) {
-        String v = redis.get(keyCentroids(userId));
-        return Optional.ofNullable(v).filter(s -> !s.isBlank());
-    }
-
-    /** 센트로이드 JSON 저장 (TTL 적용) */
-    public void saveCentroidsJson(Long userId, String centroidsJson) {
-        long ttl = (centroidsTtlMs > 0) ? centroidsTtlMs : DEFAULT_TTL_MS;
-        log.info("[EmbedCache] SAVE uid={} ttlMs={} bytes={}", userId, ttl, centroidsJson.length());
-        redis.save(keyCentroids(userId), centroidsJson, ttl);
-    }
-
     /** 메타 JSON 로드 (옵션용) */
     public Optional<String> loadMetaJson(Long userId) {
         String v = redis.get(keyMeta(userId));
@@ -47,19 +60,61 @@ public class EmbeddingCacheService {
         redis.save(keyMeta(userId), metaJson, ttl);
     }
 
-    /** 해당 유저의 캐시 무효화 */
-    public void invalidate(Long userId) {
-        redis.delete(keyCentroids(userId));
-        redis.delete(keyMeta(userId));
+    /** 센트로이드 상태 버전 (near-cache 검증용, 수 바이트) */
+    public Optional<Long> loadStateVersion(Long userId) {
+        String v = redis.get(keyVersion(userId));
+        if (v == null || v.isBlank()) return Optional.empty();
+        try {
+            return Optional.of(Long.parseLong(v.trim()));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
     }
 
-    // ------- Key helpers -------
+    /** 센트로이드 상태(합/개수) 바이너리 로드 — CentroidCodec 형식 */
+    public Optional<byte[]> loadStateBytes(Long userId) {
+        byte[] v = binaryRedisTemplate.opsForValue().get(keyState(userId));
+        return Optional.ofNullable(v).filter(b -> b.length > 0);
+    }
 
-    private String keyCentroids(Long userId) {
-        return "pola:embed:index:" + userId + ":centroids";
+    /**
+     * 센트로이드 상태 저장 (버전 CAS)
+     * 저장소의 현재 버전이 expectedVersion 과 같을 때만 상태와 새 버전을 함께 기록한다.
+     * expectedVersion == 0 은 "아직 상태 없음"을 의미.
+     * @return 기록 성공 여부 (false 면 다른 요청이 먼저 갱신함)
+     */
+    public boolean compareAndSaveState(Long userId, long expectedVersion, long newVersion, byte[] state) {
+        long ttl = (centroidsTtlMs > 0) ? centroidsTtlMs : DEFAULT_TTL_MS;
+        Long ok = binaryRedisTemplate.execute(CAS_SCRIPT,
+                List.of(keyState(userId), keyVersion(userId)),
+                ascii(expectedVersion), ascii(newVersion), state, ascii(ttl));
+        boolean saved = ok != null && ok == 1L;
+        log.debug("[EmbedCache] CAS uid={} expected={} new={} saved={}", userId, expectedVersion, newVersion, saved);
+        return saved;
     }
 
+    /** 해당 유저의 캐시 무효화 (버전은 지우지 않고 올린다) */
+    public void invalidate(Long userId) {
+        Long version = binaryRedisTemplate.execute(INVALIDATE_SCRIPT,
+                List.of(keyMeta(userId), keyState(userId), keyVersion(userId)));
+        log.debug("[EmbedCache] invalidated uid={} version={}", userId, version);
+    }
+
+    private static byte[] ascii(long v) {
+        return Long.toString(v).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    // ------- Key helpers -------
+
     private String keyMeta(Long userId) {
         return "pola:embed:index:" + userId + ":meta";
     }
+
+    private String keyState(Long userId) {
+        return "pola:embed:index:" + userId + ":state.bin";
+    }
+
+    private String keyVersion(Long userId) {
+        return "pola:embed:index:" + userId + ":version";
+    }
 }
@@ -1,31 +1,20 @@
 package com.jinjinjara.pola.vision.service;
 
-import com.google.auth.oauth2.AccessToken;
-import com.google.auth.oauth2.GoogleCredentials;
-import com.jinjinjara.pola.vision.dto.common.Instance;
-import com.jinjinjara.pola.vision.dto.common.Prediction;
-import com.jinjinjara.pola.vision.dto.request.PredictRequest;
-import com.jinjinjara.pola.vision.dto.response.PredictResponse;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestClient;
 
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.text.Normalizer;
 
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class EmbeddingService {
 
-    @Value("${google.project-id}")
-    private String project;
-
-    @Value("${vertex.location}")
-    private String location;
+    private final EmbeddingBatchDispatcher batchDispatcher;
 
     @Value("${embedding.chunk.maxChars:8000}")
     private int maxChars;
@@ -36,11 +25,6 @@ public class EmbeddingService {
     @Value("${embedding.chunk.overlap:400}")
     private int overlapChars;
 
-    private static final List<String> SCOPES =
-            List.of("https://www.googleapis.com/auth/cloud-platform");
-
-    private final RestClient rest = RestClient.create();
-
     public float[] embedOcrAndContext(String ocrText, String context) {
         String combined = combineAndNormalize(ocrText, context);
         if (combined.isBlank()) throw new IllegalArgumentException("empty input");
@@ -58,45 +42,41 @@ public class EmbeddingService {
     }
 
     /**
-     * 입력 문자열 리스트를 Vertex AI 임베딩 벡터로 변환.
-     * 모델: text-multilingual-embedding-002
+     * 배치 재분석용: 파일 여러 개의 (OCR, 설명) 을 한꺼번에 임베딩.
+     * 모든 청크를 한 번에 디스패처로 보내고 파일별 평균을 돌려준다. 입력이 비어 있는 항목은 null.
      */
-    public List<float[]> embedTexts(List<String> texts) {
-        if (texts == null || texts.isEmpty()) return List.of();
-
-        String url = String.format(
-                "https://%s-aiplatform.googleapis.com/v1/projects/%s/locations/%s/publishers/google/models/text-multilingual-embedding-002:predict",
-                location, project, location
-        );
-
-        List<Instance> instances = new ArrayList<>();
-        for (String t : texts) {
-            instances.add(new Instance(t)); // DTO의 content 필드에 매핑
-        }
-        PredictRequest body = new PredictRequest(instances);
-
-        PredictResponse res = rest.post()
-                .uri(url)
-                .contentType(MediaType.APPLICATION_JSON)
-                .header("Authorization", "Bearer " + token())
-                .body(body)
-                .retrieve()
-                .body(PredictResponse.class);
-
-        if (res == null || res.getPredictions() == null || res.getPredictions().isEmpty()) {
-            throw new RuntimeException("Empty embedding response");
+    public List<float[]> embedOcrAndContextBatch(List<String> ocrTexts, List<String> contexts) {
+        List<String> chunks = new ArrayList<>();
+        int[] counts = new int[ocrTexts.size()];
+        for (int i = 0; i < ocrTexts.size(); i++) {
+            String combined = combineAndNormalize(ocrTexts.get(i), contexts.get(i));
+            if (combined.isBlank()) continue;
+            if (combined.length() > maxChars) combined = combined.substring(0, maxChars);
+            List<String> c = chunkByChars(combined, windowChars, overlapChars);
+            counts[i] = c.size();
+            chunks.addAll(c);
         }
 
-        List<float[]> out = new ArrayList<>(res.getPredictions().size());
-        for (Prediction p : res.getPredictions()) {
-            var values = p.getEmbeddings().getValues();
-            float[] v = new float[values.size()];
-            for (int i = 0; i < v.length; i++) v[i] = values.get(i).floatValue();
-            out.add(v);
+        List<float[]> vs = embedTexts(chunks);
+        List<float[]> out = new ArrayList<>(counts.length);
+        int offset = 0;
+        for (int count : counts) {
+            out.add(count == 0 ? null : mean(vs.subList(offset, offset + count)));
+            offset += count;
         }
         return out;
     }
 
+    /**
+     * 입력 문자열 리스트를 Vertex AI 임베딩 벡터로 변환.
+     * 모델: text-multilingual-embedding-002
+     * 동시 요청은 디스패처에서 배치로 합쳐지고, 큰 요청은 잘려서 병렬 전송된다.
+     */
+    public List<float[]> embedTexts(List<String> texts) {
+        if (texts == null || texts.isEmpty()) return List.of();
+        return batchDispatcher.embed(texts);
+    }
+
     /** 여러 벡터의 단순 평균 */
     public float[] embedMean(List<String> texts) {
         if (texts == null || texts.isEmpty()) return null;
@@ -106,17 +86,6 @@ public class EmbeddingService {
 
     // ----------------- internal helpers -----------------
 
-    private String token() {
-        try {
-            GoogleCredentials gc = GoogleCredentials.getApplicationDefault().createScoped(SCOPES);
-            gc.refreshIfExpired();
-            AccessToken t = gc.getAccessToken();
-            return t.getTokenValue();
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to obtain Google access token", e);
-        }
-    }
-
     private static float[] mean(List<float[]> vs) {
         int d = vs.get(0).length;
         float[] m = new float[d];
@@ -0,0 +1,150 @@
+package com.jinjinjara.pola.vision.service;
+
+import com.jinjinjara.pola.vision.entity.TagEmbedding;
+import com.jinjinjara.pola.vision.repository.TagEmbeddingRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.util.*;
+
+/**
+ * 태그 임베딩 저장소
+ *
+ * 조회 순서: 프로세스 내 LRU → tag_embeddings (pgvector) → 임베딩 API (누락분만 한 번에)
+ * 태그는 사용자 간에 많이 겹치므로, 한 번 임베딩한 태그는 모든 사용자가 재사용한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TagEmbeddingStore {
+
+    private static final String MODEL = "text-multilingual-embedding-002";
+    private static final int MAX_TAG_LENGTH = 255;
+
+    private final TagEmbeddingRepository repository;
+    private final EmbeddingService embeddingService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${embedding.tag-cache.max-entries:10000}")
+    private int maxEntries;   // 768차원 float 기준 1만 개 ≈ 30MB
+
+    private Map<String, float[]> lru;
+    private Counter memoryHits;
+    private Counter dbHits;
+    private Counter embedded;
+
+    @PostConstruct
+    void init() {
+        lru = Collections.synchronizedMap(new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, float[]> eldest) {
+                return size() > maxEntries;
+            }
+        });
+        memoryHits = meterRegistry.counter("pola.tag_embedding.lookup", "source", "memory");
+        dbHits = meterRegistry.counter("pola.tag_embedding.lookup", "source", "db");
+        embedded = meterRegistry.counter("pola.tag_embedding.lookup", "source", "embedded");
+        meterRegistry.gauge("pola.tag_embedding.cache.size", lru, Map::size);
+    }
+
+    /** 태그 목록 → 벡터 목록 (입력 순서 유지, 빈 태그는 null) */
+    public List<float[]> embedAll(List<String> tags) {
+        Map<String, float[]> found = getAll(tags);
+        List<float[]> out = new ArrayList<>(tags.size());
+        for (String t : tags) out.add(found.get(normalize(t)));
+        return out;
+    }
+
+    /**
+     * 태그 → 벡터 맵 (키는 normalize 된 태그)
+     * 임베딩 API 호출은 최대 1회 (누락분 전체를 한 번에 요청, 디스패처가 배치 분할)
+     */
+    public Map<String, float[]> getAll(Collection<String> tags) {
+        LinkedHashSet<String> keys = new LinkedHashSet<>();
+        for (String t : tags) {
+            String k = normalize(t);
+            if (!k.isEmpty()) keys.add(k);
+        }
+        if (keys.isEmpty()) return Map.of();
+
+        Map<String, float[]> result = new HashMap<>(keys.size() * 2);
+
+        // 1) 메모리
+        List<String> misses = new ArrayList<>();
+        for (String k : keys) {
+            float[] v = lru.get(k);
+            if (v != null) result.put(k, v);
+            else misses.add(k);
+        }
+        memoryHits.increment(keys.size() - misses.size());
+        if (misses.isEmpty()) return result;
+
+        // 2) DB (tag_text 보다 긴 태그는 저장하지 않으므로 조회도 생략)
+        List<String> storable = misses.stream().filter(k -> k.length() <= MAX_TAG_LENGTH).toList();
+        for (TagEmbedding te : storable.isEmpty() ? List.<TagEmbedding>of()
+                : repository.findByModelAndTagTextIn(MODEL, storable)) {
+            result.put(te.getTagText(), te.getEmbedding());
+            lru.put(te.getTagText(), te.getEmbedding());
+        }
+        List<String> toEmbed = misses.stream().filter(k -> !result.containsKey(k)).toList();
+        dbHits.increment(misses.size() - toEmbed.size());
+        if (toEmbed.isEmpty()) return result;
+
+        // 3) 임베딩 API (누락분만)
+        List<float[]> vectors = embeddingService.embedTexts(toEmbed);
+        embedded.increment(toEmbed.size());
+
+        List<TagEmbedding> rows = new ArrayList<>(toEmbed.size());
+        for (int i = 0; i < toEmbed.size(); i++) {
+            float[] v = vectors.get(i);
+            if (v == null || v.length == 0) continue;
+            String k = toEmbed.get(i);
+            result.put(k, v);
+            lru.put(k, v);
+            if (k.length() <= MAX_TAG_LENGTH) {
+                rows.add(TagEmbedding.builder().tagText(k).model(MODEL).embedding(v).build());
+            }
+        }
+        persist(rows);
+
+        log.debug("[TagEmbedding] lookup={} memory={} db={} embedded={}",
+                keys.size(), keys.size() - misses.size(), misses.size() - toEmbed.size(), toEmbed.size());
+        return result;
+    }
+
+    /**
+     * 태그 키 정규화 (trim + NFC, ClassifierService 와 동일)
+     * 키가 곧 임베딩 입력이므로 대소문자/공백/길이는 건드리지 않는다 (바꾸면 벡터가 달라지고 다른 입력이 합쳐짐)
+     */
+    public static String normalize(String tag) {
+        if (tag == null) return "";
+        return Normalizer.normalize(tag.trim(), Normalizer.Form.NFC);
+    }
+
+    private void persist(List<TagEmbedding> rows) {
+        if (rows.isEmpty()) return;
+        try {
+            repository.saveAll(rows);
+        } catch (DataIntegrityViolationException e) {
+            // 다른 요청이 같은 태그를 먼저 저장함 → 한 건씩 다시 시도
+            for (TagEmbedding row : rows) {
+                try {
+                    repository.save(TagEmbedding.builder()
+                            .tagText(row.getTagText()).model(MODEL).embedding(row.getEmbedding()).build());
+                } catch (DataIntegrityViolationException ignore) {
+                    // 이미 존재
+                }
+            }
+        } catch (Exception e) {
+            // 저장 실패해도 이번 요청 결과에는 영향 없음 (다음에 다시 임베딩)
+            log.warn("[TagEmbedding] persist failed count={} err={}", rows.size(), e.toString());
+        }
+    }
+}
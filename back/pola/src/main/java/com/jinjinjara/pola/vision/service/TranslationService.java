@@ -1,6 +1,7 @@
 package com.jinjinjara.pola.vision.service;
 
 import com.google.cloud.translate.v3.*;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.beans.factory.annotation.Value;
 
@@ -8,8 +9,11 @@ import java.util.List;
 
 
 @Service
+@RequiredArgsConstructor
 public class TranslationService {
 
+    private final TranslationServiceClient client;
+
     @Value("${google.project-id}")
     private String projectId;
 
@@ -21,18 +25,16 @@ public class TranslationService {
     }
 
     public List<String> translateToKo(List<String> texts) throws Exception {
-        try (TranslationServiceClient client = TranslationServiceClient.create()) {
-            TranslateTextRequest req = TranslateTextRequest.newBuilder()
-                    .setParent(getParent())
-                    .setTargetLanguageCode("ko")
-                    .addAllContents(texts)
-                    .build();
-
-            TranslateTextResponse res = client.translateText(req);
-
-            return res.getTranslationsList().stream()
-                    .map(Translation::getTranslatedText)
-                    .toList();
-        }
+        TranslateTextRequest req = TranslateTextRequest.newBuilder()
+                .setParent(getParent())
+                .setTargetLanguageCode("ko")
+                .addAllContents(texts)
+                .build();
+
+        TranslateTextResponse res = client.translateText(req);
+
+        return res.getTranslationsList().stream()
+                .map(Translation::getTranslatedText)
+                .toList();
     }
-}
\ No newline at end of file
+}
@@ -1,21 +1,28 @@
 package com.jinjinjara.pola.vision.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.google.auth.oauth2.AccessToken;
-import com.google.auth.oauth2.GoogleCredentials;
+import com.jinjinjara.pola.common.CustomException;
+import com.jinjinjara.pola.resilience.util.HedgedCaller;
+import com.jinjinjara.pola.vision.dto.common.FetchedObject;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
 import com.jinjinjara.pola.vision.util.AIUtil;
+import com.jinjinjara.pola.vision.util.GeminiRequestWriter;
+import com.jinjinjara.pola.vision.util.GoogleTokenProvider;
+import com.jinjinjara.pola.vision.util.OutboundHttpClients;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.tomcat.util.codec.binary.Base64;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.client.RestClient;
 
 import java.nio.charset.StandardCharsets;
-import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
@@ -32,13 +39,20 @@ public class VertexService {
     @Value("${vertex.model.vision:gemini-2.5-flash-lite}")
     private String visionModel;
 
+    // true 면 태그/설명 호출에 responseSchema 를 붙여 JSON 만 받는다 (false 면 기존 프롬프트 출력 + 관대한 파서)
+    @Value("${vertex.structured-output:true}")
+    private boolean structuredOutput;
+
     // 다운로드 안전 가드
     private static final long MAX_IMAGE_BYTES = 100L * 1024 * 1024; // 100MB
     private static final long MAX_TEXT_BYTES  = 20L  * 1024 * 1024; // 20MB
 
+    private final GoogleTokenProvider tokenProvider;
+
     private final ObjectMapper om = new ObjectMapper();
-    // Vertex 호출용
-    private final RestTemplate rt = new RestTemplate();
+    // Vertex 호출용 (공용 연결 풀)
+    private final OutboundHttpClients httpClients;
+    private final HedgedCaller hedgedCaller;
 
     // ————— 공통 헬퍼 —————
     private String endpoint(String model) {
@@ -48,39 +62,39 @@ public class VertexService {
         );
     }
 
-    private String bearerToken() throws Exception {
-        GoogleCredentials creds = GoogleCredentials.getApplicationDefault()
-                .createScoped(List.of("https://www.googleapis.com/auth/cloud-platform"));
-        creds.refreshIfExpired();
-        AccessToken t = creds.getAccessToken();
-        if (t == null || t.getExpirationTime() == null || t.getExpirationTime().toInstant().isBefore(Instant.now())) {
-            creds.refresh();
-            t = creds.getAccessToken();
-        }
-        return "Bearer " + t.getTokenValue();
+    private String postJson(String url, Map<String, Object> body) {
+        return post(url, spec -> spec.body(body));
     }
 
-    private HttpHeaders jsonHeaders() throws Exception {
-        HttpHeaders h = new HttpHeaders();
-        h.setContentType(MediaType.APPLICATION_JSON);
-        h.set(HttpHeaders.AUTHORIZATION, bearerToken());
-        return h;
+    /** 본문을 요청 스트림에 직접 기록 (대용량 이미지용, 힙 버퍼링 없음) */
+    private String postStreaming(String url, StreamingHttpOutputMessage.Body body) {
+        return post(url, spec -> spec.body(body));
     }
 
-    private String postJson(String url, Map<String, Object> body) {
+    private String post(String url, Consumer<RestClient.RequestBodySpec> bodyWriter) {
         try {
-            HttpEntity<Map<String, Object>> req = new HttpEntity<>(body, jsonHeaders());
-            ResponseEntity<String> res = rt.exchange(url, HttpMethod.POST, req, String.class);
+            // 느린 응답은 학습된 p95 이후 한 번 더 보내고(헤징), 요청 기한을 넘기면 포기
+            ResponseEntity<String> res = hedgedCaller.call("vertex", () -> {
+                RestClient.RequestBodySpec spec = httpClients.vertex().post()
+                        .uri(url)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.AUTHORIZATION, tokenProvider.bearer());
+                bodyWriter.accept(spec);
+                return spec.retrieve().toEntity(String.class);
+            });
             String resBody = res.getBody();
             log.debug("[VertexService] RESPONSE status={} len={} snippet={}",
-                    res.getStatusCodeValue(),
+                    res.getStatusCode().value(),
                     resBody == null ? 0 : resBody.length(),
                     resBody == null ? "null" : resBody.substring(0, Math.min(300, resBody.length())));
 
             if (!res.getStatusCode().is2xxSuccessful()) {
-                throw new RuntimeException("Vertex error: " + res.getStatusCodeValue() + " - " + resBody);
+                throw new RuntimeException("Vertex error: " + res.getStatusCode().value() + " - " + resBody);
             }
             return resBody;
+        } catch (CustomException e) {
+            // 격벽 거절 (AI_PROVIDER_BUSY) 은 그대로 503 으로
+            throw e;
         } catch (Exception e) {
             log.error("Vertex call failed", e);
             throw new RuntimeException("Vertex call failed: " + e.getMessage(), e);
@@ -113,10 +127,7 @@ public class VertexService {
                         "role", "user",
                         "parts", List.of(Map.of("text", prompt))
                 )),
-                "generationConfig", Map.of(
-                        "temperature", 0.2,
-                        "maxOutputTokens", 256
-                )
+                "generationConfig", generationConfig(0.2, 256, TAGS_SCHEMA)
         );
 
         String url = endpoint(textModel);
@@ -129,47 +140,221 @@ public class VertexService {
             return "{\"error\":\"image is empty\"}";
         }
 
-        String b64 = Base64.encodeBase64String(imageBytes);
-        String mime = AIUtil.sniffMime(imageBytes);
+        return analyzeImage(UnsafeByteOperations.unsafeWrap(imageBytes), AIUtil.sniffMime(imageBytes));
+    }
 
-        String userText = """
-        너는 한국어 이미지 분석기다.
-        이미지 속의 글자(텍스트)와 시각적인 요소를 모두 참고해,
-        핵심적인 키워드(태그)와 짧은 설명을 JSON 객체 하나로만 출력해.
-        설명은 4문장 이내로 이미지의 주요 주제를 빠트리지 않게 요약해줘.
-        없는 내용을 만들어내지 말고, 이미지 내용에 기반해서만 작성해.
+    // ————— 이미지 (이미 받아 둔 객체) → 캡션/태그 —————
+    public String analyzeImage(FetchedObject obj) {
+        if (obj == null || obj.size() == 0) {
+            return "{\"error\":\"image is empty\"}";
+        }
+        // 공유 버퍼를 요청 스트림에 바로 Base64 인코딩 (중간 문자열/복사 없음)
+        return analyzeImage(obj.getContent(), obj.getMime());
+    }
 
-        출력 형식 예시:
-        {
-          "tags": ["말차","초코","크림빵","디저트","간식"],
-          "description": "연세 말차 크림빵 제품으로, 디저트 관련 콘텐츠입니다."
+    // ————— 이미지 URI (제공자가 직접 읽음) → 캡션/태그 —————
+    public String analyzeImageUri(String fileUri, String mime) {
+        return analyzeImageUri(fileUri, mime, IMAGE_PROMPT, 0.2, 512, TAGS_SCHEMA);
+    }
+
+    // ————— 이미지 → OCR 텍스트 + 캡션/태그 (단일 호출 분석) —————
+    public String analyzeImageWithOcr(FetchedObject obj) {
+        if (obj == null || obj.size() == 0) {
+            return "{\"error\":\"image is empty\"}";
         }
-        """;
+        return postStreaming(endpoint(visionModel),
+                GeminiRequestWriter.inlineImage(obj.getContent(), obj.getMime(), OCR_IMAGE_PROMPT,
+                        0.1, OCR_MAX_TOKENS, schemaJson(OCR_TAGS_SCHEMA_JSON)));
+    }
 
-        Map<String, Object> inlineImage = Map.of(
-                "inlineData", Map.of(
-                        "mimeType", mime,
-                        "data", b64
-                )
-        );
+    public String analyzeImageWithOcrUri(String fileUri, String mime) {
+        return analyzeImageUri(fileUri, mime, OCR_IMAGE_PROMPT, 0.1, OCR_MAX_TOKENS, OCR_TAGS_SCHEMA);
+    }
 
-        Map<String, Object> textPart = Map.of("text", userText);
+    private String analyzeImageUri(String fileUri, String mime, String prompt, double temperature, int maxTokens,
+                                   Map<String, Object> schema) {
+        if (fileUri == null || fileUri.isBlank()) {
+            return "{\"error\":\"invalid uri\"}";
+        }
 
         Map<String, Object> body = Map.of(
                 "contents", List.of(Map.of(
                         "role", "user",
-                        "parts", List.of(inlineImage, textPart)
+                        "parts", List.of(
+                                Map.of("fileData", Map.of("mimeType", mime, "fileUri", fileUri)),
+                                Map.of("text", prompt)
+                        )
                 )),
-                "generationConfig", Map.of(
-                        "temperature", 0.2,
-                        "maxOutputTokens", 512
-                )
+                "generationConfig", generationConfig(temperature, maxTokens, schema)
         );
+        return postJson(endpoint(visionModel), body);
+    }
 
+    private String analyzeImage(ByteString image, String mime) {
         String url = endpoint(visionModel);
-        return postJson(url, body);
+        return postStreaming(url, GeminiRequestWriter.inlineImage(image, mime, IMAGE_PROMPT,
+                0.2, 512, schemaJson(TAGS_SCHEMA_JSON)));
+    }
+
+    // ————— 배치 재분석: 여러 파일을 호출 하나로 (백필 전용) —————
+    // 항목마다 [index] 로 구분하고, 결과도 index 로 되돌려 받는다
+
+    /** 이미지 여러 장 (제공자가 URI 로 직접 읽음) → 항목별 태그/설명 */
+    public String analyzeImagesBatch(List<String> fileUris, List<String> mimes) {
+        List<Map<String, Object>> parts = new ArrayList<>();
+        parts.add(Map.of("text", BATCH_IMAGE_PROMPT));
+        for (int i = 0; i < fileUris.size(); i++) {
+            parts.add(Map.of("text", "[" + i + "]"));
+            parts.add(Map.of("fileData", Map.of("mimeType", mimes.get(i), "fileUri", fileUris.get(i))));
+        }
+        Map<String, Object> body = Map.of(
+                "contents", List.of(Map.of("role", "user", "parts", parts)),
+                "generationConfig", generationConfig(0.2, 512 * fileUris.size(), BATCH_TAGS_SCHEMA)
+        );
+        return postJson(endpoint(visionModel), body);
     }
 
+    /** 텍스트 여러 건 → 항목별 태그/설명 */
+    public String generateTagsFromTexts(List<String> texts) {
+        StringBuilder prompt = new StringBuilder(BATCH_TEXT_PROMPT);
+        for (int i = 0; i < texts.size(); i++) {
+            prompt.append("\n[").append(i).append("]\n").append(texts.get(i));
+        }
+        Map<String, Object> body = Map.of(
+                "contents", List.of(Map.of(
+                        "role", "user",
+                        "parts", List.of(Map.of("text", prompt.toString()))
+                )),
+                "generationConfig", generationConfig(0.2, 256 * texts.size(), BATCH_TAGS_SCHEMA)
+        );
+        return postJson(endpoint(textModel), body);
+    }
+
+    private static final Map<String, Object> BATCH_TAGS_SCHEMA = Map.of(
+            "type", "OBJECT",
+            "properties", Map.of(
+                    "items", Map.of(
+                            "type", "ARRAY",
+                            "items", Map.of(
+                                    "type", "OBJECT",
+                                    "properties", Map.of(
+                                            "index", Map.of("type", "INTEGER"),
+                                            "tags", Map.of("type", "ARRAY", "items", Map.of("type", "STRING")),
+                                            "description", Map.of("type", "STRING")
+                                    ),
+                                    "required", List.of("index", "tags", "description")
+                            )
+                    )
+            ),
+            "required", List.of("items")
+    );
+
+    private static final String BATCH_IMAGE_PROMPT = """
+        너는 한국어 이미지 분석기다.
+        아래에 [번호] 뒤에 이미지가 여러 장 이어진다. 이미지마다 따로,
+        이미지 속의 글자(텍스트)와 시각적인 요소를 모두 참고해 핵심 키워드(태그)와 짧은 설명을 작성해.
+        설명은 4문장 이내로 이미지의 주요 주제를 빠트리지 않게 요약해줘.
+        없는 내용을 만들어내지 말고, 다른 이미지의 내용을 섞지 마.
+        items 배열에 이미지마다 하나씩, index 에 해당 [번호]를 넣어 JSON 으로만 출력해.
+
+        출력 형식 예시:
+        {
+          "items": [
+            { "index": 0, "tags": ["말차","크림빵","디저트"], "description": "연세 말차 크림빵 제품입니다." }
+          ]
+        }
+        """;
+
+    private static final String BATCH_TEXT_PROMPT = """
+        너는 한국어 콘텐츠 분석기다.
+        아래에 [번호] 뒤에 입력 문서가 여러 개 이어진다. 문서마다 따로,
+        핵심적인 키워드(태그)와 간단한 설명을 작성해.
+        설명은 4문장 이내로, 입력 내용의 주요 주제를 빠트리지 않게 요약해줘.
+        없는 내용을 만들어내지 말고, 다른 문서의 내용을 섞지 마.
+        items 배열에 문서마다 하나씩, index 에 해당 [번호]를 넣어 JSON 으로만 출력해.
+        """;
+
+    // ————— 구조화 출력 (responseSchema) —————
+    // 모델이 스키마대로 순수 JSON 만 돌려주므로 코드펜스/중괄호 슬라이스 없이 바로 디코딩 (VertexResponseParser)
+
+    private static final Map<String, Object> TAGS_SCHEMA = Map.of(
+            "type", "OBJECT",
+            "properties", Map.of(
+                    "tags", Map.of("type", "ARRAY", "items", Map.of("type", "STRING")),
+                    "description", Map.of("type", "STRING")
+            ),
+            "required", List.of("tags", "description")
+    );
+
+    private static final Map<String, Object> OCR_TAGS_SCHEMA = Map.of(
+            "type", "OBJECT",
+            "properties", Map.of(
+                    "ocr_text", Map.of("type", "STRING"),
+                    "tags", Map.of("type", "ARRAY", "items", Map.of("type", "STRING")),
+                    "description", Map.of("type", "STRING")
+            ),
+            "required", List.of("ocr_text", "tags", "description")
+    );
+
+    private static final String TAGS_SCHEMA_JSON = toJson(TAGS_SCHEMA);
+    private static final String OCR_TAGS_SCHEMA_JSON = toJson(OCR_TAGS_SCHEMA);
+
+    private Map<String, Object> generationConfig(double temperature, int maxTokens, Map<String, Object> schema) {
+        Map<String, Object> cfg = new LinkedHashMap<>();
+        cfg.put("temperature", temperature);
+        cfg.put("maxOutputTokens", maxTokens);
+        if (structuredOutput && schema != null) {
+            cfg.put("responseMimeType", "application/json");
+            cfg.put("responseSchema", schema);
+        }
+        return cfg;
+    }
+
+    private String schemaJson(String schema) {
+        return structuredOutput ? schema : null;
+    }
+
+    private static String toJson(Object o) {
+        try {
+            return new ObjectMapper().writeValueAsString(o);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // OCR 텍스트까지 돌려받으므로 출력 토큰 한도를 넉넉히
+    private static final int OCR_MAX_TOKENS = 4096;
+
+    private static final String OCR_IMAGE_PROMPT = """
+        너는 한국어 이미지 분석기다.
+        1) 이미지 속 글자를 빠짐없이 줄바꿈을 유지해 그대로 옮겨 적어 ocr_text 에 넣어. 글자가 없으면 빈 문자열.
+        2) 이미지 속의 글자와 시각적인 요소를 모두 참고해 핵심 키워드(태그)와 짧은 설명을 작성해.
+        설명은 4문장 이내로 이미지의 주요 주제를 빠트리지 않게 요약해줘.
+        없는 내용을 만들어내지 말고, 이미지 내용에 기반해서만 작성해.
+        JSON 객체 하나로만 출력해.
+
+        출력 형식 예시:
+        {
+          "ocr_text": "연세우유\\n말차 생크림빵",
+          "tags": ["말차","초코","크림빵","디저트","간식"],
+          "description": "연세 말차 크림빵 제품으로, 디저트 관련 콘텐츠입니다."
+        }
+        """;
+
+    private static final String IMAGE_PROMPT = """
+        너는 한국어 이미지 분석기다.
+        이미지 속의 글자(텍스트)와 시각적인 요소를 모두 참고해,
+        핵심적인 키워드(태그)와 짧은 설명을 JSON 객체 하나로만 출력해.
+        설명은 4문장 이내로 이미지의 주요 주제를 빠트리지 않게 요약해줘.
+        없는 내용을 만들어내지 말고, 이미지 내용에 기반해서만 작성해.
+
+        출력 형식 예시:
+        {
+          "tags": ["말차","초코","크림빵","디저트","간식"],
+          "description": "연세 말차 크림빵 제품으로, 디저트 관련 콘텐츠입니다."
+        }
+        """;
+
     public String generateText(String prompt, double temperature, int maxTokens) {
         if (prompt == null || prompt.isBlank()) {
             return "{\"error\":\"prompt is empty\"}";
@@ -195,7 +380,7 @@ public class VertexService {
         }
 
         // presigned URL은 보통 GET 서명만 포함 → HEAD 금지, 단일 GET로 바이트 수신
-        byte[] data = AIUtil.directDownloadBytes(url, MAX_IMAGE_BYTES);
+        byte[] data = httpClients.downloadBytes(url, MAX_IMAGE_BYTES);
         if (data == null || data.length == 0) {
             return "{\"error\":\"empty content\"}";
         }
@@ -216,4 +401,26 @@ public class VertexService {
         }
         return generateTagsFromText(text);
     }
+
+    // ————— 이미 내려받은 객체 입력 (파이프라인 FETCH 결과 공유, 재다운로드 없음) —————
+    public String analyze(FetchedObject obj) {
+        if (obj == null || obj.size() == 0) {
+            return "{\"error\":\"empty content\"}";
+        }
+        if (obj.isImage()) {
+            if (obj.size() > MAX_IMAGE_BYTES) {
+                return "{\"error\":\"image too large\"}";
+            }
+            return analyzeImage(obj);
+        }
+
+        if (obj.size() > MAX_TEXT_BYTES) {
+            return "{\"error\":\"text too large\"}";
+        }
+        String text = obj.asUtf8Text();
+        if (text.isBlank()) {
+            return "{\"error\":\"unsupported content\"}";
+        }
+        return generateTagsFromText(text);
+    }
 }
\ No newline at end of file
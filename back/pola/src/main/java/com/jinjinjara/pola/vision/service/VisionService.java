@@ -2,13 +2,19 @@ package com.jinjinjara.pola.vision.service;
 
 import com.google.cloud.vision.v1.*;
 import com.google.protobuf.ByteString;
+import com.jinjinjara.pola.common.CustomException;
+import com.jinjinjara.pola.common.ErrorCode;
+import com.jinjinjara.pola.resilience.util.HedgedCaller;
+import com.jinjinjara.pola.vision.dto.common.FetchedObject;
 import com.jinjinjara.pola.vision.dto.response.LabelResponse;
 import com.jinjinjara.pola.vision.util.AIUtil;
+import com.jinjinjara.pola.vision.util.OutboundHttpClients;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -20,13 +26,15 @@ public class VisionService {
 
     private final ImageAnnotatorClient client;
     private final TranslationService translationService;
+    private final OutboundHttpClients httpClients;
+    private final HedgedCaller hedgedCaller;
 
     private static final long MAX_IMAGE_BYTES = 20L * 1024 * 1024; // 20MB
     private static final long MAX_TEXT_BYTES  = 2L  * 1024 * 1024; // 2MB
 
     public String extractTextFromS3Url(String url) {
         try {
-            byte[] data = AIUtil.directDownloadBytes(url, MAX_IMAGE_BYTES);
+            byte[] data = httpClients.downloadBytes(url, MAX_IMAGE_BYTES);
             if (data == null || data.length == 0) {
                 throw new RuntimeException("Empty content from S3");
             }
@@ -37,24 +45,64 @@ public class VisionService {
             }
 
             if (data.length > MAX_TEXT_BYTES) {
-                throw new RuntimeException("Text file too large: " + data.length);
+                throw new CustomException(ErrorCode.INVALID_REQUEST, "Text file too large: " + data.length);
             }
 
             String text = new String(data, java.nio.charset.StandardCharsets.UTF_8).trim();
             if (text.isBlank()) {
-                throw new RuntimeException("Text content empty");
+                throw new CustomException(ErrorCode.INVALID_REQUEST, "Text content empty");
             }
             return text;
 
+        } catch (CustomException e) {
+            throw e;
         } catch (Exception e) {
             log.error("[VisionService] extractTextFromS3Url failed: {}", e.toString());
             throw new RuntimeException("Failed to extract text from S3 URL", e);
         }
     }
 
+    // 이미 내려받은 객체 입력 (파이프라인 FETCH 결과 공유, 재다운로드/재스니핑 없음)
+    public String extractText(FetchedObject obj) {
+        try {
+            if (obj == null || obj.size() == 0) {
+                throw new RuntimeException("Empty content from S3");
+            }
+
+            if (obj.isImage()) {
+                if (obj.size() > MAX_IMAGE_BYTES) {
+                    throw new CustomException(ErrorCode.INVALID_REQUEST, "Image too large: " + obj.size());
+                }
+                return documentOcr(obj.getContent());
+            }
+
+            if (obj.size() > MAX_TEXT_BYTES) {
+                throw new CustomException(ErrorCode.INVALID_REQUEST, "Text file too large: " + obj.size());
+            }
+
+            String text = obj.asUtf8Text().trim();
+            if (text.isBlank()) {
+                throw new CustomException(ErrorCode.INVALID_REQUEST, "Text content empty");
+            }
+            return text;
+
+        } catch (CustomException e) {
+            // 입력 자체가 잘못된 경우 → 재시도하지 않도록 그대로 전달
+            log.warn("[VisionService] extractText rejected: key={}, {}", obj == null ? null : obj.getKey(), e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            log.error("[VisionService] extractText failed: key={}, {}", obj == null ? null : obj.getKey(), e.toString());
+            throw new RuntimeException("Failed to extract text from object", e);
+        }
+    }
+
     public String documentOcr(byte[] bytes) throws Exception {
+        return documentOcr(ByteString.copyFrom(bytes));
+    }
+
+    private String documentOcr(ByteString content) {
         Image img = Image.newBuilder()
-                .setContent(ByteString.copyFrom(bytes))
+                .setContent(content)
                 .build();
         Feature feature = Feature.newBuilder()
                 .setType(Feature.Type.DOCUMENT_TEXT_DETECTION)
@@ -63,7 +111,7 @@ public class VisionService {
                 .setImage(img)
                 .addFeatures(feature)
                 .build();
-        AnnotateImageResponse r = client.batchAnnotateImages(List.of(req)).getResponses(0);
+        AnnotateImageResponse r = annotate(req);
         if (r.hasError()) throw new RuntimeException(r.getError().getMessage());
         return r.getFullTextAnnotation().getText();
     }
@@ -86,7 +134,7 @@ public class VisionService {
                 .addFeatures(feature)
                 .build();
 
-        AnnotateImageResponse r = client.batchAnnotateImages(List.of(req)).getResponses(0);
+        AnnotateImageResponse r = annotate(req);
         if (r.hasError()) throw new RuntimeException(r.getError().getMessage());
 
         return r.getLabelAnnotationsList().stream()
@@ -120,7 +168,7 @@ public class VisionService {
                 .addFeatures(feature)
                 .build();
 
-        AnnotateImageResponse r = client.batchAnnotateImages(List.of(req)).getResponses(0);
+        AnnotateImageResponse r = annotate(req);
         if (r.hasError()) throw new RuntimeException(r.getError().getMessage());
 
         return r.getLabelAnnotationsList().stream()
@@ -153,7 +201,7 @@ public class VisionService {
                 .addFeatures(feature)
                 .build();
 
-        AnnotateImageResponse r = client.batchAnnotateImages(List.of(req)).getResponses(0);
+        AnnotateImageResponse r = annotate(req);
         if (r.hasError()) throw new RuntimeException(r.getError().getMessage());
 
         return r.getFullTextAnnotation().getText();
@@ -175,12 +223,44 @@ public class VisionService {
                 .addFeatures(feature)
                 .build();
 
-        AnnotateImageResponse r = client.batchAnnotateImages(List.of(req)).getResponses(0);
+        AnnotateImageResponse r = annotate(req);
         if (r.hasError()) throw new RuntimeException(r.getError().getMessage());
 
         return r.getFullTextAnnotation().getText();
     }
 
+    // -----------------------------
+    // OCR (URI 여러 장, 배치 재분석)
+    // batchAnnotateImages 요청 하나에 최대 16장. 실패한 이미지는 null
+    // -----------------------------
+    private static final int MAX_IMAGES_PER_ANNOTATE = 16;
+
+    public List<String> documentOcrFromUris(List<String> uris) {
+        List<String> texts = new ArrayList<>(uris.size());
+        Feature feature = Feature.newBuilder().setType(Feature.Type.DOCUMENT_TEXT_DETECTION).build();
+
+        for (int from = 0; from < uris.size(); from += MAX_IMAGES_PER_ANNOTATE) {
+            List<AnnotateImageRequest> reqs = uris.subList(from, Math.min(uris.size(), from + MAX_IMAGES_PER_ANNOTATE))
+                    .stream()
+                    .map(uri -> AnnotateImageRequest.newBuilder()
+                            .setImage(Image.newBuilder().setSource(ImageSource.newBuilder().setImageUri(uri)))
+                            .addFeatures(feature)
+                            .build())
+                    .toList();
+
+            List<AnnotateImageResponse> responses = annotateAll(reqs);
+            for (AnnotateImageResponse r : responses) {
+                if (r.hasError()) {
+                    log.warn("[VisionService] batch OCR item failed: {}", r.getError().getMessage());
+                    texts.add(null);
+                } else {
+                    texts.add(r.getFullTextAnnotation().getText());
+                }
+            }
+        }
+        return texts;
+    }
+
     // -----------------------------
     // 내부: 번역 적용 헬퍼
     // 현재 TranslationService는 translateToKo(List<String>) 이므로 lang=="ko"에만 적용
@@ -202,4 +282,25 @@ public class VisionService {
     private static Map<String, String> zipToMap(List<String> keys, List<String> values) {
         return keys.stream().collect(Collectors.toMap(k -> k, k -> values.get(keys.indexOf(k))));
     }
+
+    // 모든 annotate 호출은 헤징 + 요청 기한 적용 (gax 재시도는 VisionConfig)
+    private List<AnnotateImageResponse> annotateAll(List<AnnotateImageRequest> reqs) {
+        try {
+            return hedgedCaller.call("vision", () -> client.batchAnnotateImages(reqs).getResponsesList());
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Vision call failed: " + e.getMessage(), e);
+        }
+    }
+
+    private AnnotateImageResponse annotate(AnnotateImageRequest req) {
+        try {
+            return hedgedCaller.call("vision", () -> client.batchAnnotateImages(List.of(req)).getResponses(0));
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Vision call failed: " + e.getMessage(), e);
+        }
+    }
 }
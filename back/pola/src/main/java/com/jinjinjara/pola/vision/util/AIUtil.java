@@ -1,57 +1,9 @@
 package com.jinjinjara.pola.vision.util;
 
-import javax.net.ssl.HttpsURLConnection;
-import java.io.InputStream;
-import java.net.HttpURLConnection;
-import java.net.URL;
-import java.nio.charset.StandardCharsets;
-
 public final class AIUtil {
 
     private AIUtil() {}
 
-    /** presigned S3 URL 등 외부 리소스를 직접 GET으로 내려받아 바이트 반환 */
-    public static byte[] directDownloadBytes(String urlStr, long maxBytes) throws Exception {
-        HttpURLConnection conn = null;
-        try {
-            URL url = new URL(urlStr);
-            conn = (HttpURLConnection) url.openConnection();
-            if (conn instanceof HttpsURLConnection https) {
-                https.setInstanceFollowRedirects(true);
-            }
-            conn.setInstanceFollowRedirects(true);
-            conn.setRequestMethod("GET");
-            conn.setConnectTimeout(5000);
-            conn.setReadTimeout(15000);
-            conn.setRequestProperty("User-Agent", "pola-http/1.0");
-
-            int code = conn.getResponseCode();
-            InputStream is = (code >= 200 && code < 400) ? conn.getInputStream() : conn.getErrorStream();
-            if (is == null) throw new RuntimeException("No response stream, status=" + code);
-
-            long declared = conn.getContentLengthLong(); // -1 가능
-            if (declared > 0 && declared > maxBytes) {
-                throw new RuntimeException("Object too large (Content-Length): " + declared);
-            }
-
-            byte[] data = is.readAllBytes(); // JDK 11+
-            if (data.length > maxBytes) {
-                throw new RuntimeException("Object too large (actual): " + data.length);
-            }
-            if (code < 200 || code >= 300) {
-                String snippet = new String(data, 0, Math.min(256, data.length), StandardCharsets.UTF_8);
-                throw new RuntimeException("HTTP " + code + " bodySnippet=" + snippet);
-            }
-            return data;
-        }
-        catch (Exception e) {
-            throw new Exception("directDownloadBytes failed: " + urlStr, e);
-        }
-        finally {
-            if (conn != null) conn.disconnect();
-        }
-    }
-
     /** 간단 매직바이트 MIME 추정 */
     public static String sniffMime(byte[] bytes) {
         if (bytes.length >= 3 && bytes[0] == (byte)0xFF && bytes[1] == (byte)0xD8) return "image/jpeg";
@@ -1,7 +1,7 @@
 package com.jinjinjara.pola.vision.util;
 
-import com.jinjinjara.pola.vision.dto.common.CategoryChangedEvent;
-import com.jinjinjara.pola.vision.service.EmbeddingCacheService;
+import com.jinjinjara.pola.vision.dto.common.CentroidDeltaEvent;
+import com.jinjinjara.pola.vision.service.CentroidIndexService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -13,12 +13,15 @@ import org.springframework.transaction.event.TransactionPhase;
 @RequiredArgsConstructor
 public class CategoryCacheInvalidationListener {
 
-    private final EmbeddingCacheService embeddingCacheService;
+    private final CentroidIndexService centroidIndexService;
 
     @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
-    public void onChanged(CategoryChangedEvent event) {
-        Long userId = event.getUserId();
-        log.info("[EmbedCache] invalidate after commit. user={}", userId);
-        embeddingCacheService.invalidate(userId); // 캐시 삭제만, 재계산은 다음 호출에서
+    public void onDelta(CentroidDeltaEvent event) {
+        try {
+            centroidIndexService.applyDelta(event); // 바뀐 카테고리만 O(d) 갱신
+        } catch (Exception e) {
+            log.warn("[EmbedCache] delta failed, invalidate. user={}", event.getUserId(), e);
+            centroidIndexService.invalidate(event.getUserId());
+        }
     }
 }
@@ -0,0 +1,117 @@
+package com.jinjinjara.pola.vision.util;
+
+import com.jinjinjara.pola.vision.dto.common.CentroidState;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CentroidState ↔ 바이너리 (little-endian)
+ *
+ * <pre>
+ * header : magic(int "PCEN") | format(short) | reserved(short) | version(long) | builtAtEpochMs(long)
+ *          | dim(int) | categoryCount(int)
+ * names  : categoryCount × { nameLen(short) | utf8 name | tagCount(int) }
+ * matrix : categoryCount × dim float32 (카테고리별 벡터 합, 행 우선)
+ * </pre>
+ * JSON 대비 크기는 1/3 수준이고, 디코딩은 파싱 없이 벌크 복사로 끝난다.
+ */
+public final class CentroidCodec {
+
+    private static final int MAGIC = 0x4E454350; // "PCEN" (LE)
+    private static final short FORMAT = 1;
+    private static final int HEADER_BYTES = 4 + 2 + 2 + 8 + 8 + 4 + 4;
+
+    private CentroidCodec() {}
+
+    public static byte[] encode(CentroidState state) {
+        List<Map.Entry<String, CentroidState.CategorySum>> rows = new ArrayList<>();
+        int dim = 0;
+        for (var e : state.getCategories().entrySet()) {
+            double[] sum = e.getValue().getSum();
+            if (sum == null || e.getValue().getCount() <= 0) continue;
+            if (dim == 0) dim = sum.length;
+            if (sum.length != dim) throw new IllegalArgumentException("dimension mismatch: " + e.getKey());
+            rows.add(e);
+        }
+
+        List<byte[]> names = new ArrayList<>(rows.size());
+        int namesBytes = 0;
+        for (var e : rows) {
+            byte[] n = e.getKey().getBytes(StandardCharsets.UTF_8);
+            names.add(n);
+            namesBytes += 2 + n.length + 4;
+        }
+
+        ByteBuffer buf = ByteBuffer
+                .allocate(HEADER_BYTES + namesBytes + rows.size() * dim * 4)
+                .order(ByteOrder.LITTLE_ENDIAN);
+
+        buf.putInt(MAGIC).putShort(FORMAT).putShort((short) 0)
+                .putLong(state.getVersion())
+                .putLong(state.getBuiltAt() == null ? 0L : Instant.parse(state.getBuiltAt()).toEpochMilli())
+                .putInt(dim)
+                .putInt(rows.size());
+
+        for (int i = 0; i < rows.size(); i++) {
+            buf.putShort((short) names.get(i).length).put(names.get(i)).putInt(rows.get(i).getValue().getCount());
+        }
+        for (var e : rows) {
+            for (double v : e.getValue().getSum()) buf.putFloat((float) v);
+        }
+        return buf.array();
+    }
+
+    /** @return null 이면 형식이 다름 (구버전 / 손상 / 잘림) → 호출 측에서 재계산 */
+    public static CentroidState decode(byte[] bytes) {
+        if (bytes == null || bytes.length < HEADER_BYTES) return null;
+        try {
+            return read(ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN));
+        } catch (BufferUnderflowException e) {
+            return null;
+        }
+    }
+
+    private static CentroidState read(ByteBuffer buf) {
+        if (buf.getInt() != MAGIC || buf.getShort() != FORMAT) return null;
+        buf.getShort();
+
+        CentroidState state = new CentroidState();
+        state.setVersion(buf.getLong());
+        long builtAt = buf.getLong();
+        state.setBuiltAt(builtAt == 0L ? null : Instant.ofEpochMilli(builtAt).toString());
+        int dim = buf.getInt();
+        int count = buf.getInt();
+        if (dim < 0 || count < 0 || count > buf.remaining()) return null;
+
+        String[] names = new String[count];
+        int[] counts = new int[count];
+        for (int i = 0; i < count; i++) {
+            byte[] n = new byte[Short.toUnsignedInt(buf.getShort())];
+            buf.get(n);
+            names[i] = new String(n, StandardCharsets.UTF_8);
+            counts[i] = buf.getInt();
+        }
+
+        if (buf.remaining() < (long) count * dim * 4) return null;
+        var floats = buf.asFloatBuffer();
+        float[] row = new float[dim];
+        for (int i = 0; i < count; i++) {
+            floats.get(row);
+            double[] sum = new double[dim];
+            for (int j = 0; j < dim; j++) sum[j] = row[j];
+
+            CentroidState.CategorySum cs = new CentroidState.CategorySum();
+            cs.setCount(counts[i]);
+            cs.setSum(sum);
+            state.getCategories().put(names[i], cs);
+        }
+        return state;
+    }
+}
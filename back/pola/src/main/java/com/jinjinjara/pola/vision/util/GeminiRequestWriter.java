@@ -0,0 +1,81 @@
+package com.jinjinjara.pola.vision.util;
+
+import com.fasterxml.jackson.core.Base64Variants;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.google.protobuf.ByteString;
+import org.springframework.http.StreamingHttpOutputMessage;
+
+import java.io.InputStream;
+
+/**
+ * Gemini generateContent 요청 본문을 출력 스트림에 바로 쓰는 작성기
+ *
+ * 이미지 바이트를 Base64 문자열 / Map / 직렬화 버퍼로 여러 번 복사하지 않고,
+ * 요청 스트림에 조각 단위로 Base64 인코딩해서 흘려보낸다.
+ * (분석 1건당 최대 힙 사용량 ≈ 이미지 크기)
+ */
+public final class GeminiRequestWriter {
+
+    private static final JsonFactory JSON = JsonFactory.builder()
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET) // 스트림 종료는 HTTP 클라이언트가 담당
+            .build();
+
+    private GeminiRequestWriter() {}
+
+    public static StreamingHttpOutputMessage.Body inlineImage(ByteString data, String mimeType, String prompt,
+                                                              double temperature, int maxOutputTokens) {
+        return inlineImage(data, mimeType, prompt, temperature, maxOutputTokens, null);
+    }
+
+    /**
+     * {"contents":[{"role":"user","parts":[{"inlineData":{...}},{"text":...}]}],"generationConfig":{...}}
+     * responseSchemaJson 이 있으면 generationConfig 에 responseMimeType=application/json 과 함께 그대로 기록
+     */
+    public static StreamingHttpOutputMessage.Body inlineImage(ByteString data, String mimeType, String prompt,
+                                                              double temperature, int maxOutputTokens,
+                                                              String responseSchemaJson) {
+        return out -> {
+            try (JsonGenerator g = JSON.createGenerator(out);
+                 InputStream in = data.newInput()) {
+                g.writeStartObject();
+
+                g.writeArrayFieldStart("contents");
+                g.writeStartObject();
+                g.writeStringField("role", "user");
+                g.writeArrayFieldStart("parts");
+
+                g.writeStartObject();
+                g.writeObjectFieldStart("inlineData");
+                g.writeStringField("mimeType", mimeType);
+                g.writeFieldName("data");
+                // 표준 Base64 (패딩 O, 줄바꿈 X) 를 입력 스트림에서 조각 단위로 인코딩
+                g.writeBinary(Base64Variants.MIME_NO_LINEFEEDS, in, data.size());
+                g.writeEndObject();
+                g.writeEndObject();
+
+                g.writeStartObject();
+                g.writeStringField("text", prompt);
+                g.writeEndObject();
+
+                g.writeEndArray();   // parts
+                g.writeEndObject();
+                g.writeEndArray();   // contents
+
+                g.writeObjectFieldStart("generationConfig");
+                g.writeNumberField("temperature", temperature);
+                g.writeNumberField("maxOutputTokens", maxOutputTokens);
+                if (responseSchemaJson != null) {
+                    g.writeStringField("responseMimeType", "application/json");
+                    g.writeFieldName("responseSchema");
+                    g.writeRawValue(responseSchemaJson);
+                }
+                g.writeEndObject();
+
+                g.writeEndObject();
+                g.flush();
+            }
+        };
+    }
+}
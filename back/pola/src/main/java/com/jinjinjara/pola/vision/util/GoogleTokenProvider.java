@@ -0,0 +1,145 @@
+package com.jinjinjara.pola.vision.util;
+
+import com.google.auth.oauth2.AccessToken;
+import com.google.auth.oauth2.GoogleCredentials;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Google 액세스 토큰 공급자 (Vertex / 임베딩 REST 호출 공용)
+ *
+ * - 토큰을 캐시하고 만료 refreshMarginMs 전에 백그라운드 스레드에서 미리 갱신
+ * - 요청 경로는 캐시된 토큰만 읽는다. 캐시가 비었거나 만료된 경우에만 동기 갱신 (기동 직후 등)
+ * - 갱신 지연/실패는 pola.google.token.refresh 로 노출
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GoogleTokenProvider {
+
+    private final GoogleCredentials googleCredentials;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${google.token.refresh-margin-ms:300000}")
+    private long refreshMarginMs;      // 만료 5분 전 갱신
+
+    @Value("${google.token.retry-delay-ms:5000}")
+    private long retryDelayMs;         // 갱신 실패 시 재시도 간격 (지수 증가, 최대 1분)
+
+    private static final long MAX_RETRY_DELAY_MS = 60_000L;
+    private static final long MIN_REFRESH_DELAY_MS = 10_000L;
+
+    private volatile AccessToken cached;
+    // synchronized 대신 ReentrantLock: 갱신(네트워크 I/O) 중 가상 스레드가 캐리어에 고정되지 않도록
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private ScheduledExecutorService refresher;
+    private Timer successTimer;
+    private Timer failureTimer;
+    private int consecutiveFailures = 0;
+
+    @PostConstruct
+    void init() {
+        successTimer = meterRegistry.timer("pola.google.token.refresh", "result", "success");
+        failureTimer = meterRegistry.timer("pola.google.token.refresh", "result", "failure");
+        meterRegistry.gauge("pola.google.token.ttl_seconds", this, p -> p.secondsUntilExpiry());
+
+        refresher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "google-token-refresh");
+            t.setDaemon(true);
+            return t;
+        });
+        refresher.execute(this::scheduledRefresh);
+    }
+
+    /** "Bearer ..." 헤더 값 */
+    public String bearer() {
+        return "Bearer " + accessToken();
+    }
+
+    public String accessToken() {
+        AccessToken t = cached;
+        if (t == null || isExpired(t)) {
+            t = refreshNow(); // 백그라운드 갱신이 아직 안 됐거나 실패가 이어진 경우에만
+        }
+        return t.getTokenValue();
+    }
+
+    // ----------------------- refresh -----------------------
+
+    private void scheduledRefresh() {
+        long nextDelay;
+        try {
+            AccessToken t = refreshNow();
+            consecutiveFailures = 0;
+            long expiresIn = t.getExpirationTime() == null
+                    ? 0 : t.getExpirationTime().getTime() - System.currentTimeMillis();
+            nextDelay = Math.max(MIN_REFRESH_DELAY_MS, expiresIn - refreshMarginMs);
+        } catch (Exception e) {
+            consecutiveFailures++;
+            nextDelay = Math.min(MAX_RETRY_DELAY_MS, retryDelayMs << Math.min(consecutiveFailures - 1, 4));
+            log.error("[GoogleToken] background refresh failed (#{}), retry in {} ms: {}",
+                    consecutiveFailures, nextDelay, e.toString());
+        }
+        if (!refresher.isShutdown()) {
+            refresher.schedule(this::scheduledRefresh, nextDelay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private AccessToken refreshNow() {
+        refreshLock.lock();
+        try {
+            // 다른 스레드가 방금 갱신했다면 그대로 사용
+            AccessToken current = cached;
+            if (current != null && !isExpired(current) && remainingMs(current) > refreshMarginMs) {
+                return current;
+            }
+
+            long t0 = System.nanoTime();
+            try {
+                googleCredentials.refresh();
+                AccessToken t = googleCredentials.getAccessToken();
+                if (t == null) throw new IllegalStateException("No access token from credentials");
+                cached = t;
+                successTimer.record(System.nanoTime() - t0, TimeUnit.NANOSECONDS);
+                log.debug("[GoogleToken] refreshed, expiresAt={}", t.getExpirationTime());
+                return t;
+            } catch (Exception e) {
+                failureTimer.record(System.nanoTime() - t0, TimeUnit.NANOSECONDS);
+                throw new RuntimeException("Failed to obtain Google access token", e);
+            }
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private static boolean isExpired(AccessToken t) {
+        return t.getExpirationTime() != null && !t.getExpirationTime().toInstant().isAfter(Instant.now());
+    }
+
+    private static long remainingMs(AccessToken t) {
+        return t.getExpirationTime() == null ? Long.MAX_VALUE : t.getExpirationTime().getTime() - System.currentTimeMillis();
+    }
+
+    private double secondsUntilExpiry() {
+        AccessToken t = cached;
+        if (t == null || t.getExpirationTime() == null) return 0;
+        return Math.max(0, remainingMs(t) / 1000.0);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refresher.shutdownNow();
+    }
+}
@@ -0,0 +1,262 @@
+package com.jinjinjara.pola.vision.util;
+
+import com.jinjinjara.pola.vision.dto.common.FetchedObject;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageInputStreamImpl;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OCR / Vertex 입력 이미지 정규화
+ *
+ * - 크기를 먼저 읽고, 목표 크기에 맞춰 서브샘플링 디코딩한 뒤 긴 변(maxEdge)과 총 픽셀 수(maxPixels) 한도로 축소
+ * - 메타데이터(EXIF 등) 없이 JPEG 로 재인코딩 (알파는 흰 배경으로 합성)
+ * - 결과가 원본보다 크거나, 디코딩할 수 없거나(WebP 등), 회전 정보가 있는 JPEG 이면 원본 그대로 사용
+ *
+ * 정규화 결과는 OCR 과 Vertex 분석이 함께 사용한다. 분석 캐시 키(내용 해시)는 원본 기준.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ImageNormalizer {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${image.normalize.enabled:true}")
+    private boolean enabled;
+
+    @Value("${image.normalize.max-edge:2048}")
+    private int maxEdge;
+
+    @Value("${image.normalize.max-pixels:4000000}")
+    private long maxPixels;
+
+    @Value("${image.normalize.jpeg-quality:0.85}")
+    private float jpegQuality;
+
+    /** 이 크기 이하이고 해상도도 한도 안이면 재인코딩하지 않음 */
+    @Value("${image.normalize.skip-below-bytes:262144}")
+    private int skipBelowBytes;
+
+    /**
+     * 디코딩 자체를 거부하는 상한 (압축 폭탄 방지)
+     * 목표 크기로 서브샘플링해 읽으므로 디코딩 메모리는 원본이 아닌 목표 해상도 기준 (50MP 사진까지 허용)
+     */
+    private static final long MAX_DECODE_PIXELS = 64_000_000L;
+
+    /** Exif(APP1) 를 찾을 앞부분 길이 (APP0 + APP1 세그먼트는 각각 64KB 이하) */
+    private static final int HEADER_SCAN_BYTES = 128 * 1024;
+
+    public FetchedObject normalize(FetchedObject obj) {
+        if (!enabled || obj == null || !obj.isImage()) return obj;
+
+        long t0 = System.nanoTime();
+        String result = "skipped";
+        try {
+            if ("image/jpeg".equals(obj.getMime()) && hasRotation(header(obj))) {
+                return obj; // 메타데이터를 지우면 방향이 틀어지므로 원본 유지
+            }
+
+            // 원본은 복사하지 않고 공유 버퍼에서 바로 읽는다
+            try (ImageInputStream in = new ByteBufferImageInputStream(obj.asReadOnlyBuffer())) {
+                Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+                if (!readers.hasNext()) return obj; // 지원하지 않는 포맷 (WebP 등)
+
+                ImageReader reader = readers.next();
+                try {
+                    reader.setInput(in, true, true); // 메타데이터 무시
+                    int w = reader.getWidth(0);
+                    int h = reader.getHeight(0);
+                    if ((long) w * h > MAX_DECODE_PIXELS) {
+                        log.warn("[ImageNormalizer] image too large to decode: {}x{} key={}", w, h, obj.getKey());
+                        return obj;
+                    }
+
+                    double scale = scaleFor(w, h);
+                    if (scale >= 1.0 && obj.size() <= skipBelowBytes) {
+                        return obj;
+                    }
+
+                    int tw = Math.max(1, (int) Math.round(w * scale));
+                    int th = Math.max(1, (int) Math.round(h * scale));
+                    byte[] out = encodeJpeg(resize(reader.read(0, subsampling(reader, scale)), tw, th));
+
+                    if (out.length >= obj.size()) {
+                        result = "larger";
+                        return obj;
+                    }
+
+                    result = "normalized";
+                    meterRegistry.summary("pola.image.normalize.saved_bytes").record(obj.size() - out.length);
+                    log.info("[ImageNormalizer] {}x{} {}B -> {}x{} {}B key={}",
+                            w, h, obj.size(), tw, th, out.length, obj.getKey());
+                    return FetchedObject.of(obj.getKey(), out);
+                } finally {
+                    reader.dispose();
+                }
+            }
+        } catch (Exception e) {
+            result = "error";
+            log.warn("[ImageNormalizer] normalize failed, using original: key={}, err={}", obj.getKey(), e.toString());
+            return obj;
+        } finally {
+            meterRegistry.timer("pola.image.normalize", "result", result)
+                    .record(System.nanoTime() - t0, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private double scaleFor(int w, int h) {
+        double scale = 1.0;
+        int longest = Math.max(w, h);
+        if (longest > maxEdge) {
+            scale = (double) maxEdge / longest;
+        }
+        double pixels = (double) w * h * scale * scale;
+        if (pixels > maxPixels) {
+            scale *= Math.sqrt(maxPixels / pixels);
+        }
+        return scale;
+    }
+
+    /**
+     * 목표 크기 이상을 유지하는 가장 큰 정수배로 건너뛰며 읽기
+     * 디코딩 결과는 목표의 1~2배 해상도라 이후 축소 품질은 그대로이고, 원본 해상도의 래스터는 만들지 않는다.
+     */
+    static ImageReadParam subsampling(ImageReader reader, double scale) {
+        ImageReadParam param = reader.getDefaultReadParam();
+        int step = scale >= 1.0 ? 1 : Math.max(1, (int) Math.floor(1.0 / scale));
+        param.setSourceSubsampling(step, step, 0, 0);
+        return param;
+    }
+
+    private static byte[] header(FetchedObject obj) {
+        return obj.getContent().substring(0, Math.min(obj.size(), HEADER_SCAN_BYTES)).toByteArray();
+    }
+
+    private static BufferedImage resize(BufferedImage src, int tw, int th) {
+        BufferedImage dst = new BufferedImage(tw, th, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = dst.createGraphics();
+        try {
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, tw, th);
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(src, 0, 0, tw, th, null);
+        } finally {
+            g.dispose();
+        }
+        return dst;
+    }
+
+    private byte[] encodeJpeg(BufferedImage img) throws Exception {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(bos)) {
+            writer.setOutput(out);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            writer.write(null, new IIOImage(img, null, null), param); // 메타데이터 없이 기록
+        } finally {
+            writer.dispose();
+        }
+        return bos.toByteArray();
+    }
+
+    /** JPEG APP1(Exif) 의 Orientation(0x0112) 이 1(정방향)이 아니면 true */
+    static boolean hasRotation(byte[] d) {
+        int i = 2; // SOI 다음
+        while (i + 4 <= d.length && (d[i] & 0xFF) == 0xFF) {
+            int marker = d[i + 1] & 0xFF;
+            int len = ((d[i + 2] & 0xFF) << 8) | (d[i + 3] & 0xFF);
+            if (marker == 0xDA || len < 2) break; // 영상 데이터 시작
+            if (marker == 0xE1 && i + 10 <= d.length
+                    && d[i + 4] == 'E' && d[i + 5] == 'x' && d[i + 6] == 'i' && d[i + 7] == 'f') {
+                return orientation(d, i + 10, Math.min(d.length, i + 2 + len)) > 1;
+            }
+            i += 2 + len;
+        }
+        return false;
+    }
+
+    private static int orientation(byte[] d, int tiff, int end) {
+        if (tiff + 8 > end) return 1;
+        boolean le = d[tiff] == 'I';
+        long ifd = tiff + (readInt(d, tiff + 4, le) & 0xFFFFFFFFL);
+        if (ifd + 2 > end) return 1;
+        int entries = readShort(d, (int) ifd, le);
+        for (int n = 0; n < entries; n++) {
+            int e = (int) ifd + 2 + n * 12;
+            if (e + 12 > end) break;
+            if (readShort(d, e, le) == 0x0112) {
+                return readShort(d, e + 8, le);
+            }
+        }
+        return 1;
+    }
+
+    private static int readShort(byte[] d, int p, boolean le) {
+        return le ? (d[p] & 0xFF) | (d[p + 1] & 0xFF) << 8
+                  : (d[p] & 0xFF) << 8 | (d[p + 1] & 0xFF);
+    }
+
+    private static int readInt(byte[] d, int p, boolean le) {
+        return le ? (d[p] & 0xFF) | (d[p + 1] & 0xFF) << 8 | (d[p + 2] & 0xFF) << 16 | (d[p + 3] & 0xFF) << 24
+                  : (d[p] & 0xFF) << 24 | (d[p + 1] & 0xFF) << 16 | (d[p + 2] & 0xFF) << 8 | (d[p + 3] & 0xFF);
+    }
+
+    /** 공유 버퍼를 복사 없이 읽는 ImageIO 입력 (ImageIO 의 InputStream 래퍼는 캐시에 전체를 다시 복사함) */
+    static final class ByteBufferImageInputStream extends ImageInputStreamImpl {
+
+        private final ByteBuffer buf;
+
+        ByteBufferImageInputStream(ByteBuffer buf) {
+            this.buf = buf.slice();
+        }
+
+        @Override
+        public int read() throws IOException {
+            checkClosed();
+            if (streamPos >= buf.limit()) return -1;
+            bitOffset = 0;
+            return buf.get((int) streamPos++) & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            checkClosed();
+            if (len == 0) return 0;
+            if (streamPos >= buf.limit()) return -1;
+            bitOffset = 0;
+            int n = (int) Math.min(len, buf.limit() - streamPos);
+            buf.get((int) streamPos, b, off, n);
+            streamPos += n;
+            return n;
+        }
+
+        @Override
+        public long length() {
+            return buf.limit();
+        }
+    }
+}
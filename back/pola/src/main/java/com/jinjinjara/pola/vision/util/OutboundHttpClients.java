@@ -0,0 +1,123 @@
+package com.jinjinjara.pola.vision.util;
+
+import com.jinjinjara.pola.config.OutboundHttpProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 외부 호출용 HTTP 클라이언트 모음
+ *
+ * 하나의 JDK HttpClient(연결 풀 + keep-alive + HTTP/2 다중화)를 공유하고,
+ * 의존성별로 read 타임아웃과 메트릭 태그만 다른 RestClient 를 제공한다.
+ * 업로드마다 새 연결/TLS 핸드셰이크를 맺지 않도록 외부 AI 호출은 모두 여기를 거칠 것
+ * 연결 재사용은 최선 노력이다 (서버/LB 가 먼저 유휴 연결을 닫으면 다음 요청에서 새로 연결)
+ * (S3 는 SDK 자체 풀 사용, S3Config 참고)
+ */
+@Slf4j
+@Component
+public class OutboundHttpClients {
+
+    private final HttpClient httpClient;
+    private final ExecutorService httpExecutor;
+    private final RestClient vertex;
+    private final RestClient embedding;
+    private final RestClient download;
+
+    public OutboundHttpClients(OutboundHttpProperties props,
+                               RestClient.Builder builder,
+                               MeterRegistry meterRegistry,
+                               @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        // 풀의 유휴 연결 유지 시간은 JVM 옵션으로만 정해진다 (-Djdk.httpclient.keepalive.timeout=<초>, Dockerfile)
+        log.info("[OutboundHttp] http2={} keepalive.timeout={}s", props.isHttp2(),
+                System.getProperty("jdk.httpclient.keepalive.timeout", "1200(default)"));
+
+        this.httpExecutor = virtualThreads
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("outbound-http-", 0).factory())
+                : Executors.newCachedThreadPool(r -> {
+                    Thread t = new Thread(r, "outbound-http");
+                    t.setDaemon(true);
+                    return t;
+                });
+        this.httpClient = HttpClient.newBuilder()
+                .version(props.isHttp2() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(props.getConnectTimeoutMs()))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .executor(httpExecutor)
+                .build();
+
+        this.vertex = build(builder, "vertex", props.getVertex(), meterRegistry);
+        this.embedding = build(builder, "embedding", props.getEmbedding(), meterRegistry);
+        this.download = build(builder, "download", props.getDownload(), meterRegistry);
+    }
+
+    private RestClient build(RestClient.Builder builder, String dependency,
+                             OutboundHttpProperties.Dependency dep, MeterRegistry meterRegistry) {
+        JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(httpClient);
+        factory.setReadTimeout(Duration.ofMillis(dep.getReadTimeoutMs()));
+        return builder.clone()
+                .requestFactory(new OutboundHttpRequestFactory(factory, dependency, meterRegistry))
+                .build();
+    }
+
+    /** Vertex generateContent */
+    public RestClient vertex() {
+        return vertex;
+    }
+
+    /** Vertex 임베딩 predict */
+    public RestClient embedding() {
+        return embedding;
+    }
+
+    /**
+     * presigned URL 등 외부 리소스를 단일 GET 으로 내려받음 (HEAD 없음)
+     * Content-Length / 실제 크기 모두 maxBytes 로 제한
+     */
+    public byte[] downloadBytes(String url, long maxBytes) throws Exception {
+        try {
+            return download.get()
+                    .uri(URI.create(url)) // presigned 서명이 재인코딩되지 않도록 URI 그대로 사용
+                    .exchange((req, res) -> {
+                        HttpStatusCode code = res.getStatusCode();
+                        long declared = res.getHeaders().getContentLength(); // -1 가능
+                        if (declared > 0 && declared > maxBytes) {
+                            throw new RuntimeException("Object too large (Content-Length): " + declared);
+                        }
+                        byte[] data;
+                        try (InputStream is = res.getBody()) {
+                            data = is.readNBytes((int) Math.min(Integer.MAX_VALUE - 8, maxBytes + 1));
+                        }
+                        if (data.length > maxBytes) {
+                            throw new RuntimeException("Object too large (actual): > " + maxBytes);
+                        }
+                        if (!code.is2xxSuccessful()) {
+                            String snippet = new String(data, 0, Math.min(256, data.length), StandardCharsets.UTF_8);
+                            throw new RuntimeException("HTTP " + code.value() + " bodySnippet=" + snippet);
+                        }
+                        return data;
+                    });
+        } catch (Exception e) {
+            throw new Exception("downloadBytes failed: " + url, e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        httpClient.shutdown();
+        httpExecutor.shutdown();
+    }
+}
@@ -0,0 +1,168 @@
+package com.jinjinjara.pola.vision.util;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.StreamingHttpOutputMessage;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * 외부 호출 공통 처리 (요청 팩토리 데코레이터)
+ * - gzip 응답 요청 및 해제 (JDK HttpClient 는 자동 해제하지 않음)
+ * - 의존성/호스트/상태별 지연 시간 기록: pola.http.client{dependency,host,status}
+ *
+ * 인터셉터(ClientHttpRequestInterceptor)는 요청 본문을 byte[] 로 버퍼링하므로 쓰지 않는다.
+ * 스트리밍 본문(StreamingHttpOutputMessage)은 하위 요청으로 그대로 전달되어 힙에 모이지 않음.
+ */
+public class OutboundHttpRequestFactory implements ClientHttpRequestFactory {
+
+    // Google API 는 User-Agent 에 gzip 이 포함되어야 압축 응답을 보냄
+    private static final String USER_AGENT = "pola-http/1.0 (gzip)";
+
+    private final ClientHttpRequestFactory delegate;
+    private final String dependency;
+    private final MeterRegistry meterRegistry;
+
+    public OutboundHttpRequestFactory(ClientHttpRequestFactory delegate, String dependency, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.dependency = dependency;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) throws IOException {
+        return new MeteredRequest(delegate.createRequest(uri, httpMethod));
+    }
+
+    private final class MeteredRequest implements ClientHttpRequest, StreamingHttpOutputMessage {
+
+        private final ClientHttpRequest request;
+
+        MeteredRequest(ClientHttpRequest request) {
+            this.request = request;
+        }
+
+        @Override
+        public ClientHttpResponse execute() throws IOException {
+            HttpHeaders headers = request.getHeaders();
+            if (!headers.containsKey(HttpHeaders.ACCEPT_ENCODING)) {
+                headers.set(HttpHeaders.ACCEPT_ENCODING, "gzip");
+            }
+            if (!headers.containsKey(HttpHeaders.USER_AGENT)) {
+                headers.set(HttpHeaders.USER_AGENT, USER_AGENT);
+            }
+
+            String host = request.getURI().getHost();
+            long t0 = System.nanoTime();
+            String status = "IO_ERROR";
+            try {
+                ClientHttpResponse res = request.execute();
+                status = String.valueOf(res.getStatusCode().value());
+                String encoding = res.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING);
+                return (encoding != null && encoding.equalsIgnoreCase("gzip")) ? new GzipResponse(res) : res;
+            } finally {
+                Timer.builder("pola.http.client")
+                        .tag("dependency", dependency)
+                        .tag("host", host == null ? "unknown" : host)
+                        .tag("status", status)
+                        .register(meterRegistry)
+                        .record(System.nanoTime() - t0, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        @Override
+        public void setBody(Body body) {
+            if (request instanceof StreamingHttpOutputMessage streaming) {
+                streaming.setBody(body);
+            } else {
+                try {
+                    body.writeTo(request.getBody());
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+
+        @Override
+        public OutputStream getBody() throws IOException {
+            return request.getBody();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return request.getHeaders();
+        }
+
+        @Override
+        public HttpMethod getMethod() {
+            return request.getMethod();
+        }
+
+        @Override
+        public URI getURI() {
+            return request.getURI();
+        }
+
+        @Override
+        public Map<String, Object> getAttributes() {
+            return request.getAttributes();
+        }
+    }
+
+    /** Content-Encoding: gzip 응답 본문을 풀어서 전달 */
+    private static final class GzipResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private final HttpHeaders headers;
+        private InputStream body;
+
+        GzipResponse(ClientHttpResponse delegate) {
+            this.delegate = delegate;
+            HttpHeaders h = new HttpHeaders();
+            h.putAll(delegate.getHeaders());
+            h.remove(HttpHeaders.CONTENT_ENCODING);
+            h.remove(HttpHeaders.CONTENT_LENGTH); // 압축 해제 후 길이와 다름
+            this.headers = HttpHeaders.readOnlyHttpHeaders(h);
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                body = new GZIPInputStream(delegate.getBody());
+            }
+            return body;
+        }
+
+        @Override
+        public void close() {
+            delegate.close();
+        }
+    }
+}
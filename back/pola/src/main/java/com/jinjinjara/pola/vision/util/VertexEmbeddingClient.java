@@ -0,0 +1,85 @@
+package com.jinjinjara.pola.vision.util;
+
+import com.jinjinjara.pola.resilience.util.HedgedCaller;
+import com.jinjinjara.pola.vision.dto.common.Instance;
+import com.jinjinjara.pola.vision.dto.common.Prediction;
+import com.jinjinjara.pola.vision.dto.request.PredictRequest;
+import com.jinjinjara.pola.vision.dto.response.PredictResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Vertex AI 임베딩 predict 호출 (1회 HTTP 요청 = 1배치)
+ * 모델: text-multilingual-embedding-002
+ *
+ * 직접 호출하지 말고 EmbeddingBatchDispatcher 를 거칠 것 (요청 병합/분할)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class VertexEmbeddingClient {
+
+    private final GoogleTokenProvider tokenProvider;
+
+    @Value("${google.project-id}")
+    private String project;
+
+    @Value("${vertex.location}")
+    private String location;
+
+    private final OutboundHttpClients httpClients;
+    private final HedgedCaller hedgedCaller;
+
+    public List<float[]> predict(List<String> texts) {
+        if (texts == null || texts.isEmpty()) return List.of();
+
+        String url = String.format(
+                "https://%s-aiplatform.googleapis.com/v1/projects/%s/locations/%s/publishers/google/models/text-multilingual-embedding-002:predict",
+                location, project, location
+        );
+
+        List<Instance> instances = new ArrayList<>(texts.size());
+        for (String t : texts) {
+            instances.add(new Instance(t)); // DTO의 content 필드에 매핑
+        }
+        PredictRequest body = new PredictRequest(instances);
+
+        PredictResponse res;
+        try {
+            res = hedgedCaller.call("embedding", () -> httpClients.embedding().post()
+                    .uri(url)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header("Authorization", tokenProvider.bearer())
+                    .body(body)
+                    .retrieve()
+                    .body(PredictResponse.class));
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Embedding call failed: " + e.getMessage(), e);
+        }
+
+        if (res == null || res.getPredictions() == null || res.getPredictions().isEmpty()) {
+            throw new RuntimeException("Empty embedding response");
+        }
+        if (res.getPredictions().size() != texts.size()) {
+            throw new RuntimeException("Embedding count mismatch: expected=" + texts.size()
+                    + ", actual=" + res.getPredictions().size());
+        }
+
+        List<float[]> out = new ArrayList<>(res.getPredictions().size());
+        for (Prediction p : res.getPredictions()) {
+            var values = p.getEmbeddings().getValues();
+            float[] v = new float[values.size()];
+            for (int i = 0; i < v.length; i++) v[i] = values.get(i).floatValue();
+            out.add(v);
+        }
+        return out;
+    }
+}
@@ -0,0 +1,232 @@
+package com.jinjinjara.pola.vision.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.jinjinjara.pola.vision.dto.common.VertexOcrParsedResult;
+import com.jinjinjara.pola.vision.dto.common.VertexParsedResult;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gemini generateContent 응답 스트리밍 파서
+ *
+ * - 바깥 응답: candidates[0].content.parts[].text 와 usageMetadata 만 토큰 단위로 읽고 나머지는 건너뜀 (트리 생성 없음)
+ * - 안쪽 text: responseSchema 로 받은 순수 JSON 을 바로 VertexParsedResult 로 디코딩
+ * - 스키마를 따르지 않은 텍스트(코드펜스, 설명 문장 등)는 null → 호출 측의 관대한 파서로 폴백
+ *
+ * 지표: pola.vertex.parse{path=structured|lenient,result}, pola.vertex.tokens{op,kind}
+ */
+@Component
+@RequiredArgsConstructor
+public class VertexResponseParser {
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private final MeterRegistry meterRegistry;
+
+    /** 첫 번째 후보의 첫 text 파트 (없으면 null). 토큰 사용량은 op 태그로 기록 */
+    public String firstText(String body, String op) {
+        if (body == null || body.isEmpty()) return null;
+        String text = null;
+        long promptTokens = -1, outputTokens = -1;
+
+        try (JsonParser p = JSON.createParser(body)) {
+            if (p.nextToken() != JsonToken.START_OBJECT) return null;
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                JsonToken value = p.nextToken();
+                if ("candidates".equals(field) && value == JsonToken.START_ARRAY) {
+                    text = readCandidates(p);
+                } else if ("usageMetadata".equals(field) && value == JsonToken.START_OBJECT) {
+                    while (p.nextToken() == JsonToken.FIELD_NAME) {
+                        String name = p.currentName();
+                        p.nextToken();
+                        if ("promptTokenCount".equals(name)) promptTokens = p.getValueAsLong();
+                        else if ("candidatesTokenCount".equals(name)) outputTokens = p.getValueAsLong();
+                        else p.skipChildren();
+                    }
+                } else {
+                    p.skipChildren();
+                }
+            }
+        } catch (Exception e) {
+            return text;
+        } finally {
+            if (promptTokens >= 0) {
+                meterRegistry.summary("pola.vertex.tokens", "op", op, "kind", "prompt").record(promptTokens);
+            }
+            if (outputTokens >= 0) {
+                meterRegistry.summary("pola.vertex.tokens", "op", op, "kind", "output").record(outputTokens);
+            }
+        }
+        return text;
+    }
+
+    /** candidates 배열 위치에서 호출. 첫 후보의 첫 text 만 취하고 배열 끝까지 소비 */
+    private String readCandidates(JsonParser p) throws Exception {
+        String text = null;
+        boolean first = true;
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            if (!first || p.currentToken() != JsonToken.START_OBJECT) {
+                p.skipChildren();
+                continue;
+            }
+            first = false;
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                JsonToken value = p.nextToken();
+                if ("content".equals(field) && value == JsonToken.START_OBJECT) {
+                    while (p.nextToken() == JsonToken.FIELD_NAME) {
+                        String cf = p.currentName();
+                        JsonToken cv = p.nextToken();
+                        if ("parts".equals(cf) && cv == JsonToken.START_ARRAY) {
+                            while (p.nextToken() == JsonToken.START_OBJECT) {
+                                while (p.nextToken() == JsonToken.FIELD_NAME) {
+                                    String pf = p.currentName();
+                                    JsonToken pv = p.nextToken();
+                                    if (text == null && "text".equals(pf) && pv == JsonToken.VALUE_STRING) {
+                                        text = p.getText();
+                                    } else {
+                                        p.skipChildren();
+                                    }
+                                }
+                            }
+                        } else {
+                            p.skipChildren();
+                        }
+                    }
+                } else {
+                    p.skipChildren();
+                }
+            }
+        }
+        return text;
+    }
+
+    /**
+     * 스키마 출력 디코딩: { "ocr_text"?, "tags": [...], "description": "..." }
+     * 순수 JSON 객체가 아니면 null
+     */
+    public VertexOcrParsedResult readStructured(String text) {
+        if (text == null) return null;
+        int start = 0;
+        while (start < text.length() && Character.isWhitespace(text.charAt(start))) start++;
+        if (start >= text.length() || text.charAt(start) != '{') return null;
+
+        String ocr = "";
+        String description = "";
+        List<String> tags = null;
+        try (JsonParser p = JSON.createParser(text)) {
+            p.nextToken();
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                JsonToken value = p.nextToken();
+                switch (field) {
+                    case "tags" -> {
+                        if (value != JsonToken.START_ARRAY) return null;
+                        tags = new ArrayList<>();
+                        while (p.nextToken() != JsonToken.END_ARRAY) {
+                            if (p.currentToken() == JsonToken.VALUE_STRING) tags.add(p.getText());
+                            else p.skipChildren();
+                        }
+                    }
+                    case "description" -> description = value == JsonToken.VALUE_NULL ? "" : p.getValueAsString("");
+                    case "ocr_text" -> ocr = value == JsonToken.VALUE_NULL ? "" : p.getValueAsString("");
+                    default -> p.skipChildren();
+                }
+            }
+            if (p.currentToken() != JsonToken.END_OBJECT) return null;
+        } catch (Exception e) {
+            return null;
+        }
+        if (tags == null) return null;
+        return new VertexOcrParsedResult(ocr.trim(), new VertexParsedResult(sanitize(tags), description.trim()));
+    }
+
+    /**
+     * 배치 스키마 출력 디코딩: { "items": [ { "index": n, "tags": [...], "description": "..." }, ... ] }
+     * size 길이 목록을 돌려주며, 모델이 빠뜨린 항목은 null. 순수 JSON 이 아니면 null
+     */
+    public List<VertexParsedResult> readStructuredBatch(String text, int size) {
+        if (text == null) return null;
+        VertexParsedResult[] out = new VertexParsedResult[size];
+        try (JsonParser p = JSON.createParser(text)) {
+            if (p.nextToken() != JsonToken.START_OBJECT) return null;
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                JsonToken value = p.nextToken();
+                if (!"items".equals(field)) {
+                    p.skipChildren();
+                    continue;
+                }
+                if (value != JsonToken.START_ARRAY) return null;
+                while (p.nextToken() == JsonToken.START_OBJECT) {
+                    int index = -1;
+                    String description = "";
+                    List<String> tags = null;
+                    while (p.nextToken() == JsonToken.FIELD_NAME) {
+                        String f = p.currentName();
+                        JsonToken v = p.nextToken();
+                        switch (f) {
+                            case "index" -> index = p.getValueAsInt(-1);
+                            case "tags" -> {
+                                if (v != JsonToken.START_ARRAY) return null;
+                                tags = new ArrayList<>();
+                                while (p.nextToken() != JsonToken.END_ARRAY) {
+                                    if (p.currentToken() == JsonToken.VALUE_STRING) tags.add(p.getText());
+                                    else p.skipChildren();
+                                }
+                            }
+                            case "description" -> description = v == JsonToken.VALUE_NULL ? "" : p.getValueAsString("");
+                            default -> p.skipChildren();
+                        }
+                    }
+                    if (index >= 0 && index < size && tags != null && out[index] == null) {
+                        out[index] = new VertexParsedResult(sanitize(tags), description.trim());
+                    }
+                }
+            }
+        } catch (Exception e) {
+            return null;
+        }
+        return Arrays.asList(out);
+    }
+
+    /**
+     * 기존 sanitizeTags 와 같은 규칙 (앞뒤 따옴표 제거, 공백 단위 분리, 중복 제거)을 정규식 없이 한 번에 처리
+     */
+    static List<String> sanitize(List<String> in) {
+        Set<String> out = new LinkedHashSet<>();
+        for (String raw : in) {
+            if (raw == null) continue;
+            String t = raw.trim();
+            if (!t.isEmpty() && (t.charAt(0) == '"' || t.charAt(0) == '\'')) t = t.substring(1);
+            if (!t.isEmpty() && (t.charAt(t.length() - 1) == '"' || t.charAt(t.length() - 1) == '\'')) {
+                t = t.substring(0, t.length() - 1);
+            }
+            int i = 0, n = t.length();
+            while (i < n) {
+                while (i < n && Character.isWhitespace(t.charAt(i))) i++;
+                int j = i;
+                while (j < n && !Character.isWhitespace(t.charAt(j))) j++;
+                if (j > i) out.add(t.substring(i, j));
+                i = j;
+            }
+        }
+        return List.copyOf(out);
+    }
+
+    public void record(String path, boolean ok, long startNanos) {
+        meterRegistry.timer("pola.vertex.parse", "path", path, "result", ok ? "ok" : "failed")
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,206 @@
+package com.jinjinjara.pola.batch.service;
+
+import com.jinjinjara.pola.batch.dto.common.BatchAnalysisInput;
+import com.jinjinjara.pola.batch.dto.common.BatchAnalysisOutput;
+import com.jinjinjara.pola.batch.entity.BatchAnalysisItem;
+import com.jinjinjara.pola.batch.entity.BatchAnalysisItemStatus;
+import com.jinjinjara.pola.batch.entity.BatchAnalysisJob;
+import com.jinjinjara.pola.batch.entity.BatchAnalysisJobStatus;
+import com.jinjinjara.pola.batch.provider.BatchAnalysisProvider;
+import com.jinjinjara.pola.batch.repository.BatchAnalysisItemRepository;
+import com.jinjinjara.pola.batch.repository.BatchAnalysisJobRepository;
+import com.jinjinjara.pola.batch.util.BatchAnalysisProperties;
+import com.jinjinjara.pola.common.CustomException;
+import com.jinjinjara.pola.data.entity.File;
+import com.jinjinjara.pola.data.repository.FileRepository;
+import com.jinjinjara.pola.pipeline.entity.PostProcessJob;
+import com.jinjinjara.pola.pipeline.entity.PostProcessJobLane;
+import com.jinjinjara.pola.pipeline.service.PostProcessJobService;
+import com.jinjinjara.pola.pipeline.service.PostProcessPersistService;
+import com.jinjinjara.pola.s3.service.S3Service;
+import com.jinjinjara.pola.vision.dto.common.VertexParsedResult;
+import com.jinjinjara.pola.vision.dto.response.AnalyzeResponse;
+import com.jinjinjara.pola.vision.service.AnalyzeFacadeService;
+import com.jinjinjara.pola.vision.service.ContentAnalysisCacheService;
+import com.jinjinjara.pola.vision.service.EmbeddingService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+
+import java.net.URL;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BatchAnalysisServiceTest {
+
+    private static final String OWNER = "worker-1";
+    private static final String MD5 = "9e107d9d372bb6826bd81d3542a419d6";
+
+    private final BatchAnalysisJobRepository batchRepository = mock(BatchAnalysisJobRepository.class);
+    private final BatchAnalysisItemRepository itemRepository = mock(BatchAnalysisItemRepository.class);
+    private final BatchAnalysisProvider provider = mock(BatchAnalysisProvider.class);
+    private final PostProcessJobService jobService = mock(PostProcessJobService.class);
+    private final FileRepository fileRepository = mock(FileRepository.class);
+    private final S3Service s3Service = mock(S3Service.class);
+    private final AnalyzeFacadeService analyzeFacadeService = mock(AnalyzeFacadeService.class);
+    private final EmbeddingService embeddingService = mock(EmbeddingService.class);
+    private final ContentAnalysisCacheService analysisCacheService = mock(ContentAnalysisCacheService.class);
+    private final PostProcessPersistService persistService = mock(PostProcessPersistService.class);
+
+    private BatchAnalysisProperties properties;
+    private BatchAnalysisService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        properties = new BatchAnalysisProperties();
+        properties.setEnabled(true);
+        properties.setProvider("test");
+        properties.setBatchSize(10);
+
+        when(provider.name()).thenReturn("test");
+        when(batchRepository.save(any())).thenAnswer(inv -> {
+            BatchAnalysisJob batch = inv.getArgument(0);
+            if (batch.getId() == null) batch.setId(100L);
+            return batch;
+        });
+        when(analysisCacheService.find(any())).thenReturn(Optional.empty());
+        when(s3Service.generateAnalysisUrl(anyString(), any())).thenReturn(new URL("https://s3.example/signed"));
+
+        service = new BatchAnalysisService(batchRepository, itemRepository, properties, List.of(provider),
+                jobService, fileRepository, s3Service, analyzeFacadeService, embeddingService,
+                analysisCacheService, persistService, new SimpleMeterRegistry());
+    }
+
+    private static PostProcessJob job(long id, long fileId) {
+        return PostProcessJob.builder().id(id).fileId(fileId).userId(7L).lane(PostProcessJobLane.BACKFILL).build();
+    }
+
+    private static File file(long id, String src) {
+        return File.builder().id(id).userId(7L).categoryId(1L).src(src).build();
+    }
+
+    private static HeadObjectResponse head(String mime, long length, String etag) {
+        return HeadObjectResponse.builder().contentType(mime).contentLength(length).eTag("\"" + etag + "\"").build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<BatchAnalysisItem> savedItems() {
+        ArgumentCaptor<List<BatchAnalysisItem>> captor = ArgumentCaptor.forClass(List.class);
+        verify(itemRepository).saveAll(captor.capture());
+        return captor.getValue();
+    }
+
+    @Test
+    void assembleSubmitsEligibleFilesAndReroutesTheRest() {
+        when(jobService.claim(OWNER, PostProcessJobLane.BACKFILL, 10, properties.getLeaseMs()))
+                .thenReturn(List.of(job(11, 1), job(12, 2), job(13, 3), job(14, 4), job(15, 5)));
+        when(fileRepository.findAllById(any())).thenReturn(List.of(
+                file(1, "a.png"), file(2, "multipart.png"), file(3, "big.png"), file(4, "note.txt")));
+        when(s3Service.headObject("a.png")).thenReturn(head("image/png", 1024, MD5));
+        when(s3Service.headObject("multipart.png")).thenReturn(head("image/png", 1024, MD5 + "-2"));
+        when(s3Service.headObject("big.png")).thenReturn(head("image/png", 30L * 1024 * 1024, MD5));
+        when(s3Service.headObject("note.txt")).thenReturn(head("text/plain", 5, MD5));
+        when(s3Service.downloadObject(eq("note.txt"), anyLong())).thenReturn("hello".getBytes());
+        when(provider.submit(anyList())).thenReturn("provider-job-1");
+
+        BatchAnalysisJob batch = service.assemble(OWNER);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<BatchAnalysisInput>> inputs = ArgumentCaptor.forClass(List.class);
+        verify(provider).submit(inputs.capture());
+        assertThat(inputs.getValue()).extracting(BatchAnalysisInput::getFileId).containsExactly(1L, 4L);
+        assertThat(inputs.getValue().get(0).getUri()).isEqualTo("https://s3.example/signed");
+        assertThat(inputs.getValue().get(1).getText()).isEqualTo("hello");
+
+        // URI 로 읽을 수 없는 이미지는 실패가 아니라 건별 파이프라인 차선으로
+        verify(jobService).reroute(eq(12L), eq(OWNER), eq(PostProcessJobLane.BULK), startsWith("not batch eligible"));
+        verify(jobService).reroute(eq(13L), eq(OWNER), eq(PostProcessJobLane.BULK), startsWith("not batch eligible"));
+        verify(jobService, never()).fail(eq(12L), anyString(), any(), any(Boolean.class));
+        verify(jobService, never()).fail(eq(13L), anyString(), any(), any(Boolean.class));
+        // 파일이 없으면 재시도 없이 실패
+        verify(jobService).fail(eq(15L), eq(OWNER), any(CustomException.class), eq(false));
+
+        assertThat(savedItems()).extracting(BatchAnalysisItem::getStatus).containsExactly(
+                BatchAnalysisItemStatus.PENDING, BatchAnalysisItemStatus.REROUTED, BatchAnalysisItemStatus.REROUTED,
+                BatchAnalysisItemStatus.PENDING, BatchAnalysisItemStatus.FAILED);
+        assertThat(batch.getStatus()).isEqualTo(BatchAnalysisJobStatus.SUBMITTED);
+        assertThat(batch.getProviderJobId()).isEqualTo("provider-job-1");
+        assertThat(batch.getSubmittedCount()).isEqualTo(2);
+        assertThat(batch.getFailedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void cachedContentIsNotSubmitted() {
+        when(jobService.claim(OWNER, PostProcessJobLane.BACKFILL, 10, properties.getLeaseMs()))
+                .thenReturn(List.of(job(11, 1)));
+        when(fileRepository.findAllById(any())).thenReturn(List.of(file(1, "a.png")));
+        when(s3Service.headObject("a.png")).thenReturn(head("image/png", 1024, MD5));
+        when(analysisCacheService.find("md5:" + MD5)).thenReturn(Optional.of(
+                new ContentAnalysisCacheService.Cached("ocr", new VertexParsedResult(List.of("t"), "d"), new float[]{1f})));
+
+        BatchAnalysisJob batch = service.assemble(OWNER);
+
+        verify(provider, never()).submit(anyList());
+        assertThat(savedItems()).extracting(BatchAnalysisItem::getStatus).containsExactly(BatchAnalysisItemStatus.CACHED);
+        assertThat(savedItems().get(0).getContentHash()).isEqualTo("md5:" + MD5);
+        assertThat(batch.getProviderJobId()).isNull();
+        assertThat(batch.getStatus()).isEqualTo(BatchAnalysisJobStatus.SUBMITTED);
+    }
+
+    @Test
+    void checkIngestsProviderResults() {
+        BatchAnalysisJob batch = BatchAnalysisJob.builder()
+                .id(100L).provider("test").owner(OWNER).providerJobId("provider-job-1")
+                .status(BatchAnalysisJobStatus.SUBMITTED).itemCount(1).submittedCount(1).failedCount(0).succeededCount(0)
+                .build();
+        BatchAnalysisItem item = BatchAnalysisItem.builder()
+                .batchId(100L).jobId(11L).fileId(1L).userId(7L).contentHash("md5:" + MD5)
+                .status(BatchAnalysisItemStatus.PENDING).build();
+        VertexParsedResult parsed = new VertexParsedResult(List.of("여행"), "바다 사진");
+
+        when(batchRepository.findByOwnerAndStatusOrderByIdAsc(OWNER, BatchAnalysisJobStatus.SUBMITTED))
+                .thenReturn(List.of(batch));
+        when(provider.status("provider-job-1")).thenReturn(BatchAnalysisProvider.Status.SUCCEEDED);
+        when(provider.results("provider-job-1")).thenReturn(List.of(BatchAnalysisOutput.success(1L, "ocr", parsed)));
+        when(itemRepository.findByBatchIdAndStatusIn(eq(100L), any())).thenReturn(List.of(item));
+        when(fileRepository.findAllById(any())).thenReturn(List.of(file(1, "a.png")));
+        when(analyzeFacadeService.classify(7L, parsed)).thenReturn(
+                AnalyzeResponse.builder().categoryId(2L).categoryName("여행").tags(List.of("여행")).description("바다 사진").build());
+        float[] embedding = {0.1f, 0.2f};
+        when(embeddingService.embedOcrAndContextBatch(List.of("ocr"), List.of("바다 사진"))).thenReturn(List.of(embedding));
+
+        assertThat(service.check(OWNER)).isEqualTo(1);
+
+        verify(persistService).persistAll(anyList());
+        verify(analysisCacheService).put("md5:" + MD5, "ocr", parsed, embedding);
+        verify(jobService).complete(11L, OWNER);
+        verify(provider).cleanup("provider-job-1");
+        assertThat(item.getStatus()).isEqualTo(BatchAnalysisItemStatus.SUCCEEDED);
+        assertThat(batch.getStatus()).isEqualTo(BatchAnalysisJobStatus.COMPLETED);
+        assertThat(batch.getSucceededCount()).isEqualTo(1);
+        assertThat(batch.getFailedCount()).isZero();
+    }
+
+    @Test
+    void interactiveLaneIsNeverBatched() {
+        properties.setLanes(List.of(PostProcessJobLane.INTERACTIVE, PostProcessJobLane.BACKFILL));
+
+        assertThat(properties.handles(PostProcessJobLane.INTERACTIVE)).isFalse();
+        assertThat(properties.handles(PostProcessJobLane.BACKFILL)).isTrue();
+    }
+}
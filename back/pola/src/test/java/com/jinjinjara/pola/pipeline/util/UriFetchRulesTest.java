@@ -0,0 +1,37 @@
+package com.jinjinjara.pola.pipeline.util;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UriFetchRulesTest {
+
+    private static final String MD5 = "9E107D9D372BB6826BD81D3542A419D6";
+
+    private static HeadObjectResponse head(String mime, Long length, String etag) {
+        return HeadObjectResponse.builder().contentType(mime).contentLength(length).eTag(etag).build();
+    }
+
+    @Test
+    void singlePartImageIsKeyedByMd5() {
+        String key = UriFetchRules.contentKey(head("image/png", 1024L, "\"" + MD5 + "\""));
+
+        assertThat(key).isEqualTo("md5:" + MD5.toLowerCase());
+    }
+
+    @Test
+    void multipartEtagIsNotAContentKey() {
+        assertThat(UriFetchRules.contentKey(head("image/jpeg", 1024L, "\"" + MD5 + "-3\""))).isNull();
+    }
+
+    @Test
+    void ineligibleObjects() {
+        assertThat(UriFetchRules.contentKey(head("text/plain", 10L, MD5))).isNull();
+        assertThat(UriFetchRules.contentKey(head(null, 10L, MD5))).isNull();
+        assertThat(UriFetchRules.contentKey(head("image/png", UriFetchRules.MAX_IMAGE_BYTES + 1, MD5))).isNull();
+        assertThat(UriFetchRules.contentKey(head("image/png", null, MD5))).isNull();
+        assertThat(UriFetchRules.contentKey(head("image/png", 10L, null))).isNull();
+        assertThat(UriFetchRules.contentKey(head("image/png", UriFetchRules.MAX_IMAGE_BYTES, MD5))).isNotNull();
+    }
+}
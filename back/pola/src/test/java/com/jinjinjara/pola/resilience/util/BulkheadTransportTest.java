@@ -0,0 +1,79 @@
+package com.jinjinjara.pola.resilience.util;
+
+import com.jinjinjara.pola.common.ErrorCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.opensearch.client.opensearch.core.BulkRequest;
+import org.opensearch.client.opensearch.core.SearchRequest;
+import org.opensearch.client.opensearch.indices.RefreshRequest;
+import org.opensearch.client.transport.OpenSearchTransport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BulkheadTransportTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final OpenSearchTransport delegate = mock(OpenSearchTransport.class);
+
+    private AdaptiveBulkhead search;
+    private AdaptiveBulkhead bulk;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        search = new AdaptiveBulkhead("opensearch", slowAfter(1), ErrorCode.SEARCH_BUSY, registry);
+        bulk = new AdaptiveBulkhead("opensearch-bulk", slowAfter(1), ErrorCode.SEARCH_BUSY, registry);
+        // 모든 호출을 임계값(1ms)보다 느린 성공으로
+        when(delegate.performRequest(any(), any(), any())).thenAnswer(inv -> {
+            Thread.sleep(5);
+            return null;
+        });
+    }
+
+    @Test
+    void slowBulkAndIndexAdminRequestsDoNotShrinkSearchLimit() throws Exception {
+        BulkheadTransport transport = new BulkheadTransport(delegate, search, bulk);
+
+        transport.performRequest(bulkRequest(), null, null);
+        transport.performRequest(RefreshRequest.of(r -> r.index("files_v2")), null, null);
+
+        assertThat(limit("opensearch")).isEqualTo(16.0);
+        assertThat(limit("opensearch-bulk")).isLessThan(16.0);
+    }
+
+    @Test
+    void slowSearchShrinksSearchLimit() throws Exception {
+        BulkheadTransport transport = new BulkheadTransport(delegate, search, bulk);
+
+        transport.performRequest(SearchRequest.of(s -> s.index("files")), null, null);
+
+        assertThat(limit("opensearch")).isLessThan(16.0);
+        assertThat(limit("opensearch-bulk")).isEqualTo(16.0);
+    }
+
+    @Test
+    void bulkPassesThroughWithoutBulkBulkhead() throws Exception {
+        BulkheadTransport transport = new BulkheadTransport(delegate, search, null);
+
+        transport.performRequest(bulkRequest(), null, null);
+
+        assertThat(limit("opensearch")).isEqualTo(16.0);
+    }
+
+    private double limit(String dependency) {
+        return registry.get("pola.bulkhead.limit").tag("dependency", dependency).gauge().value();
+    }
+
+    private static BulkRequest bulkRequest() {
+        return BulkRequest.of(b -> b.index("files").operations(o -> o.delete(d -> d.index("files").id("1"))));
+    }
+
+    private static ResilienceProperties.Bulkhead slowAfter(long thresholdMs) {
+        ResilienceProperties.Bulkhead cfg = new ResilienceProperties.Bulkhead();
+        cfg.setLatencyThresholdMs(thresholdMs);
+        return cfg;
+    }
+}
@@ -0,0 +1,55 @@
+package com.jinjinjara.pola.search.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileSearchHitTest {
+
+    private static FileSearch source() {
+        return FileSearch.builder()
+                .fileId(7L)
+                .userId(3L)
+                .categoryName("개발")
+                .tags("React, 개발")
+                .context("리액트 문서")
+                .imageUrl("home/3/a.png")
+                .createdAt("2025-01-15T10:30:00")
+                .favorite(false)
+                .fileType("image/png")
+                .build();
+    }
+
+    @Test
+    void keepsLegacyFields() {
+        FileSearchHit hit = FileSearchHit.of(source(), null);
+
+        assertThat(hit.getFileId()).isEqualTo(7L);
+        assertThat(hit.getUserId()).isEqualTo(3L);
+        assertThat(hit.getOcrText()).isEmpty();
+        assertThat(hit.getHighlights()).isNull();
+    }
+
+    @Test
+    void ocrSnippetIsPlainText() {
+        FileSearchHit hit = FileSearchHit.of(source(), Map.of(
+                "ocrText", List.of("Google <em>API</em> 키 &amp; &lt;secret&gt;")));
+
+        assertThat(hit.getOcrText()).isEqualTo("Google API 키 & <secret>");
+        assertThat(hit.getHighlights()).containsOnlyKeys("ocrText");
+    }
+
+    @Test
+    void unmatchedSnippetIsNotAHighlight() {
+        // no_match_size 로 받은 앞부분 조각 (검색어 없음)
+        FileSearchHit hit = FileSearchHit.of(source(), Map.of(
+                "ocrText", List.of("환경 설정 방법"),
+                "tags", List.of("React, <em>개발</em>")));
+
+        assertThat(hit.getOcrText()).isEqualTo("환경 설정 방법");
+        assertThat(hit.getHighlights()).containsOnlyKeys("tags");
+    }
+}
@@ -0,0 +1,93 @@
+package com.jinjinjara.pola.search.scheduler;
+
+import com.jinjinjara.pola.search.entity.SearchOutbox;
+import com.jinjinjara.pola.search.entity.SearchOutboxOp;
+import com.jinjinjara.pola.search.model.FileSearch;
+import com.jinjinjara.pola.search.model.SearchDocField;
+import com.jinjinjara.pola.search.service.FileSearchService;
+import com.jinjinjara.pola.search.service.FileSearchUpdateService;
+import com.jinjinjara.pola.search.service.SearchOutboxService;
+import com.jinjinjara.pola.search.util.SearchOutboxProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SearchOutboxRelayTest {
+
+    private final SearchOutboxService outboxService = mock(SearchOutboxService.class);
+    private final FileSearchUpdateService updateService = mock(FileSearchUpdateService.class);
+    private final FileSearchService fileSearchService = mock(FileSearchService.class);
+
+    private SearchOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        relay = new SearchOutboxRelay(outboxService, updateService, fileSearchService,
+                new SearchOutboxProperties(), new SimpleMeterRegistry());
+        relay.init();
+        when(outboxService.acquireLease(anyString())).thenReturn(true);
+    }
+
+    @Test
+    void closesOnlyRowsOfSucceededFilesAndBacksOffFailedOnes() throws Exception {
+        when(outboxService.findReady(500)).thenReturn(List.of(
+                row(1L, 10L, SearchOutboxOp.UPSERT, null, 0),
+                row(2L, 20L, SearchOutboxOp.UPSERT, null, 2),
+                row(3L, 10L, SearchOutboxOp.PATCH, "TAGS", 0)));
+        when(updateService.buildDocuments(List.of(10L, 20L)))
+                .thenReturn(Map.of(10L, doc(10L), 20L, doc(20L)));
+        when(updateService.buildPartialDocuments(Map.of())).thenReturn(Map.of());
+        when(fileSearchService.bulk(anyCollection(), anyMap(), anyCollection()))
+                .thenReturn(Map.of(20L, "mapper_parsing_exception"));
+
+        relay.poll();
+
+        verify(outboxService).markProcessed(anyString(), eq(List.of(1L, 3L)), eq(3L));
+        verify(outboxService).markFailed(List.of(2L), 2, "mapper_parsing_exception");
+    }
+
+    @Test
+    void patchOnMissingDocumentFallsBackToFullDocumentAndDeletesGoneFiles() throws Exception {
+        when(outboxService.findReady(500)).thenReturn(List.of(
+                row(5L, 30L, SearchOutboxOp.PATCH, "FAVORITE", 0),
+                row(6L, 40L, SearchOutboxOp.UPSERT, null, 0)));
+        when(updateService.buildDocuments(List.of(40L))).thenReturn(Map.of()); // DB 에서 삭제된 파일
+        when(updateService.buildPartialDocuments(Map.of(30L, Set.of(SearchDocField.FAVORITE))))
+                .thenReturn(Map.of(30L, Map.of("favorite", true)));
+        when(updateService.buildDocuments(List.of(30L))).thenReturn(Map.of(30L, doc(30L)));
+        when(fileSearchService.bulk(anyCollection(), anyMap(), anyCollection()))
+                .thenReturn(Map.of(30L, "document_missing_exception: [30]"))
+                .thenReturn(Map.of());
+
+        relay.poll();
+
+        verify(fileSearchService).bulk(argThat(Collection::isEmpty), eq(Map.of(30L, Map.of("favorite", true))), eq(List.of(40L)));
+        verify(fileSearchService).bulk(argThat(docs -> List.copyOf(docs).equals(List.of(doc(30L)))), eq(Map.of()), eq(List.of()));
+        verify(outboxService).markProcessed(anyString(), eq(List.of(5L, 6L)), eq(6L));
+        verify(outboxService, never()).markFailed(anyCollection(), anyInt(), anyString());
+    }
+
+    private static SearchOutbox row(Long id, Long fileId, SearchOutboxOp op, String fields, int attempts) {
+        return SearchOutbox.builder().id(id).fileId(fileId).op(op).fields(fields).attempts(attempts).build();
+    }
+
+    private static FileSearch doc(Long fileId) {
+        return FileSearch.builder().fileId(fileId).build();
+    }
+}
@@ -0,0 +1,48 @@
+package com.jinjinjara.pola.search.service;
+
+import com.jinjinjara.pola.common.CustomException;
+import com.jinjinjara.pola.common.ErrorCode;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FileSearchServiceCursorTest {
+
+    private static String base64(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void roundTrip() {
+        List<String> sortValues = List.of("1.5", "1700000000000", "42");
+
+        String cursor = FileSearchService.encodeCursor(sortValues);
+
+        assertThat(cursor).doesNotContain(",", "=", "+", "/");
+        assertThat(FileSearchService.decodeCursor(cursor)).containsExactlyElementsOf(sortValues);
+    }
+
+    @Test
+    void emptyCursor() {
+        assertThat(FileSearchService.encodeCursor(null)).isNull();
+        assertThat(FileSearchService.encodeCursor(List.of())).isNull();
+        assertThat(FileSearchService.decodeCursor(null)).isNull();
+        assertThat(FileSearchService.decodeCursor("  ")).isNull();
+    }
+
+    @Test
+    void invalidCursorIsRejected() {
+        for (String cursor : new String[]{"!!!", base64("1.5,42"), base64("1.5,abc,42"), base64("1,2,3,4")}) {
+            assertThatThrownBy(() -> FileSearchService.decodeCursor(cursor))
+                    .as("cursor %s", cursor)
+                    .isInstanceOf(CustomException.class)
+                    .extracting(e -> ((CustomException) e).getErrorCode())
+                    .isEqualTo(ErrorCode.INVALID_REQUEST);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.jinjinjara.pola.search.service;
+
+import com.jinjinjara.pola.search.util.SearchOutboxProperties;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchOutboxServiceBackoffTest {
+
+    private static SearchOutboxProperties properties(long baseMs, long maxMs) {
+        SearchOutboxProperties properties = new SearchOutboxProperties();
+        properties.setBackoffBaseMs(baseMs);
+        properties.setBackoffMaxMs(maxMs);
+        return properties;
+    }
+
+    @Test
+    void doublesPerAttempt() {
+        SearchOutboxProperties p = properties(1000, 300_000);
+
+        assertThat(SearchOutboxService.backoffMs(0, p)).isEqualTo(1000);
+        assertThat(SearchOutboxService.backoffMs(1, p)).isEqualTo(2000);
+        assertThat(SearchOutboxService.backoffMs(5, p)).isEqualTo(32_000);
+        assertThat(SearchOutboxService.backoffMs(-3, p)).isEqualTo(1000);
+    }
+
+    @Test
+    void cappedAtMax() {
+        SearchOutboxProperties p = properties(1000, 300_000);
+
+        assertThat(SearchOutboxService.backoffMs(8, p)).isEqualTo(256_000);
+        assertThat(SearchOutboxService.backoffMs(9, p)).isEqualTo(300_000);
+        assertThat(SearchOutboxService.backoffMs(100, p)).isEqualTo(300_000);
+        assertThat(SearchOutboxService.backoffMs(Integer.MAX_VALUE, p)).isEqualTo(300_000);
+    }
+
+    @Test
+    void largeBaseDoesNotOverflow() {
+        SearchOutboxProperties p = properties(Long.MAX_VALUE / 4, Long.MAX_VALUE);
+
+        assertThat(SearchOutboxService.backoffMs(20, p)).isEqualTo(Long.MAX_VALUE);
+        assertThat(SearchOutboxService.backoffMs(1, p)).isEqualTo((Long.MAX_VALUE / 4) << 1);
+    }
+}
@@ -0,0 +1,63 @@
+package com.jinjinjara.pola.search.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jinjinjara.pola.common.CustomException;
+import com.jinjinjara.pola.common.ErrorCode;
+import com.jinjinjara.pola.data.repository.FileRepository;
+import com.jinjinjara.pola.search.entity.SearchReindexJob;
+import com.jinjinjara.pola.search.repository.SearchOutboxRepository;
+import com.jinjinjara.pola.search.repository.SearchReindexJobRepository;
+import com.jinjinjara.pola.search.repository.SearchReindexSliceRepository;
+import com.jinjinjara.pola.search.util.SearchReindexProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.opensearch.client.opensearch.OpenSearchClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SearchReindexServiceTest {
+
+    private final SearchReindexJobRepository jobRepository = mock(SearchReindexJobRepository.class);
+    private final SearchReindexSliceRepository sliceRepository = mock(SearchReindexSliceRepository.class);
+    private final FileRepository fileRepository = mock(FileRepository.class);
+    private final SearchOutboxRepository outboxRepository = mock(SearchOutboxRepository.class);
+
+    private SearchReindexService service;
+
+    @BeforeEach
+    void setUp() {
+        SearchReindexProperties properties = new SearchReindexProperties();
+        OpenSearchIndexService indexService =
+                new OpenSearchIndexService(mock(OpenSearchClient.class), properties, new ObjectMapper());
+        service = new SearchReindexService(jobRepository, sliceRepository, fileRepository, outboxRepository,
+                indexService, properties);
+
+        when(fileRepository.findMaxId()).thenReturn(10L);
+        when(outboxRepository.findMaxId()).thenReturn(0L);
+        when(jobRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+    }
+
+    @Test
+    void defaultMappingHasSearchSubfields() {
+        SearchReindexJob job = service.start(null, 2);
+
+        assertThat(job.getMapping()).isEqualTo("opensearch-mapping-edge-ngram.json");
+        assertThat(job.getSliceCount()).isEqualTo(2);
+    }
+
+    @Test
+    void mappingWithoutEdgeNgramIsRejected() {
+        assertThatThrownBy(() -> service.start("opensearch-mapping.json", 2))
+                .isInstanceOf(CustomException.class)
+                .hasMessageContaining("tags.edge_ngram")
+                .extracting(e -> ((CustomException) e).getErrorCode())
+                .isEqualTo(ErrorCode.INVALID_REQUEST);
+        verify(jobRepository, never()).save(any());
+    }
+}
@@ -0,0 +1,97 @@
+package com.jinjinjara.pola.vision.service;
+
+import com.jinjinjara.pola.vision.dto.common.CentroidDeltaEvent;
+import com.jinjinjara.pola.vision.dto.common.CentroidDeltaEvent.CategoryDelta;
+import com.jinjinjara.pola.vision.dto.common.CentroidState;
+import com.jinjinjara.pola.vision.util.CentroidCodec;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CentroidIndexServiceTest {
+
+    private static final Long USER = 7L;
+
+    private final EmbeddingCacheService cache = mock(EmbeddingCacheService.class);
+    private final CategoryEmbeddingService categories = mock(CategoryEmbeddingService.class);
+    private final TagEmbeddingStore tags = mock(TagEmbeddingStore.class);
+
+    /** Redis 버전 키 / 상태 키 */
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicReference<byte[]> stored = new AtomicReference<>();
+
+    private CentroidIndexService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new CentroidIndexService(cache, categories, tags, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "nearCacheMaxEntries", 10);
+        service.init();
+
+        when(cache.loadStateVersion(USER)).thenAnswer(inv ->
+                version.get() == 0 ? Optional.empty() : Optional.of(version.get()));
+        when(cache.loadStateBytes(USER)).thenAnswer(inv -> Optional.ofNullable(stored.get()));
+        when(cache.compareAndSaveState(eq(USER), anyLong(), anyLong(), any())).thenAnswer(inv -> {
+            if (version.get() != (long) inv.getArgument(1)) return false;
+            version.set(inv.getArgument(2));
+            stored.set(inv.getArgument(3));
+            return true;
+        });
+        doAnswer(inv -> {
+            version.incrementAndGet();
+            stored.set(null);
+            return null;
+        }).when(cache).invalidate(USER);
+        when(tags.getAll(anyCollection())).thenReturn(Map.of("바다", new float[]{0f, 1f}));
+    }
+
+    @Test
+    void deltaWithoutStateInvalidatesSoInFlightRebuildCannotPublish() {
+        CentroidDeltaEvent event = CentroidDeltaEvent.of(USER, CategoryDelta.added("여행", List.of("바다")));
+        // rebuild 가 DB 를 읽는 사이 변경분이 커밋되고 이벤트가 도착
+        when(categories.computeCategoryState(USER)).thenAnswer(inv -> {
+            service.applyDelta(event);
+            return state("여행", new float[]{1f, 0f});
+        });
+
+        service.rebuild(USER);
+
+        assertThat(version.get()).isEqualTo(1);
+        assertThat(stored.get()).isNull(); // 변경분이 빠진 상태는 게시되지 않음
+    }
+
+    @Test
+    void deltaIsAppliedToCachedState() {
+        when(categories.computeCategoryState(USER)).thenReturn(state("여행", new float[]{1f, 0f}));
+        service.rebuild(USER);
+
+        service.applyDelta(CentroidDeltaEvent.of(USER, CategoryDelta.added("여행", List.of("바다"))));
+
+        CentroidState published = CentroidCodec.decode(stored.get());
+        assertThat(published.getVersion()).isEqualTo(2);
+        assertThat(published.getCategories().get("여행").getCount()).isEqualTo(2);
+        assertThat(service.loadCentroids(USER).get("여행")).containsExactly(0.5f, 0.5f);
+    }
+
+    private static CentroidState state(String category, float[] v) {
+        CentroidState state = new CentroidState();
+        state.add(category, v);
+        return state;
+    }
+}
@@ -0,0 +1,91 @@
+package com.jinjinjara.pola.vision.service;
+
+import com.jinjinjara.pola.vision.util.VertexEmbeddingClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EmbeddingBatchDispatcherTest {
+
+    private final VertexEmbeddingClient client = mock(VertexEmbeddingClient.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    /** predict 로 실제 전송된 텍스트 */
+    private final List<List<String>> sent = new CopyOnWriteArrayList<>();
+    private final CountDownLatch firstCallStarted = new CountDownLatch(1);
+    private final CountDownLatch releaseFirstCall = new CountDownLatch(1);
+
+    private EmbeddingBatchDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = new EmbeddingBatchDispatcher(client, registry);
+        ReflectionTestUtils.setField(dispatcher, "lingerMs", 1L);
+        ReflectionTestUtils.setField(dispatcher, "maxBatchSize", 100);
+        ReflectionTestUtils.setField(dispatcher, "maxBatchChars", 20_000);
+        ReflectionTestUtils.setField(dispatcher, "maxConcurrent", 1);
+        ReflectionTestUtils.setField(dispatcher, "timeoutMs", 200L);
+        dispatcher.init();
+
+        // 첫 전송은 풀어줄 때까지 막아 둔다 (슬롯 1개 → 이후 요청은 큐에 남음)
+        when(client.predict(anyList())).thenAnswer(inv -> {
+            List<String> texts = List.copyOf(inv.getArgument(0));
+            sent.add(texts);
+            if (firstCallStarted.getCount() > 0) {
+                firstCallStarted.countDown();
+                releaseFirstCall.await(5, TimeUnit.SECONDS);
+            }
+            return texts.stream().map(t -> new float[]{t.length()}).toList();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        releaseFirstCall.countDown();
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void timedOutCallIsNotSent() throws Exception {
+        CompletableFuture<List<float[]>> blocker = dispatcher.submit(List.of("a"));
+        assertThat(firstCallStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> dispatcher.embed(List.of("late")))
+                .hasMessageContaining("timed out");
+        CompletableFuture<List<float[]>> live = dispatcher.submit(List.of("bb"));
+
+        releaseFirstCall.countDown();
+        assertThat(live.get(5, TimeUnit.SECONDS).get(0)).containsExactly(2f);
+        assertThat(blocker.get(5, TimeUnit.SECONDS)).hasSize(1);
+
+        assertThat(sent).flatExtracting(texts -> texts).containsExactlyInAnyOrder("a", "bb");
+        assertThat(registry.counter("pola.embedding.batch.abandoned").count()).isEqualTo(1);
+    }
+
+    @Test
+    void cancelledSubmitIsNotSent() throws Exception {
+        dispatcher.submit(List.of("a"));
+        assertThat(firstCallStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        dispatcher.submit(List.of("x", "y")).cancel(false);
+        CompletableFuture<List<float[]>> live = dispatcher.submit(List.of("ccc"));
+
+        releaseFirstCall.countDown();
+        assertThat(live.get(5, TimeUnit.SECONDS).get(0)).containsExactly(3f);
+        assertThat(sent).flatExtracting(texts -> texts).doesNotContain("x", "y");
+    }
+}
@@ -0,0 +1,77 @@
+package com.jinjinjara.pola.vision.service;
+
+import com.jinjinjara.pola.vision.entity.TagEmbedding;
+import com.jinjinjara.pola.vision.repository.TagEmbeddingRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TagEmbeddingStoreTest {
+
+    private final TagEmbeddingRepository repository = mock(TagEmbeddingRepository.class);
+    private final EmbeddingService embeddingService = mock(EmbeddingService.class);
+
+    private TagEmbeddingStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new TagEmbeddingStore(repository, embeddingService, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(store, "maxEntries", 100);
+        store.init();
+
+        when(repository.findByModelAndTagTextIn(anyString(), anyList())).thenReturn(List.of());
+        when(embeddingService.embedTexts(anyList())).thenAnswer(inv -> {
+            List<String> texts = inv.getArgument(0);
+            List<float[]> out = new ArrayList<>();
+            for (int i = 0; i < texts.size(); i++) out.add(new float[]{i + 1f});
+            return out;
+        });
+    }
+
+    @Test
+    void caseAndInnerSpacingAreKeptAsDistinctInputs() {
+        Map<String, float[]> found = store.getAll(List.of(" Travel ", "travel", "new  york", "new york"));
+
+        assertThat(found).containsOnlyKeys("Travel", "travel", "new  york", "new york");
+        verify(embeddingService).embedTexts(List.of("Travel", "travel", "new  york", "new york"));
+    }
+
+    @Test
+    void composedAndDecomposedHangulShareOneKey() {
+        String decomposed = "\u1112\u1161\u11AB"; // 한 (자모 분리)
+
+        Map<String, float[]> found = store.getAll(List.of("한", decomposed));
+
+        assertThat(found).containsOnlyKeys("한");
+        assertThat(TagEmbeddingStore.normalize(decomposed)).isEqualTo("한");
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void longTagIsEmbeddedWholeButNotPersisted() {
+        String longTag = "a".repeat(300);
+
+        Map<String, float[]> found = store.getAll(List.of(longTag, "short"));
+
+        assertThat(found).containsOnlyKeys(longTag, "short");
+        verify(embeddingService).embedTexts(List.of(longTag, "short"));
+        verify(repository).findByModelAndTagTextIn(anyString(), eq(List.of("short")));
+        ArgumentCaptor<List<TagEmbedding>> saved = ArgumentCaptor.forClass(List.class);
+        verify(repository).saveAll(saved.capture());
+        assertThat(saved.getValue()).extracting(TagEmbedding::getTagText).containsExactly("short");
+    }
+}
@@ -0,0 +1,82 @@
+package com.jinjinjara.pola.vision.util;
+
+import com.jinjinjara.pola.vision.dto.common.CentroidState;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CentroidCodecTest {
+
+    private static CentroidState sample() {
+        CentroidState state = new CentroidState();
+        state.setVersion(42L);
+        state.setBuiltAt("2025-01-02T03:04:05.678Z");
+        state.add("여행", new float[]{1f, 2f, 3f});
+        state.add("여행", new float[]{0.5f, -1f, 0f});
+        state.add("food", new float[]{-0.25f, 0.125f, 8f});
+        return state;
+    }
+
+    @Test
+    void roundTrip() {
+        CentroidState decoded = CentroidCodec.decode(CentroidCodec.encode(sample()));
+
+        assertThat(decoded).isNotNull();
+        assertThat(decoded.getVersion()).isEqualTo(42L);
+        assertThat(decoded.getBuiltAt()).isEqualTo("2025-01-02T03:04:05.678Z");
+        assertThat(decoded.getCategories()).containsOnlyKeys("여행", "food");
+        assertThat(decoded.getCategories().get("여행").getCount()).isEqualTo(2);
+        assertThat(decoded.getCategories().get("여행").getSum()).containsExactly(1.5, 1.0, 3.0);
+        assertThat(decoded.getCategories().get("food").getSum()).containsExactly(-0.25, 0.125, 8.0);
+    }
+
+    @Test
+    void roundTripWithoutBuiltAtOrCategories() {
+        CentroidState empty = new CentroidState();
+        empty.setVersion(7L);
+
+        CentroidState decoded = CentroidCodec.decode(CentroidCodec.encode(empty));
+
+        assertThat(decoded).isNotNull();
+        assertThat(decoded.getVersion()).isEqualTo(7L);
+        assertThat(decoded.getBuiltAt()).isNull();
+        assertThat(decoded.getCategories()).isEmpty();
+    }
+
+    @Test
+    void skipsCategoriesWithoutTags() {
+        CentroidState state = sample();
+        state.getCategories().put("빈 카테고리", new CentroidState.CategorySum());
+
+        CentroidState decoded = CentroidCodec.decode(CentroidCodec.encode(state));
+
+        assertThat(decoded.getCategories()).doesNotContainKey("빈 카테고리");
+    }
+
+    @Test
+    void truncatedInputIsRejected() {
+        byte[] bytes = CentroidCodec.encode(sample());
+
+        for (int len : new int[]{0, 10, 31, 32, 40, bytes.length - 1}) {
+            assertThat(CentroidCodec.decode(Arrays.copyOf(bytes, len)))
+                    .as("length %d", len)
+                    .isNull();
+        }
+        assertThat(CentroidCodec.decode(null)).isNull();
+    }
+
+    @Test
+    void unknownFormatIsRejected() {
+        byte[] badMagic = CentroidCodec.encode(sample());
+        badMagic[0] ^= 0x7F;
+        assertThat(CentroidCodec.decode(badMagic)).isNull();
+
+        byte[] badFormat = CentroidCodec.encode(sample());
+        badFormat[4] = 9; // format(short) 하위 바이트
+        assertThat(CentroidCodec.decode(badFormat)).isNull();
+
+        assertThat(CentroidCodec.decode("{\"version\":1,\"categories\":{}}".getBytes())).isNull();
+    }
+}
@@ -0,0 +1,95 @@
+package com.jinjinjara.pola.vision.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImageNormalizerOrientationTest {
+
+    private static final int TAG_IMAGE_WIDTH = 0x0100;
+    private static final int TAG_ORIENTATION = 0x0112;
+
+    /** SOI | APP0(JFIF) | APP1(Exif + TIFF) | SOS */
+    private static byte[] jpeg(byte[] tiff) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(0xFF); out.write(0xD8);
+
+        byte[] jfif = {'J', 'F', 'I', 'F', 0, 1, 1, 0, 0, 1, 0, 1, 0, 0};
+        segment(out, 0xE0, jfif);
+
+        if (tiff != null) {
+            byte[] exif = new byte[6 + tiff.length];
+            System.arraycopy(new byte[]{'E', 'x', 'i', 'f', 0, 0}, 0, exif, 0, 6);
+            System.arraycopy(tiff, 0, exif, 6, tiff.length);
+            segment(out, 0xE1, exif);
+        }
+
+        segment(out, 0xDA, new byte[]{1, 1, 0, 0, 0x3F, 0});
+        return out.toByteArray();
+    }
+
+    private static void segment(ByteArrayOutputStream out, int marker, byte[] payload) {
+        int len = payload.length + 2;
+        out.write(0xFF);
+        out.write(marker);
+        out.write(len >> 8);
+        out.write(len & 0xFF);
+        out.writeBytes(payload);
+    }
+
+    /** TIFF 헤더 + IFD0 (SHORT 값 항목들) */
+    private static byte[] tiff(ByteOrder order, int ifdOffset, int[][] entries) {
+        ByteBuffer buf = ByteBuffer.allocate(8 + 2 + entries.length * 12 + 4).order(order);
+        buf.put(order == ByteOrder.LITTLE_ENDIAN ? new byte[]{'I', 'I'} : new byte[]{'M', 'M'});
+        buf.putShort((short) 42).putInt(ifdOffset);
+        buf.putShort((short) entries.length);
+        for (int[] e : entries) {
+            buf.putShort((short) e[0]).putShort((short) 3).putInt(1).putShort((short) e[1]).putShort((short) 0);
+        }
+        buf.putInt(0);
+        return buf.array();
+    }
+
+    private static byte[] withOrientation(ByteOrder order, int orientation) {
+        return jpeg(tiff(order, 8, new int[][]{{TAG_IMAGE_WIDTH, 640}, {TAG_ORIENTATION, orientation}}));
+    }
+
+    @Test
+    void littleEndianOrientation() {
+        assertThat(ImageNormalizer.hasRotation(withOrientation(ByteOrder.LITTLE_ENDIAN, 6))).isTrue();
+        assertThat(ImageNormalizer.hasRotation(withOrientation(ByteOrder.LITTLE_ENDIAN, 8))).isTrue();
+        assertThat(ImageNormalizer.hasRotation(withOrientation(ByteOrder.LITTLE_ENDIAN, 1))).isFalse();
+    }
+
+    @Test
+    void bigEndianOrientation() {
+        assertThat(ImageNormalizer.hasRotation(withOrientation(ByteOrder.BIG_ENDIAN, 3))).isTrue();
+        assertThat(ImageNormalizer.hasRotation(withOrientation(ByteOrder.BIG_ENDIAN, 1))).isFalse();
+    }
+
+    @Test
+    void noExifOrNoOrientationTag() {
+        assertThat(ImageNormalizer.hasRotation(jpeg(null))).isFalse();
+        assertThat(ImageNormalizer.hasRotation(
+                jpeg(tiff(ByteOrder.BIG_ENDIAN, 8, new int[][]{{TAG_IMAGE_WIDTH, 640}})))).isFalse();
+    }
+
+    @Test
+    void malformedExifIsIgnored() {
+        // IFD 오프셋이 세그먼트 밖 / 음수로 읽히는 값
+        assertThat(ImageNormalizer.hasRotation(
+                jpeg(tiff(ByteOrder.LITTLE_ENDIAN, 0x7FFF_FFF0, new int[][]{{TAG_ORIENTATION, 6}})))).isFalse();
+        assertThat(ImageNormalizer.hasRotation(
+                jpeg(tiff(ByteOrder.LITTLE_ENDIAN, 0xFFFF_FFF0, new int[][]{{TAG_ORIENTATION, 6}})))).isFalse();
+
+        // 세그먼트 중간에서 잘린 파일
+        byte[] full = withOrientation(ByteOrder.BIG_ENDIAN, 6);
+        byte[] truncated = Arrays.copyOf(full, 30);
+        assertThat(ImageNormalizer.hasRotation(truncated)).isFalse();
+    }
+}
@@ -0,0 +1,108 @@
+package com.jinjinjara.pola.vision.util;
+
+import com.jinjinjara.pola.vision.dto.common.FetchedObject;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImageNormalizerTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private ImageNormalizer normalizer;
+
+    @BeforeEach
+    void setUp() {
+        normalizer = new ImageNormalizer(registry);
+        ReflectionTestUtils.setField(normalizer, "enabled", true);
+        ReflectionTestUtils.setField(normalizer, "maxEdge", 2048);
+        ReflectionTestUtils.setField(normalizer, "maxPixels", 4_000_000L);
+        ReflectionTestUtils.setField(normalizer, "jpegQuality", 0.85f);
+        ReflectionTestUtils.setField(normalizer, "skipBelowBytes", 262_144);
+    }
+
+    @Test
+    void largeImageIsDownscaledToTargetSize() throws Exception {
+        FetchedObject original = FetchedObject.of("big.png", png(noise(4100, 2050)));
+
+        FetchedObject result = normalizer.normalize(original);
+
+        assertThat(result).isNotSameAs(original);
+        assertThat(result.getMime()).isEqualTo("image/jpeg");
+        BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(result.getContent().toByteArray()));
+        assertThat(decoded.getWidth()).isEqualTo(2048);
+        assertThat(decoded.getHeight()).isEqualTo(1024);
+        assertThat(registry.timer("pola.image.normalize", "result", "normalized").count()).isEqualTo(1);
+    }
+
+    @Test
+    void smallImageWithinLimitsIsKeptWithoutDecoding() throws Exception {
+        FetchedObject original = FetchedObject.of("small.png", png(new BufferedImage(64, 64, BufferedImage.TYPE_INT_RGB)));
+
+        assertThat(normalizer.normalize(original)).isSameAs(original);
+        assertThat(registry.timer("pola.image.normalize", "result", "skipped").count()).isEqualTo(1);
+    }
+
+    @Test
+    void undecodableImageIsKept() {
+        byte[] data = new byte[]{(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 0, 0, 0, 0};
+        FetchedObject original = FetchedObject.of("broken.png", data);
+
+        assertThat(normalizer.normalize(original)).isSameAs(original);
+    }
+
+    @Test
+    void subsamplingKeepsAtLeastTargetResolution() throws Exception {
+        ImageReader reader = ImageIO.getImageReadersByFormatName("png").next();
+        try {
+            // 4100 → 2048 : 0.4995 배 → 2칸씩 (2050 ≥ 2048)
+            assertThat(ImageNormalizer.subsampling(reader, 2048.0 / 4100).getSourceXSubsampling()).isEqualTo(2);
+            assertThat(ImageNormalizer.subsampling(reader, 0.26).getSourceXSubsampling()).isEqualTo(3);
+            assertThat(ImageNormalizer.subsampling(reader, 1.0).getSourceXSubsampling()).isEqualTo(1);
+        } finally {
+            reader.dispose();
+        }
+    }
+
+    @Test
+    void bufferStreamReadsOnlyTheSlice() throws Exception {
+        byte[] png = png(new BufferedImage(10, 7, BufferedImage.TYPE_INT_RGB));
+        byte[] padded = new byte[png.length + 8];
+        System.arraycopy(png, 0, padded, 4, png.length);
+        ByteBuffer slice = ByteBuffer.wrap(padded, 4, png.length);
+
+        ImageInputStream in = new ImageNormalizer.ByteBufferImageInputStream(slice);
+        assertThat(in.length()).isEqualTo(png.length);
+        BufferedImage img = ImageIO.read(in); // 읽은 뒤 스트림을 닫는다
+        assertThat(img.getWidth()).isEqualTo(10);
+        assertThat(img.getHeight()).isEqualTo(7);
+    }
+
+    private static BufferedImage noise(int w, int h) {
+        BufferedImage img = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+        Random random = new Random(1);
+        for (int y = 0; y < h; y++) {
+            for (int x = 0; x < w; x++) {
+                img.setRGB(x, y, random.nextInt(0x1000000));
+            }
+        }
+        return img;
+    }
+
+    private static byte[] png(BufferedImage img) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(img, "png", out);
+        return out.toByteArray();
+    }
+}
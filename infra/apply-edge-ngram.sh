@@ -2,6 +2,10 @@
 
 # OpenSearch Edge N-gram 매핑 적용 스크립트
 # 사용법: ./apply-edge-ngram.sh
+#
+# 참고: 이 스크립트는 인덱스를 삭제 후 다시 만들므로 그동안 검색이 중단된다.
+#       운영 중에는 무중단 재색인 API 를 사용할 것:
+#       POST /api/v1/admin/search-reindex?mapping=opensearch-mapping-edge-ngram.json
 
 set -e
 
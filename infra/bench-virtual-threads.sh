@@ -0,0 +1,72 @@
+#!/bin/bash
+
+# 플랫폼 스레드 / 가상 스레드 모드 처리량 비교 스크립트
+#
+# 같은 부하(느린 AI 후처리 + 가벼운 목록 조회)를 한 모드에서 측정하고 결과를 파일로 남긴다.
+# 모드를 바꿔(VIRTUAL_THREADS_ENABLED=true/false 로 재배포) 두 번 실행한 뒤 결과 파일을 비교한다.
+#
+# 사용법: BASE_URL=https://... TOKEN=<JWT> FILE_ID=<후처리할 파일 id> ./bench-virtual-threads.sh <platform|virtual>
+# 필요 도구: hey (https://github.com/rakyll/hey)
+#
+# 가상 스레드 모드에서는 JVM 옵션 -Djdk.tracePinnedThreads=short 로 캐리어 고정 여부도 함께 확인한다.
+
+set -e
+
+MODE=${1:?"모드를 지정하세요 (platform | virtual)"}
+BASE_URL=${BASE_URL:-"http://localhost:8080"}
+TOKEN=${TOKEN:?"TOKEN 환경 변수가 필요합니다"}
+FILE_ID=${FILE_ID:?"FILE_ID 환경 변수가 필요합니다"}
+DURATION=${DURATION:-"60s"}
+SLOW_CONCURRENCY=${SLOW_CONCURRENCY:-200}   # 후처리(외부 AI 대기) 동시 요청 수
+FAST_CONCURRENCY=${FAST_CONCURRENCY:-50}    # 목록 조회 동시 요청 수
+OUT_DIR=${OUT_DIR:-"./bench-results"}
+
+if ! command -v hey > /dev/null; then
+    echo "hey 가 설치되어 있지 않습니다: go install github.com/rakyll/hey@latest"
+    exit 1
+fi
+
+mkdir -p "$OUT_DIR"
+STAMP=$(date +%Y%m%d-%H%M%S)
+SLOW_OUT="$OUT_DIR/$MODE-$STAMP-post-process.txt"
+FAST_OUT="$OUT_DIR/$MODE-$STAMP-list.txt"
+
+echo "=========================================="
+echo "모드: $MODE / 대상: $BASE_URL / 시간: $DURATION"
+echo "후처리 동시 $SLOW_CONCURRENCY, 목록 조회 동시 $FAST_CONCURRENCY"
+echo "=========================================="
+
+# 1) 느린 요청: 외부 AI 를 기다리며 요청 스레드를 오래 붙잡는 부하
+hey -z "$DURATION" -c "$SLOW_CONCURRENCY" -m POST \
+    -H "Authorization: Bearer $TOKEN" \
+    "$BASE_URL/api/v1/files/$FILE_ID/post-process" > "$SLOW_OUT" &
+SLOW_PID=$!
+
+# 2) 빠른 요청: 느린 부하와 동시에 가벼운 엔드포인트가 얼마나 버티는지
+sleep 5
+hey -z "$DURATION" -c "$FAST_CONCURRENCY" -m POST \
+    -H "Authorization: Bearer $TOKEN" \
+    -H "Content-Type: application/json" \
+    -d '{"page":0,"size":20}' \
+    "$BASE_URL/api/v1/files/list" > "$FAST_OUT"
+
+wait $SLOW_PID
+
+summary() {
+    local label=$1 file=$2
+    local rps p50 p99 codes
+    rps=$(grep "Requests/sec" "$file" | awk '{print $2}')
+    p50=$(grep "50% in" "$file" | awk '{print $3}')
+    p99=$(grep "99% in" "$file" | awk '{print $3}')
+    codes=$(sed -n '/Status code distribution/,$p' "$file" | grep "\[" | tr -s ' ' | tr '\n' ' ')
+    printf "%-14s rps=%-10s p50=%-8ss p99=%-8ss %s\n" "$label" "$rps" "$p50" "$p99" "$codes"
+}
+
+echo ""
+echo "📊 결과 ($MODE)"
+echo "----------------------------------------"
+summary "post-process" "$SLOW_OUT"
+summary "files/list" "$FAST_OUT"
+echo ""
+echo "원본: $SLOW_OUT, $FAST_OUT"
+echo "다른 모드 결과와 비교: grep -h 'Requests/sec' $OUT_DIR/*-list.txt"